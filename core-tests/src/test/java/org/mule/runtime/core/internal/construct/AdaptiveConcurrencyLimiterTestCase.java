@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.construct;
+
+import static org.mule.runtime.core.internal.construct.AdaptiveConcurrencyLimiter.ALGORITHM_PROPERTY;
+import static org.mule.runtime.core.internal.construct.AdaptiveConcurrencyLimiter.Algorithm.AIMD;
+import static org.mule.runtime.core.internal.construct.AdaptiveConcurrencyLimiter.Algorithm.GRADIENT;
+import static org.mule.runtime.core.internal.construct.AdaptiveConcurrencyLimiter.fromSystemProperties;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+@SmallTest
+public class AdaptiveConcurrencyLimiterTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public SystemProperty algorithm = new SystemProperty(ALGORITHM_PROPERTY, "aimd");
+
+  private DefaultFlowConstructStatistics statistics;
+
+  @Before
+  public void before() {
+    statistics = new DefaultFlowConstructStatistics("Flow", "test");
+    statistics.setEnabled(true);
+  }
+
+  @Test
+  public void rejectsOverLimit() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(AIMD, 2, 1, 10, statistics);
+
+    assertThat(limiter.tryAcquire(), is(true));
+    assertThat(limiter.tryAcquire(), is(true));
+    assertThat(limiter.tryAcquire(), is(false));
+    assertThat(limiter.getInFlight(), is(2));
+
+    limiter.cancel();
+    assertThat(limiter.tryAcquire(), is(true));
+  }
+
+  @Test
+  public void aimdIncreasesWhileBusy() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(AIMD, 4, 1, 10, statistics, 0);
+
+    limiter.onSample(MILLISECONDS.toNanos(10), 4);
+    assertThat(limiter.getLimit(), is(5));
+    assertThat(statistics.getConcurrencyLimit(), is(5));
+
+    limiter.onSample(MILLISECONDS.toNanos(10), 1);
+    assertThat(limiter.getLimit(), is(5));
+  }
+
+  @Test
+  public void aimdDecreasesOnTimeout() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(AIMD, 10, 1, 10, statistics, 0);
+
+    limiter.onSample(SECONDS.toNanos(10), 10);
+    assertThat(limiter.getLimit(), is(9));
+  }
+
+  @Test
+  public void aimdHonorsMaxLimit() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(AIMD, 10, 1, 10, statistics, 0);
+
+    limiter.onSample(MILLISECONDS.toNanos(10), 10);
+    assertThat(limiter.getLimit(), is(10));
+  }
+
+  @Test
+  public void gradientDecreasesWhenLatencyGrows() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(GRADIENT, 50, 1, 100, statistics, 0);
+
+    for (int i = 0; i < 20; ++i) {
+      limiter.onSample(MILLISECONDS.toNanos(10), 50);
+    }
+    final int steadyLimit = limiter.getLimit();
+    assertThat(steadyLimit, greaterThan(50));
+
+    for (int i = 0; i < 20; ++i) {
+      limiter.onSample(MILLISECONDS.toNanos(100), limiter.getLimit());
+    }
+    assertThat(limiter.getLimit(), lessThan(steadyLimit));
+  }
+
+  @Test
+  public void limitOnlyChangesWhenWindowCloses() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(AIMD, 10, 1, 20, statistics, HOURS.toNanos(1));
+
+    for (int i = 0; i < 100; ++i) {
+      limiter.onSample(MILLISECONDS.toNanos(10), 10);
+    }
+    assertThat(limiter.getLimit(), is(10));
+    assertThat(statistics.getConcurrencyLimit(), is(10));
+  }
+
+  @Test
+  public void aimdDecreasesOnceForTimeoutsInWindow() throws InterruptedException {
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter(AIMD, 10, 1, 10, statistics, MILLISECONDS.toNanos(200));
+
+    for (int i = 0; i < 3; ++i) {
+      limiter.onSample(SECONDS.toNanos(10), 10);
+    }
+    assertThat(limiter.getLimit(), is(10));
+
+    MILLISECONDS.sleep(250);
+    limiter.onSample(MILLISECONDS.toNanos(10), 10);
+    assertThat(limiter.getLimit(), is(9));
+  }
+
+  @Test
+  public void createdFromSystemProperties() {
+    AdaptiveConcurrencyLimiter limiter = fromSystemProperties(8, statistics).get();
+
+    assertThat(limiter.getLimit(), is(8));
+    assertThat(statistics.getConcurrencyLimit(), is(8));
+  }
+
+  @Test
+  public void countsRejections() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(AIMD, 1, 1, 1, statistics);
+
+    limiter.tryAcquire();
+    limiter.rejected();
+    assertThat(statistics.getConcurrencyLimitRejections(), is(1L));
+  }
+}
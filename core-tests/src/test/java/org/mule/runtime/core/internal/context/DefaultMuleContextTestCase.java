@@ -14,10 +14,16 @@ import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_SECURITY_MA
 import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.APP;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+import static org.hamcrest.CoreMatchers.everyItem;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
@@ -42,6 +48,7 @@ import org.mule.runtime.core.api.exception.SystemExceptionHandler;
 import org.mule.runtime.core.api.security.SecurityManager;
 import org.mule.runtime.core.api.transformer.DataTypeConversionResolver;
 import org.mule.runtime.core.api.util.StreamCloserService;
+import org.mule.runtime.core.api.util.func.CheckedRunnable;
 import org.mule.runtime.core.internal.config.ClusterConfiguration;
 import org.mule.runtime.core.internal.config.builders.MinimalConfigurationBuilder;
 import org.mule.runtime.core.internal.connector.SchedulerController;
@@ -54,6 +61,11 @@ import org.mule.runtime.core.internal.util.store.MuleObjectStoreManager;
 import org.mule.tck.config.TestServicesConfigurationBuilder;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.slf4j.Logger;
 
 import org.junit.After;
@@ -239,6 +251,30 @@ public class DefaultMuleContextTestCase extends AbstractMuleTestCase {
     verify(muleRegistry, never()).lookupObject(OBJECT_SECURITY_MANAGER);
   }
 
+  @Test
+  public void tasksRunHoldingLifecycleLockHandCommandsBackToLockOwner() throws Exception {
+    DefaultMuleContext muleContext = (DefaultMuleContext) new DefaultMuleContextBuilder(APP).buildMuleContext();
+    List<Thread> commandThreads = new CopyOnWriteArrayList<>();
+    AtomicBoolean outsiderRan = new AtomicBoolean();
+    ExecutorService executor = newFixedThreadPool(3);
+    try {
+      muleContext.withLifecycleLock((CheckedRunnable) () -> {
+        Thread owner = currentThread();
+        executor.execute(() -> muleContext.withLifecycleLock(() -> outsiderRan.set(true)));
+
+        Runnable task = () -> muleContext.withLifecycleLock(() -> commandThreads.add(currentThread()));
+        muleContext.runHoldingLifecycleLock(asList(task, task), executor);
+
+        assertThat(commandThreads, hasSize(2));
+        assertThat(commandThreads, everyItem(sameInstance(owner)));
+        // the lock was never released while running the tasks
+        assertThat(outsiderRan.get(), is(false));
+      });
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   protected void createMuleContext() throws MuleException {
     context = muleContextFactory.createMuleContext(testServicesConfigurationBuilder, new MinimalConfigurationBuilder());
   }
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.OverflowPolicy.BLOCK;
+import static org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.OverflowPolicy.DROP_OLDEST;
+import static org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.OverflowPolicy.SAMPLE;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.synchronizedList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.OverflowPolicy;
+import org.mule.runtime.core.internal.management.stats.NotificationDispatchStatistics;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+@SmallTest
+public class NotificationBatchDispatcherTestCase extends AbstractMuleTestCase {
+
+  private static final int BUFFER_SIZE = 4;
+  private static final long TIMEOUT_MILLIS = 5000;
+
+  private final List<Runnable> tasks = new ArrayList<>();
+  private final NotificationDispatchStatistics statistics = new NotificationDispatchStatistics();
+  private final RecordingListener listener = new RecordingListener();
+
+  @Test
+  public void deliversInOrderInBatches() {
+    NotificationBatchDispatcher dispatcher = createDispatcher(BLOCK, 1);
+    List<Notification> notifications = dispatch(dispatcher, 3);
+
+    assertThat(tasks.size(), is(1));
+    runTasks();
+
+    assertThat(listener.received, is(notifications));
+    assertThat(statistics.getBatches(), is(1L));
+    assertThat(statistics.getDelivered(), is(3L));
+  }
+
+  @Test
+  public void dropOldest() {
+    NotificationBatchDispatcher dispatcher = createDispatcher(DROP_OLDEST, 1);
+    List<Notification> notifications = dispatch(dispatcher, 6);
+    runTasks();
+
+    assertThat(listener.received, is(notifications.subList(2, 6)));
+    assertThat(statistics.getDropped(), is(2L));
+  }
+
+  @Test
+  public void sample() {
+    NotificationBatchDispatcher dispatcher = createDispatcher(SAMPLE, 2);
+    List<Notification> notifications = dispatch(dispatcher, 8);
+    runTasks();
+
+    assertThat(listener.received, is(asList(notifications.get(2), notifications.get(3), notifications.get(5),
+                                            notifications.get(7))));
+    assertThat(statistics.getDropped(), is(4L));
+  }
+
+  @Test
+  public void blockedPublisherDelivers() {
+    NotificationBatchDispatcher dispatcher = createDispatcher(BLOCK, 1);
+    List<Notification> notifications = dispatch(dispatcher, 6);
+    runTasks();
+
+    assertThat(listener.received, is(notifications));
+    assertThat(statistics.getDelayed(), is(1L));
+    assertThat(statistics.getDropped(), is(0L));
+  }
+
+  @Test
+  public void flush() {
+    NotificationBatchDispatcher dispatcher = createDispatcher(BLOCK, 1);
+    List<Notification> notifications = dispatch(dispatcher, 3);
+
+    dispatcher.flush();
+
+    assertThat(listener.received, is(notifications));
+    assertThat(dispatcher.getPendingNotifications(), is(0));
+  }
+
+  @Test
+  public void listenerTypesAreDeliveredIndependently() {
+    NotificationBatchDispatcher dispatcher = createDispatcher(BLOCK, 1);
+    RecordingListener otherListener = new RecordingListener() {};
+    List<Notification> notifications = dispatch(dispatcher, 2);
+    Notification otherNotification = mock(Notification.class);
+    dispatcher.dispatch(otherListener, otherNotification);
+
+    assertThat(tasks.size(), is(2));
+    tasks.remove(1).run();
+    assertThat(otherListener.received, is(singletonList(otherNotification)));
+    assertThat(listener.received, is(empty()));
+
+    runTasks();
+    assertThat(listener.received, is(notifications));
+  }
+
+  @Test
+  public void drainDoesNotRescheduleWhileOtherThreadDelivers() throws Exception {
+    CountDownLatch delivering = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingListener blockingListener = new RecordingListener() {
+
+      @Override
+      public void onNotification(Notification notification) {
+        delivering.countDown();
+        try {
+          release.await(TIMEOUT_MILLIS, MILLISECONDS);
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
+        }
+        super.onNotification(notification);
+      }
+    };
+    NotificationBatchDispatcher dispatcher = createDispatcher(BLOCK, 1);
+    dispatcher.dispatch(blockingListener, mock(Notification.class));
+
+    Thread flushing = new Thread(dispatcher::flush);
+    flushing.start();
+    try {
+      assertThat(delivering.await(TIMEOUT_MILLIS, MILLISECONDS), is(true));
+      dispatcher.dispatch(blockingListener, mock(Notification.class));
+      tasks.remove(0).run();
+      assertThat(tasks, is(empty()));
+    } finally {
+      release.countDown();
+      flushing.join(TIMEOUT_MILLIS);
+    }
+    assertThat(blockingListener.received.size(), is(2));
+  }
+
+  private NotificationBatchDispatcher createDispatcher(OverflowPolicy overflowPolicy, int sampleRate) {
+    return new NotificationBatchDispatcher(tasks::add, BUFFER_SIZE, BUFFER_SIZE, overflowPolicy, sampleRate, statistics);
+  }
+
+  private List<Notification> dispatch(NotificationBatchDispatcher dispatcher, int count) {
+    List<Notification> notifications = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Notification notification = mock(Notification.class);
+      notifications.add(notification);
+      dispatcher.dispatch(listener, notification);
+    }
+    return notifications;
+  }
+
+  private void runTasks() {
+    while (!tasks.isEmpty()) {
+      tasks.remove(0).run();
+    }
+  }
+
+  private static class RecordingListener implements NotificationListener<Notification> {
+
+    protected final List<Notification> received = synchronizedList(new ArrayList<>());
+
+    @Override
+    public void onNotification(Notification notification) {
+      received.add(notification);
+    }
+  }
+}
@@ -9,13 +9,16 @@ package org.mule.runtime.core.internal.event;
 import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.mule.runtime.api.metadata.DataType.NUMBER;
 import static org.mule.runtime.core.internal.event.EventQuickCopy.quickCopy;
 
 import io.qameta.allure.Issue;
 
 import org.junit.Test;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
@@ -40,4 +43,23 @@ public class DefaultEventBuilderTestCase extends AbstractMuleTestCase {
     assertThat(event.getInternalParameters().size(), is(1));
     assertThat(event.getInternalParameters().keySet(), hasItem(INTERNAL_PARAMETER_KEY));
   }
+
+  @Test
+  public void variablesKeepInsertionOrderAndCanBeModified() throws MuleException {
+    InternalEvent event = new DefaultEventBuilder((InternalEvent) newEvent())
+        .addVariable("c", 1)
+        .addVariable("a", 2)
+        .addVariable("b", 3)
+        .removeVariable("a")
+        .addVariable("A", 4)
+        .build();
+    assertThat(event.getVariables().keySet(), contains("c", "b", "A"));
+
+    InternalEvent derived = new DefaultEventBuilder(event).addVariable("d", 5).build();
+    event.getVariables().remove("C");
+    event.getVariables().put("e", new TypedValue<>(6, NUMBER));
+
+    assertThat(event.getVariables().keySet(), contains("b", "A", "e"));
+    assertThat(derived.getVariables().keySet(), contains("c", "b", "A", "d"));
+  }
 }
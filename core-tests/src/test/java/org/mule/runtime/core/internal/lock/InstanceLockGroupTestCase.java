@@ -10,7 +10,9 @@ import static java.lang.Thread.State.TIMED_WAITING;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
@@ -20,6 +22,7 @@ import static org.mockito.Mockito.verify;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.TemplateObjectStore;
 import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.runtime.core.internal.lock.LockGroupStatistics.PrefixStatistics;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.probe.JUnitLambdaProbe;
 import org.mule.tck.probe.PollingProber;
@@ -30,7 +33,10 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import io.qameta.allure.Issue;
 import org.junit.Test;
@@ -50,7 +56,6 @@ public class InstanceLockGroupTestCase extends AbstractMuleTestCase {
   private InstanceLockGroup instanceLockGroup = new InstanceLockGroup(lockProvider);
   private InMemoryObjectStore objectStore = new InMemoryObjectStore();
   private LockProvider mockLockProvider;
-
   @Test
   public void testLockUnlock() throws Exception {
     testHighConcurrency(false);
@@ -149,6 +154,62 @@ public class InstanceLockGroupTestCase extends AbstractMuleTestCase {
     }
   }
 
+  @Test
+  public void reusesLocksOfReleasedEntries() {
+    AtomicInteger createdLocks = new AtomicInteger();
+    InstanceLockGroup instanceLockGroup = new InstanceLockGroup(new LockProvider() {
+
+      @Override
+      public Lock createLock(String lockId) {
+        createdLocks.incrementAndGet();
+        return new ReentrantLock(true);
+      }
+
+      @Override
+      public boolean isLockReusable() {
+        return true;
+      }
+    });
+
+    instanceLockGroup.lock("A");
+    instanceLockGroup.unlock("A");
+    instanceLockGroup.lock("B");
+    instanceLockGroup.unlock("B");
+
+    assertThat(createdLocks.get(), is(1));
+    assertThat(instanceLockGroup.size(), is(0));
+  }
+
+  @Test
+  public void doesNotReuseLocksByDefault() {
+    instanceLockGroup.lock("A");
+    instanceLockGroup.unlock("A");
+    instanceLockGroup.lock("B");
+    instanceLockGroup.unlock("B");
+
+    assertThat(lockProvider.getSpiedLock("A") == lockProvider.getSpiedLock("B"), is(false));
+  }
+
+  @Test
+  public void recordsContentionPerLockIdPrefix() throws Exception {
+    InstanceLockGroup instanceLockGroup = new InstanceLockGroup(new SingleServerLockProvider());
+    instanceLockGroup.getStatistics().setEnabled(true);
+    instanceLockGroup.lock("flow-1");
+    try {
+      boolean acquired = executor.submit(() -> instanceLockGroup.tryLock("flow-1", 10, MILLISECONDS)).get(5, SECONDS);
+      assertThat(acquired, is(false));
+    } finally {
+      instanceLockGroup.unlock("flow-1");
+    }
+    instanceLockGroup.lock("flow/2");
+    instanceLockGroup.unlock("flow/2");
+
+    PrefixStatistics statistics = instanceLockGroup.getStatistics().getPrefixStatistics().get("flow");
+    assertThat(statistics.getAcquisitions(), is(2L));
+    assertThat(statistics.getContentions(), is(1L));
+    assertThat(statistics.getWaitNanos(), greaterThan(0L));
+  }
+
   private void lockUnlockThenDestroy(int lockTimes) {
     mockLockProvider = Mockito.mock(LockProvider.class, Answers.RETURNS_DEEP_STUBS.get());
     InstanceLockGroup instanceLockGroup = new InstanceLockGroup(mockLockProvider);
@@ -6,9 +6,12 @@
  */
 package org.mule.runtime.core.internal.management.stats;
 
+import static org.mule.runtime.core.internal.construct.AbstractFlowConstruct.FLOW_FLOW_CONSTRUCT_TYPE;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
+import org.mule.runtime.core.api.management.stats.AllStatistics;
 import org.mule.runtime.core.api.management.stats.ComponentStatistics;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.junit4.rule.SystemProperty;
@@ -150,4 +153,79 @@ public class ComponentStatisticsTestCase extends AbstractMuleTestCase {
     stats.addExecutionBranchTime(true, 100L, 100L);
     assertValues(stats, 2L, 200L, 100L, 100L, 100L);
   }
+
+  @Test
+  public void executionTimePercentiles() {
+    ComponentStatistics stats = new ComponentStatistics();
+    for (int i = 1; i <= 100; i++) {
+      stats.addExecutionTime(i);
+    }
+    assertThat(stats.getExecutionTimePercentile(0), equalTo(1L));
+    assertThat(stats.getExecutionTimePercentile(25), equalTo(25L));
+    assertThat(stats.getExecutionTimePercentile(100), equalTo(100L));
+
+    stats.clear();
+    assertThat(stats.getExecutionTimePercentile(99), equalTo(0L));
+  }
+
+  @Test
+  public void branchExecutionTimePercentiles() {
+    ComponentStatistics stats = new ComponentStatistics();
+    stats.addExecutionBranchTime(true, 2L, 2L);
+    stats.addCompleteExecutionTime(2L);
+    stats.addExecutionBranchTime(true, 3L, 3L);
+    stats.addCompleteExecutionTime(3L);
+    assertThat(stats.getExecutionTimePercentile(50), equalTo(2L));
+    assertThat(stats.getExecutionTimePercentile(99), equalTo(3L));
+  }
+
+  @Test
+  public void mergeExecutionTimes() {
+    ComponentStatistics stats1 = new ComponentStatistics();
+    ComponentStatistics stats2 = new ComponentStatistics();
+    stats1.addExecutionTime(10L);
+    stats2.addExecutionTime(20L);
+
+    ComponentStatistics merged = new ComponentStatistics();
+    stats1.addExecutionTimesTo(merged);
+    stats2.addExecutionTimesTo(merged);
+    assertThat(merged.getExecutionTimePercentile(50), equalTo(10L));
+    assertThat(merged.getExecutionTimePercentile(100), equalTo(20L));
+  }
+
+  @Test
+  public void noPercentilesWithoutExecutionTimes() {
+    ComponentStatistics stats = new ComponentStatistics();
+    stats.clear();
+    assertThat(stats.getExecutionTimePercentile(50), equalTo(0L));
+
+    ComponentStatistics merged = new ComponentStatistics();
+    stats.addExecutionTimesTo(merged);
+    assertThat(merged.getExecutionTimePercentile(50), equalTo(0L));
+  }
+
+  @Test
+  public void applicationPercentilesReflectCurrentFlowTimes() {
+    DefaultFlowConstructStatistics flow1Stats = new DefaultFlowConstructStatistics(FLOW_FLOW_CONSTRUCT_TYPE, "someFlow1");
+    DefaultFlowConstructStatistics flow2Stats = new DefaultFlowConstructStatistics(FLOW_FLOW_CONSTRUCT_TYPE, "someFlow2");
+    AllStatistics allStatistics = new AllStatistics();
+    allStatistics.setEnabled(true);
+    allStatistics.add(flow1Stats);
+    allStatistics.add(flow2Stats);
+
+    completeEvent(flow1Stats, 10L);
+    completeEvent(flow2Stats, 20L);
+    completeEvent(flow2Stats, 30L);
+    assertThat(allStatistics.getProcessingTimePercentile(0), equalTo(10L));
+    assertThat(allStatistics.getProcessingTimePercentile(100), equalTo(30L));
+
+    flow1Stats.clear();
+    assertThat(allStatistics.getProcessingTimePercentile(0), equalTo(20L));
+    assertThat(allStatistics.getProcessingTimePercentile(100), equalTo(30L));
+  }
+
+  private static void completeEvent(DefaultFlowConstructStatistics stats, long time) {
+    stats.addFlowExecutionBranchTime(time, time);
+    stats.addCompleteFlowExecutionTime(time);
+  }
 }
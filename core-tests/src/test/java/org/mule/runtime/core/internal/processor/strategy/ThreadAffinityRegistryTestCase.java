@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ThreadAffinityRegistryTestCase extends AbstractMuleTestCase {
+
+  private final List<Object> removed = new ArrayList<>();
+  private ThreadAffinityRegistry<Object> registry;
+
+  @Before
+  public void before() {
+    registry = new ThreadAffinityRegistry<>(Object::new, value -> {
+      synchronized (removed) {
+        removed.add(value);
+      }
+    });
+  }
+
+  @Test
+  public void sameValueForSameThread() {
+    assertThat(registry.get(), sameInstance(registry.get()));
+  }
+
+  @Test
+  public void differentValuePerThread() throws InterruptedException {
+    final Object value = registry.get();
+    final Object otherValue = getFromOtherThread();
+
+    assertThat(otherValue, not(sameInstance(value)));
+  }
+
+  @Test
+  public void removesValuesOfTerminatedThreads() throws InterruptedException {
+    final Object otherValue = getFromOtherThread();
+    assertThat(removed, is(empty()));
+
+    // The value is removed when another one is created
+    registry.get();
+    assertThat(removed, contains(otherValue));
+  }
+
+  @Test
+  public void invalidateAll() {
+    final Object value = registry.get();
+    final List<Object> values = new ArrayList<>();
+    registry.forEach(values::add);
+    assertThat(values, contains(value));
+
+    registry.invalidateAll();
+    assertThat(removed, contains(value));
+
+    values.clear();
+    registry.forEach(values::add);
+    assertThat(values, hasSize(0));
+    assertThat(registry.get(), not(sameInstance(value)));
+  }
+
+  @Test
+  public void forEachIncludesAllThreads() throws InterruptedException {
+    final Object value = registry.get();
+    final List<Object> values = new ArrayList<>();
+
+    final AtomicReference<Object> otherValue = new AtomicReference<>();
+    final Thread thread = new Thread(() -> {
+      otherValue.set(registry.get());
+      registry.forEach(values::add);
+    });
+    thread.start();
+    thread.join();
+
+    assertThat(values, containsInAnyOrder(value, otherValue.get()));
+  }
+
+  @Test
+  public void keepsValuesOfThreadsStartedAfterCreation() throws InterruptedException {
+    final int threadCount = 20;
+    final List<Object> threadValues = new ArrayList<>();
+    final CountDownLatch valuesCreated = new CountDownLatch(threadCount);
+    final CountDownLatch finish = new CountDownLatch(1);
+
+    final List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < threadCount; ++i) {
+      final Thread thread = new Thread(() -> {
+        final Object value = registry.get();
+        synchronized (threadValues) {
+          threadValues.add(value);
+        }
+        valuesCreated.countDown();
+        try {
+          finish.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    try {
+      valuesCreated.await();
+      final List<Object> values = new ArrayList<>();
+      registry.forEach(values::add);
+      assertThat(values, containsInAnyOrder(threadValues.toArray()));
+      assertThat(removed, is(empty()));
+    } finally {
+      finish.countDown();
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    }
+  }
+
+  private Object getFromOtherThread() throws InterruptedException {
+    final AtomicReference<Object> value = new AtomicReference<>();
+    final Thread thread = new Thread(() -> value.set(registry.get()));
+    thread.start();
+    thread.join();
+    return value.get();
+  }
+}
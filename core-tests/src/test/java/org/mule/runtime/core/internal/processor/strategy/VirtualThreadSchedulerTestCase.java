@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assume.assumeThat;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.tck.SimpleUnitTestSupportScheduler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class VirtualThreadSchedulerTestCase extends AbstractMuleTestCase {
+
+  private static final String NAME = "flow.BLOCKING";
+
+  private VirtualThreadScheduler scheduler;
+
+  @Before
+  public void before() {
+    assumeThat("Virtual threads not supported", VirtualThreadScheduler.isSupported(), is(true));
+  }
+
+  @After
+  public void after() {
+    if (scheduler != null) {
+      scheduler.stop();
+    }
+  }
+
+  @Test
+  public void runsOnNamedThreadWithCallerClassLoader() throws Exception {
+    scheduler = new VirtualThreadScheduler(NAME, 1, () -> mock(Scheduler.class));
+    final ClassLoader classLoader = new ClassLoader() {};
+    final ClassLoader original = currentThread().getContextClassLoader();
+    final AtomicReference<String> threadName = new AtomicReference<>();
+    final AtomicReference<ClassLoader> taskClassLoader = new AtomicReference<>();
+
+    currentThread().setContextClassLoader(classLoader);
+    try {
+      scheduler.submit(() -> {
+        threadName.set(currentThread().getName());
+        taskClassLoader.set(currentThread().getContextClassLoader());
+      }).get(5, SECONDS);
+    } finally {
+      currentThread().setContextClassLoader(original);
+    }
+
+    assertThat(threadName.get(), startsWith(NAME + "."));
+    assertThat(taskClassLoader.get() == classLoader, is(true));
+  }
+
+  @Test
+  public void limitsConcurrency() throws Exception {
+    final int maxConcurrency = 2;
+    final int tasks = 10;
+    scheduler = new VirtualThreadScheduler(NAME, maxConcurrency, () -> mock(Scheduler.class));
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final CountDownLatch done = new CountDownLatch(tasks);
+
+    for (int i = 0; i < tasks; ++i) {
+      scheduler.execute(() -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(10);
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
+        } finally {
+          running.decrementAndGet();
+          done.countDown();
+        }
+      });
+    }
+
+    assertThat(done.await(5, SECONDS), is(true));
+    assertThat(maxRunning.get(), lessThanOrEqualTo(maxConcurrency));
+  }
+
+  @Test
+  public void scheduledCallableRunsOnVirtualThread() throws Exception {
+    final SimpleUnitTestSupportScheduler timer =
+        new SimpleUnitTestSupportScheduler(1, Executors.defaultThreadFactory(), new AbortPolicy());
+    scheduler = new VirtualThreadScheduler(NAME, 1, () -> timer);
+    try {
+      assertThat(scheduler.schedule(() -> currentThread().getName(), 10, MILLISECONDS).get(5, SECONDS),
+                 startsWith(NAME + "."));
+    } finally {
+      timer.shutdownNow();
+    }
+  }
+
+  @Test
+  public void taskInterruptedWhileWaitingIsCancelled() throws Exception {
+    scheduler = new VirtualThreadScheduler(NAME, 1, () -> mock(Scheduler.class));
+    final CountDownLatch running = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    scheduler.execute(() -> {
+      running.countDown();
+      // Keeps the permit until released, even if interrupted
+      boolean released = false;
+      while (!released) {
+        try {
+          released = release.await(5, SECONDS);
+        } catch (InterruptedException e) {
+          // keep waiting
+        }
+      }
+    });
+    assertThat(running.await(5, SECONDS), is(true));
+    final Future<?> waiting = scheduler.submit(() -> {
+    });
+
+    scheduler.shutdownNow();
+    try {
+      new PollingProber().check(new JUnitLambdaProbe(waiting::isCancelled));
+    } finally {
+      release.countDown();
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.internal.retry.RetryTimerWheel.RetryTimeout;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+@SmallTest
+public class RetryTimerWheelTestCase extends AbstractMuleTestCase {
+
+  private static final long TICK_MILLIS = 5;
+  private static final int WHEEL_SIZE = 16;
+
+  private final ScheduledThreadPoolExecutor ticker = new ScheduledThreadPoolExecutor(1);
+  private final RetryTimerWheel wheel = new RetryTimerWheel(ticker, TICK_MILLIS, WHEEL_SIZE);
+
+  @After
+  public void after() {
+    wheel.stop();
+    ticker.shutdownNow();
+  }
+
+  @Test
+  public void retriesAreNotRunEarly() throws Exception {
+    int retries = 500;
+    CountDownLatch latch = new CountDownLatch(retries);
+    AtomicInteger early = new AtomicInteger();
+
+    for (int i = 0; i < retries; ++i) {
+      long delay = i % 100;
+      long deadline = nanoTime() + MILLISECONDS.toNanos(delay);
+      wheel.schedule(() -> {
+        if (nanoTime() < deadline) {
+          early.incrementAndGet();
+        }
+        latch.countDown();
+      }, delay);
+    }
+
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(early.get(), is(0));
+    assertThat(wheel.getPendingCount(), is(0));
+  }
+
+  @Test
+  public void delayLongerThanWheel() throws Exception {
+    // several rounds of the wheel
+    long delay = TICK_MILLIS * WHEEL_SIZE * 3;
+    CountDownLatch latch = new CountDownLatch(1);
+
+    long start = nanoTime();
+    wheel.schedule(latch::countDown, delay);
+
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(NANOSECONDS.toMillis(nanoTime() - start),
+               is(allOf(greaterThanOrEqualTo(delay), lessThan(delay + TICK_MILLIS * WHEEL_SIZE))));
+  }
+
+  @Test
+  public void cancelledRetryIsNotRun() throws Exception {
+    AtomicBoolean run = new AtomicBoolean();
+    RetryTimeout timeout = wheel.schedule(() -> run.set(true), 20);
+    assertThat(wheel.getPendingCount(), is(1));
+
+    assertThat(timeout.cancel(), is(true));
+    assertThat(timeout.cancel(), is(false));
+    assertThat(wheel.getPendingCount(), is(0));
+
+    Thread.sleep(100);
+    assertThat(run.get(), is(false));
+  }
+
+  @Test
+  public void stopCancelsScheduledRetries() throws Exception {
+    AtomicBoolean run = new AtomicBoolean();
+    RetryTimeout timeout = wheel.schedule(() -> run.set(true), TICK_MILLIS * WHEEL_SIZE * 2);
+    // let the periodic task move the retry to its bucket
+    Thread.sleep(TICK_MILLIS * 4);
+
+    wheel.stop();
+    assertThat(wheel.getPendingCount(), is(0));
+    assertThat(timeout.isDone(), is(true));
+
+    Thread.sleep(TICK_MILLIS * WHEEL_SIZE * 3);
+    assertThat(run.get(), is(false));
+  }
+
+  @Test
+  public void ticksOnlyWhilePending() throws Exception {
+    CountDownLatch first = new CountDownLatch(1);
+    wheel.schedule(first::countDown, 10);
+    assertThat(first.await(5, SECONDS), is(true));
+
+    Thread.sleep(TICK_MILLIS * 10);
+    assertThat(ticker.getQueue().size(), is(0));
+
+    CountDownLatch second = new CountDownLatch(1);
+    wheel.schedule(second::countDown, 10);
+    assertThat(second.await(5, SECONDS), is(true));
+  }
+
+  @Test
+  public void backoff() {
+    assertThat(RetryBackoff.FIXED.getDelay(100, 5), is(100L));
+
+    RetryBackoff exponential = new RetryBackoff(2, 1000, 0);
+    assertThat(exponential.getDelay(100, 1), is(100L));
+    assertThat(exponential.getDelay(100, 3), is(400L));
+    assertThat(exponential.getDelay(100, 10), is(1000L));
+
+    RetryBackoff withJitter = new RetryBackoff(1, 1000, 0.5);
+    for (int i = 0; i < 100; ++i) {
+      assertThat(withJitter.getDelay(100, 1), is(allOf(greaterThanOrEqualTo(50L), lessThan(151L))));
+    }
+  }
+}
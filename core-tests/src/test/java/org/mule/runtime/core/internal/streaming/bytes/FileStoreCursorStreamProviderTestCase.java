@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class FileStoreCursorStreamProviderTestCase extends AbstractByteStreamingTestCase {
+
+  private static final int MAX_IN_MEMORY_SIZE = 4 * 1024;
+  private static final int SEGMENT_SIZE = 64 * 1024;
+
+  private final FileStoreCursorStreamConfig config =
+      new FileStoreCursorStreamConfig(new DataSize(MAX_IN_MEMORY_SIZE, BYTE));
+
+  private PoolingByteBufferManager bufferManager;
+  private CursorStreamProvider streamProvider;
+
+  public FileStoreCursorStreamProviderTestCase() {
+    super(KB_256);
+  }
+
+  @Before
+  public void before() {
+    bufferManager = new PoolingByteBufferManager();
+    streamProvider = new FileStoreCursorStreamProvider(new ByteArrayInputStream(data.getBytes()), config, bufferManager,
+                                                       from("log"), false);
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+    bufferManager.dispose();
+  }
+
+  @Test
+  public void readFully() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertEquals(toString(cursor), data);
+    }
+  }
+
+  @Test
+  public void seekBackAcrossMemoryAndFile() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertEquals(toString(cursor), data);
+
+      int position = MAX_IN_MEMORY_SIZE - 10;
+      cursor.seek(position);
+      byte[] dest = new byte[20];
+      assertThat(cursor.read(dest, 0, dest.length), is(dest.length));
+      assertEquals(toString(dest), data.substring(position, position + dest.length));
+    }
+  }
+
+  @Test
+  public void twoCursorsReadTheSameData() throws Exception {
+    try (CursorStream cursor1 = streamProvider.openCursor(); CursorStream cursor2 = streamProvider.openCursor()) {
+      cursor2.seek(data.length() / 2);
+      assertEquals(toString(cursor2), data.substring(data.length() / 2));
+      assertEquals(toString(cursor1), data);
+    }
+  }
+
+  @Test
+  public void readsAreViewsSpanningSegments() throws Exception {
+    FileStoreStreamBuffer buffer =
+        new FileStoreStreamBuffer(new ByteArrayInputStream(data.getBytes()), config, bufferManager, SEGMENT_SIZE);
+    try {
+      long segmentEnd = MAX_IN_MEMORY_SIZE + SEGMENT_SIZE;
+      ByteBuffer read = buffer.get(segmentEnd - 10, 100);
+      assertThat(read.isReadOnly(), is(true));
+      assertThat(read.remaining(), is(10));
+      assertEquals(toString(read), data.substring((int) segmentEnd - 10, (int) segmentEnd));
+
+      read = buffer.get(segmentEnd, 100);
+      assertEquals(toString(read), data.substring((int) segmentEnd, (int) segmentEnd + 100));
+
+      assertThat(buffer.get(data.length(), 100), is(nullValue()));
+    } finally {
+      buffer.close();
+    }
+  }
+}
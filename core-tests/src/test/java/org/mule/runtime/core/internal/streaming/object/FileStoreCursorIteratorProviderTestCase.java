@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.StreamingStory.OBJECT_STREAMING;
+
+import static java.lang.Math.toIntExact;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
+import org.mule.runtime.core.api.util.func.CheckedConsumer;
+import org.mule.tck.size.SmallTest;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(STREAMING)
+@Story(OBJECT_STREAMING)
+public class FileStoreCursorIteratorProviderTestCase extends AbstractObjectStreamingTestCase {
+
+  private static final int DATA_SIZE = 1000;
+  private static final int MAX_IN_MEMORY_INSTANCES = 100;
+
+  private final FileStoreCursorIteratorConfig config = new FileStoreCursorIteratorConfig(MAX_IN_MEMORY_INSTANCES);
+  private CursorIteratorProvider streamProvider;
+
+  public FileStoreCursorIteratorProviderTestCase() {
+    super(DATA_SIZE);
+  }
+
+  @Before
+  public void before() {
+    streamProvider = createStreamProvider(data);
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+  }
+
+  @Test
+  @Description("Fully consume a stream which doesn't fit in memory")
+  public void readFully() throws IOException {
+    withCursor(cursor -> checkEquals(data, cursor));
+  }
+
+  @Test
+  @Description("Consume the stream and seek back to positions which were spilled to disk")
+  public void randomSeekIntoSpilledPositions() throws IOException {
+    withCursor(cursor -> {
+      checkEquals(data, cursor);
+
+      seekAndAssert(cursor, 0, 10);
+      seekAndAssert(cursor, DATA_SIZE / 2, 75);
+      seekAndAssert(cursor, 5, DATA_SIZE - 5);
+    });
+  }
+
+  @Test
+  @Description("Two open cursors consume different ends of the stream while it is being spilled")
+  public void twoOpenCursorsReadingOppositeEndsOfTheStream() throws IOException {
+    withCursor(cursor1 -> withCursor(cursor2 -> {
+      seekAndAssert(cursor1, 0, DATA_SIZE / 2);
+      seekAndAssert(cursor2, DATA_SIZE - 10, 10);
+      seekAndAssert(cursor1, DATA_SIZE / 2, DATA_SIZE / 2);
+      seekAndAssert(cursor2, 0, DATA_SIZE);
+    }));
+  }
+
+  @Test
+  @Description("Direct access to the last two items of the stream without traversing the whole cursor")
+  public void getLastTwoItems() throws IOException {
+    withCursor(cursor -> {
+      cursor.seek(DATA_SIZE - 2);
+
+      assertThat(cursor.next(), is(data.get(DATA_SIZE - 2)));
+      assertThat(cursor.next(), is(data.get(DATA_SIZE - 1)));
+      assertThat(cursor.hasNext(), is(false));
+    });
+  }
+
+  @Test(expected = MuleRuntimeException.class)
+  @Description("Items which can't be serialized fail once they need to be spilled")
+  public void nonSerializableItems() throws IOException {
+    data.set(0, new Object());
+    streamProvider.close();
+    streamProvider = createStreamProvider(data);
+
+    withCursor(cursor -> read(cursor, DATA_SIZE));
+  }
+
+  private CursorIteratorProvider createStreamProvider(List<Object> data) {
+    return new FileStoreCursorIteratorProvider(toStreamingIterator(data), config, from("log"), false);
+  }
+
+  private void seekAndAssert(CursorIterator<Object> cursor, long position, int size) {
+    cursor.seek(position);
+    List<Object> read = read(cursor, size);
+    checkEquals(read, data.subList(toIntExact(position), toIntExact(position + size)));
+  }
+
+  private void withCursor(CheckedConsumer<CursorIterator> consumer) throws IOException {
+    try (CursorIterator cursor = streamProvider.openCursor()) {
+      consumer.accept(cursor);
+    }
+  }
+}
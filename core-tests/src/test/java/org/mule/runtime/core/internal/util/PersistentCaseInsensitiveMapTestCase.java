@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.mule.runtime.core.internal.util.PersistentCaseInsensitiveMap.copyOf;
+import static org.mule.runtime.core.internal.util.PersistentCaseInsensitiveMap.emptyPersistentMap;
+
+import static java.util.Collections.singletonMap;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+@SmallTest
+public class PersistentCaseInsensitiveMapTestCase extends AbstractMuleTestCase {
+
+  // these keys have the same hash
+  private static final String COLLIDING_KEY1 = "!~";
+  private static final String COLLIDING_KEY2 = "\"_";
+
+  @Test
+  public void caseInsensitive() {
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.<Object>emptyPersistentMap()
+        .plus("FOO", "BAR")
+        .plus("doo", 3);
+
+    assertThat(map.size(), is(2));
+    assertThat(map.get("foo"), is("BAR"));
+    assertThat(map.get("Foo"), is("BAR"));
+    assertThat(map.get("DOO"), is(3));
+    assertThat(map.containsKey("fOO"), is(true));
+    assertThat(map.keySet(), containsInAnyOrder("FOO", "doo"));
+  }
+
+  @Test
+  public void replaceKeepsKeyCase() {
+    PersistentCaseInsensitiveMap<String> map = PersistentCaseInsensitiveMap.<String>emptyPersistentMap()
+        .plus("Foo", "1")
+        .plus("FOO", "2");
+
+    assertThat(map.size(), is(1));
+    assertThat(map.get("foo"), is("2"));
+    assertThat(map.keySet(), containsInAnyOrder("Foo"));
+  }
+
+  @Test
+  public void derivedMapsDontModifyOriginal() {
+    PersistentCaseInsensitiveMap<String> original = PersistentCaseInsensitiveMap.<String>emptyPersistentMap()
+        .plus("a", "1")
+        .plus("b", "2");
+
+    PersistentCaseInsensitiveMap<String> plus = original.plus("c", "3").plus("A", "4");
+    PersistentCaseInsensitiveMap<String> minus = original.minus("B");
+
+    assertThat(original.size(), is(2));
+    assertThat(original.get("a"), is("1"));
+    assertThat(original.get("c"), is(nullValue()));
+    assertThat(plus.size(), is(3));
+    assertThat(plus.get("a"), is("4"));
+    assertThat(minus.size(), is(1));
+    assertThat(minus.containsKey("b"), is(false));
+  }
+
+  @Test
+  public void unchangedMapIsReused() {
+    PersistentCaseInsensitiveMap<String> map = PersistentCaseInsensitiveMap.<String>emptyPersistentMap().plus("a", "1");
+
+    assertThat(map.plus("A", "1"), is(sameInstance(map)));
+    assertThat(map.minus("b"), is(sameInstance(map)));
+    assertThat(map.minus("A").isEmpty(), is(true));
+  }
+
+  @Test
+  public void iteratesInInsertionOrder() {
+    PersistentCaseInsensitiveMap<String> map = PersistentCaseInsensitiveMap.<String>emptyPersistentMap()
+        .plus("c", "1")
+        .plus("a", "2")
+        .plus("b", "3")
+        .plus("C", "4")
+        .minus("a")
+        .plus("A", "5");
+
+    assertThat(map.keySet(), contains("c", "b", "A"));
+    assertThat(map.values(), contains("4", "3", "5"));
+    assertThat(map.toString(), is("{c=4, b=3, A=5}"));
+  }
+
+  @Test
+  public void mutationsAreNotSeenByOtherMaps() {
+    PersistentCaseInsensitiveMap<String> original = PersistentCaseInsensitiveMap.<String>emptyPersistentMap()
+        .plus("a", "1")
+        .plus("b", "2");
+    PersistentCaseInsensitiveMap<String> copy = copyOf(original);
+    PersistentCaseInsensitiveMap<String> derived = original.plus("c", "3");
+
+    assertThat(original.put("D", "4"), is(nullValue()));
+    assertThat(original.put("A", "5"), is("1"));
+    assertThat(original.remove("b"), is("2"));
+    assertThat(original.keySet(), contains("a", "D"));
+    assertThat(original.get("d"), is("4"));
+
+    assertThat(copy.keySet(), contains("a", "b"));
+    assertThat(copy.get("a"), is("1"));
+    assertThat(derived.keySet(), contains("a", "b", "c"));
+  }
+
+  @Test
+  public void mutationsThroughViews() {
+    PersistentCaseInsensitiveMap<String> map = PersistentCaseInsensitiveMap.<String>emptyPersistentMap()
+        .plus("a", "1")
+        .plus("b", "2")
+        .plus("c", "3");
+
+    map.keySet().remove("B");
+    for (Map.Entry<String, String> entry : map.entrySet()) {
+      entry.setValue(entry.getValue() + "!");
+    }
+    Iterator<String> values = map.values().iterator();
+    values.next();
+    values.remove();
+
+    assertThat(map.size(), is(1));
+    assertThat(map.get("C"), is("3!"));
+
+    map.clear();
+    assertThat(map.isEmpty(), is(true));
+    map.putAll(singletonMap("Z", "26"));
+    assertThat(map.get("z"), is("26"));
+  }
+
+  @Test
+  public void collidingKeys() {
+    PersistentCaseInsensitiveMap<String> map = PersistentCaseInsensitiveMap.<String>emptyPersistentMap()
+        .plus(COLLIDING_KEY1, "1")
+        .plus(COLLIDING_KEY2, "2");
+
+    assertThat(map.size(), is(2));
+    assertThat(map.get(COLLIDING_KEY1), is("1"));
+    assertThat(map.get(COLLIDING_KEY2), is("2"));
+    assertThat(map.minus(COLLIDING_KEY1).get(COLLIDING_KEY2), is("2"));
+    assertThat(map.minus(COLLIDING_KEY1).minus(COLLIDING_KEY2).isEmpty(), is(true));
+  }
+
+  @Test
+  public void sameContentsAsHashMap() {
+    Random random = new Random(7);
+    Map<String, Integer> expected = new LinkedHashMap<>();
+    PersistentCaseInsensitiveMap<Integer> map = emptyPersistentMap();
+
+    for (int i = 0; i < 5000; ++i) {
+      String key = "key" + random.nextInt(1000);
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        map = map.minus(key.toUpperCase());
+      } else {
+        expected.put(key, i);
+        map = map.plus(key, i);
+      }
+    }
+
+    assertThat(map.size(), is(expected.size()));
+    assertThat(new HashMap<>(map), equalTo(expected));
+    assertThat(new ArrayList<>(map.keySet()), equalTo(new ArrayList<>(expected.keySet())));
+    for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+      assertThat(map.get(entry.getKey().toUpperCase()), is(entry.getValue()));
+    }
+  }
+
+  @Test
+  public void copy() {
+    CaseInsensitiveHashMap<String, String> copy =
+        PersistentCaseInsensitiveMap.<String>emptyPersistentMap().plus("a", "1").copy();
+    copy.put("B", "2");
+
+    assertThat(copy.get("A"), is("1"));
+    assertThat(copy.get("b"), is("2"));
+  }
+
+  @Test
+  public void serialization() {
+    PersistentCaseInsensitiveMap<String> map = PersistentCaseInsensitiveMap.<String>emptyPersistentMap().plus("Foo", "bar");
+
+    Map<String, String> deserialized = SerializationUtils.deserialize(SerializationUtils.serialize(map));
+    assertThat(deserialized, instanceOf(CaseInsensitiveHashMap.class));
+    assertThat(deserialized.get("FOO"), is("bar"));
+  }
+}
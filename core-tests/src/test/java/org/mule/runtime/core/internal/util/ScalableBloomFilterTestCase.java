@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class ScalableBloomFilterTestCase extends AbstractMuleTestCase {
+
+  private static final double FALSE_POSITIVE_RATE = 0.01;
+
+  @Test
+  public void noFalseNegatives() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(1000, FALSE_POSITIVE_RATE);
+    for (int i = 0; i < 1000; ++i) {
+      filter.put("id-" + i);
+    }
+
+    for (int i = 0; i < 1000; ++i) {
+      assertThat(filter.mightContain("id-" + i), is(true));
+    }
+  }
+
+  @Test
+  public void growsKeepingFalsePositiveRate() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(100, FALSE_POSITIVE_RATE);
+    for (int i = 0; i < 10000; ++i) {
+      filter.put("id-" + i);
+    }
+    assertThat(filter.getFilterCount(), is(greaterThan(1)));
+
+    for (int i = 0; i < 10000; ++i) {
+      assertThat(filter.mightContain("id-" + i), is(true));
+    }
+
+    int falsePositives = 0;
+    int lookups = 100000;
+    for (int i = 0; i < lookups; ++i) {
+      if (filter.mightContain("other-" + i)) {
+        falsePositives++;
+      }
+    }
+    assertThat((double) falsePositives / lookups, is(lessThan(FALSE_POSITIVE_RATE * 1.5)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidFalsePositiveRate() {
+    new ScalableBloomFilter(100, 1);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal.queue;
+
+import static org.mule.runtime.core.internal.util.journal.GroupCommitTransactionJournal.GROUP_COMMIT_PROPERTY;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.core.internal.management.stats.TransactionJournalStatistics;
+import org.mule.runtime.core.internal.util.queue.DefaultQueueStore;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.collect.Multimap;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+public class GroupCommitLocalTxQueueTransactionJournalTestCase extends LocalTxQueueTransactionJournalTestCase {
+
+  private static final int WRITERS = 8;
+  private static final int OPERATIONS_PER_WRITER = 100;
+
+  @Rule
+  public SystemProperty groupCommit = new SystemProperty(GROUP_COMMIT_PROPERTY, "true");
+
+  @Test
+  public void concurrentWritersAreGroupedInBatches() throws Exception {
+    DefaultQueueStore queue = mock(DefaultQueueStore.class, RETURNS_DEEP_STUBS.get());
+    when(queue.getName()).thenReturn("queueName");
+
+    LocalTxQueueTransactionJournal transactionJournal =
+        new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext);
+    ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+    try {
+      List<Future<?>> writers = new ArrayList<>();
+      for (int i = 0; i < WRITERS; i++) {
+        final int txId = i;
+        writers.add(executor.submit(() -> {
+          for (int j = 0; j < OPERATIONS_PER_WRITER; j++) {
+            transactionJournal.logAdd(txId, queue, "value" + j);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> writer : writers) {
+        writer.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    TransactionJournalStatistics statistics = transactionJournal.getGroupCommitStatistics().get();
+    assertThat(statistics.getEntries(), is((long) WRITERS * OPERATIONS_PER_WRITER));
+    assertThat(statistics.getBatches(), lessThanOrEqualTo(statistics.getEntries()));
+    assertThat(statistics.getMaxLatency(), greaterThan(0L));
+
+    transactionJournal.close();
+    transactionJournal = new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext);
+    Multimap<Integer, LocalQueueTxJournalEntry> allEntries = transactionJournal.getAllLogEntries();
+    assertThat(allEntries.size(), is(WRITERS * OPERATIONS_PER_WRITER));
+    assertThat(allEntries.get(0).size(), is(OPERATIONS_PER_WRITER));
+    transactionJournal.close();
+  }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class MappedSegmentQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  private static final String TEST_QUEUE_NAME = "test-queue";
+  private static final int SEGMENT_SIZE = 256;
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  private MuleContext mockMuleContext;
+
+  @Before
+  public void before() {
+    mockMuleContext = mock(MuleContext.class);
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(mockMuleContext);
+  }
+
+  @Test
+  public void itemsAreConsumedInOrderAcrossSegments() throws Exception {
+    MappedSegmentQueueStoreDelegate queue = createTestQueueStore(0);
+    for (int i = 0; i < 100; i++) {
+      queue.putNow("item " + i);
+    }
+    assertThat(queue.getSize(), is(100));
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(queue.poll(0), is("item " + i));
+    }
+    assertThat(queue.poll(0), is(nullValue()));
+    assertThat(queue.getSize(), is(0));
+    queue.dispose();
+  }
+
+  @Test
+  public void itemsBiggerThanSegment() throws Exception {
+    MappedSegmentQueueStoreDelegate queue = createTestQueueStore(0);
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < SEGMENT_SIZE; i++) {
+      builder.append(i);
+    }
+    String bigItem = builder.toString();
+
+    queue.putNow("small");
+    queue.putNow(bigItem);
+    queue.putNow("other");
+
+    assertThat(queue.poll(0), is("small"));
+    assertThat(queue.poll(0), is(bigItem));
+    assertThat(queue.poll(0), is("other"));
+    queue.dispose();
+  }
+
+  @Test
+  public void contentIsRecoveredAfterClose() throws Exception {
+    MappedSegmentQueueStoreDelegate queue = createTestQueueStore(0);
+    for (int i = 0; i < 50; i++) {
+      queue.putNow("item " + i);
+    }
+    for (int i = 0; i < 20; i++) {
+      queue.poll(0);
+    }
+    queue.untake("untaken");
+    queue.close();
+
+    MappedSegmentQueueStoreDelegate recovered = createTestQueueStore(0);
+    assertThat(recovered.getSize(), is(31));
+    assertThat(recovered.peek(), is("untaken"));
+    assertThat(recovered.poll(0), is("untaken"));
+    assertThat(recovered.poll(0), is("item 20"));
+    recovered.dispose();
+  }
+
+  @Test
+  public void removeAndContains() throws Exception {
+    MappedSegmentQueueStoreDelegate queue = createTestQueueStore(0);
+    queue.putNow("first");
+    queue.putNow("second");
+    queue.putNow("third");
+
+    assertThat(queue.contains("second"), is(true));
+    queue.remove("second");
+    assertThat(queue.contains("second"), is(false));
+    assertThat(queue.getSize(), is(2));
+
+    assertThat(queue.poll(0), is("first"));
+    assertThat(queue.poll(0), is("third"));
+    queue.dispose();
+  }
+
+  @Test
+  public void offerTimesOutWhenFull() throws Exception {
+    MappedSegmentQueueStoreDelegate queue = createTestQueueStore(1);
+    assertThat(queue.offer("first", 0, 10), is(true));
+    assertThat(queue.offer("second", 0, 10), is(false));
+    queue.dispose();
+  }
+
+  @Test
+  public void pollWaitsForItem() throws Exception {
+    MappedSegmentQueueStoreDelegate queue = createTestQueueStore(0);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Serializable> polled = executor.submit(() -> queue.poll(5000));
+      Thread.sleep(50);
+      queue.putNow("item");
+      assertThat(polled.get(), is("item"));
+    } finally {
+      executor.shutdownNow();
+      queue.dispose();
+    }
+  }
+
+  @Test
+  public void concurrentConsumersTakeEachItemOnce() throws Exception {
+    MappedSegmentQueueStoreDelegate queue = createTestQueueStore(0);
+    int items = 1000;
+    for (int i = 0; i < items; i++) {
+      queue.putNow(i);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Serializable> consumed = Collections.synchronizedList(new ArrayList<>());
+    try {
+      List<Future<?>> consumers = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        consumers.add(executor.submit(() -> {
+          Serializable item;
+          while ((item = queue.poll(0)) != null) {
+            consumed.add(item);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> consumer : consumers) {
+        consumer.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(consumed.size(), is(items));
+    assertThat(consumed.stream().distinct().count(), is((long) items));
+    queue.dispose();
+  }
+
+  @Test
+  public void concurrentRemoveAndPollNeverDeliverRemovedItems() throws Exception {
+    MappedSegmentQueueStoreDelegate queue = createTestQueueStore(0);
+    int items = 1000;
+    for (int i = 0; i < items; i++) {
+      queue.putNow(i);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    List<Serializable> consumed = Collections.synchronizedList(new ArrayList<>());
+    try {
+      Future<?> remover = executor.submit(() -> {
+        for (int i = 0; i < items; i += 2) {
+          queue.remove(i);
+        }
+      });
+      Future<?> consumer = executor.submit(() -> {
+        Serializable item;
+        while ((item = queue.poll(0)) != null) {
+          consumed.add(item);
+        }
+        return null;
+      });
+      remover.get();
+      consumer.get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // whatever the consumer took was not removed, so each item was either delivered or removed, and none was lost
+    List<Serializable> remaining = new ArrayList<>();
+    Serializable item;
+    while ((item = queue.poll(0)) != null) {
+      remaining.add(item);
+    }
+    assertThat(queue.getSize(), is(0));
+    assertThat(consumed.stream().distinct().count(), is((long) consumed.size()));
+    for (Serializable remainingItem : remaining) {
+      assertThat(consumed.contains(remainingItem), is(false));
+    }
+    for (int i = 1; i < items; i += 2) {
+      assertThat(consumed.contains(i) || remaining.contains(i), is(true));
+    }
+    queue.dispose();
+  }
+
+  @Test
+  public void allFilesDeletedAfterDispose() {
+    MappedSegmentQueueStoreDelegate queue = createTestQueueStore(0);
+    queue.putNow("item");
+    queue.dispose();
+
+    File queueFolder = new File(workingDirectory.getRoot(), "queuestore");
+    for (File file : queueFolder.listFiles()) {
+      assertThat(file.getName().contains(TEST_QUEUE_NAME), is(false));
+    }
+  }
+
+  private MappedSegmentQueueStoreDelegate createTestQueueStore(int capacity) {
+    return new MappedSegmentQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext,
+                                               capacity, SEGMENT_SIZE);
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.Thread.sleep;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.INDEX_SNAPSHOT_FILE;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.SEGMENT_FILE_EXTENSION;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import static org.mule.tck.util.MuleContextUtils.mockMuleContext;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  private MuleContext muleContext = mockMuleContext();
+
+  @Mock
+  private MuleConfiguration muleConfiguration;
+
+  private LogStructuredObjectStorePartition<String> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    when(muleContext.getConfiguration()).thenReturn(muleConfiguration);
+    when(muleConfiguration.getWorkingDirectory()).thenReturn(objectStoreFolder.getRoot().getParentFile().getPath());
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot());
+    partition.open();
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws Exception {
+    partition.store(KEY, VALUE);
+    assertThat(partition.contains(KEY), is(true));
+    assertThat(partition.retrieve(KEY), is(VALUE));
+
+    assertThat(partition.remove(KEY), is(VALUE));
+    assertThat(partition.contains(KEY), is(false));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeSameKeyTwice() throws Exception {
+    partition.store(KEY, VALUE);
+    partition.store(KEY, VALUE);
+  }
+
+  @Test
+  public void indicatesUnexistentKeyOnRetrieveError() throws Exception {
+    try {
+      partition.retrieve(KEY);
+      fail("Supposed to thrown an exception as key is not valid");
+    } catch (ObjectDoesNotExistException e) {
+      assertTrue(e.getMessage().contains(KEY));
+    }
+  }
+
+  @Test
+  public void entriesAreRecoveredFromTheLog() throws Exception {
+    partition.store(KEY, VALUE);
+    partition.store("removed", VALUE);
+    partition.remove("removed");
+
+    LogStructuredObjectStorePartition<String> reloaded = reload();
+    assertThat(reloaded.allKeys().size(), is(1));
+    assertThat(reloaded.retrieve(KEY), is(VALUE));
+  }
+
+  @Test
+  public void entriesAreRecoveredFromSnapshotAndLogTail() throws Exception {
+    partition.store(KEY, VALUE);
+    partition.checkpoint();
+    assertThat(new File(objectStoreFolder.getRoot(), INDEX_SNAPSHOT_FILE).exists(), is(true));
+    partition.store("afterSnapshot", VALUE);
+
+    LogStructuredObjectStorePartition<String> reloaded = reload();
+    assertThat(reloaded.allKeys(), hasItems(KEY, "afterSnapshot"));
+    assertThat(reloaded.retrieve("afterSnapshot"), is(VALUE));
+  }
+
+  @Test
+  public void disposeKeepsEntries() throws Exception {
+    partition.store(KEY, VALUE);
+    partition.dispose();
+    assertThat(new File(objectStoreFolder.getRoot(), INDEX_SNAPSHOT_FILE).exists(), is(true));
+
+    assertThat(partition.retrieve(KEY), is(VALUE));
+    partition.store("afterDispose", VALUE);
+    partition.dispose();
+
+    LogStructuredObjectStorePartition<String> reloaded = reload();
+    assertThat(reloaded.allKeys(), hasItems(KEY, "afterDispose"));
+  }
+
+  @Test
+  public void expireByMaxEntriesRemovesOldest() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      partition.store(KEY + i, VALUE + i);
+    }
+
+    partition.expire(UNBOUNDED, 3);
+
+    assertThat(partition.allKeys().size(), is(3));
+    assertThat(partition.allKeys(), hasItems(KEY + 7, KEY + 8, KEY + 9));
+    assertThat(reload().allKeys().size(), is(3));
+  }
+
+  @Test
+  public void expireByTtl() throws Exception {
+    partition.store(KEY, VALUE);
+    sleep(20);
+    partition.store("fresh", VALUE);
+
+    partition.expire(10, UNBOUNDED);
+
+    assertThat(partition.contains(KEY), is(false));
+    assertThat(partition.contains("fresh"), is(true));
+  }
+
+  @Test
+  public void corruptedTailIsTruncatedAndMovedToCorruptedFolder() throws Exception {
+    partition.store(KEY, VALUE);
+    partition.store("corrupted", VALUE);
+
+    File segment = objectStoreFolder.getRoot().listFiles(file -> file.getName().endsWith(SEGMENT_FILE_EXTENSION))[0];
+    try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+      file.setLength(file.length() - 2);
+    }
+
+    LogStructuredObjectStorePartition<String> reloaded = reload();
+    assertThat(reloaded.allKeys().size(), is(1));
+    assertThat(reloaded.retrieve(KEY), is(VALUE));
+
+    File corruptedFolder = new File(objectStoreFolder.getRoot().getParentFile(), PersistentObjectStorePartition.CORRUPTED_FOLDER);
+    assertThat(corruptedFolder.exists(), is(true));
+
+    reloaded.store("corrupted", VALUE);
+    assertThat(reload().retrieve("corrupted"), is(VALUE));
+  }
+
+  @Test
+  public void migratesFilePerEntryPartition() throws Exception {
+    File legacyFolder = objectStoreFolder.newFolder("legacy");
+    PersistentObjectStorePartition<String> legacy = new PersistentObjectStorePartition<>(muleContext, "legacy", legacyFolder);
+    legacy.open();
+    legacy.store(KEY, VALUE);
+
+    LogStructuredObjectStorePartition<String> migrated = new LogStructuredObjectStorePartition<>(muleContext, legacyFolder);
+    migrated.open();
+    assertThat(migrated.retrieve(KEY), is(VALUE));
+    assertThat(legacyFolder.listFiles(file -> file.getName().endsWith(".obj")).length, is(0));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    partition.store(KEY, VALUE);
+    partition.clear();
+    assertThat(partition.contains(KEY), is(false));
+
+    partition.store(KEY, VALUE);
+    assertThat(reload().retrieve(KEY), is(VALUE));
+  }
+
+  private LogStructuredObjectStorePartition<String> reload() throws Exception {
+    LogStructuredObjectStorePartition<String> reloaded =
+        new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    reloaded.open();
+    return reloaded;
+  }
+}
@@ -12,7 +12,9 @@ import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.junit.MockitoJUnit.rule;
@@ -183,6 +185,86 @@ public class MonitoredObjectStoreWrapperTestCase extends AbstractMuleTestCase {
     });
   }
 
+  @Test
+  public void expireAfterFirstRunDoesNotRetrieveEntries() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(of(1));
+    when(settings.getEntryTTL()).thenReturn(empty());
+
+    StoredObject<String> value = new StoredObject<>("", 0L, KEY);
+    when(objectStore.allKeys()).thenReturn(asList(KEY));
+    when(objectStore.retrieve(KEY)).thenReturn(value);
+    when(objectStore.contains(KEY)).thenReturn(true);
+    when(objectStore.remove(KEY)).thenReturn(value);
+
+    wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
+    wrapper.expire();
+
+    when(objectStore.contains(OTHER_KEY)).thenReturn(false);
+    wrapper.store(OTHER_KEY, "");
+    when(objectStore.allKeys()).thenReturn(asList(KEY, OTHER_KEY));
+    wrapper.expire();
+
+    verify(objectStore, never()).retrieve(OTHER_KEY);
+    verify(objectStore).remove(KEY);
+    assertThat(wrapper.getExpiryStatistics().getRuns(), is(2L));
+    assertThat(wrapper.getExpiryStatistics().getTotalExpired(), is(1L));
+    assertThat(wrapper.getExpiryStatistics().getLastRunExpired(), is(1L));
+  }
+
+  @Test
+  public void expireEntriesWrittenByOthers() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(of(1));
+    when(settings.getEntryTTL()).thenReturn(empty());
+
+    StoredObject<String> value1 = new StoredObject<>("", 0L, KEY);
+    StoredObject<String> value2 = new StoredObject<>("", 1L, OTHER_KEY);
+    when(objectStore.allKeys()).thenReturn(asList(KEY));
+    when(objectStore.retrieve(KEY)).thenReturn(value1);
+    when(objectStore.contains(KEY)).thenReturn(true);
+    when(objectStore.remove(KEY)).thenReturn(value1);
+
+    wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
+    wrapper.expire();
+    verify(objectStore, never()).remove(KEY);
+
+    // stored in the wrapped store without going through the wrapper, i.e.: by another node
+    when(objectStore.allKeys()).thenReturn(asList(KEY, OTHER_KEY));
+    when(objectStore.retrieve(OTHER_KEY)).thenReturn(value2);
+    wrapper.expire();
+
+    verify(objectStore).remove(KEY);
+    verify(objectStore, never()).remove(OTHER_KEY);
+    verify(objectStore, times(1)).retrieve(OTHER_KEY);
+  }
+
+  @Test
+  public void expireEntryStoredAgainByOthers() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(of(1));
+    when(settings.getEntryTTL()).thenReturn(empty());
+
+    StoredObject<String> value1 = new StoredObject<>("", 0L, KEY);
+    when(objectStore.allKeys()).thenReturn(asList(KEY));
+    when(objectStore.retrieve(KEY)).thenReturn(value1);
+    when(objectStore.contains(KEY)).thenReturn(true);
+
+    wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
+    wrapper.expire();
+
+    // removed and stored again, and another one stored, without going through the wrapper, i.e.: by another node
+    StoredObject<String> value1Again = new StoredObject<>("", 2L, KEY);
+    StoredObject<String> value2 = new StoredObject<>("", 1L, OTHER_KEY);
+    when(objectStore.allKeys()).thenReturn(asList(KEY, OTHER_KEY));
+    when(objectStore.retrieve(KEY)).thenReturn(value1Again);
+    when(objectStore.retrieve(OTHER_KEY)).thenReturn(value2);
+    when(objectStore.contains(OTHER_KEY)).thenReturn(true);
+    when(objectStore.remove(OTHER_KEY)).thenReturn(value2);
+    wrapper.expire();
+    wrapper.expire();
+
+    verify(objectStore, never()).remove(KEY);
+    verify(objectStore).remove(OTHER_KEY);
+  }
+
   @Test
   @Issue("MULE-18579")
   public void expirationQueueDoesntHoldObjects() throws ObjectStoreException, InterruptedException {
@@ -10,6 +10,7 @@ package org.mule.runtime.core.internal.util.store;
 import static java.lang.Thread.currentThread;
 import static java.util.Optional.of;
 import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
@@ -33,6 +34,7 @@ import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
 import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
 import org.mule.runtime.core.internal.store.PartitionedPersistentObjectStore;
 import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+import org.mule.tck.core.util.store.InMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.probe.JUnitLambdaProbe;
 import org.mule.tck.probe.PollingProber;
@@ -62,6 +64,7 @@ public class MuleObjectStoreManagerTestCase extends AbstractMuleTestCase {
   private SimpleUnitTestSupportSchedulerService schedulerService;
 
   private MuleContextWithRegistry muleContext;
+  private Registry registry;
   private MuleObjectStoreManager storeManager;
 
   private volatile CountDownLatch expireDelayLatch = new CountDownLatch(0);
@@ -78,7 +81,7 @@ public class MuleObjectStoreManagerTestCase extends AbstractMuleTestCase {
     when(muleConfiguration.getWorkingDirectory()).thenReturn(tempWorkDir.getRoot().getAbsolutePath());
     when(muleContext.getConfiguration()).thenReturn(muleConfiguration);
 
-    Registry registry = mock(Registry.class);
+    registry = mock(Registry.class);
     createRegistryAndBaseStore(muleContext, registry);
     when(muleContext.getSchedulerBaseConfig())
         .thenReturn(config().withPrefix(MuleObjectStoreManagerTestCase.class.getName() + "#" + name.getMethodName()));
@@ -161,6 +164,39 @@ public class MuleObjectStoreManagerTestCase extends AbstractMuleTestCase {
     expireDelayLatch.countDown();
   }
 
+  @Test
+  public void expiryStatisticsOfStoreExpiredByManager() throws Exception {
+    when(muleContext.isPrimaryPollingInstance()).thenReturn(true);
+    when(muleContext.getSchedulerService()).thenReturn(schedulerService);
+    when(registry.lookupByName("nonExpirableStore")).thenReturn(of(new InMemoryObjectStore<>()));
+    storeManager.setBaseTransientStoreKey("nonExpirableStore");
+
+    addJavaSerializerToMockMuleContext(muleContext);
+    storeManager.initialise();
+    try {
+      storeManager.createObjectStore(TEST_PARTITION_NAME, ObjectStoreSettings.builder()
+          .persistent(false)
+          .entryTtl(10L)
+          .expirationInterval(10L)
+          .build());
+      storeManager.createObjectStore(TEST_PARTITION_NAME + "_persistent", ObjectStoreSettings.builder()
+          .persistent(true)
+          .entryTtl(10L)
+          .expirationInterval(10L)
+          .build());
+
+      new PollingProber(POLLING_TIMEOUT, POLLING_DELAY).check(new JUnitLambdaProbe(() -> {
+        assertThat(storeManager.getExpiryStatistics(TEST_PARTITION_NAME).get().getRuns(), greaterThan(0L));
+        return true;
+      }));
+      // expired by its base store
+      assertThat(storeManager.getExpiryStatistics(TEST_PARTITION_NAME + "_persistent").isPresent(), is(false));
+      assertThat(storeManager.getExpiryStatistics("notCreated").isPresent(), is(false));
+    } finally {
+      storeManager.dispose();
+    }
+  }
+
   private void ensurePartitionIsCleared(boolean isPersistent) throws ObjectStoreException, InitialisationException {
     try {
       ObjectStorePartition<Serializable> store = createStorePartition(TEST_PARTITION_NAME, isPersistent);
@@ -9,12 +9,16 @@ package org.mule.runtime.core.internal.util.store;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
 import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.internal.management.stats.ObjectStorePartitionStatistics;
 import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
@@ -120,4 +124,59 @@ public class PartitionedInMemoryObjectStoreTestCase extends AbstractMuleTestCase
     verify(os, times(1)).disposePartition(TEST_PARTITION);
   }
 
+  @Test
+  public void maxEntriesEnforcedOnStoreOnceExpired() throws ObjectStoreException {
+    store.expire(10, 2, TEST_PARTITION);
+
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY3, TEST_VALUE, TEST_PARTITION);
+
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(false));
+    assertThat(store.allKeys(TEST_PARTITION), containsInAnyOrder(TEST_KEY2, TEST_KEY3));
+    assertThat(store.getPartitionStatistics(TEST_PARTITION).get().getEvicted(), is(1L));
+  }
+
+  @Test
+  public void entryTTLEnforcedOnStoreOnceExpired() throws ObjectStoreException {
+    store.expire(1, 0, TEST_PARTITION);
+
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    currentNanoTime = MILLISECONDS.toNanos(2);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(false));
+    assertThat(store.retrieve(TEST_KEY2, TEST_PARTITION), equalTo(TEST_VALUE));
+    assertThat(store.getPartitionStatistics(TEST_PARTITION).get().getExpired(), is(1L));
+  }
+
+  @Test
+  public void removedEntriesAreNotEvicted() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+    store.remove(TEST_KEY1, TEST_PARTITION);
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+
+    store.expire(10, 1, TEST_PARTITION);
+
+    assertThat(store.allKeys(TEST_PARTITION), contains(TEST_KEY1));
+    assertThat(store.getPartitionStatistics(TEST_PARTITION).get().getSize(), is(1L));
+  }
+
+  @Test
+  public void partitionStatistics() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.retrieve(TEST_KEY1, TEST_PARTITION);
+    try {
+      store.retrieve(TEST_KEY2, TEST_PARTITION);
+    } catch (ObjectDoesNotExistException e) {
+      // expected
+    }
+
+    ObjectStorePartitionStatistics statistics = store.getPartitionStatistics(TEST_PARTITION).get();
+    assertThat(statistics.getSize(), is(1L));
+    assertThat(statistics.getHits(), is(1L));
+    assertThat(statistics.getMisses(), is(1L));
+  }
+
 }
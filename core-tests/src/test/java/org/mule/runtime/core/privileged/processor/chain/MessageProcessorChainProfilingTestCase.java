@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.privileged.processor.chain;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_EXECUTED;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_OPERATION_EXECUTION;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_PROFILING_SERVICE_KEY;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
+
+import static java.util.Collections.singletonMap;
+import static java.util.Optional.empty;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.profiling.ProfilingDataProducer;
+import org.mule.runtime.api.profiling.ProfilingEventContext;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.internal.profiling.NoOpProfilingService;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.Logger;
+
+@SmallTest
+public class MessageProcessorChainProfilingTestCase extends AbstractMuleContextTestCase {
+
+  private static final Logger LOGGER = getLogger(MessageProcessorChainProfilingTestCase.class);
+
+  private final ProfilingDataProducer<ProfilingEventContext, CoreEvent> startingOperationProducer =
+      mock(ProfilingDataProducer.class);
+
+  private MessageProcessorChain chain;
+
+  @Override
+  protected Map<String, Object> getStartUpRegistryObjects() {
+    // Only the producer of the starting operation events is available
+    return singletonMap(MULE_PROFILING_SERVICE_KEY, new NoOpProfilingService() {
+
+      @Override
+      public <T extends ProfilingEventContext, S> ProfilingDataProducer<T, S> getProfilingDataProducer(
+                                                                                                     ProfilingEventType<T> profilingEventType) {
+        if (profilingEventType == STARTING_OPERATION_EXECUTION) {
+          return (ProfilingDataProducer<T, S>) startingOperationProducer;
+        } else if (profilingEventType == OPERATION_EXECUTED) {
+          return null;
+        }
+        return super.getProfilingDataProducer(profilingEventType);
+      }
+    });
+  }
+
+  @After
+  public void after() throws Exception {
+    if (chain != null) {
+      stopIfNeeded(chain);
+      disposeIfNeeded(chain, LOGGER);
+    }
+  }
+
+  @Test
+  public void processWithoutOperationExecutedProducer() throws Exception {
+    Processor processor = event -> event;
+    chain = newChain(empty(), processor);
+    initialiseIfNeeded(chain, muleContext);
+    startIfNeeded(chain);
+
+    CoreEvent event = testEvent();
+    assertThat(processToApply(event, chain).getMessage(), is(sameInstance(event.getMessage())));
+    verify(startingOperationProducer).triggerProfilingEvent(any(CoreEvent.class), any(Function.class));
+  }
+}
@@ -16,7 +16,8 @@ import org.mule.runtime.core.internal.construct.FlowBackPressureException;
 public enum BackPressureReason {
 
   /**
-   * The flow is already processing the number of events required by its maxConcurrency.
+   * The flow is already processing the number of events required by its maxConcurrency, or by its adaptive concurrency limit
+   * when one is configured.
    */
   MAX_CONCURRENCY_EXCEEDED,
 
@@ -6,9 +6,21 @@
  */
 package org.mule.runtime.core.api.context.notification;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.System.getProperty;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
+import static org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.BATCHED_DISPATCH_PROPERTY;
+import static org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.BATCH_SIZE_PROPERTY;
+import static org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.BUFFER_SIZE_PROPERTY;
+import static org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.DEFAULT_BATCH_SIZE;
+import static org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.DEFAULT_BUFFER_SIZE;
+import static org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.DEFAULT_SAMPLE_RATE;
+import static org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.OVERFLOW_POLICY_PROPERTY;
+import static org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.OverflowPolicy.BLOCK;
+import static org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.SAMPLE_RATE_PROPERTY;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.api.annotation.NoExtend;
@@ -58,7 +70,10 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.ClassUtils;
 import org.mule.runtime.core.internal.context.notification.Configuration;
+import org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher;
+import org.mule.runtime.core.internal.context.notification.NotificationBatchDispatcher.OverflowPolicy;
 import org.mule.runtime.core.internal.context.notification.Policy;
+import org.mule.runtime.core.internal.management.stats.NotificationDispatchStatistics;
 import org.mule.runtime.core.internal.profiling.notification.ProfilingNotificationListener;
 import org.mule.runtime.core.internal.profiling.notification.ProfilingNotification;
 import org.mule.runtime.core.privileged.context.notification.OptimisedNotificationHandler;
@@ -110,6 +125,10 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   private final Latch disposeLatch = new Latch();
   private Scheduler notificationsLiteScheduler;
   private Scheduler notificationsIoScheduler;
+  private final boolean batchedDispatch = getBoolean(BATCHED_DISPATCH_PROPERTY);
+  private final NotificationDispatchStatistics dispatchStatistics = new NotificationDispatchStatistics();
+  private NotificationBatchDispatcher notificationsLiteDispatcher;
+  private NotificationBatchDispatcher notificationsIoDispatcher;
   private MuleContext muleContext;
   private LazyValue<String> serverId = new LazyValue<>(() -> muleContext.getId());
   private LazyValue<SchedulerService> schedulerService = new LazyValue<>(() -> muleContext.getSchedulerService());
@@ -137,6 +156,18 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   public void initialise() throws InitialisationException {
     notificationsLiteScheduler = schedulerService.get().cpuLightScheduler();
     notificationsIoScheduler = schedulerService.get().ioScheduler();
+
+    if (batchedDispatch) {
+      notificationsLiteDispatcher = createBatchDispatcher(notificationsLiteScheduler);
+      notificationsIoDispatcher = createBatchDispatcher(notificationsIoScheduler);
+    }
+  }
+
+  private NotificationBatchDispatcher createBatchDispatcher(Scheduler scheduler) {
+    OverflowPolicy overflowPolicy = OverflowPolicy.valueOf(getProperty(OVERFLOW_POLICY_PROPERTY, BLOCK.name()));
+    return new NotificationBatchDispatcher(scheduler, getInteger(BUFFER_SIZE_PROPERTY, DEFAULT_BUFFER_SIZE),
+                                           getInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE), overflowPolicy,
+                                           getInteger(SAMPLE_RATE_PROPERTY, DEFAULT_SAMPLE_RATE), dispatchStatistics);
   }
 
   public void addInterfaceToType(Class<? extends NotificationListener> iface,
@@ -206,6 +237,14 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       }
       if (notification.isSynchronous()) {
         notifyListeners(notification, (listener, nfn) -> listener.onNotification(nfn));
+      } else if (notificationsLiteDispatcher != null) {
+        notifyListeners(notification, (listener, nfn) -> {
+          if (listener.isBlocking()) {
+            notificationsIoDispatcher.dispatch(listener, nfn);
+          } else {
+            notificationsLiteDispatcher.dispatch(listener, nfn);
+          }
+        });
       } else {
         notifyListeners(notification, (listener, nfn) -> {
           if (listener.isBlocking()) {
@@ -254,6 +293,11 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       }
     }
 
+    if (notificationsLiteDispatcher != null) {
+      notificationsLiteDispatcher.flush();
+      notificationsIoDispatcher.flush();
+    }
+
     if (notificationsLiteScheduler != null) {
       notificationsLiteScheduler.stop();
       notificationsLiteScheduler = null;
@@ -300,6 +344,15 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
     return disposed.get();
   }
 
+  /**
+   * @return the statistics about the asynchronous notifications delivered in batches, when
+   *         {@link NotificationBatchDispatcher#BATCHED_DISPATCH_PROPERTY batched dispatch} is enabled.
+   * @since 4.6
+   */
+  public NotificationDispatchStatistics getDispatchStatistics() {
+    return dispatchStatistics;
+  }
+
   /**
    * @return a {@link ServerNotificationManager} with the default configuration for Mule notifications
    */
@@ -45,7 +45,7 @@ public class AllStatistics {
   public AllStatistics() {
     clear();
     appStats = new ApplicationStatistics(this);
-    flowSummaryStatistics = new DefaultFlowsSummaryStatistics(isStatisticsEnabled);
+    flowSummaryStatistics = new DefaultFlowsSummaryStatistics(isStatisticsEnabled, appStats::getProcessingTimePercentile);
     appStats.setEnabled(isStatisticsEnabled);
     add(appStats);
   }
@@ -118,6 +118,15 @@ public class AllStatistics {
     return flowSummaryStatistics;
   }
 
+  /**
+   * @param percentile the percentile to get, between {@code 0} and {@code 100}
+   * @return the time below which the given percentage of the events processed by all the flows were completed.
+   * @since 4.6
+   */
+  public long getProcessingTimePercentile(double percentile) {
+    return appStats.getProcessingTimePercentile(percentile);
+  }
+
   /**
    * @return the available payload statistics for all components.
    * @since 4.4, 4.3.1
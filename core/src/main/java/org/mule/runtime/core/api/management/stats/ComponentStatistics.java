@@ -6,15 +6,23 @@
  */
 package org.mule.runtime.core.api.management.stats;
 
+import static java.lang.System.currentTimeMillis;
+import static org.mule.runtime.core.api.management.stats.ProcessingTime.getEffectiveTime;
+
 import org.mule.api.annotation.NoExtend;
 import org.mule.runtime.core.api.util.StringUtils;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * ComponentStatistics is a basic metrics aggregation class that is accessible via the JMX api. This class is not thread-safe -
- * occasional errors in reported statistics should be expected, especially when the {@link #clear()} method is used.
+ * ComponentStatistics is a basic metrics aggregation class that is accessible via the JMX api. Recording is lock-free, but the
+ * values are not updated atomically as a whole - occasional errors in reported statistics should be expected, especially when
+ * the {@link #clear()} method is used.
  */
 @NoExtend
 public class ComponentStatistics implements Statistics {
@@ -26,14 +34,15 @@ public class ComponentStatistics implements Statistics {
    */
   private static final long serialVersionUID = -2086999226732861674L;
 
-  private long minExecutionTime = 0;
-  private long maxExecutionTime = 0;
-  private long averageExecutionTime = 0;
-  private long executedEvent = 0;
-  private long totalExecTime = 0;
+  private final LongAccumulator minExecutionTime = new LongAccumulator(Long::min, Long.MAX_VALUE);
+  private final LongAccumulator maxExecutionTime = new LongAccumulator(Long::max, 0);
+  private final LongAdder executedEvent = new LongAdder();
+  private final LongAdder totalExecTime = new LongAdder();
+  private volatile LatencyHistogram executionTimeHistogram;
+  private volatile boolean eventsExecuted = false;
   private boolean enabled = false;
   private long intervalTime = 0;
-  private long currentIntervalStartTime = 0;
+  private final AtomicLong currentIntervalStartTime = new AtomicLong(0);
   private boolean statIntervalTimeEnabled = false;
 
   /**
@@ -65,11 +74,15 @@ public class ComponentStatistics implements Statistics {
    * If called while a branch is being executed, then statistics may be slightly erroneous.
    */
   public void clear() {
-    minExecutionTime = 0;
-    maxExecutionTime = 0;
-    executedEvent = 0;
-    totalExecTime = 0;
-    averageExecutionTime = 0;
+    eventsExecuted = false;
+    minExecutionTime.reset();
+    maxExecutionTime.reset();
+    executedEvent.reset();
+    totalExecTime.reset();
+    LatencyHistogram histogram = executionTimeHistogram;
+    if (histogram != null) {
+      histogram.clear();
+    }
   }
 
   /**
@@ -102,7 +115,7 @@ public class ComponentStatistics implements Statistics {
    * @return The maximum time, or zero if no events have been started.
    */
   public long getMaxExecutionTime() {
-    return maxExecutionTime;
+    return maxExecutionTime.get();
   }
 
   /**
@@ -111,7 +124,8 @@ public class ComponentStatistics implements Statistics {
    * @return The maximum time, or zero if no events have been completed.
    */
   public long getMinExecutionTime() {
-    return minExecutionTime;
+    long min = minExecutionTime.get();
+    return min == Long.MAX_VALUE ? 0 : min;
   }
 
   /**
@@ -121,7 +135,7 @@ public class ComponentStatistics implements Statistics {
    * @return The total cumulative execution time, in milliseconds.
    */
   public long getTotalExecutionTime() {
-    return totalExecTime;
+    return totalExecTime.sum();
   }
 
   /**
@@ -133,7 +147,7 @@ public class ComponentStatistics implements Statistics {
    * @return The number of events executed since last cleared.
    */
   public long getExecutedEvents() {
-    return executedEvent;
+    return executedEvent.sum();
   }
 
   /**
@@ -143,34 +157,23 @@ public class ComponentStatistics implements Statistics {
    * @param branch the time to execute this branch
    * @param total  the total time (so far) for processing this event
    */
-  public synchronized void addExecutionBranchTime(boolean first, long branch, long total) {
+  public void addExecutionBranchTime(boolean first, long branch, long total) {
     // TODO MULE-9151 - ComponentStatistics should really create distinct Event
     // objects that can be used to aggregate statistics and then atomically
     // log them at completion time.
 
     if (statIntervalTimeEnabled) {
-      long currentTime = System.currentTimeMillis();
-      if (currentIntervalStartTime == 0) {
-        currentIntervalStartTime = currentTime;
-      }
-
-      if ((currentTime - currentIntervalStartTime) > intervalTime) {
-        clear();
-        currentIntervalStartTime = currentTime;
-      }
+      checkIntervalTime();
     }
 
     if (first) {
-      executedEvent++;
+      executedEvent.increment();
+      eventsExecuted = true;
     }
 
-    if (executedEvent > 0) {
-      totalExecTime += ProcessingTime.getEffectiveTime(branch);
-      long effectiveTotal = ProcessingTime.getEffectiveTime(total);
-      if (maxExecutionTime == 0 || effectiveTotal > maxExecutionTime) {
-        maxExecutionTime = effectiveTotal;
-      }
-      averageExecutionTime = totalExecTime / executedEvent;
+    if (eventsExecuted) {
+      totalExecTime.add(getEffectiveTime(branch));
+      maxExecutionTime.accumulate(getEffectiveTime(total));
     }
   }
 
@@ -181,12 +184,11 @@ public class ComponentStatistics implements Statistics {
    * 
    * @param time the total time required to process this event
    */
-  public synchronized void addCompleteExecutionTime(long time) {
-    if (executedEvent > 0) {
-      long effectiveTime = ProcessingTime.getEffectiveTime(time);
-      if (minExecutionTime == 0 || effectiveTime < minExecutionTime) {
-        minExecutionTime = effectiveTime;
-      }
+  public void addCompleteExecutionTime(long time) {
+    if (eventsExecuted) {
+      long effectiveTime = getEffectiveTime(time);
+      minExecutionTime.accumulate(effectiveTime);
+      executionTimeHistogram().record(effectiveTime);
     }
   }
 
@@ -197,31 +199,34 @@ public class ComponentStatistics implements Statistics {
    *
    * @param time The total event time to be logged/recorded.
    */
-  public synchronized void addExecutionTime(long time) {
+  public void addExecutionTime(long time) {
     if (statIntervalTimeEnabled) {
-      long currentTime = System.currentTimeMillis();
-      if (currentIntervalStartTime == 0) {
-        currentIntervalStartTime = currentTime;
-      }
-
-      if ((currentTime - currentIntervalStartTime) > intervalTime) {
-        clear();
-        currentIntervalStartTime = currentTime;
-      }
+      checkIntervalTime();
     }
 
-    executedEvent++;
+    executedEvent.increment();
+    eventsExecuted = true;
 
-    long effectiveTime = ProcessingTime.getEffectiveTime(time);
-    totalExecTime += effectiveTime;
+    long effectiveTime = getEffectiveTime(time);
+    totalExecTime.add(effectiveTime);
+    minExecutionTime.accumulate(effectiveTime);
+    maxExecutionTime.accumulate(effectiveTime);
+    executionTimeHistogram().record(effectiveTime);
+  }
 
-    if (minExecutionTime == 0 || effectiveTime < minExecutionTime) {
-      minExecutionTime = time;
-    }
-    if (maxExecutionTime == 0 || effectiveTime > maxExecutionTime) {
-      maxExecutionTime = time;
+  /**
+   * Clears the statistics once the configured interval time has elapsed. Only one of the threads that find the interval elapsed
+   * does the clear.
+   */
+  private void checkIntervalTime() {
+    long currentTime = currentTimeMillis();
+    currentIntervalStartTime.compareAndSet(0, currentTime);
+
+    long intervalStartTime = currentIntervalStartTime.get();
+    if ((currentTime - intervalStartTime) > intervalTime
+        && currentIntervalStartTime.compareAndSet(intervalStartTime, currentTime)) {
+      clear();
     }
-    averageExecutionTime = totalExecTime / executedEvent;
   }
 
   /**
@@ -230,7 +235,54 @@ public class ComponentStatistics implements Statistics {
    * @return the total event time accumulated to this point, divided by the total number of events recorded.
    */
   public long getAverageExecutionTime() {
-    return averageExecutionTime;
+    long executed = executedEvent.sum();
+    return executed == 0 ? 0 : totalExecTime.sum() / executed;
+  }
+
+  /**
+   * Returns the complete event execution time below which the given percentage of the events recorded since last cleared fall.
+   * <p/>
+   * Percentiles are computed from a histogram, so the returned value may be over the exact one by up to a 6%.
+   *
+   * @param percentile the percentile to get, between {@code 0} and {@code 100}
+   * @return the execution time at the given percentile, or zero if no events have been completed.
+   * @since 4.6
+   */
+  public long getExecutionTimePercentile(double percentile) {
+    LatencyHistogram histogram = executionTimeHistogram;
+    return histogram == null ? 0 : histogram.getValueAtPercentile(percentile);
+  }
+
+  /**
+   * Adds the complete event execution times recorded by this collector to another one, so percentiles can be computed over
+   * several components.
+   *
+   * @param target the statistics collector to add the execution times to.
+   * @since 4.6
+   */
+  public void addExecutionTimesTo(ComponentStatistics target) {
+    LatencyHistogram histogram = executionTimeHistogram;
+    if (histogram != null) {
+      histogram.addTo(target.executionTimeHistogram());
+    }
+  }
+
+  /**
+   * The histogram takes a few tens of KB, so it is only created once the first execution time is recorded, which doesn't happen
+   * for components whose statistics are disabled.
+   */
+  private LatencyHistogram executionTimeHistogram() {
+    LatencyHistogram histogram = executionTimeHistogram;
+    if (histogram == null) {
+      synchronized (this) {
+        histogram = executionTimeHistogram;
+        if (histogram == null) {
+          histogram = new LatencyHistogram();
+          executionTimeHistogram = histogram;
+        }
+      }
+    }
+    return histogram;
   }
 
 }
@@ -74,6 +74,51 @@ public interface FlowConstructStatistics extends Statistics {
    */
   long getTotalProcessingTime();
 
+  /**
+   * @param percentile the percentile to get, between {@code 0} and {@code 100}
+   * @return the time below which the given percentage of the processed events were completed
+   *
+   * @since 4.6
+   */
+  default long getProcessingTimePercentile(double percentile) {
+    return 0;
+  }
+
+  /**
+   * Indicates that an event had to wait or was rejected because the flow reached its adaptive concurrency limit.
+   *
+   * @since 4.6
+   */
+  default void incConcurrencyLimitRejections() {}
+
+  /**
+   * @return the number of events that had to wait or were rejected because the flow reached its adaptive concurrency limit.
+   *
+   * @since 4.6
+   */
+  default long getConcurrencyLimitRejections() {
+    return 0;
+  }
+
+  /**
+   * Updates the current adaptive concurrency limit of the flow.
+   *
+   * @param limit the maximum number of events the flow currently processes concurrently.
+   *
+   * @since 4.6
+   */
+  default void setConcurrencyLimit(int limit) {}
+
+  /**
+   * @return the maximum number of events the flow currently processes concurrently, or {@code -1} if the flow has no adaptive
+   *         concurrency limit.
+   *
+   * @since 4.6
+   */
+  default int getConcurrencyLimit() {
+    return -1;
+  }
+
   /**
    * @return the number of execution errors at a given time
    */
@@ -79,4 +79,17 @@ public interface FlowsSummaryStatistics extends Statistics {
    */
   int getActiveApikitFlows();
 
+  /**
+   * Returns the time below which the given percentage of the events processed by all the flows in the application were
+   * completed.
+   *
+   * @param percentile the percentile to get, between {@code 0} and {@code 100}
+   * @return The processing time at the given percentile
+   *
+   * @since 4.6
+   */
+  default long getProcessingTimePercentile(double percentile) {
+    return 0;
+  }
+
 }
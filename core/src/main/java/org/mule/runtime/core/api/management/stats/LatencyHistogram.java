@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free histogram of non-negative values, used to compute percentiles of processing times.
+ * <p>
+ * Values are counted in log-linear buckets, as in an HDR histogram: values below {@value #SUB_BUCKETS} have a bucket of their
+ * own, and every power of two above that is split in {@value #HALF_SUB_BUCKETS} buckets of the same width. This keeps the
+ * relative error of the reported percentiles under 1/{@value #HALF_SUB_BUCKETS} using a fixed amount of memory.
+ * <p>
+ * Counts are striped by recording thread so that threads recording similar values don't contend on the same bucket. Reads
+ * merge the stripes, so they are more expensive than writes and are not atomic with respect to concurrent writes.
+ * <p>
+ * This is an implementation detail of the statistics in this package, which expose the percentiles through their own accessors.
+ *
+ * @since 4.6
+ */
+final class LatencyHistogram implements Serializable {
+
+  private static final long serialVersionUID = 2411565327744924839L;
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+  private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+  private static final int MAX_STRIPES = 8;
+  private static final int STRIPES = min(MAX_STRIPES, Integer.highestOneBit(max(1, getRuntime().availableProcessors())));
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS * STRIPES);
+  private final LongAccumulator maxValue = new LongAccumulator(Long::max, 0);
+
+  /**
+   * Records a value in this histogram. Negative values are recorded as {@code 0}.
+   *
+   * @param value the value to record
+   */
+  void record(long value) {
+    long positiveValue = max(0, value);
+    int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+    counts.incrementAndGet(stripe * BUCKETS + bucketIndex(positiveValue));
+    maxValue.accumulate(positiveValue);
+  }
+
+  /**
+   * @return the number of values recorded since this histogram was last cleared.
+   */
+  long getCount() {
+    long count = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * @return the greatest value recorded since this histogram was last cleared, or {@code 0} if there is none.
+   */
+  long getMax() {
+    return maxValue.get();
+  }
+
+  /**
+   * Returns the value below which the given percentage of the recorded values fall.
+   * <p>
+   * The returned value is the upper bound of the bucket holding the percentile, capped at the greatest recorded value.
+   *
+   * @param percentile the percentile to get, between {@code 0} and {@code 100}
+   * @return the value at the given percentile, or {@code 0} if no values were recorded.
+   */
+  long getValueAtPercentile(double percentile) {
+    long[] merged = mergedCounts();
+    long total = 0;
+    for (long count : merged) {
+      total += count;
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long target = max(1, (long) ceil(min(100, max(0, percentile)) / 100 * total));
+    long accumulated = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      accumulated += merged[bucket];
+      if (accumulated >= target) {
+        return min(bucketUpperBound(bucket), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Adds the values recorded in this histogram to another one.
+   *
+   * @param target the histogram to add the values to
+   */
+  void addTo(LatencyHistogram target) {
+    long[] merged = mergedCounts();
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      if (merged[bucket] > 0) {
+        target.counts.addAndGet(bucket, merged[bucket]);
+      }
+    }
+    target.maxValue.accumulate(getMax());
+  }
+
+  /**
+   * Removes all the recorded values.
+   */
+  void clear() {
+    for (int i = 0; i < counts.length(); i++) {
+      counts.set(i, 0);
+    }
+    maxValue.reset();
+  }
+
+  private long[] mergedCounts() {
+    long[] merged = new long[BUCKETS];
+    for (int i = 0; i < counts.length(); i++) {
+      merged[i % BUCKETS] += counts.get(i);
+    }
+    return merged;
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int magnitude = Long.SIZE - 1 - numberOfLeadingZeros(value);
+    int shift = magnitude - SUB_BUCKET_BITS + 1;
+    return SUB_BUCKETS + (magnitude - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS + (int) (value >>> shift) - HALF_SUB_BUCKETS;
+  }
+
+  static long bucketUpperBound(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int magnitude = (bucket - SUB_BUCKETS) / HALF_SUB_BUCKETS + SUB_BUCKET_BITS;
+    int shift = magnitude - SUB_BUCKET_BITS + 1;
+    long subBucket = (bucket - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
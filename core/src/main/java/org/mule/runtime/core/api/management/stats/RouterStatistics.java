@@ -13,6 +13,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * <code>RouterStatistics</code> TODO
@@ -37,6 +39,8 @@ public class RouterStatistics implements Statistics {
   private long totalRouted;
   private long totalReceived;
   private Map routed;
+  private final Map<Integer, LatencyHistogram> routeProcessingTimes = new ConcurrentHashMap<>();
+  private final Map<Integer, LongAdder> indexedRouted = new ConcurrentHashMap<>();
   private int type;
 
   public synchronized void clear() {
@@ -45,6 +49,8 @@ public class RouterStatistics implements Statistics {
     totalReceived = 0;
     caughtInCatchAll = 0;
     routed.clear();
+    routeProcessingTimes.clear();
+    indexedRouted.clear();
   }
 
   /**
@@ -112,6 +118,28 @@ public class RouterStatistics implements Statistics {
     totalReceived++;
   }
 
+  /**
+   * Records the time it took a route to process a message.
+   *
+   * @param routeIndex     the position of the route among the ones of the router
+   * @param processingTime the processing time, in milliseconds
+   * @since 4.6
+   */
+  public void addRouteProcessingTime(int routeIndex, long processingTime) {
+    routeProcessingTimes.computeIfAbsent(routeIndex, index -> new LatencyHistogram()).record(processingTime);
+  }
+
+  /**
+   * Records a message routed by looking up the route from a value of the message, instead of evaluating the condition of each
+   * route.
+   *
+   * @param routeIndex the position of the route among the ones of the router
+   * @since 4.6
+   */
+  public void incrementIndexedRoutedMessage(int routeIndex) {
+    indexedRouted.computeIfAbsent(routeIndex, index -> new LongAdder()).increment();
+  }
+
   /**
    * Increment no routed message
    */
@@ -168,6 +196,47 @@ public class RouterStatistics implements Statistics {
     }
   }
 
+  /**
+   * @param routeIndex the position of a route among the ones of the router
+   * @return the number of processing times recorded for the route.
+   * @since 4.6
+   */
+  public long getRouteProcessingTimeCount(int routeIndex) {
+    LatencyHistogram processingTimes = routeProcessingTimes.get(routeIndex);
+    return processingTimes == null ? 0 : processingTimes.getCount();
+  }
+
+  /**
+   * @param routeIndex the position of a route among the ones of the router
+   * @return the greatest processing time recorded for the route, in milliseconds.
+   * @since 4.6
+   */
+  public long getRouteMaxProcessingTime(int routeIndex) {
+    LatencyHistogram processingTimes = routeProcessingTimes.get(routeIndex);
+    return processingTimes == null ? 0 : processingTimes.getMax();
+  }
+
+  /**
+   * @param routeIndex the position of a route among the ones of the router
+   * @param percentile the percentile to get, between {@code 0} and {@code 100}
+   * @return the processing time of the route below which the given percentage of the recorded ones fall, in milliseconds.
+   * @since 4.6
+   */
+  public long getRouteProcessingTimePercentile(int routeIndex, double percentile) {
+    LatencyHistogram processingTimes = routeProcessingTimes.get(routeIndex);
+    return processingTimes == null ? 0 : processingTimes.getValueAtPercentile(percentile);
+  }
+
+  /**
+   * @param routeIndex the position of a route among the ones of the router
+   * @return the number of messages routed to the route by looking it up from a value of the message.
+   * @since 4.6
+   */
+  public long getIndexedRouted(int routeIndex) {
+    LongAdder count = indexedRouted.get(routeIndex);
+    return count == null ? 0 : count.sum();
+  }
+
   public boolean isInbound() {
     return type == TYPE_INBOUND;
   }
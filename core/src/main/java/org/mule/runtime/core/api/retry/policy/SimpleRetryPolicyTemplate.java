@@ -6,8 +6,16 @@
  */
 package org.mule.runtime.core.api.retry.policy;
 
+import static java.util.Optional.empty;
+
+import org.mule.runtime.core.internal.retry.RetryTimerWheel;
+import org.mule.runtime.core.internal.retry.RetryTimerWheelManager;
 import org.mule.runtime.core.internal.retry.policies.SimpleRetryPolicy;
 
+import java.util.Optional;
+
+import javax.inject.Inject;
+
 /**
  * This policy allows the user to configure how many times a retry should be attempted and how long to wait between retries.
  */
@@ -20,6 +28,9 @@ public class SimpleRetryPolicyTemplate extends AbstractPolicyTemplate {
   protected volatile int count = DEFAULT_RETRY_COUNT;
   protected volatile long frequency = DEFAULT_FREQUENCY;
 
+  @Inject
+  private Optional<RetryTimerWheelManager> retryTimerWheelManager = empty();
+
   public SimpleRetryPolicyTemplate() {
     super();
   }
@@ -47,7 +58,12 @@ public class SimpleRetryPolicyTemplate extends AbstractPolicyTemplate {
 
   @Override
   public RetryPolicy createRetryInstance() {
-    return new SimpleRetryPolicy(frequency, count);
+    return new SimpleRetryPolicy(frequency, count, getRetryTimer());
+  }
+
+  private RetryTimerWheel getRetryTimer() {
+    // templates that were not injected keep scheduling their retries on the retry scheduler
+    return retryTimerWheelManager.map(RetryTimerWheelManager::getRetryTimer).orElse(null);
   }
 
   @Override
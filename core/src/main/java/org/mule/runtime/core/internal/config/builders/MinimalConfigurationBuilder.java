@@ -90,6 +90,7 @@ import org.mule.runtime.core.internal.profiling.NoOpProfilingService;
 import org.mule.runtime.core.internal.profiling.NoopSpanExporterFactory;
 import org.mule.runtime.core.internal.registry.MuleRegistry;
 import org.mule.runtime.core.internal.registry.TypeBasedTransformerResolver;
+import org.mule.runtime.core.internal.retry.RetryTimerWheelManager;
 import org.mule.runtime.core.internal.security.DefaultMuleSecurityManager;
 import org.mule.runtime.core.internal.serialization.JavaObjectSerializer;
 import org.mule.runtime.core.internal.streaming.StreamingGhostBuster;
@@ -159,6 +160,7 @@ public class MinimalConfigurationBuilder extends AbstractConfigurationBuilder {
     registerStreamingManager(muleContext);
     registerObject(OBJECT_TIME_SUPPLIER, new LocalTimeSupplier(), muleContext);
     registerObject(OBJECT_CLUSTER_SERVICE, new DefaultClusterService(), muleContext);
+    registerObject(RetryTimerWheelManager.REGISTRY_KEY, new RetryTimerWheelManager(), muleContext);
 
     registerTransactionFactoryLocator(muleContext);
 
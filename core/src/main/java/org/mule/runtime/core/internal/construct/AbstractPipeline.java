@@ -134,6 +134,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
   private final boolean triggerFlow;
   private final boolean apikitFlow;
   private final ComponentInitialStateManager componentInitialStateManager;
+  private final Optional<AdaptiveConcurrencyLimiter> concurrencyLimiter;
   private final BackPressureStrategySelector backpressureStrategySelector;
   private final ErrorType FLOW_BACKPRESSURE_ERROR_TYPE;
 
@@ -171,6 +172,9 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
     }
 
     processingStrategy = this.processingStrategyFactory.create(muleContext, getName());
+    concurrencyLimiter = triggerFlow
+        ? AdaptiveConcurrencyLimiter.fromSystemProperties(maxConcurrency, getStatistics())
+        : Optional.empty();
     backpressureStrategySelector = new BackPressureStrategySelector(this);
     FLOW_BACKPRESSURE_ERROR_TYPE = muleContext.getErrorTypeRepository().getErrorType(FLOW_BACK_PRESSURE).get();
   }
@@ -697,6 +701,13 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
     }
   }
 
+  /**
+   * @return the limiter that adapts the concurrency of this flow to its latency, if one is configured.
+   */
+  Optional<AdaptiveConcurrencyLimiter> getConcurrencyLimiter() {
+    return concurrencyLimiter;
+  }
+
   public Map<BackPressureReason, FlowBackPressureException> getBackPressureExceptions() {
     return backPressureExceptions;
   }
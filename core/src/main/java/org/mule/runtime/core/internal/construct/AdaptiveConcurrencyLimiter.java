@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.construct;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
+import static java.util.Locale.ROOT;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of events a flow processes concurrently, adapting that limit to the observed processing latency instead of
+ * using a fixed {@code maxConcurrency}.
+ * <p>
+ * Two algorithms are available, both based on the ones from Netflix's concurrency-limits:
+ * <ul>
+ * <li>{@link Algorithm#AIMD}: increases the limit by one while the flow is using at least half of it, and decreases it
+ * multiplicatively when the processing of an event takes longer than a timeout.</li>
+ * <li>{@link Algorithm#GRADIENT}: compares the latency of each event with the long term average latency of the flow, and shrinks
+ * or grows the limit according to that ratio.</li>
+ * </ul>
+ * The samples of the events processed are recorded without locking, and the limit is only recomputed from them once per window,
+ * by the thread that completes it. So, the algorithms are applied to the average latency of a window and to the highest number
+ * of events in flight during it.
+ * <p>
+ * The limiter is enabled for all flows by setting {@link #ALGORITHM_PROPERTY} to the name of one of the algorithms.
+ *
+ * @since 4.6
+ */
+class AdaptiveConcurrencyLimiter {
+
+  /**
+   * The {@link Algorithm} used to limit the concurrency of flows. No adaptive limit is applied if not set.
+   */
+  static final String ALGORITHM_PROPERTY = SYSTEM_PROPERTY_PREFIX + "flow.adaptiveConcurrencyLimit";
+
+  /**
+   * The limit each flow starts with.
+   */
+  static final String INITIAL_LIMIT_PROPERTY = ALGORITHM_PROPERTY + ".initial";
+
+  /**
+   * The highest limit for flows that don't have an explicit {@code maxConcurrency}. For flows that do, it is used as the highest
+   * limit.
+   */
+  static final String MAX_LIMIT_PROPERTY = ALGORITHM_PROPERTY + ".max";
+
+  static final int DEFAULT_INITIAL_LIMIT = 20;
+  static final int DEFAULT_MAX_LIMIT = 1000;
+  static final long DEFAULT_WINDOW_NANOS = MILLISECONDS.toNanos(100);
+
+  private static final long AIMD_TIMEOUT_NANOS = SECONDS.toNanos(5);
+  private static final double AIMD_BACKOFF_RATIO = 0.9;
+
+  private static final int GRADIENT_LONG_WINDOW = 600;
+  private static final int GRADIENT_WARMUP_WINDOWS = 10;
+  private static final double GRADIENT_RTT_TOLERANCE = 1.5;
+  private static final double GRADIENT_SMOOTHING = 0.2;
+  private static final int GRADIENT_QUEUE_SIZE = 4;
+
+  /**
+   * The algorithms available to adapt the limit.
+   */
+  enum Algorithm {
+    AIMD, GRADIENT
+  }
+
+  /**
+   * Creates a limiter for a flow according to the system properties, if one is configured.
+   *
+   * @param maxConcurrency the {@code maxConcurrency} explicitly configured for the flow, or {@code null}.
+   * @param statistics     the statistics of the flow to publish the limit and the rejections to.
+   * @return the limiter, or empty if no adaptive limit is configured.
+   */
+  static Optional<AdaptiveConcurrencyLimiter> fromSystemProperties(Integer maxConcurrency, FlowConstructStatistics statistics) {
+    final String algorithm = getProperty(ALGORITHM_PROPERTY);
+    if (algorithm == null) {
+      return empty();
+    }
+
+    final int maxLimit = maxConcurrency != null ? maxConcurrency : getInteger(MAX_LIMIT_PROPERTY, DEFAULT_MAX_LIMIT);
+    final int initialLimit = min(getInteger(INITIAL_LIMIT_PROPERTY, DEFAULT_INITIAL_LIMIT), maxLimit);
+    return of(new AdaptiveConcurrencyLimiter(Algorithm.valueOf(algorithm.trim().toUpperCase(ROOT)), initialLimit, 1, maxLimit,
+                                             statistics));
+  }
+
+  private final Algorithm algorithm;
+  private final int minLimit;
+  private final int maxLimit;
+  private final FlowConstructStatistics statistics;
+  private final long windowNanos;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile int limit;
+
+  // Samples of the current window
+  private final LongAdder windowSamples = new LongAdder();
+  private final LongAdder windowRttNanos = new LongAdder();
+  private final LongAdder windowTimeouts = new LongAdder();
+  private final LongAccumulator windowMaxInFlight = new LongAccumulator(Math::max, 0);
+
+  private final Lock windowLock = new ReentrantLock();
+  private volatile long windowStart = nanoTime();
+
+  // Only accessed while holding windowLock
+  private double estimatedLimit;
+  private double longRttNanos;
+  private int windows;
+
+  AdaptiveConcurrencyLimiter(Algorithm algorithm, int initialLimit, int minLimit, int maxLimit,
+                             FlowConstructStatistics statistics) {
+    this(algorithm, initialLimit, minLimit, maxLimit, statistics, DEFAULT_WINDOW_NANOS);
+  }
+
+  AdaptiveConcurrencyLimiter(Algorithm algorithm, int initialLimit, int minLimit, int maxLimit,
+                             FlowConstructStatistics statistics, long windowNanos) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("Invalid limits: min " + minLimit + ", max " + maxLimit);
+    }
+    this.algorithm = algorithm;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.statistics = statistics;
+    this.windowNanos = windowNanos;
+    this.limit = max(minLimit, min(maxLimit, initialLimit));
+    this.estimatedLimit = limit;
+    statistics.setConcurrencyLimit(limit);
+  }
+
+  /**
+   * Reserves a slot for an event to be processed. The caller is responsible for taking the {@link System#nanoTime()} at which
+   * the processing starts, to be passed to {@link #release(long)}.
+   *
+   * @return {@code true} if the slot was reserved, {@code false} if the flow has already reached its limit.
+   */
+  boolean tryAcquire() {
+    if (inFlight.incrementAndGet() > limit) {
+      inFlight.decrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Releases the slot of an event that completed its processing, adapting the limit to the time it took.
+   *
+   * @param acquiredNanos the {@link System#nanoTime()} taken when the slot was reserved.
+   */
+  void release(long acquiredNanos) {
+    final int inFlightBeforeRelease = inFlight.getAndDecrement();
+    onSample(nanoTime() - acquiredNanos, inFlightBeforeRelease);
+  }
+
+  /**
+   * Releases the slot of an event that was finally not processed. The limit is not adapted.
+   */
+  void cancel() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Records that an event could not be accepted because the limit was reached.
+   */
+  void rejected() {
+    statistics.incConcurrencyLimitRejections();
+  }
+
+  int getLimit() {
+    return limit;
+  }
+
+  int getInFlight() {
+    return inFlight.get();
+  }
+
+  void onSample(long rttNanos, int inFlight) {
+    windowSamples.increment();
+    windowRttNanos.add(rttNanos);
+    if (rttNanos > AIMD_TIMEOUT_NANOS) {
+      windowTimeouts.increment();
+    }
+    windowMaxInFlight.accumulate(inFlight);
+
+    final long now = nanoTime();
+    // Only one thread closes the window, the others just leave their samples for it
+    if (now - windowStart >= windowNanos && windowLock.tryLock()) {
+      try {
+        if (now - windowStart >= windowNanos) {
+          windowStart = now;
+          closeWindow();
+        }
+      } finally {
+        windowLock.unlock();
+      }
+    }
+  }
+
+  private void closeWindow() {
+    // Samples recorded while draining may be accounted in either window, which is fine for an estimate
+    final long samples = windowSamples.sumThenReset();
+    final long rttNanos = windowRttNanos.sumThenReset();
+    final boolean timedOut = windowTimeouts.sumThenReset() > 0;
+    final int maxInFlight = (int) windowMaxInFlight.getThenReset();
+    if (samples == 0) {
+      return;
+    }
+
+    final int newLimit;
+    if (algorithm == Algorithm.AIMD) {
+      newLimit = aimd(timedOut, maxInFlight);
+    } else {
+      newLimit = gradient(rttNanos / samples, maxInFlight);
+    }
+
+    if (newLimit != limit) {
+      limit = newLimit;
+      statistics.setConcurrencyLimit(newLimit);
+    }
+  }
+
+  private int aimd(boolean timedOut, int inFlight) {
+    int current = limit;
+    if (timedOut) {
+      return max(minLimit, (int) (current * AIMD_BACKOFF_RATIO));
+    } else if (inFlight * 2 >= current) {
+      return min(maxLimit, current + 1);
+    } else {
+      return current;
+    }
+  }
+
+  private int gradient(long rttNanos, int inFlight) {
+    final double shortRtt = max(rttNanos, 1);
+    if (windows < GRADIENT_WARMUP_WINDOWS) {
+      ++windows;
+      longRttNanos += (shortRtt - longRttNanos) / windows;
+    } else {
+      longRttNanos += (shortRtt - longRttNanos) / GRADIENT_LONG_WINDOW;
+    }
+
+    // The steady state latency dropped significantly, so move the long term average faster towards it
+    if (longRttNanos / shortRtt > 2) {
+      longRttNanos *= 0.95;
+    }
+
+    // Not enough load to tell whether the limit is too high
+    if (inFlight < estimatedLimit / 2) {
+      return limit;
+    }
+
+    final double gradient = max(0.5, min(1.0, GRADIENT_RTT_TOLERANCE * longRttNanos / shortRtt));
+    final double newLimit = estimatedLimit * gradient + GRADIENT_QUEUE_SIZE;
+    estimatedLimit = max(minLimit, min(maxLimit, estimatedLimit * (1 - GRADIENT_SMOOTHING) + newLimit * GRADIENT_SMOOTHING));
+    return (int) estimatedLimit;
+  }
+}
@@ -6,14 +6,17 @@
  */
 package org.mule.runtime.core.internal.construct;
 
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.sleep;
+import static org.mule.runtime.core.api.construct.BackPressureReason.MAX_CONCURRENCY_EXCEEDED;
 import static org.mule.runtime.core.api.source.MessageSource.BackPressureStrategy.WAIT;
 import static org.mule.runtime.core.internal.construct.FlowBackPressureException.createAndThrowIfNeeded;
 
 import org.mule.runtime.core.api.construct.BackPressureReason;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.source.MessageSource;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,10 +98,62 @@ class BackPressureStrategySelector {
    */
   public void check(CoreEvent event)
       throws FlowBackPressureException {
-    if (abstractPipeline.getSource().getBackPressureStrategy() == WAIT) {
-      checkWithWaitStrategy(event);
-    } else {
-      checkWithFailDropStrategy(event);
+    final AdaptiveConcurrencyLimiter limiter = abstractPipeline.getConcurrencyLimiter().orElse(null);
+    final boolean wait = abstractPipeline.getSource().getBackPressureStrategy() == WAIT;
+    if (limiter != null) {
+      acquire(limiter, event, wait);
     }
+    final long acquiredNanos = limiter == null ? 0 : nanoTime();
+
+    try {
+      if (wait) {
+        checkWithWaitStrategy(event);
+      } else {
+        checkWithFailDropStrategy(event);
+      }
+    } catch (FlowBackPressureException | RuntimeException e) {
+      if (limiter != null) {
+        limiter.cancel();
+      }
+      throw e;
+    }
+
+    if (limiter != null) {
+      ((BaseEventContext) event.getContext()).onBeforeResponse((e, t) -> limiter.release(acquiredNanos));
+    }
+  }
+
+  /**
+   * Reserves a slot for the event in the adaptive concurrency limit of the flow, applying the backpressure strategy of the source
+   * if the limit was reached.
+   *
+   * @param limiter the limiter of the flow
+   * @param event   the event about to begin processing
+   * @param wait    whether to wait for a slot or fail right away
+   * @throws FlowBackPressureException
+   */
+  private void acquire(AdaptiveConcurrencyLimiter limiter, CoreEvent event, boolean wait) throws FlowBackPressureException {
+    if (limiter.tryAcquire()) {
+      return;
+    }
+
+    limiter.rejected();
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("adaptiveConcurrencyLimit - @ " + event.getContext().getOriginatingLocation().getRootContainerName()
+          + ": limit " + limiter.getLimit() + " reached");
+    }
+
+    if (!wait) {
+      throw abstractPipeline.getBackPressureExceptions().get(MAX_CONCURRENCY_EXCEEDED);
+    }
+
+    do {
+      try {
+        sleep(EVENT_LOOP_SCHEDULER_BUSY_RETRY_INTERVAL_MS);
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        createAndThrowIfNeeded(abstractPipeline, MAX_CONCURRENCY_EXCEEDED, e);
+      }
+    } while (!limiter.tryAcquire());
   }
 }
@@ -75,6 +75,7 @@ import static org.mule.runtime.core.internal.util.FunctionalUtils.safely;
 import static org.mule.runtime.core.internal.util.JdkVersionUtils.getSupportedJdks;
 
 import static java.lang.String.format;
+import static java.lang.Thread.currentThread;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.empty;
@@ -172,9 +173,15 @@ import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 import javax.transaction.TransactionManager;
@@ -198,6 +205,9 @@ public class DefaultMuleContext implements MuleContextWithRegistry, PrivilegedMu
    */
   private static Logger LOGGER = getLogger(DefaultMuleContext.class);
 
+  private static final FutureTask<Void> WAKE_UP_LIFECYCLE_LOCK_OWNER = new FutureTask<>(() -> {
+  }, null);
+
   private final CustomizationService customizationService = new DefaultCustomizationService();
 
   /**
@@ -224,6 +234,8 @@ public class DefaultMuleContext implements MuleContextWithRegistry, PrivilegedMu
    */
   private MuleContextLifecycleManager lifecycleManager;
   private final Object lifecycleStateLock = new Object();
+  // set in the threads that run tasks for the thread holding lifecycleStateLock, see runHoldingLifecycleLock
+  private final ThreadLocal<BlockingQueue<FutureTask<Void>>> lifecycleLockOwnerCommands = new ThreadLocal<>();
 
   private ServerNotificationManager notificationManager;
 
@@ -608,11 +620,77 @@ public class DefaultMuleContext implements MuleContextWithRegistry, PrivilegedMu
 
   @Override
   public void withLifecycleLock(Runnable command) {
+    BlockingQueue<FutureTask<Void>> ownerCommands = lifecycleLockOwnerCommands.get();
+    if (ownerCommands != null) {
+      runByLifecycleLockOwner(command, ownerCommands);
+      return;
+    }
+
     synchronized (lifecycleStateLock) {
       command.run();
     }
   }
 
+  private void runByLifecycleLockOwner(Runnable command, BlockingQueue<FutureTask<Void>> ownerCommands) {
+    FutureTask<Void> task = new FutureTask<>(command, null);
+    ownerCommands.add(task);
+    try {
+      task.get();
+    } catch (InterruptedException e) {
+      task.cancel(false);
+      currentThread().interrupt();
+      throw new MuleRuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new MuleRuntimeException(cause);
+    }
+  }
+
+  /**
+   * Runs the given {@code tasks} with the given {@code executor} and waits for all of them to complete, while the current thread
+   * holds the lock of {@link #withLifecycleLock(Runnable)}. The lock is never released: the commands the tasks run with
+   * {@link #withLifecycleLock(Runnable)} are handed back to the current thread, which runs them while waiting.
+   *
+   * @param tasks    the tasks to run
+   * @param executor the executor to run the tasks with
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   * @since 4.6
+   */
+  public void runHoldingLifecycleLock(Collection<Runnable> tasks, Executor executor) throws InterruptedException {
+    BlockingQueue<FutureTask<Void>> commands = new LinkedBlockingQueue<>();
+    AtomicInteger pending = new AtomicInteger(tasks.size());
+
+    synchronized (lifecycleStateLock) {
+      int submitted = 0;
+      try {
+        for (Runnable task : tasks) {
+          executor.execute(() -> {
+            lifecycleLockOwnerCommands.set(commands);
+            try {
+              task.run();
+            } finally {
+              lifecycleLockOwnerCommands.remove();
+              pending.decrementAndGet();
+              commands.add(WAKE_UP_LIFECYCLE_LOCK_OWNER);
+            }
+          });
+          ++submitted;
+        }
+      } finally {
+        // the tasks already submitted may be waiting for this thread to run their commands
+        pending.addAndGet(submitted - tasks.size());
+        while (pending.get() > 0) {
+          commands.take().run();
+        }
+      }
+    }
+  }
+
   @Override
   public LifecycleManager getLifecycleManager() {
     return lifecycleManager;
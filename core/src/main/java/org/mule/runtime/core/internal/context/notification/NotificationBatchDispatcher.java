@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.Math.max;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.core.internal.management.stats.NotificationDispatchStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+
+/**
+ * Delivers asynchronous notifications to their listeners in batches.
+ * <p>
+ * Notifications are published to a bounded {@link NotificationRingBuffer} for the type of their listener. For each type, a single
+ * task at a time drains them from its buffer and delivers them in the order they were published, so a slow listener doesn't delay
+ * the notifications for the other types. Instead of submitting a task for each notification, a new task is submitted only when
+ * there is none pending for the type, and each task delivers up to a batch of notifications.
+ * <p>
+ * What happens when the buffer is full is determined by the {@link OverflowPolicy}.
+ *
+ * @since 4.6
+ */
+public class NotificationBatchDispatcher {
+
+  /**
+   * When set, asynchronous notifications are delivered in batches instead of submitting a task for each one.
+   */
+  public static final String BATCHED_DISPATCH_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.batchedDispatch";
+  public static final String BUFFER_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.bufferSize";
+  public static final String BATCH_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.batchSize";
+  public static final String OVERFLOW_POLICY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.overflowPolicy";
+  public static final String SAMPLE_RATE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.sampleRate";
+
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+  public static final int DEFAULT_BATCH_SIZE = 256;
+  public static final int DEFAULT_SAMPLE_RATE = 10;
+
+  private static final long BLOCKED_PUBLISHER_PARK_NANOS = 100_000;
+
+  private static final Logger LOGGER = getLogger(NotificationBatchDispatcher.class);
+
+  /**
+   * What to do with a notification published while the buffer is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * The oldest notification in the buffer is discarded to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * The publisher waits until there is room in the buffer, delivering notifications itself if no task is doing it.
+     */
+    BLOCK,
+    /**
+     * Only one of every {@code sampleRate} overflowing notifications is kept, discarding the oldest one in the buffer to make room
+     * for it. The rest are discarded.
+     */
+    SAMPLE
+  }
+
+  private final Executor executor;
+  private final int bufferSize;
+  private final int batchSize;
+  private final OverflowPolicy overflowPolicy;
+  private final int sampleRate;
+  private final NotificationDispatchStatistics statistics;
+
+  private final Map<Class<?>, Drainer> drainers = new ConcurrentHashMap<>();
+
+  /**
+   * @param executor       where the tasks that deliver the notifications are run
+   * @param bufferSize     the maximum number of notifications pending to be delivered to each type of listener
+   * @param batchSize      the maximum number of notifications delivered by each task
+   * @param overflowPolicy what to do with notifications published while the buffer is full
+   * @param sampleRate     for {@link OverflowPolicy#SAMPLE}, the rate of overflowing notifications that are kept
+   * @param statistics     where the delivered, dropped and delayed notifications are counted
+   */
+  public NotificationBatchDispatcher(Executor executor, int bufferSize, int batchSize, OverflowPolicy overflowPolicy,
+                                     int sampleRate, NotificationDispatchStatistics statistics) {
+    this.executor = executor;
+    this.bufferSize = bufferSize;
+    this.batchSize = max(1, batchSize);
+    this.overflowPolicy = overflowPolicy;
+    this.sampleRate = max(1, sampleRate);
+    this.statistics = statistics;
+  }
+
+  /**
+   * Publishes a notification to be delivered asynchronously to a listener.
+   *
+   * @param listener     the listener to deliver the notification to
+   * @param notification the notification to deliver
+   */
+  public void dispatch(NotificationListener listener, Notification notification) {
+    drainers.computeIfAbsent(listener.getClass(), type -> new Drainer()).dispatch(listener, notification);
+  }
+
+  /**
+   * Delivers all the pending notifications in the calling thread.
+   */
+  public void flush() {
+    drainers.values().forEach(Drainer::flush);
+  }
+
+  /**
+   * @return the number of notifications pending to be delivered.
+   */
+  public int getPendingNotifications() {
+    int pending = 0;
+    for (Drainer drainer : drainers.values()) {
+      pending += drainer.buffer.size();
+    }
+    return pending;
+  }
+
+  /**
+   * Buffers the notifications for one type of listener and delivers them, so that a slow listener only delays the notifications
+   * for the listeners of its own type.
+   */
+  private final class Drainer {
+
+    private final NotificationRingBuffer<PendingNotification> buffer = new NotificationRingBuffer<>(bufferSize);
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final Lock drainLock = new ReentrantLock();
+    private final AtomicLong overflows = new AtomicLong();
+
+    private void dispatch(NotificationListener listener, Notification notification) {
+      PendingNotification pending = new PendingNotification(listener, notification);
+      if (!buffer.offer(pending)) {
+        handleOverflow(pending);
+      }
+      scheduleDrain();
+    }
+
+    private void handleOverflow(PendingNotification pending) {
+      switch (overflowPolicy) {
+        case BLOCK:
+          statistics.incDelayed();
+          while (!buffer.offer(pending)) {
+            // delivering from the publisher avoids waiting forever if all the threads of the executor are blocked publishing
+            if (drainLock.tryLock()) {
+              try {
+                drainBatch();
+              } finally {
+                drainLock.unlock();
+              }
+            } else {
+              parkNanos(BLOCKED_PUBLISHER_PARK_NANOS);
+            }
+          }
+          break;
+        case SAMPLE:
+          if (overflows.incrementAndGet() % sampleRate != 0) {
+            statistics.incDropped();
+            break;
+          }
+          // fall through, to make room for the sampled notification
+        case DROP_OLDEST:
+          while (!buffer.offer(pending)) {
+            if (buffer.poll() != null) {
+              statistics.incDropped();
+            }
+          }
+          break;
+        default:
+          throw new IllegalStateException("Unknown overflow policy " + overflowPolicy);
+      }
+    }
+
+    private void scheduleDrain() {
+      if (!buffer.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+        try {
+          executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+          drainScheduled.set(false);
+          LOGGER.warn("Could not schedule the delivery of notifications: " + e.getMessage());
+        }
+      }
+    }
+
+    private void drain() {
+      // notifications published from now on must schedule a new task, since this one may have already polled the buffer
+      drainScheduled.set(false);
+      if (drainLock.tryLock()) {
+        try {
+          drainBatch();
+        } finally {
+          drainLock.unlock();
+        }
+        scheduleDrain();
+      }
+      // otherwise, a blocked publisher or a flush is delivering, and they schedule a new task once they are done
+    }
+
+    /**
+     * Delivers a batch of notifications. Must be called holding the {@link #drainLock}.
+     */
+    private void drainBatch() {
+      List<PendingNotification> batch = new ArrayList<>(batchSize);
+      PendingNotification pending;
+      while (batch.size() < batchSize && (pending = buffer.poll()) != null) {
+        batch.add(pending);
+      }
+      for (PendingNotification notification : batch) {
+        notification.deliver();
+      }
+      if (!batch.isEmpty()) {
+        statistics.addBatch(batch.size());
+      }
+    }
+
+    private void flush() {
+      drainLock.lock();
+      try {
+        while (!buffer.isEmpty()) {
+          drainBatch();
+        }
+      } finally {
+        drainLock.unlock();
+      }
+      // a task that ran while this was delivering didn't schedule another one
+      scheduleDrain();
+    }
+  }
+
+  private static final class PendingNotification {
+
+    private final NotificationListener listener;
+    private final Notification notification;
+
+    private PendingNotification(NotificationListener listener, Notification notification) {
+      this.listener = listener;
+      this.notification = notification;
+    }
+
+    private void deliver() {
+      try {
+        listener.onNotification(notification);
+      } catch (Exception e) {
+        LOGGER.error("Error delivering notification " + notification + " to listener " + listener, e);
+      }
+    }
+  }
+}
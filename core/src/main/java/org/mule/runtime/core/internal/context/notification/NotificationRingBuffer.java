@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue backed by a ring of slots, in which several producers may publish elements concurrently.
+ * <p>
+ * Each slot has a sequence number that tells whether it is ready to be written or read for a given position, so producers and
+ * consumers only contend on the position counters. Elements may also be polled concurrently, which allows producers to make
+ * room by discarding the oldest element.
+ *
+ * @param <E> the type of the elements held in the buffer
+ * @since 4.6
+ */
+class NotificationRingBuffer<E> {
+
+  private final int mask;
+  private final AtomicReferenceArray<E> elements;
+  private final AtomicLongArray sequences;
+  private final AtomicLong producerPosition = new AtomicLong();
+  private final AtomicLong consumerPosition = new AtomicLong();
+
+  /**
+   * @param capacity the maximum number of elements to hold. It is rounded down to a power of two.
+   */
+  NotificationRingBuffer(int capacity) {
+    int size = highestOneBit(max(2, capacity));
+    this.mask = size - 1;
+    this.elements = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * @param element the element to add
+   * @return {@code true} if the element was added, {@code false} if the buffer is full.
+   */
+  boolean offer(E element) {
+    long position = producerPosition.get();
+    while (true) {
+      int index = (int) position & mask;
+      long available = sequences.get(index) - position;
+      if (available == 0) {
+        if (producerPosition.compareAndSet(position, position + 1)) {
+          elements.lazySet(index, element);
+          // publishes the element to the consumers
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = producerPosition.get();
+      } else if (available < 0) {
+        return false;
+      } else {
+        position = producerPosition.get();
+      }
+    }
+  }
+
+  /**
+   * @return the oldest element in the buffer, or {@code null} if it is empty.
+   */
+  E poll() {
+    long position = consumerPosition.get();
+    while (true) {
+      int index = (int) position & mask;
+      long available = sequences.get(index) - (position + 1);
+      if (available == 0) {
+        if (consumerPosition.compareAndSet(position, position + 1)) {
+          E element = elements.get(index);
+          elements.lazySet(index, null);
+          // releases the slot for the producers of the next lap
+          sequences.set(index, position + mask + 1);
+          return element;
+        }
+        position = consumerPosition.get();
+      } else if (available < 0) {
+        return null;
+      } else {
+        position = consumerPosition.get();
+      }
+    }
+  }
+
+  /**
+   * @return the approximate number of elements in the buffer.
+   */
+  int size() {
+    return (int) max(0, producerPosition.get() - consumerPosition.get());
+  }
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  int capacity() {
+    return mask + 1;
+  }
+}
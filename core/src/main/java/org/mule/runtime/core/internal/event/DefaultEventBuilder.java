@@ -17,10 +17,10 @@ import static org.mule.runtime.api.util.collection.SmallMap.unmodifiable;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotReadPayloadAsBytes;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotReadPayloadAsString;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.objectIsNull;
-import static org.mule.runtime.core.api.util.CaseInsensitiveHashMap.basedOn;
 import static org.mule.runtime.core.api.util.CaseInsensitiveHashMap.emptyCaseInsensitiveMap;
 import static org.mule.runtime.core.api.util.SystemUtils.getDefaultEncoding;
 import static org.mule.runtime.core.internal.message.EventInternalContext.copyOf;
+import static org.mule.runtime.core.internal.util.PersistentCaseInsensitiveMap.emptyPersistentMap;
 import static org.mule.runtime.core.internal.util.message.ItemSequenceInfoUtils.fromGroupCorrelation;
 import static org.mule.runtime.core.internal.util.message.ItemSequenceInfoUtils.toGroupCorrelation;
 
@@ -47,6 +47,7 @@ import org.mule.runtime.core.internal.message.EventInternalContext;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.message.InternalEvent.Builder;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.util.PersistentCaseInsensitiveMap;
 import org.mule.runtime.core.privileged.connector.ReplyToHandler;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.event.DefaultMuleSession;
@@ -70,7 +71,8 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   private BaseEventContext context;
   private Function<EventContext, Message> messageFactory;
 
-  private CaseInsensitiveHashMap<String, TypedValue<?>> flowVariables;
+  // Derived from the original vars on each change, sharing most of its structure with them instead of copying them
+  private PersistentCaseInsensitiveMap<TypedValue<?>> flowVariables;
   private CaseInsensitiveHashMap<String, TypedValue<?>> originalVars;
   private boolean varsModified = false;
 
@@ -99,7 +101,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public DefaultEventBuilder(BaseEventContext messageContext) {
     this.context = messageContext;
     this.session = new DefaultMuleSession();
-    this.originalVars = emptyCaseInsensitiveMap();
+    this.originalVars = emptyPersistentMap();
     this.originalParameters = emptyCaseInsensitiveMap();
     this.internalParameters = new SmallMap<>();
     internalParametersInitialized = true;
@@ -157,10 +159,14 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder variables(Map<String, ?> flowVariables) {
-    initVariables();
+    PersistentCaseInsensitiveMap<TypedValue<?>> variables = emptyPersistentMap();
+    for (Entry<String, ?> entry : flowVariables.entrySet()) {
+      variables = variables.plus(entry.getKey(), toTypedValue(entry.getValue()));
+    }
 
-    copyFromTo(flowVariables, this.flowVariables);
+    this.flowVariables = variables;
     this.varsModified = true;
+    this.modified = true;
 
     return this;
   }
@@ -171,10 +177,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
       return variables(variables);
     }
 
-    if (varsModified) {
-      this.flowVariables.clear();
-    }
-
+    this.flowVariables = null;
     originalVars = (CaseInsensitiveHashMap<String, TypedValue<?>>) variables;
     this.varsModified = false;
     this.modified = true;
@@ -190,7 +193,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     initVariables();
 
-    flowVariables.put(key, new TypedValue<>(value, DataType.fromObject(value)));
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, DataType.fromObject(value)));
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -201,7 +204,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public DefaultEventBuilder addVariable(String key, Object value, DataType dataType) {
     initVariables();
 
-    flowVariables.put(key, new TypedValue<>(value, dataType));
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, dataType));
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -211,7 +214,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public CoreEvent.Builder addVariable(String key, TypedValue<?> value) {
     initVariables();
 
-    flowVariables.put(key, value);
+    flowVariables = flowVariables.plus(key, value);
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -221,7 +224,11 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public DefaultEventBuilder removeVariable(String key) {
     initVariables();
 
-    this.modified = flowVariables.remove(key) != null || modified;
+    PersistentCaseInsensitiveMap<TypedValue<?>> remainingVariables = flowVariables.minus(key);
+    if (remainingVariables != flowVariables) {
+      flowVariables = remainingVariables;
+      this.modified = true;
+    }
     this.varsModified = this.varsModified || modified;
     return this;
   }
@@ -285,7 +292,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     if ((flowVariables != null && !this.flowVariables.isEmpty()) || !this.originalVars.isEmpty()) {
       this.varsModified = true;
       this.modified = true;
-      flowVariables = basedOn(new SmallMap<>());
+      flowVariables = emptyPersistentMap();
     }
     return this;
   }
@@ -403,7 +410,8 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   protected void initVariables() {
     if (!varsModified && flowVariables == null) {
-      flowVariables = originalVars.copy();
+      // only copies the original vars if they were not built by an event builder
+      flowVariables = PersistentCaseInsensitiveMap.copyOf(originalVars);
     }
   }
 
@@ -418,15 +426,19 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     target.clear();
 
     for (Entry<String, ?> entry : source.entrySet()) {
-      if (entry.getValue() instanceof TypedValue) {
-        target.put(entry.getKey(), (TypedValue<?>) entry.getValue());
-      } else {
-        target.put(entry.getKey(), new TypedValue<>(entry.getValue(), DataType.fromObject(entry.getValue())));
-      }
+      target.put(entry.getKey(), toTypedValue(entry.getValue()));
     }
     this.modified = true;
   }
 
+  private TypedValue<?> toTypedValue(Object value) {
+    if (value instanceof TypedValue) {
+      return (TypedValue<?>) value;
+    } else {
+      return new TypedValue<>(value, DataType.fromObject(value));
+    }
+  }
+
   /**
    * <code>EventImplementation</code> represents any data event occurring in the Mule environment. All data sent or received
    * within the Mule environment will be passed between components as an MuleEvent.
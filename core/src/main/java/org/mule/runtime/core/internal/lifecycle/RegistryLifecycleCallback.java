@@ -7,13 +7,26 @@
 package org.mule.runtime.core.internal.lifecycle;
 
 import static org.mule.runtime.api.exception.ExceptionHelper.unwrap;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LIFECYCLE_FAIL_ON_FIRST_DISPOSE_ERROR;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.core.api.util.ExceptionUtils.extractOfType;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Runtime.getRuntime;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.Comparator.comparing;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -21,21 +34,36 @@ import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.LifecycleException;
 import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.util.Pair;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.lifecycle.LifecycleCallback;
 import org.mule.runtime.core.api.util.func.CheckedRunnable;
+import org.mule.runtime.core.internal.context.DefaultMuleContext;
 import org.mule.runtime.core.internal.lifecycle.phases.LifecyclePhase;
 import org.mule.runtime.core.internal.registry.Registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 
 /**
  * An implementation of {@link LifecycleCallback} for applying {@link Registry} lifecycles
+ * <p>
+ * When {@link #PARALLEL_INITIALISE_PROPERTY} is set, the initialise phase is applied concurrently to the objects that don't
+ * depend on each other, and the time it took for each of them is logged at the end of the phase. The other phases are always
+ * applied to one object at a time.
  *
  * @since 3.7.0
  */
@@ -43,8 +71,27 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
 
   private static final Logger LOGGER = getLogger(RegistryLifecycleCallback.class);
 
+  /**
+   * Enables applying the initialise phase concurrently to the objects that don't depend on each other.
+   *
+   * @since 4.6
+   */
+  public static final String PARALLEL_INITIALISE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "lifecycle.parallelInitialise";
+
+  /**
+   * The number of threads to apply the initialise phase with when {@link #PARALLEL_INITIALISE_PROPERTY} is set. Defaults to the
+   * number of available processors.
+   *
+   * @since 4.6
+   */
+  public static final String PARALLEL_INITIALISE_THREADS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "lifecycle.parallelInitialise.threads";
+
+  private static final int SLOWEST_OBJECTS_LOGGED = 10;
+
   protected final RegistryLifecycleManager registryLifecycleManager;
   private LifecycleInterceptor interceptor = new NullLifecycleInterceptor();
+  private boolean parallelInitialise = getBoolean(PARALLEL_INITIALISE_PROPERTY);
+  private int parallelInitialiseThreads = getInteger(PARALLEL_INITIALISE_THREADS_PROPERTY, getRuntime().availableProcessors());
 
   public RegistryLifecycleCallback(RegistryLifecycleManager registryLifecycleManager) {
     this.registryLifecycleManager = registryLifecycleManager;
@@ -72,11 +119,149 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
       LOGGER.debug("Applying lifecycle phase: {} for registry: {}", phase, object.getClass().getSimpleName());
     }
 
-    doApplyLifecycle(phase, new HashSet<>(), registryLifecycleManager.getObjectsForPhase(phase));
+    if (parallelInitialise && parallelInitialiseThreads > 1 && Initialisable.PHASE_NAME.equals(phase.getName())) {
+      List<List<Object>> groups = registryLifecycleManager.getObjectGroupsForPhase(phase);
+      int maxGroupSize = groups.stream().mapToInt(List::size).max().orElse(0);
+      if (maxGroupSize > 1) {
+        doApplyLifecycleInParallel(phase, groups, maxGroupSize);
+      } else {
+        // no objects to apply the phase to concurrently, so there's no need for a scheduler
+        doApplyLifecycle(phase, new HashSet<>(), groups.stream().flatMap(List::stream).collect(toList()));
+      }
+    } else {
+      doApplyLifecycle(phase, new HashSet<>(), registryLifecycleManager.getObjectsForPhase(phase));
+    }
 
     interceptor.onPhaseCompleted(phase);
   }
 
+  private void doApplyLifecycleInParallel(LifecyclePhase phase, List<List<Object>> groups, int maxGroupSize)
+      throws LifecycleException {
+    Set<Object> duplicates = newKeySet();
+    Queue<Pair<Object, Long>> times = new ConcurrentLinkedQueue<>();
+    long start = nanoTime();
+
+    ClassLoader classLoader = currentThread().getContextClassLoader();
+    MuleContext muleContext = registryLifecycleManager.muleContext;
+    Scheduler scheduler = muleContext.getSchedulerService()
+        .customScheduler(muleContext.getSchedulerBaseConfig()
+            .withName("lifecycle." + phase.getName())
+            .withMaxConcurrentTasks(parallelInitialiseThreads), maxGroupSize);
+    try {
+      for (List<Object> group : groups) {
+        if (group.size() == 1) {
+          applyLifecycleTimed(phase, duplicates, group.get(0), times);
+          continue;
+        }
+
+        AtomicReference<LifecycleException> failure = new AtomicReference<>();
+        List<Runnable> tasks = new ArrayList<>(group.size());
+        for (Object target : group) {
+          tasks.add(() -> withContextClassLoader(classLoader, () -> {
+            try {
+              if (failure.get() == null) {
+                applyLifecycleTimed(phase, duplicates, target, times);
+              }
+            } catch (LifecycleException e) {
+              failure.compareAndSet(null, e);
+            } catch (Throwable t) {
+              failure.compareAndSet(null, new LifecycleException(t, target));
+            }
+          }));
+        }
+
+        runGroup(tasks, scheduler);
+        if (failure.get() != null) {
+          throw failure.get();
+        }
+      }
+    } finally {
+      scheduler.stop();
+    }
+
+    logTimes(phase, times, nanoTime() - start);
+  }
+
+  private void applyLifecycleTimed(LifecyclePhase phase, Set<Object> duplicates, Object target,
+                                   Queue<Pair<Object, Long>> times)
+      throws LifecycleException {
+    if (target == null || duplicates.contains(target)) {
+      return;
+    }
+
+    long start = nanoTime();
+    applyLifecycle(phase, duplicates, target);
+    times.add(new Pair<>(target, nanoTime() - start));
+  }
+
+  private void runGroup(List<Runnable> tasks, Scheduler scheduler) throws LifecycleException {
+    MuleContext muleContext = registryLifecycleManager.muleContext;
+    try {
+      if (muleContext instanceof DefaultMuleContext) {
+        // the objects being initialised may need the lifecycle lock held by this thread, i.e.: to register other objects
+        ((DefaultMuleContext) muleContext).runHoldingLifecycleLock(tasks, scheduler);
+      } else {
+        CountDownLatch latch = new CountDownLatch(tasks.size());
+        for (Runnable task : tasks) {
+          scheduler.execute(() -> {
+            try {
+              task.run();
+            } finally {
+              latch.countDown();
+            }
+          });
+        }
+        latch.await();
+      }
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      throw new LifecycleException(createStaticMessage("Interrupted while applying lifecycle"), e, this);
+    }
+  }
+
+  private void logTimes(LifecyclePhase phase, Queue<Pair<Object, Long>> times, long elapsed) {
+    List<Pair<Object, Long>> slowest = new ArrayList<>(times);
+    slowest.sort(comparing(Pair<Object, Long>::getSecond).reversed());
+
+    if (LOGGER.isDebugEnabled()) {
+      slowest.forEach(time -> LOGGER.debug("Phase {} took {} ms for object: {}", phase.getName(),
+                                           NANOSECONDS.toMillis(time.getSecond()), describe(time.getFirst())));
+    }
+
+    LOGGER.info("Applied phase {} to {} objects in {} ms using {} threads. Slowest objects: {}", phase.getName(),
+                slowest.size(), NANOSECONDS.toMillis(elapsed), parallelInitialiseThreads,
+                slowest.stream().limit(SLOWEST_OBJECTS_LOGGED)
+                    .map(time -> describe(time.getFirst()) + " (" + NANOSECONDS.toMillis(time.getSecond()) + " ms)")
+                    .collect(joining(", ")));
+  }
+
+  private String describe(Object target) {
+    if (target instanceof Component && ((Component) target).getLocation() != null) {
+      return ((Component) target).getLocation().getLocation();
+    }
+    return target.getClass().getSimpleName();
+  }
+
+  /**
+   * Overrides {@link #PARALLEL_INITIALISE_PROPERTY}.
+   *
+   * @param parallelInitialise whether to apply the initialise phase concurrently to the objects that don't depend on each other
+   * @since 4.6
+   */
+  public void setParallelInitialise(boolean parallelInitialise) {
+    this.parallelInitialise = parallelInitialise;
+  }
+
+  /**
+   * Overrides {@link #PARALLEL_INITIALISE_THREADS_PROPERTY}.
+   *
+   * @param parallelInitialiseThreads the number of threads to apply the initialise phase with
+   * @since 4.6
+   */
+  public void setParallelInitialiseThreads(int parallelInitialiseThreads) {
+    this.parallelInitialiseThreads = parallelInitialiseThreads;
+  }
+
   private void doApplyLifecycle(LifecyclePhase phase, Set<Object> duplicates, Collection<?> targetObjects)
       throws LifecycleException {
     for (Object target : targetObjects) {
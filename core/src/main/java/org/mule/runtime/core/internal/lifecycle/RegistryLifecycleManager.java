@@ -182,6 +182,19 @@ public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry>
   }
 
   protected List<Object> getObjectsForPhase(LifecyclePhase phase) {
+    return getSorterForPhase(phase).getSortedObjects();
+  }
+
+  /**
+   * @param phase the phase to apply
+   * @return the objects to apply the given phase to, grouped so that the objects of a group don't depend on each other.
+   * @see LifecycleObjectSorter#getSortedObjectGroups()
+   */
+  protected List<List<Object>> getObjectGroupsForPhase(LifecyclePhase phase) {
+    return getSorterForPhase(phase).getSortedObjectGroups();
+  }
+
+  private LifecycleObjectSorter getSorterForPhase(LifecyclePhase phase) {
     LifecycleObjectSorter sorter = phase.newLifecycleObjectSorter();
     Map<String, Object> lookupObjectsForLifecycle = lookupObjectsForLifecycle();
     List<String> lookupObjects = new ArrayList<>();
@@ -191,7 +204,7 @@ public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry>
       lookupObjects.add(key);
     });
     sorter.setLifeCycleObjectNameOrder(lookupObjects);
-    return sorter.getSortedObjects();
+    return sorter;
   }
 
   protected Map<String, Object> lookupObjectsForLifecycle() {
@@ -8,6 +8,9 @@ package org.mule.runtime.core.internal.lifecycle.phases;
 
 import org.mule.runtime.core.internal.registry.Registry;
 
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
 import java.util.List;
 
 /**
@@ -31,6 +34,19 @@ public interface LifecycleObjectSorter {
    */
   List<Object> getSortedObjects();
 
+  /**
+   * Groups the sorted objects so that the objects of each group don't depend on each other, allowing a phase to be applied to
+   * them concurrently. The groups are in the order the phase has to be applied to them.
+   * <p>
+   * By default, each object is in a group of its own.
+   *
+   * @return The groups of the objects previously added through {@link #addObject(String, Object)}
+   * @since 4.6
+   */
+  default List<List<Object>> getSortedObjectGroups() {
+    return getSortedObjects().stream().map(object -> singletonList(object)).collect(toList());
+  }
+
   /**
    * Provides the order of objects as reference for initialise/dispose phases
    *
@@ -6,12 +6,19 @@
  */
 package org.mule.runtime.core.internal.lock;
 
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
@@ -20,21 +27,42 @@ import org.slf4j.Logger;
 
 /**
  * {@link LockGroup} implementation for holding references to created locks inside a mule instance.
+ * <p/>
+ * The entries of the locks in use are kept in a {@link ConcurrentHashMap} and reference counted with atomic operations, so
+ * taking and releasing locks with different ids does not contend on a shared monitor. When the {@link LockProvider} allows it,
+ * the locks of released entries are pooled and reused for other ids.
+ * <p/>
+ * When the {@link #STATISTICS_PROPERTY} system property is set, the time spent waiting for locks held by other threads is
+ * recorded in the {@link #getStatistics() statistics} of the group.
  */
 public class InstanceLockGroup implements LockGroup {
 
+  /**
+   * System property to enable the {@link LockGroupStatistics} of the lock groups.
+   *
+   * @since 4.6
+   */
+  public static final String STATISTICS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "lockGroup.statistics";
+
   private static final long DEFAULT_LOCK_GROUP_SHUTDOWN_TIMEOUT = 5000L;
+  private static final int MAX_POOLED_LOCKS = 64;
   private static final Logger LOGGER = getLogger(InstanceLockGroup.class);
 
   private final Map<String, LockEntry> locks;
   private final Object lockAccessMonitor = new Object();
   private final LockProvider lockProvider;
   private final long gracefulShutdownTimeoutMillis;
+  private final Queue<Lock> lockPool;
+  private final AtomicInteger pooledLocks = new AtomicInteger();
+  private final LockGroupStatistics statistics = new LockGroupStatistics();
+  private volatile boolean disposing = false;
 
   public InstanceLockGroup(LockProvider lockProvider, long shutdownTimeoutMillis) {
     this.lockProvider = lockProvider;
-    this.locks = new HashMap<>();
+    this.locks = new ConcurrentHashMap<>();
     this.gracefulShutdownTimeoutMillis = shutdownTimeoutMillis;
+    this.lockPool = lockProvider.isLockReusable() ? new ConcurrentLinkedQueue<>() : null;
+    this.statistics.setEnabled(getBoolean(STATISTICS_PROPERTY));
   }
 
   public InstanceLockGroup(LockProvider lockProvider) {
@@ -44,19 +72,38 @@ public class InstanceLockGroup implements LockGroup {
   @Override
   public void lock(String lockId) {
     LockEntry lockEntry = getOrCreateLockEntry(lockId);
-    lockEntry.getLock().lock();
+    Lock lock = lockEntry.getLock();
+    if (!statistics.isEnabled()) {
+      lock.lock();
+      return;
+    }
+
+    boolean interrupted = false;
+    try {
+      if (lock.tryLock(0, NANOSECONDS)) {
+        statistics.incUncontended(lockId);
+        return;
+      }
+    } catch (InterruptedException e) {
+      // lock() is not interruptible, so just keep the interrupted status
+      interrupted = true;
+    }
+    long waitStart = nanoTime();
+    lock.lock();
+    statistics.incContended(lockId, nanoTime() - waitStart, true);
+    if (interrupted) {
+      currentThread().interrupt();
+    }
   }
 
   @Override
   public void unlock(String key) {
-    synchronized (lockAccessMonitor) {
-      LockEntry lockEntry = locks.get(key);
-      if (lockEntry != null) {
-        lockEntry.getLock().unlock();
-        releaseLockEntry(key, lockEntry);
-      } else {
-        LOGGER.warn("Trying to unlock a lock with id {} that wasn't previously locked", key);
-      }
+    LockEntry lockEntry = locks.get(key);
+    if (lockEntry != null) {
+      lockEntry.getLock().unlock();
+      releaseLockEntry(key, lockEntry);
+    } else {
+      LOGGER.warn("Trying to unlock a lock with id {} that wasn't previously locked", key);
     }
   }
 
@@ -64,7 +111,9 @@ public class InstanceLockGroup implements LockGroup {
   public boolean tryLock(String lockId, long timeout, TimeUnit timeUnit) throws InterruptedException {
     LockEntry lockEntry = getOrCreateLockEntry(lockId);
     try {
-      boolean lockAcquired = lockEntry.getLock().tryLock(timeout, timeUnit);
+      boolean lockAcquired = statistics.isEnabled()
+          ? recordedTryLock(lockId, lockEntry.getLock(), timeout, timeUnit)
+          : lockEntry.getLock().tryLock(timeout, timeUnit);
       if (!lockAcquired) {
         releaseLockEntry(lockId, lockEntry);
       }
@@ -75,10 +124,32 @@ public class InstanceLockGroup implements LockGroup {
     }
   }
 
+  private boolean recordedTryLock(String lockId, Lock lock, long timeout, TimeUnit timeUnit) throws InterruptedException {
+    if (lock.tryLock(0, NANOSECONDS)) {
+      statistics.incUncontended(lockId);
+      return true;
+    }
+    long waitStart = nanoTime();
+    boolean lockAcquired = false;
+    try {
+      lockAcquired = lock.tryLock(timeout, timeUnit);
+      return lockAcquired;
+    } finally {
+      statistics.incContended(lockId, nanoTime() - waitStart, lockAcquired);
+    }
+  }
+
   @Override
   public boolean tryLock(String lockId) {
     LockEntry lockEntry = getOrCreateLockEntry(lockId);
     boolean lockAcquired = lockEntry.getLock().tryLock();
+    if (statistics.isEnabled()) {
+      if (lockAcquired) {
+        statistics.incUncontended(lockId);
+      } else {
+        statistics.incContended(lockId, 0, false);
+      }
+    }
     if (!lockAcquired) {
       releaseLockEntry(lockId, lockEntry);
     }
@@ -89,19 +160,47 @@ public class InstanceLockGroup implements LockGroup {
   public void lockInterruptibly(String lockId) throws InterruptedException {
     LockEntry lockEntry = getOrCreateLockEntry(lockId);
     try {
-      lockEntry.getLock().lockInterruptibly();
+      if (statistics.isEnabled()) {
+        recordedLockInterruptibly(lockId, lockEntry.getLock());
+      } else {
+        lockEntry.getLock().lockInterruptibly();
+      }
     } catch (InterruptedException e) {
       releaseLockEntry(lockId, lockEntry);
       throw e;
     }
   }
 
+  private void recordedLockInterruptibly(String lockId, Lock lock) throws InterruptedException {
+    if (lock.tryLock(0, NANOSECONDS)) {
+      statistics.incUncontended(lockId);
+      return;
+    }
+    long waitStart = nanoTime();
+    boolean lockAcquired = false;
+    try {
+      lock.lockInterruptibly();
+      lockAcquired = true;
+    } finally {
+      statistics.incContended(lockId, nanoTime() - waitStart, lockAcquired);
+    }
+  }
+
   int size() {
     return locks.size();
   }
 
+  /**
+   * @return the statistics of the locks taken through this group.
+   * @since 4.6
+   */
+  public LockGroupStatistics getStatistics() {
+    return statistics;
+  }
+
   public static class LockEntry {
 
+    // Becomes negative once the entry is released by all its users, and then it cannot be used anymore
     private final AtomicInteger lockCount = new AtomicInteger(0);
     private final Lock lock;
 
@@ -124,6 +223,31 @@ public class InstanceLockGroup implements LockGroup {
     public boolean hasPendingLocks() {
       return lockCount.get() > 0;
     }
+
+    /**
+     * Increments the lock count, unless the entry was already released.
+     *
+     * @return whether the entry can be used.
+     */
+    boolean retain() {
+      int count;
+      do {
+        count = lockCount.get();
+        if (count < 0) {
+          return false;
+        }
+      } while (!lockCount.compareAndSet(count, count + 1));
+      return true;
+    }
+
+    /**
+     * Decrements the lock count.
+     *
+     * @return whether the entry was released by all its users, so it has to be removed from the group.
+     */
+    boolean release() {
+      return lockCount.decrementAndGet() == 0 && lockCount.compareAndSet(0, -1);
+    }
   }
 
   @Override
@@ -132,33 +256,50 @@ public class InstanceLockGroup implements LockGroup {
   }
 
   private LockEntry getOrCreateLockEntry(String lockId) {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
+    while (true) {
+      LockEntry lockEntry = locks.computeIfAbsent(lockId, id -> new LockEntry(getOrCreateLock(id)));
+      if (lockEntry.retain()) {
+        return lockEntry;
+      }
+      // The entry was just released by its last user, help removing it before trying again
+      locks.remove(lockId, lockEntry);
+    }
+  }
+
+  private Lock getOrCreateLock(String lockId) {
+    if (lockPool != null) {
+      Lock lock = lockPool.poll();
+      if (lock != null) {
+        pooledLocks.decrementAndGet();
+        return lock;
       }
-      lockEntry.incrementLockCount();
     }
-    return lockEntry;
+    return lockProvider.createLock(lockId);
   }
 
   private void releaseLockEntry(String lockId, LockEntry lockEntry) {
-    synchronized (lockAccessMonitor) {
-      lockEntry.decrementLockCount();
-      if (!lockEntry.hasPendingLocks()) {
-        locks.remove(lockId);
-        if (locks.isEmpty()) {
-          lockAccessMonitor.notifyAll();
-        }
+    if (!lockEntry.release()) {
+      return;
+    }
+
+    locks.remove(lockId, lockEntry);
+    // Nobody can use the entry anymore, so its lock is neither held nor waited for
+    if (lockPool != null && pooledLocks.incrementAndGet() <= MAX_POOLED_LOCKS) {
+      lockPool.offer(lockEntry.getLock());
+    } else if (lockPool != null) {
+      pooledLocks.decrementAndGet();
+    }
+
+    if (disposing && locks.isEmpty()) {
+      synchronized (lockAccessMonitor) {
+        lockAccessMonitor.notifyAll();
       }
     }
   }
 
   private void waitForLocksToBeUnlocked() {
     long timeOutMillis = currentTimeMillis() + gracefulShutdownTimeoutMillis;
+    disposing = true;
     synchronized (lockAccessMonitor) {
       try {
         long remainingMillis = timeOutMillis - currentTimeMillis();
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.Collections.unmodifiableMap;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the locks taken through an {@link InstanceLockGroup}, grouped by the prefix of the lock ids.
+ * <p/>
+ * The prefix of a lock id is the part before its first {@code '-'} or {@code '/'}, which for the locks created by the runtime is
+ * usually the name of the component or flow that owns them. At most {@link #MAX_PREFIXES} prefixes are tracked, locks with other
+ * prefixes are accounted under {@link #OTHER_PREFIX}.
+ *
+ * @since 4.6
+ */
+public class LockGroupStatistics implements Statistics {
+
+  private static final long serialVersionUID = 5316187447211945035L;
+
+  static final int MAX_PREFIXES = 256;
+  static final String OTHER_PREFIX = "<other>";
+
+  private final Map<String, PrefixStatistics> prefixes = new ConcurrentHashMap<>();
+  private volatile boolean enabled = false;
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Records a lock that was acquired without waiting.
+   *
+   * @param lockId the id of the acquired lock.
+   */
+  public void incUncontended(String lockId) {
+    if (enabled) {
+      getPrefixStatistics(lockId).acquisitions.increment();
+    }
+  }
+
+  /**
+   * Records an attempt to take a lock that was held by another thread.
+   *
+   * @param lockId    the id of the lock.
+   * @param waitNanos the time spent waiting for the lock.
+   * @param acquired  whether the lock was finally acquired.
+   */
+  public void incContended(String lockId, long waitNanos, boolean acquired) {
+    if (enabled) {
+      final PrefixStatistics statistics = getPrefixStatistics(lockId);
+      if (acquired) {
+        statistics.acquisitions.increment();
+      }
+      statistics.contentions.increment();
+      statistics.waitNanos.add(waitNanos);
+    }
+  }
+
+  private PrefixStatistics getPrefixStatistics(String lockId) {
+    final String prefix = getPrefix(lockId);
+    final PrefixStatistics statistics = prefixes.get(prefix);
+    if (statistics != null) {
+      return statistics;
+    }
+    return prefixes.computeIfAbsent(prefixes.size() < MAX_PREFIXES ? prefix : OTHER_PREFIX, p -> new PrefixStatistics());
+  }
+
+  static String getPrefix(String lockId) {
+    for (int i = 0; i < lockId.length(); ++i) {
+      final char c = lockId.charAt(i);
+      if (c == '-' || c == '/') {
+        return lockId.substring(0, i);
+      }
+    }
+    return lockId;
+  }
+
+  /**
+   * @return the statistics for each of the lock id prefixes seen so far.
+   */
+  public Map<String, PrefixStatistics> getPrefixStatistics() {
+    return unmodifiableMap(prefixes);
+  }
+
+  public void clear() {
+    prefixes.clear();
+  }
+
+  /**
+   * Statistics about the locks with the same id prefix.
+   */
+  public static class PrefixStatistics implements Serializable {
+
+    private static final long serialVersionUID = -4021773937466236262L;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contentions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * @return the number of times a lock was acquired.
+     */
+    public long getAcquisitions() {
+      return acquisitions.sum();
+    }
+
+    /**
+     * @return the number of attempts to take a lock held by another thread, whether it was finally acquired or not.
+     */
+    public long getContentions() {
+      return contentions.sum();
+    }
+
+    /**
+     * @return the accumulated time, in nanoseconds, spent waiting for locks held by other threads.
+     */
+    public long getWaitNanos() {
+      return waitNanos.sum();
+    }
+  }
+}
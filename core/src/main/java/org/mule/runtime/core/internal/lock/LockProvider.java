@@ -27,4 +27,15 @@ public interface LockProvider {
    */
   Lock createLock(String lockId);
 
+  /**
+   * Whether a {@link Lock} created by this provider may be reused for another lock id once it is neither held nor waited for.
+   * This is not the case for locks bound to their id, such as distributed ones.
+   *
+   * @return {@code true} if the locks may be reused, {@code false} otherwise.
+   * @since 4.6
+   */
+  default boolean isLockReusable() {
+    return false;
+  }
+
 }
@@ -19,4 +19,9 @@ public class SingleServerLockProvider implements LockProvider {
     return new ReentrantLock(true);
   }
 
+  @Override
+  public boolean isLockReusable() {
+    return true;
+  }
+
 }
@@ -7,6 +7,7 @@
 package org.mule.runtime.core.internal.management.stats;
 
 import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.ComponentStatistics;
 import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
 import org.mule.runtime.core.api.management.stats.ResetOnQueryCounter;
 
@@ -20,6 +21,7 @@ import java.util.Set;
 public class ApplicationStatistics extends DefaultFlowConstructStatistics {
 
   private final AllStatistics parent;
+  private final ComponentStatistics processingTimesSnapshot = new ComponentStatistics();
 
   public ApplicationStatistics(AllStatistics parent) {
 
@@ -92,6 +94,18 @@ public class ApplicationStatistics extends DefaultFlowConstructStatistics {
     return total;
   }
 
+  @Override
+  public synchronized long getProcessingTimePercentile(double percentile) {
+    // The flows' processing times are merged into the same snapshot on every call, so its histogram is only allocated once
+    processingTimesSnapshot.clear();
+    for (FlowConstructStatistics stats : parent.getServiceStatistics()) {
+      if (stats instanceof DefaultFlowConstructStatistics && !(stats instanceof ApplicationStatistics)) {
+        ((DefaultFlowConstructStatistics) stats).addProcessingTimesTo(processingTimesSnapshot);
+      }
+    }
+    return processingTimesSnapshot.getExecutionTimePercentile(percentile);
+  }
+
   @Override
   public long getExecutionErrors() {
     long total = 0;
@@ -33,6 +33,8 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
 
   // Transient to avoid de-serialization backward compatibility problems (MULE-19020)
   private transient final AtomicLong connectionErrors = new AtomicLong(0);
+  private transient final AtomicLong concurrencyLimitRejections = new AtomicLong(0);
+  private transient volatile int concurrencyLimit = -1;
 
   private transient final List<DefaultResetOnQueryCounter> eventsReceivedCounters = new CopyOnWriteArrayList<>();
   private transient final List<DefaultResetOnQueryCounter> messagesDispatchedCounters = new CopyOnWriteArrayList<>();
@@ -99,6 +101,9 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
 
     executionError.set(0);
     fatalError.set(0);
+    if (concurrencyLimitRejections != null) {
+      concurrencyLimitRejections.set(0);
+    }
     if (flowStatistics != null) {
       flowStatistics.clear();
     }
@@ -139,6 +144,20 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
     return flowStatistics.getTotalExecutionTime();
   }
 
+  @Override
+  public long getProcessingTimePercentile(double percentile) {
+    return flowStatistics.getExecutionTimePercentile(percentile);
+  }
+
+  /**
+   * Adds the processing times of the events completed by this flow to the given statistics.
+   *
+   * @param target the statistics to add the processing times to.
+   */
+  public void addProcessingTimesTo(ComponentStatistics target) {
+    flowStatistics.addExecutionTimesTo(target);
+  }
+
   @Override
   public long getExecutionErrors() {
     return executionError.get();
@@ -178,6 +197,28 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
     }
   }
 
+  @Override
+  public void incConcurrencyLimitRejections() {
+    if (isEnabled()) {
+      concurrencyLimitRejections.incrementAndGet();
+    }
+  }
+
+  @Override
+  public long getConcurrencyLimitRejections() {
+    return concurrencyLimitRejections.get();
+  }
+
+  @Override
+  public void setConcurrencyLimit(int limit) {
+    concurrencyLimit = limit;
+  }
+
+  @Override
+  public int getConcurrencyLimit() {
+    return concurrencyLimit;
+  }
+
   @Override
   public long getTotalEventsReceived() {
     return receivedEvents.get();
@@ -11,6 +11,7 @@ import static java.util.regex.Pattern.compile;
 import org.mule.runtime.core.api.management.stats.FlowsSummaryStatistics;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleToLongFunction;
 import java.util.regex.Pattern;
 
 /**
@@ -49,8 +50,20 @@ public class DefaultFlowsSummaryStatistics implements FlowsSummaryStatistics {
   private final AtomicInteger declaredApikitFlows = new AtomicInteger(0);
   private final AtomicInteger activeApikitFlows = new AtomicInteger(0);
 
+  // Transient since the application statistics it comes from are not serializable
+  private transient final DoubleToLongFunction processingTimePercentile;
+
   public DefaultFlowsSummaryStatistics(boolean isStatisticsEnabled) {
+    this(isStatisticsEnabled, percentile -> 0);
+  }
+
+  /**
+   * @param isStatisticsEnabled      whether the statistics are enabled.
+   * @param processingTimePercentile provides the processing time percentiles of the events processed by all the flows.
+   */
+  public DefaultFlowsSummaryStatistics(boolean isStatisticsEnabled, DoubleToLongFunction processingTimePercentile) {
     this.enabled = isStatisticsEnabled;
+    this.processingTimePercentile = processingTimePercentile;
   }
 
   /**
@@ -142,6 +155,11 @@ public class DefaultFlowsSummaryStatistics implements FlowsSummaryStatistics {
     return activeApikitFlows.get();
   }
 
+  @Override
+  public long getProcessingTimePercentile(double percentile) {
+    return processingTimePercentile != null ? processingTimePercentile.applyAsLong(percentile) : 0;
+  }
+
   /**
    * Determines if the name of a flow follows the conventions of ApiKit.
    * 
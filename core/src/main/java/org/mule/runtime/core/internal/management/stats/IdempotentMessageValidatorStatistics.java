@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the filter and the write-behind of an idempotent message validator.
+ *
+ * @since 4.6
+ */
+public class IdempotentMessageValidatorStatistics implements Statistics {
+
+  private static final long serialVersionUID = -2306925713368311528L;
+
+  private final LongAdder filterNegatives = new LongAdder();
+  private final LongAdder filterPositives = new LongAdder();
+  private final LongAdder falsePositives = new LongAdder();
+  private final LongAdder writeBehindWrites = new LongAdder();
+  private final LongAdder flushes = new LongAdder();
+  private final LongAdder filterRebuilds = new LongAdder();
+  private boolean enabled = true;
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Records an id that the filter determined was never seen, so the object store was not checked.
+   */
+  public void incFilterNegatives() {
+    if (enabled) {
+      filterNegatives.increment();
+    }
+  }
+
+  /**
+   * Records an id that the filter determined may have been seen, so the object store had to be checked.
+   */
+  public void incFilterPositives() {
+    if (enabled) {
+      filterPositives.increment();
+    }
+  }
+
+  /**
+   * Records an id that the filter determined may have been seen, but was not in the object store.
+   */
+  public void incFalsePositives() {
+    if (enabled) {
+      falsePositives.increment();
+    }
+  }
+
+  /**
+   * Records an id written to the object store by the write-behind.
+   */
+  public void incWriteBehindWrites() {
+    if (enabled) {
+      writeBehindWrites.increment();
+    }
+  }
+
+  /**
+   * Records a flush of the write-behind.
+   */
+  public void incFlushes() {
+    if (enabled) {
+      flushes.increment();
+    }
+  }
+
+  /**
+   * Records a rebuild of the filter from the ids in the object store.
+   */
+  public void incFilterRebuilds() {
+    if (enabled) {
+      filterRebuilds.increment();
+    }
+  }
+
+  /**
+   * @return the number of ids that the filter determined were never seen.
+   */
+  public long getFilterNegatives() {
+    return filterNegatives.sum();
+  }
+
+  /**
+   * @return the number of ids that the filter determined may have been seen.
+   */
+  public long getFilterPositives() {
+    return filterPositives.sum();
+  }
+
+  /**
+   * @return the number of ids that the filter determined may have been seen, but were not in the object store.
+   */
+  public long getFalsePositives() {
+    return falsePositives.sum();
+  }
+
+  /**
+   * @return the fraction of the new ids that the filter determined may have been seen, or {@code 0} if there were no new ids.
+   */
+  public double getFalsePositiveRate() {
+    long falsePositives = getFalsePositives();
+    long newIds = falsePositives + getFilterNegatives();
+    return newIds == 0 ? 0 : (double) falsePositives / newIds;
+  }
+
+  /**
+   * @return the number of ids written to the object store by the write-behind.
+   */
+  public long getWriteBehindWrites() {
+    return writeBehindWrites.sum();
+  }
+
+  /**
+   * @return the number of flushes of the write-behind.
+   */
+  public long getFlushes() {
+    return flushes.sum();
+  }
+
+  /**
+   * @return the number of rebuilds of the filter.
+   */
+  public long getFilterRebuilds() {
+    return filterRebuilds.sum();
+  }
+
+  public void clear() {
+    filterNegatives.reset();
+    filterPositives.reset();
+    falsePositives.reset();
+    writeBehindWrites.reset();
+    flushes.reset();
+    filterRebuilds.reset();
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the notifications delivered asynchronously in batches.
+ *
+ * @since 4.6
+ */
+public class NotificationDispatchStatistics implements Statistics {
+
+  private static final long serialVersionUID = -6318470725011578423L;
+
+  private final LongAdder delivered = new LongAdder();
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder delayed = new LongAdder();
+  private boolean enabled = true;
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Records a batch of notifications delivered to their listeners.
+   *
+   * @param size the number of notifications in the batch
+   */
+  public void addBatch(int size) {
+    if (enabled) {
+      batches.increment();
+      delivered.add(size);
+    }
+  }
+
+  /**
+   * Records a notification discarded because the buffer was full.
+   */
+  public void incDropped() {
+    if (enabled) {
+      dropped.increment();
+    }
+  }
+
+  /**
+   * Records a notification whose publisher had to wait for room in the buffer.
+   */
+  public void incDelayed() {
+    if (enabled) {
+      delayed.increment();
+    }
+  }
+
+  /**
+   * @return the number of notifications delivered to their listeners.
+   */
+  public long getDelivered() {
+    return delivered.sum();
+  }
+
+  /**
+   * @return the number of batches in which the notifications were delivered.
+   */
+  public long getBatches() {
+    return batches.sum();
+  }
+
+  /**
+   * @return the number of notifications discarded because the buffer was full.
+   */
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  /**
+   * @return the number of notifications whose publisher had to wait for room in the buffer.
+   */
+  public long getDelayed() {
+    return delayed.sum();
+  }
+
+  public void clear() {
+    delivered.reset();
+    batches.reset();
+    dropped.reset();
+    delayed.reset();
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.lang.Math.max;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics about the expiration runs of an object store.
+ *
+ * @since 4.6
+ */
+public class ObjectStoreExpiryStatistics implements Statistics {
+
+  private static final long serialVersionUID = -2880328356718853514L;
+
+  private final AtomicLong runs = new AtomicLong(0);
+  private final AtomicLong totalExpired = new AtomicLong(0);
+  private volatile long lastRunExpired = 0;
+  private volatile long lastRunDuration = 0;
+  private volatile long maxRunDuration = 0;
+  private boolean enabled = true;
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Records the result of an expiration run.
+   *
+   * @param expired  the number of entries removed by the run
+   * @param duration how long the run took, in milliseconds
+   */
+  public void addRun(long expired, long duration) {
+    if (!enabled) {
+      return;
+    }
+    runs.incrementAndGet();
+    totalExpired.addAndGet(expired);
+    lastRunExpired = expired;
+    lastRunDuration = duration;
+    maxRunDuration = max(maxRunDuration, duration);
+  }
+
+  /**
+   * @return the number of expiration runs executed so far.
+   */
+  public long getRuns() {
+    return runs.get();
+  }
+
+  /**
+   * @return the number of entries removed by all the expiration runs.
+   */
+  public long getTotalExpired() {
+    return totalExpired.get();
+  }
+
+  /**
+   * @return the number of entries removed by the last expiration run.
+   */
+  public long getLastRunExpired() {
+    return lastRunExpired;
+  }
+
+  /**
+   * @return how long the last expiration run took, in milliseconds.
+   */
+  public long getLastRunDuration() {
+    return lastRunDuration;
+  }
+
+  /**
+   * @return how long the slowest expiration run took, in milliseconds.
+   */
+  public long getMaxRunDuration() {
+    return maxRunDuration;
+  }
+
+  public void clear() {
+    runs.set(0);
+    totalExpired.set(0);
+    lastRunExpired = 0;
+    lastRunDuration = 0;
+    maxRunDuration = 0;
+  }
+}
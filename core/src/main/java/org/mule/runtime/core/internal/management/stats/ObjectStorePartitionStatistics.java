@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the usage of a partition of an in memory object store.
+ *
+ * @since 4.6
+ */
+public class ObjectStorePartitionStatistics implements Statistics {
+
+  private static final long serialVersionUID = 4117530911372985318L;
+
+  private final AtomicLong size = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder expired = new LongAdder();
+  private final LongAdder evicted = new LongAdder();
+  private boolean enabled = true;
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Updates the number of entries in the partition.
+   *
+   * @param size the current number of entries
+   */
+  public void setSize(long size) {
+    this.size.set(size);
+  }
+
+  /**
+   * Records a retrieval of an entry that was present in the partition.
+   */
+  public void incHits() {
+    if (enabled) {
+      hits.increment();
+    }
+  }
+
+  /**
+   * Records a retrieval of an entry that was not present in the partition.
+   */
+  public void incMisses() {
+    if (enabled) {
+      misses.increment();
+    }
+  }
+
+  /**
+   * Records an entry removed because it outlived the partition's entry TTL.
+   */
+  public void incExpired() {
+    if (enabled) {
+      expired.increment();
+    }
+  }
+
+  /**
+   * Records an entry removed because the partition exceeded its max entries.
+   */
+  public void incEvicted() {
+    if (enabled) {
+      evicted.increment();
+    }
+  }
+
+  /**
+   * @return the number of entries in the partition.
+   */
+  public long getSize() {
+    return size.get();
+  }
+
+  /**
+   * @return the number of retrievals of entries that were present in the partition.
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of retrievals of entries that were not present in the partition.
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the number of entries removed because they outlived the partition's entry TTL.
+   */
+  public long getExpired() {
+    return expired.sum();
+  }
+
+  /**
+   * @return the number of entries removed because the partition exceeded its max entries.
+   */
+  public long getEvicted() {
+    return evicted.sum();
+  }
+
+  public void clear() {
+    hits.reset();
+    misses.reset();
+    expired.reset();
+    evicted.reset();
+  }
+}
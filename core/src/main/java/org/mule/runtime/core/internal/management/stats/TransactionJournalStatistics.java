@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.lang.Math.max;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and latency statistics of a transaction journal that groups the entries it writes in batches.
+ *
+ * @since 4.6
+ */
+public class TransactionJournalStatistics implements Statistics {
+
+  private static final long serialVersionUID = 5227513372650542191L;
+
+  private final AtomicLong batches = new AtomicLong(0);
+  private final AtomicLong entries = new AtomicLong(0);
+  private final AtomicLong totalSyncTime = new AtomicLong(0);
+  private final AtomicLong totalLatency = new AtomicLong(0);
+  private volatile long maxBatchSize = 0;
+  private volatile long maxLatency = 0;
+  private boolean enabled = true;
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Records a batch of entries that was written to the journal. Must only be called by the journal writer thread.
+   *
+   * @param size         the number of entries in the batch
+   * @param syncTime     how long writing and syncing the batch took, in nanoseconds
+   * @param totalLatency the sum of the time each entry of the batch waited until it was durable, in nanoseconds
+   * @param maxLatency   the longest time an entry of the batch waited until it was durable, in nanoseconds
+   */
+  public void addBatch(int size, long syncTime, long totalLatency, long maxLatency) {
+    if (!enabled) {
+      return;
+    }
+    batches.incrementAndGet();
+    entries.addAndGet(size);
+    totalSyncTime.addAndGet(syncTime);
+    this.totalLatency.addAndGet(totalLatency);
+    maxBatchSize = max(maxBatchSize, size);
+    this.maxLatency = max(this.maxLatency, maxLatency);
+  }
+
+  /**
+   * @return the number of batches written to the journal.
+   */
+  public long getBatches() {
+    return batches.get();
+  }
+
+  /**
+   * @return the number of entries written to the journal.
+   */
+  public long getEntries() {
+    return entries.get();
+  }
+
+  /**
+   * @return the biggest number of entries written in a single batch.
+   */
+  public long getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  /**
+   * @return the average number of entries written in a single batch.
+   */
+  public double getAverageBatchSize() {
+    long batches = this.batches.get();
+    return batches == 0 ? 0 : (double) entries.get() / batches;
+  }
+
+  /**
+   * @return the average time spent writing and syncing a batch, in nanoseconds.
+   */
+  public long getAverageSyncTime() {
+    long batches = this.batches.get();
+    return batches == 0 ? 0 : totalSyncTime.get() / batches;
+  }
+
+  /**
+   * @return the average time an entry waited until it was durable, in nanoseconds.
+   */
+  public long getAverageLatency() {
+    long entries = this.entries.get();
+    return entries == 0 ? 0 : totalLatency.get() / entries;
+  }
+
+  /**
+   * @return the longest time an entry waited until it was durable, in nanoseconds.
+   */
+  public long getMaxLatency() {
+    return maxLatency;
+  }
+
+  public void clear() {
+    batches.set(0);
+    entries.set(0);
+    totalSyncTime.set(0);
+    totalLatency.set(0);
+    maxBatchSize = 0;
+    maxLatency = 0;
+  }
+}
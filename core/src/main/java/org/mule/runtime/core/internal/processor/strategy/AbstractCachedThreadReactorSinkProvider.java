@@ -6,7 +6,6 @@
  */
 package org.mule.runtime.core.internal.processor.strategy;
 
-import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.MINUTES;
 
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -22,27 +21,19 @@ import com.github.benmanes.caffeine.cache.RemovalListener;
 import reactor.core.publisher.FluxSink;
 
 /**
- * Abstract implementation of {@link ReactorSinkProvider} that uses a cache for the {@link FluxSink}s per thread.
+ * Abstract implementation of {@link ReactorSinkProvider} that keeps the {@link FluxSink}s per thread in a
+ * {@link ThreadAffinityRegistry}, and per nested transaction in a cache.
  */
 public abstract class AbstractCachedThreadReactorSinkProvider implements ReactorSinkProvider {
 
-  private static final int THREAD_CACHE_TIME_LIMIT_IN_MINUTES = 60;
   private static final int TRANSACTION_CACHE_TIME_LIMIT_IN_MINUTES = 10;
   private boolean sinkIndexEnabled;
 
-  private final Cache<Thread, List<FluxSinkWrapper>> sinks =
-      Caffeine.newBuilder().weakKeys()
-          .removalListener((RemovalListener<Thread, List<FluxSinkWrapper>>) (String, coreEventFluxSinkList,
-                                                                             removalCause) -> coreEventFluxSinkList
-                                                                                 .forEach(FluxSinkWrapper::complete))
-          .expireAfterAccess(THREAD_CACHE_TIME_LIMIT_IN_MINUTES, MINUTES).build();
-
+  private final ThreadAffinityRegistry<List<FluxSinkWrapper>> sinks =
+      new ThreadAffinityRegistry<>(ArrayList::new, sinkList -> sinkList.forEach(FluxSinkWrapper::complete));
 
-  private final Cache<Thread, FluxSink<CoreEvent>> legacySinks =
-      Caffeine.newBuilder().weakKeys()
-          .removalListener((RemovalListener<Thread, FluxSink<CoreEvent>>) (thread, coreEventFluxSink,
-                                                                           removalCause) -> coreEventFluxSink.complete())
-          .expireAfterAccess(THREAD_CACHE_TIME_LIMIT_IN_MINUTES, MINUTES).build();
+  private final ThreadAffinityRegistry<FluxSink<CoreEvent>> legacySinks =
+      new ThreadAffinityRegistry<>(this::createSink, FluxSink::complete);
 
   private final Cache<Transaction, List<FluxSinkWrapper>> sinksNestedTx =
       Caffeine.newBuilder()
@@ -65,8 +56,8 @@ public abstract class AbstractCachedThreadReactorSinkProvider implements Reactor
   }
 
   public void dispose() {
-    sinks.asMap().values().forEach(sinkList -> sinkList.forEach(FluxSinkWrapper::complete));
-    legacySinks.asMap().values().forEach(FluxSink::complete);
+    sinks.forEach(sinkList -> sinkList.forEach(FluxSinkWrapper::complete));
+    legacySinks.forEach(FluxSink::complete);
     sinksNestedTx.asMap().values().forEach(sinkList -> sinkList.forEach(FluxSinkWrapper::complete));
     legacySinksNestedTx.asMap().values().forEach(FluxSink::complete);
   }
@@ -91,7 +82,7 @@ public abstract class AbstractCachedThreadReactorSinkProvider implements Reactor
       if (sinkIndexEnabled) {
         return getSimpleFluxSinkWrapper();
       } else {
-        return legacySinks.get(currentThread(), t -> createSink());
+        return legacySinks.get();
       }
     }
   }
@@ -102,7 +93,7 @@ public abstract class AbstractCachedThreadReactorSinkProvider implements Reactor
 
 
   private FluxSinkWrapper getSimpleFluxSinkWrapper() {
-    return getOrCreateFluxSinkWrapper(sinks.get(currentThread(), parameterKey -> new ArrayList<>()));
+    return getOrCreateFluxSinkWrapper(sinks.get());
   }
 
   private FluxSinkWrapper getOrCreateFluxSinkWrapper(List<FluxSinkWrapper> fluxSinkWrapperList) {
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Thread.currentThread;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+
+/**
+ * Keeps a value per thread, such as the sink a thread emits events to.
+ * <p>
+ * Each platform thread that uses any registry is given a small integer id, kept in a {@link ThreadLocal}, which is the index of
+ * its slot in the registries. Getting the value for the current thread is then just an array read instead of a lookup in a
+ * concurrent map keyed by thread. Ids of terminated threads are reused by new ones. The slots are sized to the ids assigned
+ * when the registry is created, and grown when a thread with a higher id uses it.
+ * <p>
+ * Virtual threads, and threads that start when all the ids are taken, use a cache with weak thread keys instead.
+ * <p>
+ * The values of terminated threads are removed, and passed to the removal callback, when a new value is created.
+ *
+ * @param <T> the type of the values.
+ * @since 4.6
+ */
+final class ThreadAffinityRegistry<T> {
+
+  static final int MAX_INDEXED_THREADS = 1024;
+
+  private final Supplier<T> valueFactory;
+  private final Consumer<T> removalCallback;
+  // Replaced when grown, and only written while holding the lock of the registry
+  private volatile AtomicReferenceArray<Slot<T>> slots = new AtomicReferenceArray<>(ThreadIds.assigned());
+  private final Cache<Thread, T> fallback;
+
+  /**
+   * @param valueFactory    creates the value for a thread the first time it is requested.
+   * @param removalCallback called with each value that is removed from the registry.
+   */
+  ThreadAffinityRegistry(Supplier<T> valueFactory, Consumer<T> removalCallback) {
+    this.valueFactory = valueFactory;
+    this.removalCallback = removalCallback;
+    this.fallback = Caffeine.newBuilder().weakKeys()
+        .removalListener((RemovalListener<Thread, T>) (thread, value, removalCause) -> removalCallback.accept(value))
+        .build();
+  }
+
+  /**
+   * @return the value for the current thread, creating it if needed.
+   */
+  T get() {
+    final int id = ThreadIds.current();
+    if (id < 0) {
+      return fallback.get(currentThread(), t -> valueFactory.get());
+    }
+
+    final AtomicReferenceArray<Slot<T>> current = slots;
+    final Slot<T> slot = id < current.length() ? current.get(id) : null;
+    if (slot != null && slot.owner.get() == currentThread()) {
+      return slot.value;
+    }
+
+    return createSlot(id).value;
+  }
+
+  private synchronized Slot<T> createSlot(int id) {
+    AtomicReferenceArray<Slot<T>> current = slots;
+    if (id >= current.length()) {
+      current = grow(current, id);
+    }
+
+    // Only the owner of the id may have set its slot, and it is not running anymore
+    final Slot<T> previous = current.getAndSet(id, null);
+    if (previous != null) {
+      removalCallback.accept(previous.value);
+    }
+
+    final Slot<T> slot = new Slot<>(currentThread(), valueFactory.get());
+    current.set(id, slot);
+    expungeTerminatedThreads(current);
+    return slot;
+  }
+
+  private AtomicReferenceArray<Slot<T>> grow(AtomicReferenceArray<Slot<T>> current, int id) {
+    final AtomicReferenceArray<Slot<T>> grown =
+        new AtomicReferenceArray<>(min(MAX_INDEXED_THREADS, max(id + 1, current.length() * 2)));
+    for (int i = 0; i < current.length(); ++i) {
+      grown.set(i, current.get(i));
+    }
+    slots = grown;
+    return grown;
+  }
+
+  private void expungeTerminatedThreads(AtomicReferenceArray<Slot<T>> current) {
+    final int assigned = min(ThreadIds.assigned(), current.length());
+    for (int i = 0; i < assigned; ++i) {
+      final Slot<T> slot = current.get(i);
+      if (slot != null && !slot.isOwnerAlive()) {
+        current.set(i, null);
+        removalCallback.accept(slot.value);
+      }
+    }
+    fallback.cleanUp();
+  }
+
+  /**
+   * Performs the given action for each value in the registry.
+   *
+   * @param action the action to perform.
+   */
+  void forEach(Consumer<T> action) {
+    final AtomicReferenceArray<Slot<T>> current = slots;
+    for (int i = 0; i < current.length(); ++i) {
+      final Slot<T> slot = current.get(i);
+      if (slot != null) {
+        action.accept(slot.value);
+      }
+    }
+    fallback.asMap().values().forEach(action);
+  }
+
+  /**
+   * Removes all the values from the registry, calling the removal callback for each of them.
+   */
+  synchronized void invalidateAll() {
+    final AtomicReferenceArray<Slot<T>> current = slots;
+    for (int i = 0; i < current.length(); ++i) {
+      final Slot<T> slot = current.getAndSet(i, null);
+      if (slot != null) {
+        removalCallback.accept(slot.value);
+      }
+    }
+    fallback.invalidateAll();
+  }
+
+  private static final class Slot<T> {
+
+    private final WeakReference<Thread> owner;
+    private final T value;
+
+    private Slot(Thread owner, T value) {
+      this.owner = new WeakReference<>(owner);
+      this.value = value;
+    }
+
+    private boolean isOwnerAlive() {
+      final Thread thread = owner.get();
+      return thread != null && thread.isAlive();
+    }
+  }
+
+  /**
+   * Assigns the ids to the threads, reusing the ones of terminated threads.
+   */
+  static final class ThreadIds {
+
+    private static final ThreadId UNASSIGNED = new ThreadId(-1);
+    private static final Method IS_VIRTUAL = isVirtualMethod();
+
+    private static final AtomicInteger nextId = new AtomicInteger();
+    private static final ConcurrentLinkedQueue<Integer> freeIds = new ConcurrentLinkedQueue<>();
+    private static final ReferenceQueue<ThreadId> releasedIds = new ReferenceQueue<>();
+    // Keeps the references reachable until their ids are released
+    private static final Set<ThreadIdReference> assignedIds = ConcurrentHashMap.newKeySet();
+
+    private static final ThreadLocal<ThreadId> currentId = ThreadLocal.withInitial(ThreadIds::assign);
+
+    private ThreadIds() {
+      // Nothing to do
+    }
+
+    /**
+     * @return the id of the current thread, or {@code -1} if it has none.
+     */
+    static int current() {
+      return currentId.get().value;
+    }
+
+    /**
+     * @return the number of ids assigned so far, including the ones of terminated threads.
+     */
+    static int assigned() {
+      return nextId.get();
+    }
+
+    private static ThreadId assign() {
+      ThreadIdReference released;
+      while ((released = (ThreadIdReference) releasedIds.poll()) != null) {
+        assignedIds.remove(released);
+        freeIds.offer(released.id);
+      }
+
+      if (isVirtual(currentThread())) {
+        return UNASSIGNED;
+      }
+
+      Integer id = freeIds.poll();
+      if (id == null) {
+        id = nextId.getAndUpdate(next -> next < MAX_INDEXED_THREADS ? next + 1 : next);
+        if (id >= MAX_INDEXED_THREADS) {
+          return UNASSIGNED;
+        }
+      }
+
+      final ThreadId threadId = new ThreadId(id);
+      assignedIds.add(new ThreadIdReference(threadId, releasedIds));
+      return threadId;
+    }
+
+    private static Method isVirtualMethod() {
+      try {
+        return Thread.class.getMethod("isVirtual");
+      } catch (NoSuchMethodException e) {
+        // Virtual threads not supported
+        return null;
+      }
+    }
+
+    private static boolean isVirtual(Thread thread) {
+      if (IS_VIRTUAL == null) {
+        return false;
+      }
+      try {
+        return (Boolean) IS_VIRTUAL.invoke(thread);
+      } catch (ReflectiveOperationException e) {
+        return false;
+      }
+    }
+  }
+
+  private static final class ThreadId {
+
+    private final int value;
+
+    private ThreadId(int value) {
+      this.value = value;
+    }
+  }
+
+  private static final class ThreadIdReference extends WeakReference<ThreadId> {
+
+    private final int id;
+
+    private ThreadIdReference(ThreadId threadId, ReferenceQueue<ThreadId> queue) {
+      super(threadId, queue);
+      this.id = threadId.value;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_INTENSIVE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.processor.strategy.ProactorStreamEmitterProcessingStrategyFactory.ProactorStreamEmitterProcessingStrategy;
+
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Creates a processing strategy that works as the one from {@link ProactorStreamEmitterProcessingStrategyFactory}, but runs
+ * {@link ReactiveProcessor.ProcessingType#BLOCKING} and {@link ReactiveProcessor.ProcessingType#IO_RW} processors on virtual
+ * threads instead of the {@link SchedulerService#ioScheduler()}. The number of blocking processors running concurrently for a
+ * flow is limited by its {@code maxConcurrency}.
+ * <p/>
+ * {@link ReactiveProcessor.ProcessingType#CPU_INTENSIVE} processors still run on the
+ * {@link SchedulerService#cpuIntensiveScheduler()}.
+ * <p/>
+ * If the JVM does not support virtual threads, the {@link SchedulerService#ioScheduler()} is used as in
+ * {@link ProactorStreamEmitterProcessingStrategyFactory}.
+ *
+ * @since 4.6
+ */
+public class VirtualThreadProcessingStrategyFactory extends ProactorStreamEmitterProcessingStrategyFactory {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadProcessingStrategyFactory.class);
+
+  @Override
+  public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
+    Supplier<Scheduler> cpuLightSchedulerSupplier = getCpuLightSchedulerSupplier(muleContext, schedulersNamePrefix);
+    final String blockingSchedulerName = schedulersNamePrefix + "." + BLOCKING.name();
+
+    final Supplier<Scheduler> blockingSchedulerSupplier;
+    if (VirtualThreadScheduler.isSupported()) {
+      final int maxConcurrency = getMaxConcurrency();
+      blockingSchedulerSupplier = () -> new VirtualThreadScheduler(blockingSchedulerName, maxConcurrency,
+                                                                   () -> muleContext.getSchedulerService()
+                                                                       .cpuLightScheduler(muleContext.getSchedulerBaseConfig()
+                                                                           .withName(blockingSchedulerName + ".timer")));
+    } else {
+      LOGGER.warn("Virtual threads are not supported by this JVM. Blocking processors of '{}' will run on the IO scheduler.",
+                  schedulersNamePrefix);
+      blockingSchedulerSupplier = () -> muleContext.getSchedulerService()
+          .ioScheduler(muleContext.getSchedulerBaseConfig().withName(blockingSchedulerName));
+    }
+
+    return new VirtualThreadProcessingStrategy(getBufferSize(),
+                                               getSubscriberCount(),
+                                               cpuLightSchedulerSupplier,
+                                               cpuLightSchedulerSupplier,
+                                               blockingSchedulerSupplier,
+                                               () -> muleContext.getSchedulerService()
+                                                   .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
+                                                       .withName(schedulersNamePrefix + "." + CPU_INTENSIVE.name())),
+                                               resolveParallelism(),
+                                               getMaxConcurrency(),
+                                               isMaxConcurrencyEagerCheck(),
+                                               () -> muleContext.getConfiguration().getShutdownTimeout());
+  }
+
+  @Override
+  public Class<? extends ProcessingStrategy> getProcessingStrategyType() {
+    return VirtualThreadProcessingStrategy.class;
+  }
+
+  static class VirtualThreadProcessingStrategy extends ProactorStreamEmitterProcessingStrategy {
+
+    public VirtualThreadProcessingStrategy(int bufferSize,
+                                           int subscriberCount,
+                                           Supplier<Scheduler> flowDispatchSchedulerSupplier,
+                                           Supplier<Scheduler> cpuLightSchedulerSupplier,
+                                           Supplier<Scheduler> blockingSchedulerSupplier,
+                                           Supplier<Scheduler> cpuIntensiveSchedulerSupplier,
+                                           int parallelism,
+                                           int maxConcurrency,
+                                           boolean maxConcurrencyEagerCheck,
+                                           Supplier<Long> shutdownTimeoutSupplier) {
+      super(bufferSize, subscriberCount, flowDispatchSchedulerSupplier, cpuLightSchedulerSupplier, blockingSchedulerSupplier,
+            cpuIntensiveSchedulerSupplier, parallelism, maxConcurrency, maxConcurrencyEagerCheck, shutdownTimeoutSupplier);
+    }
+  }
+}
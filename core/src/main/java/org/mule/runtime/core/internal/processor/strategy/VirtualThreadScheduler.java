@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Thread.currentThread;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * {@link Scheduler} that runs each task on a new virtual thread, limiting how many of them run concurrently with a
+ * {@link Semaphore}.
+ * <p>
+ * Virtual threads are only available from Java 21, so they are created by reflection. Use {@link #isSupported()} to check
+ * whether the running JVM can create them.
+ * <p>
+ * A task that is interrupted while waiting for its turn to run is not run. If it is a {@link Future}, it is cancelled.
+ * <p>
+ * Delayed and periodic tasks are timed by a platform thread {@link Scheduler}, and then run on a virtual thread.
+ *
+ * @since 4.6
+ */
+class VirtualThreadScheduler extends AbstractExecutorService implements Scheduler {
+
+  private static final Method OF_VIRTUAL;
+  private static final Method BUILDER_NAME;
+  private static final Method BUILDER_FACTORY;
+  private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+  static {
+    Method ofVirtual = null;
+    Method builderName = null;
+    Method builderFactory = null;
+    Method newThreadPerTaskExecutor = null;
+    try {
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builderName = builderClass.getMethod("name", String.class, long.class);
+      builderFactory = builderClass.getMethod("factory");
+      newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+
+      // In Java 19 and 20 virtual threads are a preview feature, so the methods exist but fail unless previews are enabled
+      Object builder = builderName.invoke(ofVirtual.invoke(null), "virtualThreadsProbe.", 0L);
+      ((ExecutorService) newThreadPerTaskExecutor.invoke(null, builderFactory.invoke(builder))).shutdown();
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      ofVirtual = null;
+    }
+    OF_VIRTUAL = ofVirtual;
+    BUILDER_NAME = builderName;
+    BUILDER_FACTORY = builderFactory;
+    NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+  }
+
+  /**
+   * @return whether the running JVM supports virtual threads.
+   */
+  static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  private final String name;
+  private final ExecutorService executor;
+  private final Semaphore permits;
+  private final Supplier<Scheduler> timerSupplier;
+  private volatile Scheduler timer;
+
+  /**
+   * @param name           the name of the scheduler, also used as prefix for the name of its threads.
+   * @param maxConcurrency the maximum number of tasks to run concurrently.
+   * @param timerSupplier  provides the scheduler used to time delayed and periodic tasks, the first time one is scheduled.
+   */
+  VirtualThreadScheduler(String name, int maxConcurrency, Supplier<Scheduler> timerSupplier) {
+    if (!isSupported()) {
+      throw new IllegalStateException("Virtual threads are not supported by this JVM");
+    }
+    this.name = name;
+    this.executor = createExecutor(name);
+    this.permits = maxConcurrency < MAX_VALUE ? new Semaphore(maxConcurrency) : null;
+    this.timerSupplier = timerSupplier;
+  }
+
+  private static ExecutorService createExecutor(String name) {
+    try {
+      Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name + ".", 0L);
+      return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, BUILDER_FACTORY.invoke(builder));
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Could not create virtual threads executor for " + name, e);
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    final ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    executor.execute(() -> {
+      if (permits != null) {
+        try {
+          // Blocking a virtual thread just unmounts it from its carrier
+          permits.acquire();
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
+          // Otherwise the future of a submitted task would never complete
+          if (command instanceof Future) {
+            ((Future<?>) command).cancel(false);
+          }
+          return;
+        }
+      }
+
+      currentThread().setContextClassLoader(contextClassLoader);
+      try {
+        command.run();
+      } finally {
+        if (permits != null) {
+          permits.release();
+        }
+      }
+    });
+  }
+
+  private Scheduler getTimer() {
+    if (timer == null) {
+      synchronized (this) {
+        if (timer == null) {
+          timer = timerSupplier.get();
+        }
+      }
+    }
+    return timer;
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return getTimer().schedule(() -> execute(command), delay, unit);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    final FutureTask<V> task = new FutureTask<>(callable);
+    return new DelayedTask<>(task, getTimer().schedule(() -> execute(task), delay, unit));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+    return getTimer().scheduleAtFixedRate(() -> execute(command), initialDelay, period, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    return getTimer().scheduleWithFixedDelay(() -> execute(command), initialDelay, delay, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression) {
+    return getTimer().scheduleWithCronExpression(() -> execute(command), cronExpression);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression, TimeZone timeZone) {
+    return getTimer().scheduleWithCronExpression(() -> execute(command), cronExpression, timeZone);
+  }
+
+  @Override
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return executor.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return executor.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return executor.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return executor.awaitTermination(timeout, unit);
+  }
+
+  @Override
+  public void stop() {
+    executor.shutdown();
+    if (timer != null) {
+      timer.stop();
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String toString() {
+    return getName();
+  }
+
+  /**
+   * The result of a delayed task, which is timed by the timer and then run on a virtual thread.
+   */
+  private static final class DelayedTask<V> implements ScheduledFuture<V> {
+
+    private final FutureTask<V> task;
+    private final ScheduledFuture<?> timing;
+
+    private DelayedTask(FutureTask<V> task, ScheduledFuture<?> timing) {
+      this.task = task;
+      this.timing = timing;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return timing.getDelay(unit);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return timing.compareTo(other);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      timing.cancel(false);
+      return task.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return task.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+      return task.isDone();
+    }
+
+    @Override
+    public V get() throws InterruptedException, ExecutionException {
+      return task.get();
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+      return task.get(timeout, unit);
+    }
+  }
+}
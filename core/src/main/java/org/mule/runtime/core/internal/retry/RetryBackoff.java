@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+import static java.lang.Math.round;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Calculates the delay before each retry, growing it exponentially from a base delay up to a maximum, and optionally spreading
+ * it randomly so that executions that failed at the same time don't retry at the same time.
+ *
+ * @since 4.6
+ */
+public final class RetryBackoff {
+
+  /**
+   * Keeps the same delay for every retry.
+   */
+  public static final RetryBackoff FIXED = new RetryBackoff(1, Long.MAX_VALUE, 0);
+
+  private final double multiplier;
+  private final long maxDelay;
+  private final double jitter;
+
+  /**
+   * @param multiplier the factor the delay is multiplied by on each retry. {@code 1} keeps the delay fixed.
+   * @param maxDelay   the maximum delay, before applying the {@code jitter}
+   * @param jitter     the fraction of the delay that it may be randomly increased or decreased by, between {@code 0} and
+   *                   {@code 1}.
+   */
+  public RetryBackoff(double multiplier, long maxDelay, double jitter) {
+    checkArgument(multiplier >= 1, "multiplier must be greater or equal than 1");
+    checkArgument(maxDelay >= 0, "maxDelay must not be negative");
+    checkArgument(jitter >= 0 && jitter <= 1, "jitter must be between 0 and 1");
+
+    this.multiplier = multiplier;
+    this.maxDelay = maxDelay;
+    this.jitter = jitter;
+  }
+
+  /**
+   * @param baseDelay the delay before the first retry
+   * @param retry     the number of the retry, starting from 1
+   * @return the delay before the given {@code retry}
+   */
+  public long getDelay(long baseDelay, int retry) {
+    double delay = min(baseDelay * pow(multiplier, max(0, retry - 1)), maxDelay);
+    if (jitter > 0) {
+      delay *= 1 - jitter + 2 * jitter * ThreadLocalRandom.current().nextDouble();
+    }
+    return round(delay);
+  }
+
+  /**
+   * @return whether this backoff keeps the same delay for every retry.
+   */
+  public boolean isFixed() {
+    return multiplier == 1 && jitter == 0;
+  }
+}
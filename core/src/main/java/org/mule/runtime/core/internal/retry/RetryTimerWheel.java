@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import static java.lang.Long.getLong;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+/**
+ * Schedules the retries of many executions on a hashed timing wheel, so that a single periodic task wakes up once per tick and
+ * runs all the retries that are due, instead of scheduling a task for each retry.
+ * <p>
+ * Retries are run on the thread of the periodic task, so they are expected to just hand over the work to be retried to another
+ * scheduler. They may be run up to one tick later than requested, but never earlier.
+ * <p>
+ * The periodic task is only scheduled while there are pending retries.
+ *
+ * @since 4.6
+ */
+public final class RetryTimerWheel {
+
+  private static final Logger LOGGER = getLogger(RetryTimerWheel.class);
+
+  /**
+   * The length of a tick of the wheel, in milliseconds.
+   */
+  public static final String RETRY_TIMER_TICK_PROPERTY = SYSTEM_PROPERTY_PREFIX + "retry.timerWheel.tickMillis";
+
+  private static final long DEFAULT_TICK_MILLIS = getLong(RETRY_TIMER_TICK_PROPERTY, 10);
+  private static final int DEFAULT_WHEEL_SIZE = 512;
+
+  private final ScheduledExecutorService ticker;
+  private final long tickNanos;
+  private final int mask;
+
+  // only accessed holding the ticking lock
+  private final ArrayDeque<RetryTimeout>[] wheel;
+  private long startTime;
+  private long tick;
+
+  private final Queue<RetryTimeout> additions = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pending = new AtomicInteger();
+
+  // guards the start and stop of the periodic task, and the buckets
+  private final Object tickingLock = new Object();
+  private volatile boolean ticking = false;
+  private ScheduledFuture<?> tickTask;
+
+  /**
+   * Creates a new wheel with the default tick length.
+   *
+   * @param ticker the executor where the periodic task is scheduled, and the retries are run.
+   */
+  public RetryTimerWheel(ScheduledExecutorService ticker) {
+    this(ticker, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+  }
+
+  /**
+   * @param ticker     the executor where the periodic task is scheduled, and the retries are run.
+   * @param tickMillis the length of a tick of the wheel, in milliseconds
+   * @param wheelSize  the number of buckets of the wheel. Rounded up to a power of 2.
+   */
+  public RetryTimerWheel(ScheduledExecutorService ticker, long tickMillis, int wheelSize) {
+    checkArgument(tickMillis > 0, "tickMillis must be greater than 0");
+    checkArgument(wheelSize > 0, "wheelSize must be greater than 0");
+
+    this.ticker = ticker;
+    this.tickNanos = MILLISECONDS.toNanos(tickMillis);
+
+    int size = Integer.highestOneBit(wheelSize);
+    if (size < wheelSize) {
+      size <<= 1;
+    }
+    this.mask = size - 1;
+    this.wheel = new ArrayDeque[size];
+    for (int i = 0; i < size; ++i) {
+      wheel[i] = new ArrayDeque<>();
+    }
+  }
+
+  /**
+   * Schedules the given {@code retry} to be run once the given {@code delayMillis} elapse.
+   *
+   * @param retry       the retry to run
+   * @param delayMillis the delay, in milliseconds
+   * @return the scheduled retry, which may be cancelled
+   */
+  public RetryTimeout schedule(Runnable retry, long delayMillis) {
+    RetryTimeout timeout = new RetryTimeout(retry, nanoTime() + MILLISECONDS.toNanos(max(0, delayMillis)));
+    pending.incrementAndGet();
+    additions.add(timeout);
+
+    if (!ticking) {
+      synchronized (tickingLock) {
+        if (!ticking) {
+          startTime = nanoTime();
+          tick = 0;
+          tickTask = ticker.scheduleAtFixedRate(this::onTick, tickNanos, tickNanos, NANOSECONDS);
+          ticking = true;
+        }
+      }
+    }
+
+    return timeout;
+  }
+
+  /**
+   * @return the number of retries that are scheduled and were not run nor cancelled yet.
+   */
+  public int getPendingCount() {
+    return pending.get();
+  }
+
+  /**
+   * Cancels all the pending retries and the periodic task.
+   */
+  public void stop() {
+    synchronized (tickingLock) {
+      if (ticking) {
+        ticking = false;
+        tickTask.cancel(false);
+      }
+
+      RetryTimeout timeout;
+      while ((timeout = additions.poll()) != null) {
+        timeout.cancel();
+      }
+      for (ArrayDeque<RetryTimeout> bucket : wheel) {
+        bucket.forEach(RetryTimeout::cancel);
+        bucket.clear();
+      }
+    }
+  }
+
+  private void onTick() {
+    try {
+      final List<RetryTimeout> expired = new ArrayList<>();
+      // the buckets are also emptied by stop, so they are only accessed holding the lock
+      synchronized (tickingLock) {
+        if (!ticking) {
+          return;
+        }
+        transferAdditions();
+
+        long targetTick = (nanoTime() - startTime) / tickNanos;
+        while (tick <= targetTick) {
+          expire(wheel[(int) (tick & mask)], expired);
+          tick++;
+        }
+
+        stopIfIdle();
+      }
+
+      // run without holding the lock, so retries may be scheduled or the wheel stopped meanwhile
+      expired.forEach(RetryTimeout::run);
+    } catch (Throwable t) {
+      // an exception would cancel the periodic task
+      LOGGER.error("Error running retries", t);
+    }
+  }
+
+  private void transferAdditions() {
+    RetryTimeout timeout;
+    while ((timeout = additions.poll()) != null) {
+      if (timeout.done.get()) {
+        continue;
+      }
+
+      long deadlineTick = (timeout.deadline - startTime + tickNanos - 1) / tickNanos;
+      timeout.remainingRounds = max(0, deadlineTick - tick) / wheel.length;
+      wheel[(int) (max(deadlineTick, tick) & mask)].add(timeout);
+    }
+  }
+
+  private void expire(ArrayDeque<RetryTimeout> bucket, List<RetryTimeout> expired) {
+    Iterator<RetryTimeout> iterator = bucket.iterator();
+    while (iterator.hasNext()) {
+      RetryTimeout timeout = iterator.next();
+      if (timeout.done.get()) {
+        iterator.remove();
+      } else if (timeout.remainingRounds <= 0) {
+        iterator.remove();
+        if (timeout.expire()) {
+          expired.add(timeout);
+        }
+      } else {
+        timeout.remainingRounds--;
+      }
+    }
+  }
+
+  private void stopIfIdle() {
+    if (pending.get() > 0) {
+      return;
+    }
+
+    ticking = false;
+    // a retry may have been scheduled while this was stopping
+    if (pending.get() > 0) {
+      ticking = true;
+      return;
+    }
+
+    tickTask.cancel(false);
+    for (ArrayDeque<RetryTimeout> bucket : wheel) {
+      bucket.clear();
+    }
+  }
+
+  /**
+   * A retry scheduled on a {@link RetryTimerWheel}.
+   */
+  public final class RetryTimeout {
+
+    private final Runnable retry;
+    private final long deadline;
+    private final AtomicBoolean done = new AtomicBoolean(false);
+    private long remainingRounds;
+
+    private RetryTimeout(Runnable retry, long deadline) {
+      this.retry = retry;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancels this retry, if it was not run yet.
+     *
+     * @return whether this retry was cancelled.
+     */
+    public boolean cancel() {
+      if (done.compareAndSet(false, true)) {
+        pending.decrementAndGet();
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * @return whether this retry was run or cancelled.
+     */
+    public boolean isDone() {
+      return done.get();
+    }
+
+    private boolean expire() {
+      if (done.compareAndSet(false, true)) {
+        pending.decrementAndGet();
+        return true;
+      }
+      return false;
+    }
+
+    private void run() {
+      try {
+        retry.run();
+      } catch (Throwable t) {
+        LOGGER.error("Error running retry", t);
+      }
+    }
+  }
+}
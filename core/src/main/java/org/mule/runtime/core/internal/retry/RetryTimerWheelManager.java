@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+
+import javax.inject.Inject;
+
+/**
+ * Holds the {@link RetryTimerWheel} shared by all the components of a Mule context that schedule retries.
+ * <p>
+ * The wheel, and the scheduler its periodic task runs on, are created the first time the wheel is requested.
+ *
+ * @since 4.6
+ */
+public final class RetryTimerWheelManager implements Disposable {
+
+  public static final String REGISTRY_KEY = "_muleRetryTimerWheelManager";
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  private Scheduler ticker;
+  private RetryTimerWheel retryTimer;
+
+  /**
+   * @return the wheel shared by the Mule context.
+   */
+  public synchronized RetryTimerWheel getRetryTimer() {
+    if (retryTimer == null) {
+      ticker = schedulerService.cpuLightScheduler();
+      retryTimer = new RetryTimerWheel(ticker);
+    }
+    return retryTimer;
+  }
+
+  @Override
+  public synchronized void dispose() {
+    if (retryTimer != null) {
+      retryTimer.stop();
+      ticker.stop();
+      retryTimer = null;
+      ticker = null;
+    }
+  }
+}
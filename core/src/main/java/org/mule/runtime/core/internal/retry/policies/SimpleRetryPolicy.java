@@ -28,6 +28,8 @@ import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.core.api.retry.policy.PolicyStatus;
 import org.mule.runtime.core.api.retry.policy.RetryPolicy;
 import org.mule.runtime.core.api.transaction.TransactionCoordination;
+import org.mule.runtime.core.internal.retry.RetryTimerWheel;
+import org.mule.runtime.core.internal.retry.RetryTimerWheel.RetryTimeout;
 import org.mule.runtime.core.internal.util.rx.ConditionalExecutorServiceDecorator;
 
 import java.time.Duration;
@@ -58,11 +60,24 @@ public class SimpleRetryPolicy implements RetryPolicy {
 
   private final int count;
   private final Duration frequency;
+  private final RetryTimerWheel retryTimer;
 
   public SimpleRetryPolicy(long frequency, int retryCount) {
+    this(frequency, retryCount, null);
+  }
+
+  /**
+   * @param frequency  the time to wait between retries, in milliseconds
+   * @param retryCount the number of retries
+   * @param retryTimer the wheel to schedule the first retry of a failed execution on when no transaction is active. May be
+   *                   {@code null}, in which case the retry scheduler is used.
+   * @since 4.6
+   */
+  public SimpleRetryPolicy(long frequency, int retryCount, RetryTimerWheel retryTimer) {
     this.frequency = ofMillis(frequency);
     this.count = retryCount;
     this.retryCounter = new RetryCounter();
+    this.retryTimer = retryTimer;
   }
 
   @Override
@@ -137,7 +152,8 @@ public class SimpleRetryPolicy implements RetryPolicy {
               onExhausted.accept(unwrap(e2));
             })
             .onErrorMap(RetryExhaustedException.class, e2 -> errorFunction.apply(unwrap(e2.getCause())));
-        return delay(frequency, reactorRetryScheduler).then(isTransactionActive() ? just(retryMono.block()) : retryMono);
+        return retryDelay(isTransanctional, reactorRetryScheduler)
+            .then(isTransactionActive() ? just(retryMono.block()) : retryMono);
       } else {
         if (LOGGER.isDebugEnabled()) {
           LOGGER.debug("Not retrying execution of event. Failing...");
@@ -149,6 +165,19 @@ public class SimpleRetryPolicy implements RetryPolicy {
     });
   }
 
+  private Mono<Long> retryDelay(LazyValue<Boolean> isTransactional,
+                                reactor.core.scheduler.Scheduler reactorRetryScheduler) {
+    if (retryTimer == null || isTransactional.get()) {
+      return delay(frequency, reactorRetryScheduler);
+    }
+
+    // the wheel runs its retries on its own thread, so the retry is handed over to the retry scheduler
+    return Mono.<Long>create(sink -> {
+      RetryTimeout timeout = retryTimer.schedule(() -> sink.success(0L), frequency.toMillis());
+      sink.onCancel(timeout::cancel);
+    }).publishOn(reactorRetryScheduler);
+  }
+
   @Override
   public PolicyStatus applyPolicy(Throwable cause) {
     if (isExhausted() || !isApplicableTo(cause)) {
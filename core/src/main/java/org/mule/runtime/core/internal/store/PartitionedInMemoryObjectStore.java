@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.store;
 
+import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
 import org.mule.runtime.api.store.ObjectAlreadyExistsException;
@@ -13,27 +14,36 @@ import org.mule.runtime.api.store.ObjectDoesNotExistException;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
 import org.mule.runtime.core.api.component.InternalComponent;
+import org.mule.runtime.core.internal.management.stats.ObjectStorePartitionStatistics;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * In memory {@link PartitionableExpirableObjectStore}.
+ * <p>
+ * Each partition keeps its entries in a concurrent hash table, and also links them in a list in the order they were stored. That
+ * way, the oldest entries can be expired or evicted from the head of the list, and any entry can be unlinked when it is removed,
+ * both in constant time. Once {@link #expire(long, int, String)} has been invoked for a partition, its entry TTL and max entries
+ * are also enforced each time an entry is stored, instead of letting the partition grow until the next expiration run.
+ */
 public class PartitionedInMemoryObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
     implements PartitionableExpirableObjectStore<T>, InternalComponent {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedInMemoryObjectStore.class);
 
-  private ConcurrentMap<String, ConcurrentMap<String, T>> partitions = new ConcurrentHashMap<>();
-  private ConcurrentMap<String, ConcurrentLinkedQueue<ExpiryEntry>> expiryInfoPartition = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, InMemoryPartition<T>> partitions = new ConcurrentHashMap<>();
 
   @Override
   public boolean isPersistent() {
@@ -42,8 +52,9 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
 
   @Override
   protected boolean doContains(String key, String partitionName) throws ObjectStoreException {
-    if (partitions.containsKey(partitionName)) {
-      return partitions.get(partitionName).containsKey(key);
+    InMemoryPartition<T> partition = partitions.get(partitionName);
+    if (partition != null) {
+      return partition.entries.containsKey(key);
     } else {
       return false;
     }
@@ -51,55 +62,70 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
 
   @Override
   protected void doStore(String key, T value, String partitionName) throws ObjectStoreException {
-    T oldValue = getPartition(partitionName).putIfAbsent(key, value);
-    if (oldValue != null) {
+    InMemoryPartition<T> partition = getPartition(partitionName);
+    long now = getCurrentNanoTime();
+    StoredEntry<T> entry = new StoredEntry<>(key, value, now);
+    if (partition.entries.putIfAbsent(key, entry) != null) {
       throw new ObjectAlreadyExistsException();
     }
-    getExpiryInfoPartition(partitionName).add(new ExpiryEntry(getCurrentNanoTime(), key));
+
+    partition.lock.lock();
+    try {
+      // the entry may have already been removed by another thread
+      if (partition.entries.get(key) == entry) {
+        partition.link(entry);
+      }
+      partition.expire(now);
+    } finally {
+      partition.lock.unlock();
+    }
   }
 
   @Override
   protected T doRetrieve(String key, String partitionName) throws ObjectStoreException {
-    T value = getPartition(partitionName).get(key);
-    if (value == null) {
+    InMemoryPartition<T> partition = getPartition(partitionName);
+    StoredEntry<T> entry = partition.entries.get(key);
+    if (entry == null) {
+      partition.statistics.incMisses();
       throw new ObjectDoesNotExistException();
     }
-    return value;
+    partition.statistics.incHits();
+    return entry.value;
   }
 
   @Override
   protected T doRemove(String key, String partitionName) throws ObjectStoreException {
-    T removedValue = getPartition(partitionName).remove(key);
-    if (removedValue == null) {
+    InMemoryPartition<T> partition = getPartition(partitionName);
+    StoredEntry<T> removed = partition.entries.remove(key);
+    if (removed == null) {
       throw new ObjectDoesNotExistException();
     }
 
-    Iterator<ExpiryEntry> iterator = getExpiryInfoPartition(partitionName).iterator();
-    while (iterator.hasNext()) {
-      ExpiryEntry entry = iterator.next();
-      if (key.equals(entry.getKey())) {
-        iterator.remove();
-        break;
-      }
+    partition.lock.lock();
+    try {
+      partition.unlink(removed);
+    } finally {
+      partition.lock.unlock();
     }
 
-    return removedValue;
+    return removed.value;
   }
 
   @Override
   public List<String> allKeys(String partitionName) throws ObjectStoreException {
-    return new ArrayList<>(getPartition(partitionName).keySet());
+    return new ArrayList<>(getPartition(partitionName).entries.keySet());
   }
 
   @Override
   public Map<String, T> retrieveAll(String partitionName) throws ObjectStoreException {
-    return new LinkedHashMap<>(getPartition(partitionName));
+    Map<String, T> values = new LinkedHashMap<>();
+    getPartition(partitionName).entries.forEach((key, entry) -> values.put(key, entry.value));
+    return values;
   }
 
   @Override
   public void clear(String partitionName) throws ObjectStoreException {
     getPartition(partitionName).clear();
-    getExpiryInfoPartition(partitionName).clear();
   }
 
   @Override
@@ -107,28 +133,21 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
     return new ArrayList<>(partitions.keySet());
   }
 
-  private ConcurrentMap<String, T> getPartition(String partitionName) {
-    ConcurrentMap<String, T> partition = partitions.get(partitionName);
+  private InMemoryPartition<T> getPartition(String partitionName) {
+    InMemoryPartition<T> partition = partitions.get(partitionName);
     if (partition == null) {
-      partition = new ConcurrentHashMap<>();
-      ConcurrentMap<String, T> previous = partitions.putIfAbsent(partitionName, partition);
-      if (previous != null) {
-        partition = previous;
-      }
+      partition = partitions.computeIfAbsent(partitionName, name -> new InMemoryPartition<>());
     }
     return partition;
   }
 
-  private ConcurrentLinkedQueue<ExpiryEntry> getExpiryInfoPartition(String partitionName) {
-    ConcurrentLinkedQueue<ExpiryEntry> partition = expiryInfoPartition.get(partitionName);
-    if (partition == null) {
-      partition = new ConcurrentLinkedQueue<>();
-      ConcurrentLinkedQueue<ExpiryEntry> previous = expiryInfoPartition.putIfAbsent(partitionName, partition);
-      if (previous != null) {
-        partition = previous;
-      }
-    }
-    return partition;
+  /**
+   * @param partitionName the name of a partition
+   * @return the statistics of the given partition, if it exists.
+   * @since 4.6
+   */
+  public Optional<ObjectStorePartitionStatistics> getPartitionStatistics(String partitionName) {
+    return ofNullable(partitions.get(partitionName)).map(partition -> partition.statistics);
   }
 
   @Override
@@ -148,64 +167,29 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
 
   @Override
   public void expire(long entryTTL, int maxEntries, String partitionName) throws ObjectStoreException {
-    final long now = getCurrentNanoTime();
-    int expiredEntries = 0;
-    ExpiryEntry oldestEntry;
-    ConcurrentLinkedQueue<ExpiryEntry> store = getExpiryInfoPartition(partitionName);
-    ConcurrentMap<String, T> partition = getPartition(partitionName);
-
-    trimToMaxSize(store, maxEntries, partition);
-
-    if (entryTTL == UNBOUNDED) {
-      return;
-    }
-
-    while ((oldestEntry = store.peek()) != null) {
-      if (NANOSECONDS.toMillis(now - oldestEntry.getTime()) >= entryTTL) {
-        oldestEntry = store.remove();
-        partition.remove(oldestEntry.getKey());
-        expiredEntries++;
-      } else {
-        break;
-      }
+    InMemoryPartition<T> partition = getPartition(partitionName);
+    partition.entryTTL = entryTTL;
+    partition.maxEntries = maxEntries;
+
+    int removedEntries;
+    partition.lock.lock();
+    try {
+      removedEntries = partition.expire(getCurrentNanoTime());
+    } finally {
+      partition.lock.unlock();
     }
 
     if (LOGGER.isDebugEnabled()) {
-      LOGGER.debug("Expired " + expiredEntries + " old entries");
-    }
-  }
-
-  private void trimToMaxSize(ConcurrentLinkedQueue<ExpiryEntry> store, int maxEntries, ConcurrentMap<String, T> partition) {
-    if (maxEntries <= UNBOUNDED) {
-      return;
-    }
-
-    int currentSize = store.size();
-    int excess = (currentSize - maxEntries);
-    if (excess > 0) {
-      while (currentSize > maxEntries) {
-        ExpiryEntry toRemove = store.remove();
-        partition.remove(toRemove.getKey());
-        currentSize--;
-      }
-
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug("Expired " + excess + " excess entries");
-      }
+      LOGGER.debug("Expired " + removedEntries + " old or excess entries");
     }
   }
 
   @Override
   public void disposePartition(String partitionName) throws ObjectStoreException {
-    Map partition = partitions.remove(partitionName);
+    InMemoryPartition<T> partition = partitions.remove(partitionName);
     if (partition != null) {
       partition.clear();
     }
-
-    ConcurrentLinkedQueue<ExpiryEntry> entries = expiryInfoPartition.remove(partitionName);
-    if (entries != null) {
-      entries.clear();
-    }
   }
 
   protected long getCurrentNanoTime() {
@@ -217,22 +201,128 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
     return true;
   }
 
-  private static class ExpiryEntry {
+  private static final class InMemoryPartition<T extends Serializable> {
 
-    private final long time;
-    private final Serializable key;
+    private final ConcurrentMap<String, StoredEntry<T>> entries = new ConcurrentHashMap<>();
+    private final ObjectStorePartitionStatistics statistics = new ObjectStorePartitionStatistics();
 
-    public ExpiryEntry(long time, Serializable key) {
-      this.time = time;
-      this.key = key;
+    // Guards the list of entries. Lookups on the entries map don't need it.
+    private final Lock lock = new ReentrantLock();
+    private StoredEntry<T> oldest;
+    private StoredEntry<T> newest;
+    private int linkedEntries = 0;
+
+    private volatile long entryTTL = UNBOUNDED;
+    private volatile int maxEntries = UNBOUNDED;
+
+    /**
+     * Appends the given {@code entry} to the list. Must be called holding the {@link #lock}.
+     */
+    private void link(StoredEntry<T> entry) {
+      entry.previous = newest;
+      if (newest == null) {
+        oldest = entry;
+      } else {
+        newest.next = entry;
+      }
+      newest = entry;
+      entry.linked = true;
+      linkedEntries++;
+      statistics.setSize(linkedEntries);
     }
 
-    public long getTime() {
-      return time;
+    /**
+     * Removes the given {@code entry} from the list, if it is linked. Must be called holding the {@link #lock}.
+     */
+    private void unlink(StoredEntry<T> entry) {
+      if (!entry.linked) {
+        return;
+      }
+
+      if (entry.previous == null) {
+        oldest = entry.next;
+      } else {
+        entry.previous.next = entry.next;
+      }
+      if (entry.next == null) {
+        newest = entry.previous;
+      } else {
+        entry.next.previous = entry.previous;
+      }
+      entry.previous = null;
+      entry.next = null;
+      entry.linked = false;
+      linkedEntries--;
+      statistics.setSize(linkedEntries);
     }
 
-    public Serializable getKey() {
-      return key;
+    /**
+     * Removes the oldest entries while there are more than {@link #maxEntries} or they are older than {@link #entryTTL}. Must
+     * be called holding the {@link #lock}.
+     *
+     * @param now the current time, in nanoseconds
+     * @return the number of removed entries
+     */
+    private int expire(long now) {
+      int removed = 0;
+      int currentMaxEntries = maxEntries;
+      if (currentMaxEntries > UNBOUNDED) {
+        while (linkedEntries > currentMaxEntries) {
+          remove(oldest);
+          statistics.incEvicted();
+          removed++;
+        }
+      }
+
+      long currentEntryTTL = entryTTL;
+      if (currentEntryTTL != UNBOUNDED) {
+        while (oldest != null && NANOSECONDS.toMillis(now - oldest.time) >= currentEntryTTL) {
+          remove(oldest);
+          statistics.incExpired();
+          removed++;
+        }
+      }
+
+      return removed;
+    }
+
+    private void remove(StoredEntry<T> entry) {
+      unlink(entry);
+      entries.remove(entry.key, entry);
+    }
+
+    private void clear() {
+      lock.lock();
+      try {
+        entries.clear();
+        // entries being removed concurrently must not be unlinked from the cleared list
+        for (StoredEntry<T> entry = oldest; entry != null; entry = entry.next) {
+          entry.linked = false;
+        }
+        oldest = null;
+        newest = null;
+        linkedEntries = 0;
+        statistics.setSize(0);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private static final class StoredEntry<T> {
+
+    private final String key;
+    private final T value;
+    private final long time;
+
+    private StoredEntry<T> previous;
+    private StoredEntry<T> next;
+    private boolean linked = false;
+
+    private StoredEntry(String key, T value, long time) {
+      this.key = key;
+      this.value = value;
+      this.time = time;
     }
   }
 }
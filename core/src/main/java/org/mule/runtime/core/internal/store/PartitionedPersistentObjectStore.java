@@ -6,11 +6,15 @@
  */
 package org.mule.runtime.core.internal.store;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.i18n.I18nMessage;
+import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
 import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.component.InternalComponent;
@@ -18,6 +22,7 @@ import org.mule.runtime.core.api.config.i18n.CoreMessages;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.FileUtils;
 import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition;
 import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
 
 import java.io.File;
@@ -33,11 +38,17 @@ import javax.inject.Inject;
 import org.slf4j.Logger;
 
 public class PartitionedPersistentObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
-    implements PartitionableExpirableObjectStore<T>, InternalComponent, MuleContextAware {
+    implements PartitionableExpirableObjectStore<T>, InternalComponent, MuleContextAware, Disposable {
 
   private static final Logger LOGGER = getLogger(PartitionedPersistentObjectStore.class);
   public static final String OBJECT_STORE_DIR = "objectstore";
 
+  /**
+   * When set, partitions are backed by a {@link LogStructuredObjectStorePartition} instead of one file per entry. Existing
+   * partitions are migrated to the log format when loaded.
+   */
+  public static final String LOG_STRUCTURED_PARTITIONS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectstore.persistent.logStructured";
+
   protected MuleContext muleContext;
   private File storeDirectory;
   private Map<String, PersistentObjectStorePartition> partitionsByName = new HashMap<>();
@@ -85,7 +96,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
 
   private void createPartition(String partitionName) throws ObjectStoreException {
     PersistentObjectStorePartition persistentObjectStorePartition =
-        new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory(partitionName));
+        newPartition(partitionName, getNewPartitionDirectory(partitionName));
     persistentObjectStorePartition.open();
     partitionsByName.putIfAbsent(partitionName, persistentObjectStorePartition);
   }
@@ -94,6 +105,38 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     return new File(storeDirectory, getPartitionDirectoryName(partitionName));
   }
 
+  /**
+   * Creates the partition that will hold the entries of a new partition.
+   *
+   * @param partitionName      the name of the partition
+   * @param partitionDirectory the directory where the partition data is persisted
+   * @return a new partition
+   */
+  protected PersistentObjectStorePartition newPartition(String partitionName, File partitionDirectory) {
+    if (useLogStructuredPartitions()) {
+      return new LogStructuredObjectStorePartition<>(muleContext, partitionName, partitionDirectory);
+    }
+    return new PersistentObjectStorePartition<>(muleContext, partitionName, partitionDirectory);
+  }
+
+  /**
+   * Creates the partition that will hold the entries of a partition that was persisted in a previous execution.
+   *
+   * @param partitionDirectory the directory where the partition data is persisted
+   * @return a new partition
+   * @throws ObjectStoreNotAvailableException if the partition descriptor cannot be read
+   */
+  protected PersistentObjectStorePartition newPartition(File partitionDirectory) throws ObjectStoreNotAvailableException {
+    if (useLogStructuredPartitions()) {
+      return new LogStructuredObjectStorePartition<>(muleContext, partitionDirectory);
+    }
+    return new PersistentObjectStorePartition<>(muleContext, partitionDirectory);
+  }
+
+  protected boolean useLogStructuredPartitions() {
+    return getBoolean(LOG_STRUCTURED_PARTITIONS_PROPERTY);
+  }
+
   protected String getPartitionDirectoryName(String partitionName) {
     // By default an UUID is used.
     return UUID.getUUID();
@@ -193,8 +236,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     }
     for (File partitionDirectory : directories) {
       try {
-        PersistentObjectStorePartition persistentObjectStorePartition =
-            new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        PersistentObjectStorePartition persistentObjectStorePartition = newPartition(partitionDirectory);
         persistentObjectStorePartition.open();
         partitionsByName.putIfAbsent(persistentObjectStorePartition.getPartitionName(), persistentObjectStorePartition);
       } catch (Exception e) {
@@ -214,6 +256,15 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     expire(entryTTL, maxEntries, DEFAULT_PARTITION_NAME);
   }
 
+  @Override
+  public void dispose() {
+    for (PersistentObjectStorePartition partition : partitionsByName.values()) {
+      if (partition instanceof LogStructuredObjectStorePartition) {
+        ((LogStructuredObjectStorePartition) partition).dispose();
+      }
+    }
+  }
+
   @Override
   public void disposePartition(String partitionName) throws ObjectStoreException {
     this.getPartitionObjectStore(partitionName).close();
@@ -138,6 +138,12 @@ public class SharedPartitionedPersistentObjectStore<T extends Serializable> exte
     }
   }
 
+  @Override
+  protected boolean useLogStructuredPartitions() {
+    // Partitions are recreated on each access so they can be shared, which the log structured ones do not support.
+    return false;
+  }
+
   @Override
   protected String getWorkingDirectory() {
     return workingDirectory.getAbsolutePath();
@@ -9,9 +9,11 @@ package org.mule.runtime.core.internal.streaming.bytes;
 import static java.lang.Integer.getInteger;
 import static java.lang.System.getProperty;
 import static org.mule.runtime.api.util.DataUnit.KB;
+import static org.mule.runtime.api.util.DataUnit.MB;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_STREAMING_BUCKET_SIZE;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_STREAMING_MAX_BUFFER_POOL_SIZE;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_STREAMING_MAX_HEAP_PERCENTAGE;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 
 /**
  * Constants around byte streaming
@@ -39,6 +41,14 @@ public final class ByteStreamingConstants {
    */
   public static final int DEFAULT_BUFFER_POOL_SIZE = getInteger(MULE_STREAMING_MAX_BUFFER_POOL_SIZE, 2048);
 
+  /**
+   * The size of each of the regions of the buffer file that are mapped into memory by file store buffers
+   *
+   * @since 4.6
+   */
+  public static final int MAPPED_SEGMENT_SIZE =
+      getInteger(SYSTEM_PROPERTY_PREFIX + "streaming.mappedSegmentSize", MB.toBytes(32));
+
   private static double getMaxStreamingMemoryPercentage() {
     String v = getProperty(MULE_STREAMING_MAX_HEAP_PERCENTAGE);
     return v != null ? Double.valueOf(v) : 0.7;
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DEFAULT_BUFFER_BUCKET_SIZE;
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.MAPPED_SEGMENT_SIZE;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+/**
+ * An {@link AbstractInputStreamBuffer} which holds the first {@link FileStoreCursorStreamConfig#getMaxInMemorySize()} bytes of
+ * the stream in memory and tees the rest into a temporary file.
+ * <p>
+ * The file is mapped into memory in segments of a fixed size, and the data is read from the stream straight into them. All
+ * cursors read from read-only views of the same segments, so any amount of cursors can traverse the stream without copying its
+ * contents to the heap. The contents are kept by the operating system's page cache instead, which can evict them under memory
+ * pressure since they are backed by the file.
+ * <p>
+ * The segments are not explicitly unmapped when the buffer is closed, since cursors may still hold views over them. They are
+ * unmapped once they are garbage collected.
+ *
+ * @since 4.6
+ */
+public class FileStoreStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final Logger LOGGER = getLogger(FileStoreStreamBuffer.class);
+
+  private final int segmentSize;
+
+  private ManagedByteBufferWrapper managedMemoryBuffer;
+  private ByteBuffer memoryBuffer;
+  private ManagedByteBufferWrapper managedTransferBuffer;
+  private final int memoryBufferSize;
+
+  private File file;
+  private RandomAccessFile randomAccessFile;
+  private FileChannel fileChannel;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+  private ByteBuffer writeSegment;
+
+  private long bufferTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate the in memory buffers
+   */
+  public FileStoreStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager) {
+    this(stream, config, bufferManager, MAPPED_SEGMENT_SIZE);
+  }
+
+  FileStoreStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager,
+                        int segmentSize) {
+    super(stream, bufferManager);
+    this.segmentSize = segmentSize;
+    memoryBufferSize = config.getMaxInMemorySize().toBytes();
+    managedMemoryBuffer = bufferManager.allocateManaged(memoryBufferSize);
+    memoryBuffer = managedMemoryBuffer.getDelegate();
+    // pooled buffers may be bigger than requested
+    memoryBuffer.limit(memoryBufferSize);
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    return doGet(position, length, true);
+  }
+
+  private ByteBuffer doGet(long position, int length, boolean consumeStreamIfNecessary) {
+    readLock.lock();
+    try {
+      ByteBuffer presentRead = getFromCurrentData(position, length);
+      if (presentRead != null) {
+        return presentRead;
+      }
+
+      if (consumeStreamIfNecessary) {
+        readLock.unlock();
+        writeLock.lock();
+
+        try {
+          ByteBuffer refetch = getFromCurrentData(position, length);
+          if (refetch != null) {
+            return refetch;
+          }
+
+          final long requiredUpperBound = position + length;
+          while (!streamFullyConsumed && bufferTip < requiredUpperBound) {
+            final int read = consumeForwardData();
+            if (read > 0) {
+              refetch = getFromCurrentData(position, length);
+              if (refetch != null) {
+                return refetch;
+              }
+            }
+          }
+          return doGet(position, length, false);
+        } catch (IOException e) {
+          throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+        } finally {
+          // classic lock downgrade
+          readLock.lock();
+          writeLock.unlock();
+        }
+      } else {
+        return getFromCurrentData(position, length);
+      }
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    if (position < bufferTip) {
+      return copy(position, min(length, toIntExact(min(Integer.MAX_VALUE, bufferTip - position))));
+    }
+
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Data is read into the in memory buffer until it is full, and then straight into the mapped segments of the buffer file.
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    if (bufferTip < memoryBufferSize) {
+      int read = consumeStream(memoryBuffer);
+      if (read > 0) {
+        bufferTip += read;
+      }
+      return read;
+    }
+
+    ByteBuffer segment = getWriteSegment();
+    if (managedTransferBuffer == null) {
+      managedTransferBuffer = bufferManager.allocateManaged(DEFAULT_BUFFER_BUCKET_SIZE);
+    }
+
+    // the stream can only be read into an array, so the data goes through a small transfer buffer
+    ByteBuffer transferBuffer = managedTransferBuffer.getDelegate();
+    transferBuffer.clear();
+    transferBuffer.limit(min(transferBuffer.capacity(), segment.remaining()));
+
+    int read = consumeStream(transferBuffer);
+    if (read > 0) {
+      transferBuffer.flip();
+      segment.put(transferBuffer);
+      bufferTip += read;
+    }
+    return read;
+  }
+
+  private ByteBuffer getWriteSegment() throws IOException {
+    if (writeSegment == null || !writeSegment.hasRemaining()) {
+      if (fileChannel == null) {
+        file = createBufferFile("stream");
+        randomAccessFile = new RandomAccessFile(file, "rw");
+        fileChannel = randomAccessFile.getChannel();
+      }
+
+      MappedByteBuffer segment = fileChannel.map(READ_WRITE, (long) segments.size() * segmentSize, segmentSize);
+      segments.add(segment);
+      // the writer uses its own view, so that the position of the segment shared with the readers never changes
+      writeSegment = segment.duplicate();
+    }
+
+    return writeSegment;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The returned buffer is a view over the stored data, not a copy. It may contain less than {@code length} bytes if the
+   * requested range spans across the in memory buffer and the file, or across mapped segments.
+   */
+  @Override
+  protected ByteBuffer copy(long position, int length) {
+    if (position < memoryBufferSize) {
+      final int offset = toIntExact(position);
+      return wrap(memoryBuffer.array(), offset, min(length, memoryBufferSize - offset)).slice().asReadOnlyBuffer();
+    }
+
+    long filePosition = position - memoryBufferSize;
+    ByteBuffer view = segments.get(toIntExact(filePosition / segmentSize)).asReadOnlyBuffer();
+    int offset = (int) (filePosition % segmentSize);
+    view.position(offset);
+    view.limit(offset + min(length, segmentSize - offset));
+    return view.slice();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void doClose() {
+    managedMemoryBuffer.release();
+    managedMemoryBuffer = null;
+    memoryBuffer = null;
+
+    if (managedTransferBuffer != null) {
+      managedTransferBuffer.release();
+      managedTransferBuffer = null;
+    }
+
+    segments.clear();
+    writeSegment = null;
+
+    if (randomAccessFile != null) {
+      try {
+        randomAccessFile.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close buffer file " + file.getAbsolutePath(), e);
+      }
+    }
+
+    // may fail in platforms which don't allow deleting mapped files, until the segments are garbage collected
+    if (file != null && !file.delete()) {
+      LOGGER.debug("Could not delete buffer file {}, it will be deleted on exit", file.getAbsolutePath());
+      file.deleteOnExit();
+    }
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_OBJECT_STREAMING_BUFFER_SIZE;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Thread.currentThread;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.io.input.ClassLoaderObjectInputStream;
+import org.slf4j.Logger;
+
+/**
+ * An {@link AbstractObjectStreamBuffer} which keeps a window of the most recently used {@link Bucket buckets} in memory and
+ * spills the rest to a temporary file.
+ * <p>
+ * All buckets have the same capacity, so the bucket holding any position can be computed without traversing the stream. Buckets
+ * are serialized to the file the first time they leave the in memory window, and their offsets are kept in an index, so that
+ * seeking to an already buffered position reads its bucket back with a single positional read.
+ * <p>
+ * Since the buffered items are written using Java serialization, they need to be {@link java.io.Serializable}.
+ *
+ * @since 4.6
+ */
+public class FileStoreObjectStreamBuffer<T> extends AbstractObjectStreamBuffer<T> {
+
+  private static final Logger LOGGER = getLogger(FileStoreObjectStreamBuffer.class);
+
+  private final int bucketSize;
+  private final int maxInMemoryBuckets;
+  private final ClassLoader classLoader;
+
+  // The buckets that are currently in memory, in access order. Guarded by itself, since it is also modified when reading.
+  private final Map<Integer, Bucket<T>> window;
+  // The offset and length in the file of each spilled bucket, by bucket index. Guarded by the window.
+  private final Map<Integer, long[]> spilledBuckets = new HashMap<>();
+
+  private File file;
+  private RandomAccessFile randomAccessFile;
+  private FileChannel fileChannel;
+  private long fileLength = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream the stream to buffer from
+   * @param config the config of the buffer
+   */
+  public FileStoreObjectStreamBuffer(Iterator<T> stream, FileStoreCursorIteratorConfig config) {
+    super(stream);
+    int maxInMemoryInstances = config.getMaxInMemoryInstances();
+    bucketSize = max(1, min(DEFAULT_OBJECT_STREAMING_BUFFER_SIZE, maxInMemoryInstances / 2));
+    // one of the buckets that fit in memory is always the one being filled from the stream
+    maxInMemoryBuckets = max(1, maxInMemoryInstances / bucketSize - 1);
+    classLoader = currentThread().getContextClassLoader();
+    window = new LinkedHashMap<>(maxInMemoryBuckets * 2, 0.75f, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Position toPosition(long position) {
+    return new Position((int) (position / bucketSize), (int) (position % bucketSize));
+  }
+
+  @Override
+  protected void initialize(Optional<Position> maxPosition, Bucket<T> initialBucket) {
+    setCurrentBucket(new Bucket<>(0, bucketSize));
+  }
+
+  @Override
+  protected Bucket<T> getPresentBucket(Position position) {
+    Bucket<T> currentBucket = getCurrentBucket();
+    int bucketIndex = position.getBucketIndex();
+    if (currentBucket == null || bucketIndex > currentBucket.getIndex()) {
+      return null;
+    }
+
+    if (bucketIndex == currentBucket.getIndex()) {
+      return currentBucket;
+    }
+
+    synchronized (window) {
+      Bucket<T> bucket = window.get(bucketIndex);
+      if (bucket == null) {
+        bucket = readBucket(bucketIndex);
+        addToWindow(bucket);
+      }
+      return bucket;
+    }
+  }
+
+  @Override
+  protected Bucket<T> onBucketOverflow(Bucket<T> overflownBucket) {
+    synchronized (window) {
+      addToWindow(overflownBucket);
+    }
+
+    return new Bucket<>(overflownBucket.getIndex() + 1, bucketSize);
+  }
+
+  /**
+   * Adds the given {@code bucket} to the in memory window, spilling the least recently used one if the window is full. Must be
+   * called holding the {@link #window} monitor.
+   */
+  private void addToWindow(Bucket<T> bucket) {
+    window.put(bucket.getIndex(), bucket);
+    if (window.size() > maxInMemoryBuckets) {
+      Iterator<Bucket<T>> eldest = window.values().iterator();
+      Bucket<T> evicted = eldest.next();
+      eldest.remove();
+      // buckets are immutable once filled, so they only need to be written the first time they leave the window
+      if (!spilledBuckets.containsKey(evicted.getIndex())) {
+        writeBucket(evicted);
+      }
+    }
+  }
+
+  private void writeBucket(Bucket<T> bucket) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+        out.writeObject(bucket);
+      }
+
+      ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+      long offset = fileLength;
+      long written = 0;
+      while (buffer.hasRemaining()) {
+        written += getFileChannel().write(buffer, offset + written);
+      }
+
+      fileLength += written;
+      spilledBuckets.put(bucket.getIndex(), new long[] {offset, written});
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not spill streamed objects to the buffer file. "
+          + e.getMessage()), e);
+    }
+  }
+
+  private Bucket<T> readBucket(int bucketIndex) {
+    long[] spilledBucket = spilledBuckets.get(bucketIndex);
+    ByteBuffer buffer = ByteBuffer.allocate((int) spilledBucket[1]);
+    try {
+      while (buffer.hasRemaining()) {
+        if (fileChannel.read(buffer, spilledBucket[0] + buffer.position()) < 0) {
+          throw new EOFException("Buffer file " + file.getAbsolutePath() + " is truncated");
+        }
+      }
+
+      try (ObjectInputStream in =
+          new ClassLoaderObjectInputStream(classLoader, new ByteArrayInputStream(buffer.array()))) {
+        return (Bucket<T>) in.readObject();
+      }
+    } catch (IOException | ClassNotFoundException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read streamed objects from the buffer file. "
+          + e.getMessage()), e);
+    }
+  }
+
+  private FileChannel getFileChannel() throws IOException {
+    if (fileChannel == null) {
+      file = createBufferFile("object-stream");
+      randomAccessFile = new RandomAccessFile(file, "rw");
+      fileChannel = randomAccessFile.getChannel();
+    }
+    return fileChannel;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Since buckets are spilled to disk, this buffer is only limited by the available disk space.
+   */
+  @Override
+  protected void validateMaxBufferSizeNotExceeded(int instancesCount) {}
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doClose() {
+    synchronized (window) {
+      window.clear();
+      spilledBuckets.clear();
+    }
+
+    if (randomAccessFile != null) {
+      try {
+        randomAccessFile.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close buffer file " + file.getAbsolutePath(), e);
+      }
+    }
+
+    if (file != null && !file.delete()) {
+      LOGGER.warn("Could not delete buffer file " + file.getAbsolutePath());
+    }
+  }
+}
@@ -0,0 +1,688 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.Character.toUpperCase;
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Integer.bitCount;
+import static java.lang.System.arraycopy;
+import static java.util.Collections.emptyMap;
+
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link CaseInsensitiveHashMap} which can be derived into new instances with one more or one less entry, sharing most of its
+ * structure with them.
+ * <p>
+ * The entries are kept in a hash array mapped trie, indexed by a case-insensitive hash of the keys, which preserve their case.
+ * So {@link #plus(String, Object)} and {@link #minus(String)} only need to copy the nodes in the path to the modified entry,
+ * which are O(log n) and hold at most 32 slots, instead of copying the whole map. The entries are also kept in a second trie,
+ * indexed by the order in which their keys were added, so the map is iterated in insertion order.
+ * <p>
+ * The nodes of the tries are never modified. Modifications through the {@link Map} interface replace the tries of this instance
+ * with derived ones, so they are not seen by the maps this one was derived from or into.
+ *
+ * @since 4.6
+ */
+public final class PersistentCaseInsensitiveMap<V> extends CaseInsensitiveHashMap<String, V> {
+
+  private static final long serialVersionUID = -4530307541389564402L;
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final int HASH_SIZE = 32;
+  // 7 levels consume the whole hash, plus one level for the keys with colliding hashes. The order trie has at most 7 levels.
+  private static final int MAX_DEPTH = (HASH_SIZE + BITS - 1) / BITS + 1;
+
+  /**
+   * @param <V> the generic type of the values
+   * @return a new empty map
+   */
+  public static <V> PersistentCaseInsensitiveMap<V> emptyPersistentMap() {
+    return new PersistentCaseInsensitiveMap<>(null, null, 0, 0, 0);
+  }
+
+  /**
+   * Returns a {@link PersistentCaseInsensitiveMap} with the entries of the given {@code map}. If it already is an instance of
+   * this class, the copy shares all its structure with it, so it takes constant time.
+   *
+   * @param map the map to copy
+   * @param <V> the generic type of the values
+   * @return a {@link PersistentCaseInsensitiveMap} with the same entries
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentCaseInsensitiveMap<V> copyOf(Map<String, ? extends V> map) {
+    if (map instanceof PersistentCaseInsensitiveMap) {
+      PersistentCaseInsensitiveMap<V> other = (PersistentCaseInsensitiveMap<V>) map;
+      return new PersistentCaseInsensitiveMap<>(other.root, other.order, other.orderShift, other.size, other.nextSeq);
+    }
+
+    PersistentCaseInsensitiveMap<V> copy = emptyPersistentMap();
+    for (Entry<String, ? extends V> entry : map.entrySet()) {
+      copy = copy.plus(entry.getKey(), entry.getValue());
+    }
+    return copy;
+  }
+
+  // the entries, indexed by the hash of their keys
+  private Node root;
+  // the entries, indexed by their sequence number
+  private Node order;
+  // the shift of the first level of the order trie, which grows as more sequence numbers are used
+  private int orderShift;
+  private int size;
+  // the sequence number of the next key to be added
+  private int nextSeq;
+
+  private PersistentCaseInsensitiveMap(Node root, Node order, int orderShift, int size, int nextSeq) {
+    // every method of the superclass is overridden, so its delegate is never used
+    delegate = emptyMap();
+    this.root = root;
+    this.order = order;
+    this.orderShift = orderShift;
+    this.size = size;
+    this.nextSeq = nextSeq;
+  }
+
+  /**
+   * Returns a map with the entries of this one plus the given one. If there already is an entry for the {@code key}, its value
+   * is replaced, keeping the case and the position of the existing key.
+   *
+   * @param key   the key of the entry
+   * @param value the value of the entry
+   * @return a map with the given entry, or {@code this} if it already has it
+   */
+  public PersistentCaseInsensitiveMap<V> plus(String key, V value) {
+    final int hash = hash(key);
+    Leaf<V> existing = find(hash, key);
+    if (existing != null && existing.getValue() == value) {
+      return this;
+    }
+
+    if (existing == null && nextSeq == MAX_VALUE) {
+      return compact().plus(key, value);
+    }
+
+    Leaf<V> leaf = existing != null
+        ? new Leaf<>(existing.getKey(), value, hash, existing.seq)
+        : new Leaf<>(key, value, hash, nextSeq);
+    Node newRoot = root == null ? new Node(bit(hash, 0), new Object[] {leaf}) : put(root, 0, leaf);
+
+    Node newOrder = order;
+    int newOrderShift = orderShift;
+    while ((leaf.seq >>> newOrderShift) > MASK) {
+      // the entries already in the trie go under the first slot of the new level
+      newOrder = newOrder != null ? new Node(1, new Object[] {newOrder}) : null;
+      newOrderShift += BITS;
+    }
+    newOrder = putInOrder(newOrder, newOrderShift, leaf);
+
+    return existing != null
+        ? new PersistentCaseInsensitiveMap<>(newRoot, newOrder, newOrderShift, size, nextSeq)
+        : new PersistentCaseInsensitiveMap<>(newRoot, newOrder, newOrderShift, size + 1, nextSeq + 1);
+  }
+
+  /**
+   * Returns a map with the entries of this one but the one for the given {@code key}.
+   *
+   * @param key the key of the entry to remove
+   * @return a map without the given entry, or {@code this} if it doesn't have it
+   */
+  public PersistentCaseInsensitiveMap<V> minus(String key) {
+    final int hash = hash(key);
+    Leaf<V> existing = find(hash, key);
+    if (existing == null) {
+      return this;
+    } else if (size == 1) {
+      return emptyPersistentMap();
+    }
+
+    return new PersistentCaseInsensitiveMap<>((Node) remove(root, 0, hash, key),
+                                              removeFromOrder(order, orderShift, existing.seq),
+                                              orderShift, size - 1, nextSeq);
+  }
+
+  /**
+   * @return a map with the same entries, numbered again from 0.
+   */
+  private PersistentCaseInsensitiveMap<V> compact() {
+    PersistentCaseInsensitiveMap<V> compacted = emptyPersistentMap();
+    Iterator<Entry<String, V>> entries = new EntryIterator();
+    while (entries.hasNext()) {
+      Entry<String, V> entry = entries.next();
+      compacted = compacted.plus(entry.getKey(), entry.getValue());
+    }
+    return compacted;
+  }
+
+  private void replaceWith(PersistentCaseInsensitiveMap<V> other) {
+    root = other.root;
+    order = other.order;
+    orderShift = other.orderShift;
+    size = other.size;
+    nextSeq = other.nextSeq;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key instanceof String && find(hash((String) key), (String) key) != null;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    for (V v : values()) {
+      if (value == null ? v == null : value.equals(v)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    Leaf<V> leaf = find(hash((String) key), (String) key);
+    return leaf != null ? leaf.getValue() : null;
+  }
+
+  @Override
+  public V put(String key, V value) {
+    V previous = get(key);
+    replaceWith(plus(key, value));
+    return previous;
+  }
+
+  @Override
+  public V remove(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    V previous = get(key);
+    replaceWith(minus((String) key));
+    return previous;
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ? extends V> values) {
+    PersistentCaseInsensitiveMap<V> result = this;
+    for (Entry<? extends String, ? extends V> entry : values.entrySet()) {
+      result = result.plus(entry.getKey(), entry.getValue());
+    }
+    replaceWith(result);
+  }
+
+  @Override
+  public void clear() {
+    replaceWith(emptyPersistentMap());
+  }
+
+  @Override
+  public Set<String> keySet() {
+    return new AbstractSet<String>() {
+
+      @Override
+      public Iterator<String> iterator() {
+        Iterator<Entry<String, V>> entries = new EntryIterator();
+        return new Iterator<String>() {
+
+          @Override
+          public boolean hasNext() {
+            return entries.hasNext();
+          }
+
+          @Override
+          public String next() {
+            return entries.next().getKey();
+          }
+
+          @Override
+          public void remove() {
+            entries.remove();
+          }
+        };
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return containsKey(o);
+      }
+
+      @Override
+      public boolean remove(Object o) {
+        if (!containsKey(o)) {
+          return false;
+        }
+        PersistentCaseInsensitiveMap.this.remove(o);
+        return true;
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Collection<V> values() {
+    return new AbstractCollection<V>() {
+
+      @Override
+      public Iterator<V> iterator() {
+        Iterator<Entry<String, V>> entries = new EntryIterator();
+        return new Iterator<V>() {
+
+          @Override
+          public boolean hasNext() {
+            return entries.hasNext();
+          }
+
+          @Override
+          public V next() {
+            return entries.next().getValue();
+          }
+
+          @Override
+          public void remove() {
+            entries.remove();
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    return new AbstractSet<Entry<String, V>>() {
+
+      @Override
+      public Iterator<Entry<String, V>> iterator() {
+        Iterator<Entry<String, V>> entries = new EntryIterator();
+        return new Iterator<Entry<String, V>>() {
+
+          @Override
+          public boolean hasNext() {
+            return entries.hasNext();
+          }
+
+          @Override
+          public Entry<String, V> next() {
+            // the leaves are shared with other maps, so setting the value of an entry puts a new one in this map
+            return new WritableEntry(entries.next());
+          }
+
+          @Override
+          public void remove() {
+            entries.remove();
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("{");
+    Iterator<Entry<String, V>> entries = new EntryIterator();
+    while (entries.hasNext()) {
+      builder.append(entries.next());
+      if (entries.hasNext()) {
+        builder.append(", ");
+      }
+    }
+    return builder.append('}').toString();
+  }
+
+  /**
+   * @return a mutable copy of this map.
+   */
+  @Override
+  public Object clone() {
+    return copy();
+  }
+
+  /**
+   * @return a mutable copy of this map.
+   */
+  @Override
+  public CaseInsensitiveHashMap<String, V> copy() {
+    return new CaseInsensitiveHashMap<>(this);
+  }
+
+  /**
+   * Serializes this map as a plain {@link CaseInsensitiveHashMap}, so the nodes don't need to be serializable.
+   */
+  private Object writeReplace() {
+    return copy();
+  }
+
+  private Leaf<V> find(int hash, String key) {
+    Node node = root;
+    int shift = 0;
+    while (node != null) {
+      if (shift >= HASH_SIZE) {
+        for (Object slot : node.slots) {
+          if (((Leaf<V>) slot).matches(hash, key)) {
+            return (Leaf<V>) slot;
+          }
+        }
+        return null;
+      }
+
+      int bit = bit(hash, shift);
+      if ((node.bitmap & bit) == 0) {
+        return null;
+      }
+
+      Object slot = node.slots[index(node.bitmap, bit)];
+      if (slot instanceof Leaf) {
+        return ((Leaf<V>) slot).matches(hash, key) ? (Leaf<V>) slot : null;
+      }
+      node = (Node) slot;
+      shift += BITS;
+    }
+    return null;
+  }
+
+  private static Node put(Node node, int shift, Leaf<?> leaf) {
+    if (shift >= HASH_SIZE) {
+      for (int i = 0; i < node.slots.length; ++i) {
+        if (((Leaf<?>) node.slots[i]).matches(leaf.hash, leaf.getKey())) {
+          return new Node(0, replace(node.slots, i, leaf));
+        }
+      }
+      return new Node(0, insert(node.slots, node.slots.length, leaf));
+    }
+
+    int bit = bit(leaf.hash, shift);
+    int index = index(node.bitmap, bit);
+    if ((node.bitmap & bit) == 0) {
+      return new Node(node.bitmap | bit, insert(node.slots, index, leaf));
+    }
+
+    Object slot = node.slots[index];
+    if (slot instanceof Leaf) {
+      Leaf<?> existing = (Leaf<?>) slot;
+      if (existing.matches(leaf.hash, leaf.getKey())) {
+        return new Node(node.bitmap, replace(node.slots, index, leaf));
+      }
+      return new Node(node.bitmap, replace(node.slots, index, merge(existing, leaf, shift + BITS)));
+    }
+    return new Node(node.bitmap, replace(node.slots, index, put((Node) slot, shift + BITS, leaf)));
+  }
+
+  private static Node merge(Leaf<?> existing, Leaf<?> leaf, int shift) {
+    if (shift >= HASH_SIZE) {
+      return new Node(0, new Object[] {existing, leaf});
+    }
+
+    int existingBit = bit(existing.hash, shift);
+    int bit = bit(leaf.hash, shift);
+    if (existingBit == bit) {
+      return new Node(bit, new Object[] {merge(existing, leaf, shift + BITS)});
+    }
+
+    int bitmap = existingBit | bit;
+    return new Node(bitmap, index(bitmap, existingBit) == 0 ? new Object[] {existing, leaf} : new Object[] {leaf, existing});
+  }
+
+  private static Node putInOrder(Node node, int shift, Leaf<?> leaf) {
+    int bit = 1 << ((leaf.seq >>> shift) & MASK);
+    if (node == null) {
+      return new Node(bit, new Object[] {shift == 0 ? leaf : putInOrder(null, shift - BITS, leaf)});
+    }
+
+    int index = index(node.bitmap, bit);
+    if ((node.bitmap & bit) == 0) {
+      return new Node(node.bitmap | bit,
+                      insert(node.slots, index, shift == 0 ? leaf : putInOrder(null, shift - BITS, leaf)));
+    }
+    return new Node(node.bitmap,
+                    replace(node.slots, index, shift == 0 ? leaf : putInOrder((Node) node.slots[index], shift - BITS, leaf)));
+  }
+
+  /**
+   * @return the node without the leaf with the given {@code seq}, which it must contain, or {@code null} if it would be empty.
+   */
+  private static Node removeFromOrder(Node node, int shift, int seq) {
+    int bit = 1 << ((seq >>> shift) & MASK);
+    int index = index(node.bitmap, bit);
+    Node newSlot = shift == 0 ? null : removeFromOrder((Node) node.slots[index], shift - BITS, seq);
+
+    if (newSlot == null) {
+      return node.slots.length == 1 ? null : new Node(node.bitmap & ~bit, delete(node.slots, index));
+    }
+    return new Node(node.bitmap, replace(node.slots, index, newSlot));
+  }
+
+  /**
+   * @return {@code node} if it doesn't contain the {@code key}, otherwise the node without it, or the only {@link Leaf} left in
+   *         it if it is not the root, or {@code null} if it would be empty.
+   */
+  private static Object remove(Node node, int shift, int hash, String key) {
+    if (shift >= HASH_SIZE) {
+      for (int i = 0; i < node.slots.length; ++i) {
+        if (((Leaf<?>) node.slots[i]).matches(hash, key)) {
+          return node.slots.length == 2 ? node.slots[1 - i] : new Node(0, delete(node.slots, i));
+        }
+      }
+      return node;
+    }
+
+    int bit = bit(hash, shift);
+    if ((node.bitmap & bit) == 0) {
+      return node;
+    }
+
+    int index = index(node.bitmap, bit);
+    Object slot = node.slots[index];
+    Object newSlot;
+    if (slot instanceof Leaf) {
+      if (!((Leaf<?>) slot).matches(hash, key)) {
+        return node;
+      }
+      newSlot = null;
+    } else {
+      newSlot = remove((Node) slot, shift + BITS, hash, key);
+      if (newSlot == slot) {
+        return node;
+      }
+    }
+
+    if (newSlot == null) {
+      if (node.slots.length == 1) {
+        return null;
+      } else if (shift > 0 && node.slots.length == 2 && node.slots[1 - index] instanceof Leaf) {
+        return node.slots[1 - index];
+      }
+      return new Node(node.bitmap & ~bit, delete(node.slots, index));
+    } else if (shift > 0 && node.slots.length == 1 && newSlot instanceof Leaf) {
+      return newSlot;
+    }
+    return new Node(node.bitmap, replace(node.slots, index, newSlot));
+  }
+
+  private static int hash(String key) {
+    // consistent with String#equalsIgnoreCase, without creating a lowercase copy of the key
+    int hash = 0;
+    for (int i = 0; i < key.length(); ++i) {
+      hash = 31 * hash + toLowerCase(toUpperCase(key.charAt(i)));
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  private static int index(int bitmap, int bit) {
+    return bitCount(bitmap & (bit - 1));
+  }
+
+  private static Object[] insert(Object[] slots, int index, Object slot) {
+    Object[] copy = new Object[slots.length + 1];
+    arraycopy(slots, 0, copy, 0, index);
+    copy[index] = slot;
+    arraycopy(slots, index, copy, index + 1, slots.length - index);
+    return copy;
+  }
+
+  private static Object[] replace(Object[] slots, int index, Object slot) {
+    Object[] copy = slots.clone();
+    copy[index] = slot;
+    return copy;
+  }
+
+  private static Object[] delete(Object[] slots, int index) {
+    Object[] copy = new Object[slots.length - 1];
+    arraycopy(slots, 0, copy, 0, index);
+    arraycopy(slots, index + 1, copy, index, copy.length - index);
+    return copy;
+  }
+
+  /**
+   * A node of a trie. Each slot holds either a {@link Leaf} or another {@link Node}. Below the last level of the hash trie, the
+   * bitmap is not used and all the slots are leaves with the same hash. In the order trie, all the leaves are in the last level.
+   */
+  private static final class Node {
+
+    private final int bitmap;
+    private final Object[] slots;
+
+    private Node(int bitmap, Object[] slots) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+  }
+
+  private static final class Leaf<V> extends SimpleImmutableEntry<String, V> {
+
+    private static final long serialVersionUID = 2093553420637036212L;
+
+    private final int hash;
+    private final int seq;
+
+    private Leaf(String key, V value, int hash, int seq) {
+      super(key, value);
+      this.hash = hash;
+      this.seq = seq;
+    }
+
+    private boolean matches(int hash, String key) {
+      return this.hash == hash && getKey().equalsIgnoreCase(key);
+    }
+  }
+
+  private final class WritableEntry extends SimpleEntry<String, V> {
+
+    private static final long serialVersionUID = -1512876290471383566L;
+
+    private WritableEntry(Entry<String, V> entry) {
+      super(entry);
+    }
+
+    @Override
+    public V setValue(V value) {
+      put(getKey(), value);
+      return super.setValue(value);
+    }
+  }
+
+  /**
+   * Iterates the entries in insertion order. Modifications of the map while iterating are not seen by the iterator.
+   */
+  private final class EntryIterator implements Iterator<Entry<String, V>> {
+
+    private final Node[] nodes = new Node[MAX_DEPTH];
+    private final int[] positions = new int[MAX_DEPTH];
+    private int depth = -1;
+    private Leaf<V> next;
+    private Leaf<V> last;
+
+    private EntryIterator() {
+      if (order != null) {
+        nodes[++depth] = order;
+      }
+      advance();
+    }
+
+    private void advance() {
+      next = null;
+      while (depth >= 0) {
+        Node node = nodes[depth];
+        if (positions[depth] == node.slots.length) {
+          positions[depth--] = 0;
+          continue;
+        }
+
+        Object slot = node.slots[positions[depth]++];
+        if (slot instanceof Leaf) {
+          next = (Leaf<V>) slot;
+          return;
+        }
+        nodes[++depth] = (Node) slot;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Entry<String, V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      advance();
+      return last;
+    }
+
+    @Override
+    public void remove() {
+      if (last == null) {
+        throw new IllegalStateException();
+      }
+      PersistentCaseInsensitiveMap.this.remove(last.getKey());
+      last = null;
+    }
+  }
+}
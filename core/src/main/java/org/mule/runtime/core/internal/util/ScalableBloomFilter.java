@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.log;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.round;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter of strings that grows as elements are added to it, keeping its false positive rate bounded.
+ * <p>
+ * When the current filter reaches the number of elements it was sized for, a new one is added with twice the capacity and half
+ * the false positive rate, so the compound false positive rate of all of them stays below the requested one. An element may be
+ * present if any of the filters contains it.
+ * <p>
+ * This class is thread-safe. Elements cannot be removed.
+ *
+ * @since 4.6
+ */
+public final class ScalableBloomFilter {
+
+  private static final double LN2 = log(2);
+  // 128MB per filter
+  private static final long MAX_WORDS = 1 << 24;
+
+  private final double initialFalsePositiveRate;
+  private volatile Filter[] filters;
+
+  /**
+   * @param expectedElements  the number of elements the first filter is sized for
+   * @param falsePositiveRate the maximum false positive rate, between 0 and 1 (exclusive)
+   */
+  public ScalableBloomFilter(int expectedElements, double falsePositiveRate) {
+    checkArgument(expectedElements > 0, "expectedElements must be greater than 0");
+    checkArgument(falsePositiveRate > 0 && falsePositiveRate < 1, "falsePositiveRate must be between 0 and 1");
+
+    this.initialFalsePositiveRate = falsePositiveRate;
+    this.filters = new Filter[] {new Filter(expectedElements, falsePositiveRate / 2)};
+  }
+
+  /**
+   * @param element the element to look for
+   * @return {@code false} if the element was definitely never added, {@code true} if it may have been.
+   */
+  public boolean mightContain(String element) {
+    long hash = hash(element);
+    for (Filter filter : filters) {
+      if (filter.mightContain(hash)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Adds the given {@code element}.
+   *
+   * @param element the element to add
+   */
+  public void put(String element) {
+    long hash = hash(element);
+    Filter[] current = filters;
+    Filter last = current[current.length - 1];
+    last.put(hash);
+
+    if (last.count.incrementAndGet() == last.capacity) {
+      grow(current);
+    }
+  }
+
+  /**
+   * @return the number of filters that were created so far.
+   */
+  public int getFilterCount() {
+    return filters.length;
+  }
+
+  private synchronized void grow(Filter[] current) {
+    if (filters != current) {
+      return;
+    }
+
+    Filter last = current[current.length - 1];
+    Filter[] grown = new Filter[current.length + 1];
+    System.arraycopy(current, 0, grown, 0, current.length);
+    grown[current.length] = new Filter(last.capacity * 2, initialFalsePositiveRate / (2 << current.length));
+    filters = grown;
+  }
+
+  private static long hash(String element) {
+    // FNV-1a over the chars, followed by the MurmurHash3 finalizer to spread the bits
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < element.length(); ++i) {
+      hash ^= element.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  private static final class Filter {
+
+    private final long capacity;
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    private Filter(long capacity, double falsePositiveRate) {
+      this.capacity = capacity;
+      long optimalBits = (long) ceil(-capacity * log(falsePositiveRate) / (LN2 * LN2));
+      int words = (int) min(MAX_WORDS, max(1, (optimalBits + 63) >>> 6));
+      this.bits = new AtomicLongArray(words);
+      this.bitCount = (long) words << 6;
+      this.hashFunctions = (int) max(1, round((double) bitCount / capacity * LN2));
+    }
+
+    private boolean mightContain(long hash) {
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashFunctions; ++i) {
+        long bit = index(h1 + i * h2);
+        if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void put(long hash) {
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashFunctions; ++i) {
+        long bit = index(h1 + i * h2);
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+        while (((current = bits.get(word)) & mask) == 0) {
+          if (bits.compareAndSet(word, current, current | mask)) {
+            break;
+          }
+        }
+      }
+    }
+
+    private long index(int combinedHash) {
+      return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+  }
+}
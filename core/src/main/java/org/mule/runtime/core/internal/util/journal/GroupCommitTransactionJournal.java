@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.util.concurrent.NamedThreadFactory;
+import org.mule.runtime.core.internal.management.stats.TransactionJournalStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link TransactionJournal} that writes the entries logged concurrently by several threads in batches.
+ * <p>
+ * Logged entries are put in a bounded buffer, from which a single writer thread takes them, writes them to the journal files and
+ * syncs the files once per batch. The threads logging the entries are released once the batch their entry belongs to is
+ * durable. The writer waits up to a configurable latency for more entries to fill a batch, so the cost of syncing the journal
+ * is shared by all the operations done meanwhile.
+ *
+ * @since 4.6
+ */
+public class GroupCommitTransactionJournal<T, K extends JournalEntry<T>> extends TransactionJournal<T, K> {
+
+  /**
+   * When set, the journals of the transactional queues use group commit.
+   */
+  public static final String GROUP_COMMIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.journal.groupCommit";
+  public static final String BUFFER_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.journal.groupCommit.bufferSize";
+  public static final String MAX_BATCH_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.journal.groupCommit.maxBatchSize";
+  public static final String MAX_BATCH_LATENCY_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "queue.journal.groupCommit.maxBatchLatencyMicros";
+
+  public static final int DEFAULT_BUFFER_SIZE = 4096;
+  public static final int DEFAULT_MAX_BATCH_SIZE = 512;
+  public static final long DEFAULT_MAX_BATCH_LATENCY_MICROS = 0;
+
+  private static final Logger LOGGER = getLogger(GroupCommitTransactionJournal.class);
+
+  private final BlockingQueue<PendingEntry> pendingEntries;
+  private final int maxBatchSize;
+  private final long maxBatchLatencyNanos;
+
+  private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+  private boolean stopped = false;
+  private final Thread writer;
+
+  private final TransactionJournalStatistics statistics = new TransactionJournalStatistics();
+
+  /**
+   * @param logFilesDirectory    directory used to store the journal files.
+   * @param bufferSize           the maximum number of entries waiting to be written. Threads logging entries are blocked while
+   *                             the buffer is full.
+   * @param maxBatchSize         the maximum number of entries to write between syncs of the journal files.
+   * @param maxBatchLatencyNanos how long the writer waits for more entries to fill a batch, in nanoseconds. When {@code 0}, a
+   *                             batch holds just the entries logged while the previous one was being written.
+   */
+  public GroupCommitTransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
+                                       JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes,
+                                       int bufferSize, int maxBatchSize, long maxBatchLatencyNanos) {
+    super(logFilesDirectory, transactionCompletePredicate, journalEntrySerializer, maximumFileSizeInMegabytes, true);
+    checkArgument(bufferSize > 0, "Buffer size needs to be greater than zero");
+    checkArgument(maxBatchSize > 0, "Maximum batch size needs to be greater than zero");
+    checkArgument(maxBatchLatencyNanos >= 0, "Maximum batch latency can not be negative");
+
+    this.pendingEntries = new ArrayBlockingQueue<>(bufferSize);
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchLatencyNanos = maxBatchLatencyNanos;
+
+    writer = new NamedThreadFactory("transaction-journal-writer").newThread(this::writeBatches);
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @Override
+  public void logUpdateOperation(JournalEntry<T> journalEntry) {
+    log(new PendingEntry(journalEntry, false));
+  }
+
+  @Override
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    log(new PendingEntry(journalEntry, true));
+  }
+
+  /**
+   * Stops the writer thread once all the pending entries are written, and releases the resources used by the journal.
+   */
+  @Override
+  public void close() {
+    lifecycleLock.writeLock().lock();
+    try {
+      if (!stopped) {
+        stopped = true;
+        putUninterruptibly(PendingEntry.STOP);
+      }
+    } finally {
+      lifecycleLock.writeLock().unlock();
+    }
+
+    boolean interrupted = false;
+    while (writer.isAlive()) {
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    super.close();
+  }
+
+  /**
+   * @return the throughput and latency statistics of this journal.
+   */
+  public TransactionJournalStatistics getStatistics() {
+    return statistics;
+  }
+
+  private void log(PendingEntry pendingEntry) {
+    lifecycleLock.readLock().lock();
+    try {
+      if (stopped) {
+        // the writer is gone, so the entry is written by the caller
+        write(pendingEntry);
+        sync();
+        return;
+      }
+      putUninterruptibly(pendingEntry);
+    } finally {
+      lifecycleLock.readLock().unlock();
+    }
+    pendingEntry.awaitDurable();
+  }
+
+  private void putUninterruptibly(PendingEntry pendingEntry) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        pendingEntries.put(pendingEntry);
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void writeBatches() {
+    List<PendingEntry> batch = new ArrayList<>(maxBatchSize);
+    boolean stopping = false;
+    while (!stopping) {
+      try {
+        PendingEntry first = pendingEntries.take();
+        batch.add(first);
+        pendingEntries.drainTo(batch, maxBatchSize - batch.size());
+
+        if (maxBatchLatencyNanos > 0) {
+          long deadline = first.enqueuedAt + maxBatchLatencyNanos;
+          while (batch.size() < maxBatchSize && batch.get(batch.size() - 1) != PendingEntry.STOP) {
+            long remaining = deadline - nanoTime();
+            PendingEntry next = remaining > 0 ? pendingEntries.poll(remaining, NANOSECONDS) : null;
+            if (next == null) {
+              break;
+            }
+            batch.add(next);
+            pendingEntries.drainTo(batch, maxBatchSize - batch.size());
+          }
+        }
+      } catch (InterruptedException e) {
+        // the writer is only stopped through the stop marker, so the pending entries are always written
+        if (batch.isEmpty()) {
+          continue;
+        }
+      }
+
+      if (batch.remove(PendingEntry.STOP)) {
+        stopping = true;
+      }
+      if (!batch.isEmpty()) {
+        writeBatch(batch);
+      }
+      batch.clear();
+    }
+  }
+
+  private void writeBatch(List<PendingEntry> batch) {
+    long start = nanoTime();
+    Throwable failure = null;
+    try {
+      for (PendingEntry pendingEntry : batch) {
+        write(pendingEntry);
+      }
+      sync();
+    } catch (Throwable t) {
+      LOGGER.error("Error writing transaction journal entries", t);
+      failure = t;
+    }
+
+    long end = nanoTime();
+    long totalLatency = 0;
+    long maxLatency = 0;
+    for (PendingEntry pendingEntry : batch) {
+      long latency = end - pendingEntry.enqueuedAt;
+      totalLatency += latency;
+      maxLatency = max(maxLatency, latency);
+      pendingEntry.complete(failure);
+    }
+    statistics.addBatch(batch.size(), end - start, totalLatency, maxLatency);
+  }
+
+  private void write(PendingEntry pendingEntry) {
+    if (pendingEntry.checkpoint) {
+      super.logCheckpointOperation(pendingEntry.journalEntry);
+    } else {
+      super.logUpdateOperation(pendingEntry.journalEntry);
+    }
+  }
+
+  /**
+   * A journal entry waiting to be written by the writer thread.
+   */
+  private static final class PendingEntry {
+
+    private static final PendingEntry STOP = new PendingEntry(null, false);
+
+    private final JournalEntry journalEntry;
+    private final boolean checkpoint;
+    private final long enqueuedAt = nanoTime();
+    private final CountDownLatch durable = new CountDownLatch(1);
+    private volatile Throwable failure;
+
+    private PendingEntry(JournalEntry journalEntry, boolean checkpoint) {
+      this.journalEntry = journalEntry;
+      this.checkpoint = checkpoint;
+    }
+
+    private void complete(Throwable failure) {
+      this.failure = failure;
+      durable.countDown();
+    }
+
+    private void awaitDurable() {
+      boolean interrupted = false;
+      while (true) {
+        try {
+          durable.await();
+          break;
+        } catch (InterruptedException e) {
+          // the entry is already in the buffer, so the caller has to wait until it is written
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+
+      if (failure instanceof RuntimeException) {
+        throw (RuntimeException) failure;
+      } else if (failure instanceof Error) {
+        throw (Error) failure;
+      } else if (failure != null) {
+        throw new MuleRuntimeException(failure);
+      }
+    }
+  }
+}
@@ -62,6 +62,16 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    */
   public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
                             JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes) {
+    this(logFilesDirectory, transactionCompletePredicate, journalEntrySerializer, maximumFileSizeInMegabytes, false);
+  }
+
+  /**
+   * @param logFilesDirectory directory used to store the journal files.
+   * @param bufferedWrites    if true, logged entries are buffered in memory until {@link #sync()} is called.
+   */
+  protected TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
+                               JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes,
+                               boolean bufferedWrites) {
     File logFileDirectory = new File(logFilesDirectory);
     if (!logFileDirectory.exists()) {
       Preconditions.checkState(logFileDirectory.mkdirs(),
@@ -72,10 +82,10 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
     logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
 
-    this.currentLogFile =
-        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
-    this.notCurrentLogFile =
-        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+    this.currentLogFile = new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate,
+                                                     clearFileMinimumSizeInBytes, bufferedWrites);
+    this.notCurrentLogFile = new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate,
+                                                        clearFileMinimumSizeInBytes, bufferedWrites);
     this.transactionCompletePredicate = transactionCompletePredicate;
 
   }
@@ -112,6 +122,14 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     }
   }
 
+  /**
+   * Writes the buffered entries of both journal files and forces them to the storage device.
+   */
+  protected synchronized void sync() {
+    currentLogFile.sync();
+    notCurrentLogFile.sync();
+  }
+
   /**
    * @param txId transaction identifier
    * @return all the transaction entries for a certain transaction identifier
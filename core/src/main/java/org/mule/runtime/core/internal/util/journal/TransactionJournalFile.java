@@ -13,6 +13,7 @@ import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -47,11 +48,14 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   private final File journalFile;
   private final JournalEntrySerializer<T, K> journalEntrySerializer;
   private final Long clearFileMinimumSizeInBytes;
+  private final boolean bufferedWrites;
 
   private Multimap<T, K> entries = LinkedHashMultimap.create();
 
+  private FileOutputStream fileOutputStream;
   private DataOutputStream logFileOutputStream;
   private int journalOperations = 0;
+  private boolean unsyncedOperations = false;
 
   /**
    * @param journalFile                  journal file to use. Will be created if it doesn't exists. If exists then transaction
@@ -61,9 +65,23 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
                                 TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes) {
+    this(journalFile, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes, false);
+  }
+
+  /**
+   * @param journalFile                  journal file to use. Will be created if it doesn't exists. If exists then transaction
+   *                                     entries will get loaded from it.
+   * @param journalEntrySerializer       serializer for {@link JournalEntry}
+   * @param transactionCompletePredicate a callback to determine if a transaction is complete.
+   * @param bufferedWrites               if true, logged entries are buffered in memory until {@link #sync()} is called.
+   */
+  public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
+                                TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes,
+                                boolean bufferedWrites) {
     this.journalFile = journalFile;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
+    this.bufferedWrites = bufferedWrites;
     if (journalFile.exists()) {
       loadAllEntries(transactionCompletePredicate);
     }
@@ -79,6 +97,23 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
     entries.put(journalEntry.getTxId(), journalEntry);
     journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
     journalOperations++;
+    unsyncedOperations = true;
+  }
+
+  /**
+   * Writes the buffered entries to the journal file and forces them to the storage device.
+   */
+  public synchronized void sync() {
+    if (!unsyncedOperations) {
+      return;
+    }
+    unsyncedOperations = false;
+    try {
+      logFileOutputStream.flush();
+      fileOutputStream.getChannel().force(false);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
   }
 
   /**
@@ -171,7 +206,9 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
       }
     }
     try {
-      this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
+      this.fileOutputStream = new FileOutputStream(journalFile, true);
+      this.logFileOutputStream =
+          new DataOutputStream(bufferedWrites ? new BufferedOutputStream(fileOutputStream) : fileOutputStream);
     } catch (FileNotFoundException e) {
       throw new MuleRuntimeException(e);
     }
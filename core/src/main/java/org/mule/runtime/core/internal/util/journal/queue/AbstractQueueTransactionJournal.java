@@ -6,7 +6,23 @@
  */
 package org.mule.runtime.core.internal.util.journal.queue;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.internal.util.journal.GroupCommitTransactionJournal.BUFFER_SIZE_PROPERTY;
+import static org.mule.runtime.core.internal.util.journal.GroupCommitTransactionJournal.DEFAULT_BUFFER_SIZE;
+import static org.mule.runtime.core.internal.util.journal.GroupCommitTransactionJournal.DEFAULT_MAX_BATCH_LATENCY_MICROS;
+import static org.mule.runtime.core.internal.util.journal.GroupCommitTransactionJournal.DEFAULT_MAX_BATCH_SIZE;
+import static org.mule.runtime.core.internal.util.journal.GroupCommitTransactionJournal.GROUP_COMMIT_PROPERTY;
+import static org.mule.runtime.core.internal.util.journal.GroupCommitTransactionJournal.MAX_BATCH_LATENCY_PROPERTY;
+import static org.mule.runtime.core.internal.util.journal.GroupCommitTransactionJournal.MAX_BATCH_SIZE_PROPERTY;
+
+import org.mule.runtime.core.internal.management.stats.TransactionJournalStatistics;
+import org.mule.runtime.core.internal.util.journal.GroupCommitTransactionJournal;
 import org.mule.runtime.core.internal.util.journal.JournalEntry;
 import org.mule.runtime.core.internal.util.journal.JournalEntrySerializer;
 import org.mule.runtime.core.internal.util.journal.TransactionCompletePredicate;
@@ -17,6 +33,7 @@ import com.google.common.collect.Multimap;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,14 +54,25 @@ public abstract class AbstractQueueTransactionJournal<T, K extends JournalEntry<
                                          Integer maximumFileSizeInMegabytes) {
     checkArgument(maximumFileSizeInMegabytes == null || maximumFileSizeInMegabytes > 0,
                   "Maximum tx log file size needs to be greater than zero");
-    this.logFile = new TransactionJournal(logFilesDirectory, new TransactionCompletePredicate() {
+    TransactionCompletePredicate transactionCompletePredicate = new TransactionCompletePredicate() {
 
       @Override
       public boolean isTransactionComplete(JournalEntry journalEntry) {
         AbstractQueueTxJournalEntry abstractQueueTxJournalEntry = (AbstractQueueTxJournalEntry) journalEntry;
         return abstractQueueTxJournalEntry.isCommit() || abstractQueueTxJournalEntry.isRollback();
       }
-    }, journalEntrySerializer, maximumFileSizeInMegabytes);
+    };
+    if (getBoolean(GROUP_COMMIT_PROPERTY)) {
+      this.logFile = new GroupCommitTransactionJournal(logFilesDirectory, transactionCompletePredicate, journalEntrySerializer,
+                                                       maximumFileSizeInMegabytes,
+                                                       getInteger(BUFFER_SIZE_PROPERTY, DEFAULT_BUFFER_SIZE),
+                                                       getInteger(MAX_BATCH_SIZE_PROPERTY, DEFAULT_MAX_BATCH_SIZE),
+                                                       MICROSECONDS.toNanos(getLong(MAX_BATCH_LATENCY_PROPERTY,
+                                                                                    DEFAULT_MAX_BATCH_LATENCY_MICROS)));
+    } else {
+      this.logFile = new TransactionJournal(logFilesDirectory, transactionCompletePredicate, journalEntrySerializer,
+                                            maximumFileSizeInMegabytes);
+    }
   }
 
   public void logAdd(T txId, QueueStore queue, Serializable value) {
@@ -125,6 +153,16 @@ public abstract class AbstractQueueTransactionJournal<T, K extends JournalEntry<
     return logFile.getLogEntriesForTx(txId);
   }
 
+  /**
+   * @return the throughput and latency statistics of the journal, if it uses group commit.
+   */
+  public Optional<TransactionJournalStatistics> getGroupCommitStatistics() {
+    if (logFile instanceof GroupCommitTransactionJournal) {
+      return of(((GroupCommitTransactionJournal<T, K>) logFile).getStatistics());
+    }
+    return empty();
+  }
+
   protected TransactionJournal<T, K> getJournal() {
     return logFile;
   }
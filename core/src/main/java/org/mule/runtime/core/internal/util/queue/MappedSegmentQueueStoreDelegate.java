@@ -0,0 +1,762 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.util.Preconditions;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+
+/**
+ * Persistent {@link QueueStoreDelegate} that keeps the queue items in memory-mapped segment files.
+ * <p>
+ * Items are appended to the tail segment by one producer at a time, and consumers claim them by adding their position to a
+ * concurrent set and then moving the head offset with a compare and set, so polling the queue does not lock it. Removing an item
+ * claims it the same way, so an item is either removed or delivered, never both. Consumers that find the first item claimed wait
+ * for that claim to be released instead of spinning on it. The head and tail offsets are kept in a separate memory-mapped index
+ * file. Segments are deleted once all their items are consumed, and writes are forced to disk every
+ * {@link #SYNC_BATCH_SIZE_PROPERTY_KEY} operations instead of on each one.
+ * <p>
+ * Items given back to the queue through {@link #untake(Serializable)} are kept in a separate {@link RandomAccessFileQueueStore}
+ * that is consumed before the segments.
+ *
+ * @since 4.6
+ */
+public class MappedSegmentQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  /**
+   * When set, persistent queues are stored using this delegate instead of {@link DualRandomAccessFileQueueStoreDelegate}.
+   */
+  public static final String MAPPED_QUEUE_STORE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.mappedSegments";
+  public static final String SEGMENT_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.segmentSize";
+  public static final String SYNC_BATCH_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.syncBatchSize";
+
+  private static final int SEGMENT_SIZE = getInteger(SEGMENT_SIZE_PROPERTY_KEY, 4 * 1024 * 1024);
+  private static final int SYNC_BATCH_SIZE = getInteger(SYNC_BATCH_SIZE_PROPERTY_KEY, 64);
+
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String SEGMENT_SUFFIX = "-seg-";
+  private static final String INDEX_SUFFIX = "-idx";
+  private static final String FRONT_SUFFIX = "-front";
+
+  private static final int INDEX_SIZE = 16;
+  private static final int HEAD_POSITION = 0;
+  private static final int TAIL_POSITION = 8;
+
+  private static final int LENGTH_SIZE = 4;
+  private static final int END_OF_SEGMENT = -1;
+
+  private static final long CLAIM_WAIT_NANOS = MILLISECONDS.toNanos(1);
+
+  private static final Logger LOGGER = getLogger(MappedSegmentQueueStoreDelegate.class);
+
+  private final String queueName;
+  private final File queuesDirectory;
+  private final ObjectSerializer serializer;
+  private final int capacity;
+  private final int segmentSize;
+
+  private final Map<Integer, Segment> segments = new ConcurrentHashMap<>();
+  private final AtomicLong head = new AtomicLong();
+  private volatile long tail;
+  private final AtomicInteger count = new AtomicInteger();
+  // Positions of the records claimed by a consumer or by remove(), until the head moves past them
+  private final Set<Long> claims = ConcurrentHashMap.newKeySet();
+  private final Lock claimsLock = new ReentrantLock();
+  private final Condition claimReleased = claimsLock.newCondition();
+  private final AtomicInteger waitingForClaims = new AtomicInteger();
+
+  private final QueueFileProvider indexFile;
+  private final MappedByteBuffer index;
+  private final Object indexMonitor = new Object();
+  private long persistedHead;
+  private final AtomicInteger unsyncedOperations = new AtomicInteger();
+
+  private final RandomAccessFileQueueStore front;
+  private final AtomicInteger frontSize = new AtomicInteger();
+
+  private final Lock producerLock = new ReentrantLock();
+  private final Condition notFull = producerLock.newCondition();
+  private final AtomicInteger waitingProducers = new AtomicInteger();
+
+  private final Lock consumersLock = new ReentrantLock();
+  private final Condition notEmpty = consumersLock.newCondition();
+  private final AtomicInteger waitingConsumers = new AtomicInteger();
+
+  public MappedSegmentQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity) {
+    this(queueName, workingDirectory, muleContext, capacity, SEGMENT_SIZE);
+  }
+
+  MappedSegmentQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity,
+                                  int segmentSize) {
+    this.queueName = queueName;
+    this.capacity = capacity;
+    this.segmentSize = segmentSize;
+    this.serializer = muleContext.getObjectSerializer();
+    this.queuesDirectory = new File(workingDirectory + File.separator + QUEUE_STORE_DIRECTORY);
+    if (!queuesDirectory.exists()) {
+      Preconditions.checkState(queuesDirectory.mkdirs(),
+                               "Could not create queue store directory " + queuesDirectory.getAbsolutePath());
+    }
+
+    try {
+      indexFile = new QueueFileProvider(queuesDirectory, queueName + INDEX_SUFFIX);
+      RandomAccessFile indexRandomAccessFile = indexFile.getRandomAccessFile();
+      if (indexRandomAccessFile.length() < INDEX_SIZE) {
+        indexRandomAccessFile.setLength(INDEX_SIZE);
+      }
+      index = indexRandomAccessFile.getChannel().map(READ_WRITE, 0, INDEX_SIZE);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+
+    front = new RandomAccessFileQueueStore(new QueueFileProvider(queuesDirectory, queueName + FRONT_SUFFIX));
+    restore();
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(format("Queue %s has %s messages", queueName, getSize()));
+    }
+  }
+
+  private void restore() {
+    long restoredHead = index.getLong(HEAD_POSITION);
+    long restoredTail = index.getLong(TAIL_POSITION);
+    if (restoredHead > restoredTail) {
+      LOGGER.warn("Index of queue {} is inconsistent, the queue will be emptied", queueName);
+      restoredHead = restoredTail;
+    }
+
+    for (int segmentId = segmentId(restoredHead); segmentId <= segmentId(restoredTail); segmentId++) {
+      segments.put(segmentId, openSegment(segmentId, segmentSize));
+    }
+
+    head.set(restoredHead);
+    persistedHead = restoredHead;
+    tail = restoredTail;
+
+    int restoredCount = front.getSize();
+    frontSize.set(restoredCount);
+    long position = restoredHead;
+    while (position < restoredTail) {
+      Segment segment = segments.get(segmentId(position));
+      int length = segment.lengthAt(offset(position));
+      if (length == END_OF_SEGMENT) {
+        position = position(segment.id + 1, 0);
+        continue;
+      }
+      if (length >= 0) {
+        restoredCount++;
+      }
+      position = position(segment.id, offset(position) + LENGTH_SIZE + dataLength(length));
+    }
+    count.set(restoredCount);
+  }
+
+  @Override
+  public void putNow(Serializable o) {
+    byte[] data = serializer.getInternalProtocol().serialize(o);
+    producerLock.lock();
+    try {
+      append(data);
+    } finally {
+      producerLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean offer(Serializable o, int room, long timeout) throws InterruptedException {
+    checkInterrupted();
+    byte[] data = o != null ? serializer.getInternalProtocol().serialize(o) : null;
+
+    producerLock.lockInterruptibly();
+    try {
+      if (capacity > 0) {
+        if (capacity <= room) {
+          throw new IllegalStateException("Can not add more objects than the capacity in one time");
+        }
+        long remaining = MILLISECONDS.toNanos(timeout);
+        // registering as waiting before checking the size guarantees that consumers will signal any change after the check
+        waitingProducers.incrementAndGet();
+        try {
+          while (count.get() >= capacity - room) {
+            if (timeout < 0) {
+              notFull.await();
+            } else {
+              if (remaining <= 0L) {
+                LOGGER.warn(format("Timeout of %d milliseconds reached, object could not be queued. Queue capacity of %d full.",
+                                   timeout, capacity));
+                return false;
+              }
+              remaining = notFull.awaitNanos(remaining);
+            }
+          }
+        } finally {
+          waitingProducers.decrementAndGet();
+        }
+      }
+      if (data != null) {
+        append(data);
+      }
+      return true;
+    } finally {
+      producerLock.unlock();
+    }
+  }
+
+  @Override
+  public Serializable poll(long timeout) throws InterruptedException {
+    checkInterrupted();
+    byte[] data = takeFirst();
+    if (data == null && timeout > 0L) {
+      long remaining = MILLISECONDS.toNanos(timeout);
+      consumersLock.lockInterruptibly();
+      // registering as waiting before retrying guarantees that producers will signal any item added after the retry
+      waitingConsumers.incrementAndGet();
+      try {
+        while ((data = takeFirst()) == null && remaining > 0L) {
+          remaining = notEmpty.awaitNanos(remaining);
+        }
+      } finally {
+        waitingConsumers.decrementAndGet();
+        consumersLock.unlock();
+      }
+    }
+
+    if (data == null) {
+      return null;
+    }
+    signalProducers();
+    return deserialize(data);
+  }
+
+  @Override
+  public Serializable peek() throws InterruptedException {
+    checkInterrupted();
+    if (frontSize.get() > 0) {
+      synchronized (front) {
+        if (!front.isEmpty()) {
+          return deserialize(front.getFirst());
+        }
+      }
+    }
+
+    while (true) {
+      long current = head.get();
+      if (current >= tail) {
+        return null;
+      }
+      Segment segment = segments.get(segmentId(current));
+      if (segment == null) {
+        continue;
+      }
+      int offset = offset(current);
+      int length = segment.lengthAt(offset);
+      if (length >= 0) {
+        byte[] data = segment.read(offset + LENGTH_SIZE, length);
+        if (head.get() == current) {
+          return deserialize(data);
+        }
+        continue;
+      }
+      skip(current, segment, length);
+    }
+  }
+
+  @Override
+  public void untake(Serializable item) throws InterruptedException {
+    checkInterrupted();
+    byte[] data = serializer.getInternalProtocol().serialize(item);
+    synchronized (front) {
+      front.addFirst(data);
+      frontSize.incrementAndGet();
+    }
+    count.incrementAndGet();
+    signalConsumers();
+  }
+
+  @Override
+  public int getSize() {
+    return count.get();
+  }
+
+  @Override
+  public void clear() throws InterruptedException {
+    checkInterrupted();
+    producerLock.lock();
+    try {
+      synchronized (front) {
+        front.clear();
+        frontSize.set(0);
+      }
+      long current = head.getAndSet(tail);
+      for (int segmentId = segmentId(current); segmentId < segmentId(tail); segmentId++) {
+        Segment segment = segments.get(segmentId);
+        if (segment != null) {
+          releaseSegment(segment);
+        }
+      }
+      persistHead(tail);
+      claims.clear();
+      signalClaimWaiters();
+      count.set(0);
+      notFull.signalAll();
+    } finally {
+      producerLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Serializable> items) {
+    producerLock.lock();
+    try {
+      for (Serializable item : items) {
+        append(serializer.getInternalProtocol().serialize(item));
+      }
+      return true;
+    } finally {
+      producerLock.unlock();
+    }
+  }
+
+  @Override
+  public void remove(Serializable value) {
+    producerLock.lock();
+    try {
+      synchronized (front) {
+        if (front.remove(createDataSelector(value))) {
+          frontSize.decrementAndGet();
+          count.decrementAndGet();
+          return;
+        }
+      }
+
+      long position = head.get();
+      while (position < tail) {
+        Segment segment = segments.get(segmentId(position));
+        if (segment == null) {
+          // a consumer moved past the segment and released it
+          position = head.get();
+          continue;
+        }
+        int offset = offset(position);
+        int length = segment.lengthAt(offset);
+        if (length == END_OF_SEGMENT) {
+          position = position(segment.id + 1, 0);
+          continue;
+        }
+        if (length >= 0 && deserialize(segment.read(offset + LENGTH_SIZE, length)).equals(value)) {
+          if (!claims.add(position)) {
+            // a consumer is taking it, look for another match
+            position = position(segment.id, offset + LENGTH_SIZE + length);
+            continue;
+          }
+          if (head.get() > position) {
+            // it was already taken by a consumer that released its claim after moving the head
+            releaseClaim(position);
+            position = head.get();
+            continue;
+          }
+          // The record is kept so the offsets remain valid, but consumers skip it. The claim is released by the consumer that
+          // moves the head past it.
+          segment.markRemoved(offset, length);
+          count.decrementAndGet();
+          signalClaimWaiters();
+          return;
+        }
+        position = position(segment.id, offset + LENGTH_SIZE + dataLength(length));
+      }
+    } finally {
+      producerLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean contains(Serializable value) {
+    synchronized (front) {
+      if (front.contains(createDataSelector(value))) {
+        return true;
+      }
+    }
+
+    long position = head.get();
+    while (position < tail) {
+      Segment segment = segments.get(segmentId(position));
+      if (segment == null) {
+        position = head.get();
+        continue;
+      }
+      int offset = offset(position);
+      int length = segment.lengthAt(offset);
+      if (length == END_OF_SEGMENT) {
+        position = position(segment.id + 1, 0);
+        continue;
+      }
+      if (length >= 0 && deserialize(segment.read(offset + LENGTH_SIZE, length)).equals(value)) {
+        return true;
+      }
+      position = position(segment.id, offset + LENGTH_SIZE + dataLength(length));
+    }
+    return false;
+  }
+
+  @Override
+  public void close() {
+    producerLock.lock();
+    try {
+      sync();
+      front.close();
+      indexFile.close();
+    } catch (IOException e) {
+      LOGGER.warn("Could not close queue " + queueName, e);
+    } finally {
+      producerLock.unlock();
+    }
+  }
+
+  @Override
+  public void dispose() {
+    close();
+    for (Segment segment : segments.values()) {
+      releaseSegment(segment);
+    }
+    front.delete();
+    indexFile.delete();
+  }
+
+  /**
+   * Appends an item at the tail of the queue. Must be called holding the {@link #producerLock}.
+   */
+  private void append(byte[] data) {
+    long current = tail;
+    Segment segment = segments.get(segmentId(current));
+    int offset = offset(current);
+    int required = LENGTH_SIZE + data.length;
+
+    if (offset + required > segment.capacity) {
+      if (offset + LENGTH_SIZE <= segment.capacity) {
+        segment.buffer.putInt(offset, END_OF_SEGMENT);
+      }
+      segment.force();
+      segment = openSegment(segment.id + 1, max(segmentSize, required));
+      segments.put(segment.id, segment);
+      offset = 0;
+    }
+
+    segment.write(offset, data);
+    long next = position(segment.id, offset + required);
+    // publishing the tail makes the written item visible to the consumers
+    tail = next;
+    index.putLong(TAIL_POSITION, next);
+    count.incrementAndGet();
+
+    maybeSync();
+    signalConsumers();
+  }
+
+  /**
+   * Claims the first item of the queue.
+   *
+   * @return the claimed item or {@code null} if the queue is empty.
+   */
+  private byte[] takeFirst() {
+    if (frontSize.get() > 0) {
+      synchronized (front) {
+        if (!front.isEmpty()) {
+          try {
+            byte[] data = front.removeFirst();
+            frontSize.decrementAndGet();
+            count.decrementAndGet();
+            return data;
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+          }
+        }
+      }
+    }
+
+    while (true) {
+      long current = head.get();
+      if (current >= tail) {
+        return null;
+      }
+      Segment segment = segments.get(segmentId(current));
+      if (segment == null) {
+        // another consumer moved to the next segment and released this one
+        continue;
+      }
+
+      int offset = offset(current);
+      int length = segment.lengthAt(offset);
+      if (length < 0) {
+        skip(current, segment, length);
+        continue;
+      }
+
+      if (!claims.add(current)) {
+        // claimed by another consumer or by remove(), wait for it to move the head or to mark the record as removed
+        if (!awaitClaim(current, segment, offset, length)) {
+          return null;
+        }
+        continue;
+      }
+      if (segment.lengthAt(offset) != length) {
+        // removed before it could be claimed
+        releaseClaim(current);
+        continue;
+      }
+
+      // the data is copied before moving the head, since the segment may be released right after the head moves past it
+      byte[] data = segment.read(offset + LENGTH_SIZE, length);
+      long next = position(segment.id, offset + LENGTH_SIZE + length);
+      boolean moved = head.compareAndSet(current, next);
+      releaseClaim(current);
+      if (moved) {
+        persistHead(next);
+        count.decrementAndGet();
+        maybeSync();
+        return data;
+      }
+      // the head moved past a removed record claimed before, retry from the new head
+    }
+  }
+
+  /**
+   * Moves the head past an end of segment marker or a removed record.
+   */
+  private void skip(long current, Segment segment, int length) {
+    if (length == END_OF_SEGMENT) {
+      long next = position(segment.id + 1, 0);
+      if (head.compareAndSet(current, next)) {
+        persistHead(next);
+        releaseSegment(segment);
+      }
+    } else {
+      long next = position(segment.id, offset(current) + LENGTH_SIZE + dataLength(length));
+      if (head.compareAndSet(current, next)) {
+        // release the claim taken by remove()
+        releaseClaim(current);
+        persistHead(next);
+      }
+    }
+  }
+
+  /**
+   * Waits until the record at the given position is no longer claimed, the head moves past it or it is marked as removed.
+   *
+   * @return {@code false} if the thread was interrupted while waiting.
+   */
+  private boolean awaitClaim(long position, Segment segment, int offset, int length) {
+    claimsLock.lock();
+    // registering as waiting before checking the claim guarantees that its owner will signal any change after the check
+    waitingForClaims.incrementAndGet();
+    try {
+      while (claims.contains(position) && head.get() == position && segment.lengthAt(offset) == length) {
+        // the mark of a removed record is not written atomically with the signal, so it is checked again after a while
+        claimReleased.awaitNanos(CLAIM_WAIT_NANOS);
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      waitingForClaims.decrementAndGet();
+      claimsLock.unlock();
+    }
+  }
+
+  private void releaseClaim(long position) {
+    claims.remove(position);
+    signalClaimWaiters();
+  }
+
+  private void signalClaimWaiters() {
+    if (waitingForClaims.get() > 0) {
+      claimsLock.lock();
+      try {
+        claimReleased.signalAll();
+      } finally {
+        claimsLock.unlock();
+      }
+    }
+  }
+
+  private void persistHead(long position) {
+    synchronized (indexMonitor) {
+      if (position > persistedHead) {
+        persistedHead = position;
+        index.putLong(HEAD_POSITION, position);
+      }
+    }
+  }
+
+  private void maybeSync() {
+    if (unsyncedOperations.incrementAndGet() >= SYNC_BATCH_SIZE) {
+      sync();
+    }
+  }
+
+  private void sync() {
+    unsyncedOperations.set(0);
+    Segment tailSegment = segments.get(segmentId(tail));
+    if (tailSegment != null) {
+      tailSegment.force();
+    }
+    index.force();
+  }
+
+  private void signalConsumers() {
+    if (waitingConsumers.get() > 0) {
+      consumersLock.lock();
+      try {
+        notEmpty.signalAll();
+      } finally {
+        consumersLock.unlock();
+      }
+    }
+  }
+
+  private void signalProducers() {
+    if (waitingProducers.get() > 0) {
+      producerLock.lock();
+      try {
+        notFull.signalAll();
+      } finally {
+        producerLock.unlock();
+      }
+    }
+  }
+
+  private Segment openSegment(int segmentId, int minimumSize) {
+    QueueFileProvider segmentFile = new QueueFileProvider(queuesDirectory, queueName + SEGMENT_SUFFIX + segmentId);
+    try {
+      RandomAccessFile randomAccessFile = segmentFile.getRandomAccessFile();
+      if (randomAccessFile.length() < minimumSize) {
+        randomAccessFile.setLength(minimumSize);
+      }
+      MappedByteBuffer buffer = randomAccessFile.getChannel().map(READ_WRITE, 0, randomAccessFile.length());
+      // the mapping remains valid after the file is closed
+      segmentFile.close();
+      return new Segment(segmentId, segmentFile, buffer);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private void releaseSegment(Segment segment) {
+    segments.remove(segment.id);
+    // the head is already past the segment, so it has to be persisted before the file goes away
+    index.force();
+    // The buffer is not unmapped explicitly, since other consumers may still be reading from it. It will be released once it
+    // is garbage collected.
+    segment.file.delete();
+  }
+
+  private RawDataSelector createDataSelector(final Serializable value) {
+    return data -> deserialize(data).equals(value);
+  }
+
+  private Serializable deserialize(byte[] data) {
+    return serializer.getInternalProtocol().deserialize(data);
+  }
+
+  private void checkInterrupted() throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+
+  private static long position(int segmentId, int offset) {
+    return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+  }
+
+  private static int segmentId(long position) {
+    return (int) (position >>> 32);
+  }
+
+  private static int offset(long position) {
+    return (int) position;
+  }
+
+  /**
+   * Removed records have their length stored as {@code -(length + 2)}, so they can be told apart from the end of segment marker.
+   */
+  private static int dataLength(int storedLength) {
+    return storedLength >= 0 ? storedLength : -storedLength - 2;
+  }
+
+  /**
+   * A memory-mapped file holding a contiguous range of the queue items.
+   */
+  private static final class Segment {
+
+    private final int id;
+    private final QueueFileProvider file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private Segment(int id, QueueFileProvider file, MappedByteBuffer buffer) {
+      this.id = id;
+      this.file = file;
+      this.buffer = buffer;
+      this.capacity = buffer.capacity();
+    }
+
+    private int lengthAt(int offset) {
+      return offset + LENGTH_SIZE <= capacity ? buffer.getInt(offset) : END_OF_SEGMENT;
+    }
+
+    private byte[] read(int offset, int length) {
+      ByteBuffer view = buffer.duplicate();
+      view.position(offset);
+      byte[] data = new byte[length];
+      view.get(data);
+      return data;
+    }
+
+    private void write(int offset, byte[] data) {
+      ByteBuffer view = buffer.duplicate();
+      view.position(offset + LENGTH_SIZE);
+      view.put(data);
+      buffer.putInt(offset, data.length);
+    }
+
+    private void markRemoved(int offset, int length) {
+      buffer.putInt(offset, -length - 2);
+    }
+
+    private void force() {
+      buffer.force();
+    }
+  }
+}
@@ -0,0 +1,1058 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Long.getLong;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.getProperty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.move;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.unmodifiableList;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.slf4j.Logger;
+
+/**
+ * A {@link PersistentObjectStorePartition} that keeps its entries in segmented, append-only log files instead of one file per
+ * entry.
+ * <p>
+ * Every {@link #store(String, Serializable)} appends a record to the active segment and every removal appends a tombstone. An
+ * in-memory hash index maps each key to the location of its live record, and a time ordered view of that index is used to
+ * expire entries without listing the partition directory. Durability is achieved through group commit: concurrent writers that
+ * appended records share a single {@link FileChannel#force(boolean)} call.
+ * <p>
+ * Sealed segments with a low ratio of live data are compacted while the partition is being expired, which happens on the
+ * expiration scheduler of the {@link MuleObjectStoreManager} rather than on the event threads. A snapshot of the index is
+ * persisted on each compaction and on {@link #checkpoint()} so the partition can be loaded without replaying the whole log.
+ * <p>
+ * Records that fail their checksum when the log is replayed are moved to the {@link #CORRUPTED_FOLDER}, and entries stored by
+ * the file-per-entry implementation found in the partition directory are migrated into the log.
+ *
+ * @param <T> the serializable entity to be persisted
+ *
+ * @since 4.6.0
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> extends PersistentObjectStorePartition<T>
+    implements Disposable {
+
+  private static final Logger LOGGER = getLogger(LogStructuredObjectStorePartition.class);
+
+  static final String SEGMENT_FILE_PREFIX = "segment-";
+  static final String SEGMENT_FILE_EXTENSION = ".log";
+  static final String INDEX_SNAPSHOT_FILE = "index.snapshot";
+  private static final String CORRUPTED_SEGMENT_EXTENSION = ".corrupted";
+  private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+  private static final long MAX_SEGMENT_SIZE =
+      getLong(SYSTEM_PROPERTY_PREFIX + "objectstore.log.segmentSize", 64 * 1024 * 1024);
+  private static final boolean SYNC_WRITES = parseBoolean(getProperty(SYSTEM_PROPERTY_PREFIX + "objectstore.log.sync", "true"));
+  private static final double COMPACTION_LIVE_RATIO = 0.5;
+
+  private static final int SEGMENT_MAGIC = 0x4d4f534c;
+  private static final int SNAPSHOT_MAGIC = 0x4d4f5349;
+  private static final int FORMAT_VERSION = 1;
+  private static final int SEGMENT_HEADER_SIZE = 8;
+  // length + type + timestamp + key length + crc
+  private static final int RECORD_OVERHEAD = 4 + 1 + 8 + 4 + 4;
+
+  private static final byte PUT = 1;
+  private static final byte DELETE = 2;
+
+  private static final Comparator<Location> EXPIRY_ORDER = (l1, l2) -> {
+    int result = Long.compare(l1.timestamp, l2.timestamp);
+    if (result == 0) {
+      result = Long.compare(l1.sequence, l2.sequence);
+    }
+    return result;
+  };
+
+  private final MuleContext muleContext;
+  private final ObjectSerializer serializer;
+
+  private final ConcurrentHashMap<String, Location> index = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListSet<Location> expiryOrder = new ConcurrentSkipListSet<>(EXPIRY_ORDER);
+  private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+  private final AtomicLong sequenceGenerator = new AtomicLong();
+  private final AtomicLong changesSinceSnapshot = new AtomicLong();
+
+  private volatile boolean loaded = false;
+  private volatile Segment activeSegment;
+
+  // Writers and readers hold the read lock, while the write lock is only taken when segments are deleted or the partition is
+  // cleared, so that no reader holds a location pointing to a file that no longer exists.
+  private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+  private final Lock rLock = rwLock.readLock();
+  private final Lock wLock = rwLock.writeLock();
+
+  // Serializes the appends to the active segment.
+  private final Lock appendLock = new ReentrantLock();
+
+  private final Lock syncLock = new ReentrantLock();
+  private final Condition syncDone = syncLock.newCondition();
+  private volatile long appendedSequence = 0;
+  private long syncedSequence = 0;
+  private boolean syncInProgress = false;
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    super(muleContext, partitionName, partitionDirectory);
+    this.muleContext = muleContext;
+    this.serializer = muleContext.getObjectSerializer();
+  }
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, File partitionDirectory)
+      throws ObjectStoreNotAvailableException {
+    super(muleContext, partitionDirectory);
+    this.muleContext = muleContext;
+    this.serializer = muleContext.getObjectSerializer();
+  }
+
+  @Override
+  public void close() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      closeSegments();
+      super.close();
+      resetIndex();
+      loaded = false;
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      closeSegments();
+      super.clear();
+      resetIndex();
+      loaded = false;
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public List<String> allKeys() throws ObjectStoreException {
+    assureLoaded();
+    return unmodifiableList(new ArrayList<>(index.keySet()));
+  }
+
+  @Override
+  protected boolean doContains(String key) throws ObjectStoreException {
+    assureLoaded();
+    return index.containsKey(key);
+  }
+
+  @Override
+  protected void doStore(String key, T value) throws ObjectStoreException {
+    assureLoaded();
+    byte[] serializedValue = serializeValue(value);
+
+    long sequence;
+    rLock.lock();
+    try {
+      appendLock.lock();
+      try {
+        if (index.containsKey(key)) {
+          throw new ObjectAlreadyExistsException();
+        }
+        addLocation(append(PUT, key, currentTimeMillis(), serializedValue));
+        sequence = appendedSequence;
+      } finally {
+        appendLock.unlock();
+      }
+    } finally {
+      rLock.unlock();
+    }
+    awaitDurable(sequence);
+  }
+
+  @Override
+  protected T doRetrieve(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    rLock.lock();
+    try {
+      Location location = index.get(key);
+      if (location == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      return readValue(location);
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  public Map<String, T> retrieveAll() throws ObjectStoreException {
+    assureLoaded();
+
+    rLock.lock();
+    try {
+      Map<String, T> values = new LinkedHashMap<>(index.size());
+      for (Location location : expiryOrder) {
+        if (index.get(location.key) == location) {
+          values.put(location.key, readValue(location));
+        }
+      }
+      return values;
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  protected T doRemove(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    T value;
+    long sequence;
+    rLock.lock();
+    try {
+      appendLock.lock();
+      try {
+        Location location = index.get(key);
+        if (location == null) {
+          throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+        }
+        value = readValue(location);
+        removeLocation(location);
+        sequence = appendedSequence;
+      } finally {
+        appendLock.unlock();
+      }
+    } finally {
+      rLock.unlock();
+    }
+    awaitDurable(sequence);
+    return value;
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    assureLoaded();
+
+    List<Location> expired = new ArrayList<>();
+    Iterator<Location> iterator = expiryOrder.iterator();
+    if (maxEntries != UNBOUNDED) {
+      int excess = index.size() - maxEntries;
+      while (excess-- > 0 && iterator.hasNext()) {
+        expired.add(iterator.next());
+      }
+    }
+
+    if (entryTTL != UNBOUNDED) {
+      final long now = currentTimeMillis();
+      while (iterator.hasNext()) {
+        Location location = iterator.next();
+        if ((now - location.timestamp) >= entryTTL) {
+          expired.add(location);
+        } else {
+          break;
+        }
+      }
+    }
+
+    if (!expired.isEmpty()) {
+      long sequence;
+      rLock.lock();
+      try {
+        appendLock.lock();
+        try {
+          for (Location location : expired) {
+            // the entry may have been removed while we were collecting the expired ones
+            if (index.get(location.key) == location) {
+              removeLocation(location);
+            }
+          }
+          sequence = appendedSequence;
+        } finally {
+          appendLock.unlock();
+        }
+      } finally {
+        rLock.unlock();
+      }
+      awaitDurable(sequence);
+    }
+
+    if (compact() || changesSinceSnapshot.get() > 0) {
+      writeSnapshot();
+    }
+  }
+
+  /**
+   * Forces all the appended records to disk and persists a snapshot of the index, so that the next time this partition is loaded
+   * only the records appended after this call have to be replayed.
+   *
+   * @throws ObjectStoreException if the snapshot could not be written
+   */
+  public void checkpoint() throws ObjectStoreException {
+    if (!loaded) {
+      return;
+    }
+    awaitDurable(appendedSequence);
+    writeSnapshot();
+  }
+
+  /**
+   * Checkpoints this partition and closes the files of its log. Unlike {@link #close()}, the data of the partition is kept, and
+   * it is loaded again if the partition is used afterwards.
+   */
+  @Override
+  public void dispose() {
+    try {
+      checkpoint();
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("Could not checkpoint object store partition " + getPartitionName(), e);
+    }
+
+    wLock.lock();
+    try {
+      closeSegments();
+      resetIndex();
+      loaded = false;
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  private void assureLoaded() throws ObjectStoreException {
+    if (!loaded) {
+      loadLog();
+    }
+  }
+
+  private void loadLog() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      /*
+       * by re-checking this condition here we can avoid contention in {@link #assureLoaded}. The amount of times that this
+       * condition should evaluate to {@code true} is really limited, which provides better performance in the long run
+       */
+      if (loaded) {
+        return;
+      }
+
+      try {
+        openSegments();
+        Map<Long, Long> replayFrom = loadSnapshot();
+        for (Segment segment : segments.values()) {
+          replay(segment, replayFrom.getOrDefault(segment.id, (long) SEGMENT_HEADER_SIZE));
+        }
+        for (Location location : index.values()) {
+          location.segment.liveBytes.addAndGet(location.length);
+        }
+
+        Segment last = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        activeSegment = last != null && last.size < MAX_SEGMENT_SIZE ? last : createSegment(nextSegmentId());
+        migrateLegacyEntries();
+
+        loaded = true;
+      } catch (Exception e) {
+        closeSegments();
+        resetIndex();
+        throw new ObjectStoreException(createStaticMessage(format("Could not restore object store data from %1s",
+                                                                  getPartitionDirectory().getAbsolutePath())),
+                                       e);
+      }
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  private void openSegments() throws IOException {
+    File[] files = getPartitionDirectory()
+        .listFiles(file -> file.isFile() && file.getName().startsWith(SEGMENT_FILE_PREFIX)
+            && file.getName().endsWith(SEGMENT_FILE_EXTENSION));
+    if (files == null) {
+      return;
+    }
+
+    for (File file : files) {
+      long id;
+      try {
+        id = Long.parseLong(file.getName().substring(SEGMENT_FILE_PREFIX.length(),
+                                                     file.getName().length() - SEGMENT_FILE_EXTENSION.length()));
+      } catch (NumberFormatException e) {
+        LOGGER.warn("Ignoring unexpected file {} in object store partition {}", file.getName(), getPartitionName());
+        continue;
+      }
+
+      Segment segment = new Segment(id, file);
+      if (!segment.hasValidHeader()) {
+        LOGGER.warn("Object store segment {} has an invalid header. The file will be skipped and moved to the Garbage folder",
+                    file.getName());
+        segment.close();
+        moveToCorruptedFilesFolder(file);
+        continue;
+      }
+      segments.put(id, segment);
+    }
+  }
+
+  /**
+   * Loads the persisted index snapshot, if there is a valid one.
+   *
+   * @return the position from which each segment has to be replayed on top of the snapshot.
+   */
+  private Map<Long, Long> loadSnapshot() {
+    File snapshotFile = new File(getPartitionDirectory(), INDEX_SNAPSHOT_FILE);
+    Map<Long, Long> replayFrom = new HashMap<>();
+    if (!snapshotFile.exists()) {
+      return replayFrom;
+    }
+
+    CRC32 crc = new CRC32();
+    try (DataInputStream input =
+        new DataInputStream(new CheckedInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)), crc))) {
+      if (input.readInt() != SNAPSHOT_MAGIC || input.readInt() != FORMAT_VERSION) {
+        throw new IOException("Unknown snapshot format");
+      }
+
+      int segmentCount = input.readInt();
+      for (int i = 0; i < segmentCount; i++) {
+        long id = input.readLong();
+        long size = input.readLong();
+        Segment segment = segments.get(id);
+        if (segment == null || segment.size < size) {
+          throw new IOException("Snapshot references segment " + id + " which is no longer available");
+        }
+        replayFrom.put(id, size);
+      }
+      // A segment older than the ones in the snapshot that is not referenced means the snapshot is stale.
+      Long newestInSnapshot = replayFrom.keySet().stream().max(Long::compare).orElse(null);
+      if (newestInSnapshot != null && segments.headMap(newestInSnapshot).keySet().stream()
+          .anyMatch(id -> !replayFrom.containsKey(id))) {
+        throw new IOException("Snapshot is stale");
+      }
+
+      int entryCount = input.readInt();
+      List<Location> locations = new ArrayList<>(entryCount);
+      for (int i = 0; i < entryCount; i++) {
+        byte[] key = new byte[input.readInt()];
+        input.readFully(key);
+        Segment segment = segments.get(input.readLong());
+        long offset = input.readLong();
+        int length = input.readInt();
+        long timestamp = input.readLong();
+        if (segment == null) {
+          throw new IOException("Snapshot references an unknown segment");
+        }
+        locations.add(new Location(new String(key, UTF_8), segment, offset, length, timestamp,
+                                   sequenceGenerator.incrementAndGet()));
+      }
+
+      long expectedCrc = crc.getValue();
+      if (input.readLong() != expectedCrc) {
+        throw new IOException("Snapshot checksum mismatch");
+      }
+
+      for (Location location : locations) {
+        index.put(location.key, location);
+        expiryOrder.add(location);
+      }
+      return replayFrom;
+    } catch (IOException e) {
+      LOGGER.warn("Could not load the index snapshot of object store partition {}, the full log will be replayed: {}",
+                  getPartitionName(), e.getMessage());
+      index.clear();
+      expiryOrder.clear();
+      return new HashMap<>();
+    }
+  }
+
+  private void replay(Segment segment, long from) throws IOException {
+    long offset = from;
+    try (FileInputStream fileInputStream = new FileInputStream(segment.file);
+        DataInputStream input = new DataInputStream(new BufferedInputStream(fileInputStream))) {
+      fileInputStream.getChannel().position(from);
+      while (offset < segment.size) {
+        if (offset + 4 > segment.size) {
+          truncateCorruptedTail(segment, offset);
+          return;
+        }
+
+        int payloadLength = input.readInt();
+        int recordLength = payloadLength + 8;
+        if (payloadLength < RECORD_OVERHEAD - 8 || offset + recordLength > segment.size) {
+          truncateCorruptedTail(segment, offset);
+          return;
+        }
+
+        byte[] payload = new byte[payloadLength];
+        input.readFully(payload);
+        int crc = input.readInt();
+        if (crc != crc(payload)) {
+          truncateCorruptedTail(segment, offset);
+          return;
+        }
+
+        apply(segment, offset, recordLength, ByteBuffer.wrap(payload));
+        offset += recordLength;
+      }
+    }
+  }
+
+  private void apply(Segment segment, long offset, int recordLength, ByteBuffer payload) {
+    byte type = payload.get();
+    long timestamp = payload.getLong();
+    byte[] key = new byte[payload.getInt()];
+    payload.get(key);
+    String realKey = new String(key, UTF_8);
+
+    Location previous;
+    if (type == PUT) {
+      Location location = new Location(realKey, segment, offset, recordLength, timestamp, sequenceGenerator.incrementAndGet());
+      previous = index.put(realKey, location);
+      expiryOrder.add(location);
+    } else {
+      previous = index.remove(realKey);
+    }
+
+    if (previous != null) {
+      expiryOrder.remove(previous);
+    }
+  }
+
+  private void truncateCorruptedTail(Segment segment, long validLength) throws IOException {
+    LOGGER.warn(format("Object store segment %s has a corrupted record at offset %d. The segment will be copied to the Garbage folder and truncated",
+                       segment.file.getName(), validLength));
+    File corruptedCopy = new File(segment.file.getParentFile(), segment.file.getName() + CORRUPTED_SEGMENT_EXTENSION);
+    copy(segment.file.toPath(), corruptedCopy.toPath(), REPLACE_EXISTING);
+    moveToCorruptedFilesFolder(corruptedCopy);
+
+    segment.channel().truncate(validLength);
+    segment.size = validLength;
+  }
+
+  private void migrateLegacyEntries() throws IOException, ObjectStoreException {
+    File[] files = listValuesFiles();
+    if (files.length == 0) {
+      return;
+    }
+
+    LOGGER.info("Migrating {} entries of object store partition {} into the log", files.length, getPartitionName());
+    for (File file : files) {
+      StoreValue<T> storeValue;
+      try {
+        storeValue = deserialize(file);
+      } catch (ObjectStoreException e) {
+        LOGGER.warn(format("Could not deserialize the ObjectStore file: %s. The file will be skipped and moved to the Garbage folder",
+                           file.getName()));
+        moveToCorruptedFilesFolder(file);
+        continue;
+      }
+
+      String key = storeValue.getKey().toString();
+      if (!index.containsKey(key)) {
+        addLocation(append(PUT, key, file.lastModified(), serializeValue(storeValue.getValue())));
+      }
+    }
+
+    awaitDurable(appendedSequence);
+    for (File file : files) {
+      if (file.exists() && !file.delete()) {
+        LOGGER.warn("Could not delete migrated object store file {}", file.getAbsolutePath());
+      }
+    }
+  }
+
+  /**
+   * Rewrites the live records of the sealed segments that are mostly dead into the active segment, and deletes them.
+   *
+   * @return whether any segment was compacted.
+   */
+  private boolean compact() throws ObjectStoreException {
+    List<Segment> candidates = new ArrayList<>();
+    for (Segment segment : segments.values()) {
+      if (segment != activeSegment
+          && segment.liveBytes.get() < (segment.size - SEGMENT_HEADER_SIZE) * COMPACTION_LIVE_RATIO) {
+        candidates.add(segment);
+      }
+    }
+
+    for (Segment segment : candidates) {
+      try {
+        relocateLiveRecords(segment);
+      } catch (IOException e) {
+        throw new ObjectStoreException(createStaticMessage("Could not compact object store segment "
+            + segment.file.getAbsolutePath()), e);
+      }
+      awaitDurable(appendedSequence);
+
+      wLock.lock();
+      try {
+        segments.remove(segment.id);
+        segment.close();
+        if (!segment.file.delete()) {
+          LOGGER.warn("Could not delete compacted object store segment {}", segment.file.getAbsolutePath());
+        }
+      } finally {
+        wLock.unlock();
+      }
+    }
+
+    return !candidates.isEmpty();
+  }
+
+  private void relocateLiveRecords(Segment segment) throws IOException, ObjectStoreException {
+    long offset = SEGMENT_HEADER_SIZE;
+    ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+    while (offset < segment.size) {
+      lengthBuffer.clear();
+      readFully(segment, lengthBuffer, offset);
+      lengthBuffer.flip();
+      int recordLength = lengthBuffer.getInt() + 8;
+      ByteBuffer record = ByteBuffer.allocate(recordLength);
+      readFully(segment, record, offset);
+
+      record.position(4);
+      byte type = record.get();
+      record.position(4 + 1 + 8);
+      byte[] key = new byte[record.getInt()];
+      record.get(key);
+      String realKey = new String(key, UTF_8);
+
+      rLock.lock();
+      try {
+        appendLock.lock();
+        try {
+          Location current = index.get(realKey);
+          if (type == PUT && current != null && current.segment == segment && current.offset == offset) {
+            record.rewind();
+            Location relocated = appendRaw(record, realKey, current.timestamp, current.sequence);
+            // the relocated location sorts the same as the current one, so it has to be removed first
+            expiryOrder.remove(current);
+            addLocation(relocated);
+          } else if (type == DELETE && current == null && segments.lowerKey(segment.id) != null) {
+            // the tombstone may still be shadowing a record in an older segment
+            record.rewind();
+            appendRaw(record, realKey, 0, 0);
+          }
+        } finally {
+          appendLock.unlock();
+        }
+      } finally {
+        rLock.unlock();
+      }
+
+      offset += recordLength;
+    }
+  }
+
+  private void writeSnapshot() throws ObjectStoreException {
+    List<Location> locations;
+    Map<Long, Long> segmentSizes = new LinkedHashMap<>();
+    rLock.lock();
+    try {
+      appendLock.lock();
+      try {
+        changesSinceSnapshot.set(0);
+        for (Segment segment : segments.values()) {
+          segmentSizes.put(segment.id, segment.size);
+        }
+        locations = new ArrayList<>(index.size());
+        for (Location location : expiryOrder) {
+          if (index.get(location.key) == location) {
+            locations.add(location);
+          }
+        }
+      } finally {
+        appendLock.unlock();
+      }
+    } finally {
+      rLock.unlock();
+    }
+
+    File snapshotFile = new File(getPartitionDirectory(), INDEX_SNAPSHOT_FILE);
+    File tempFile = new File(getPartitionDirectory(), INDEX_SNAPSHOT_FILE + TEMP_FILE_EXTENSION);
+    CRC32 crc = new CRC32();
+    try (FileOutputStream fileOutputStream = new FileOutputStream(tempFile);
+        CheckedOutputStream checkedOutputStream = new CheckedOutputStream(new BufferedOutputStream(fileOutputStream), crc);
+        DataOutputStream output = new DataOutputStream(checkedOutputStream)) {
+      output.writeInt(SNAPSHOT_MAGIC);
+      output.writeInt(FORMAT_VERSION);
+      output.writeInt(segmentSizes.size());
+      for (Map.Entry<Long, Long> segmentSize : segmentSizes.entrySet()) {
+        output.writeLong(segmentSize.getKey());
+        output.writeLong(segmentSize.getValue());
+      }
+      output.writeInt(locations.size());
+      for (Location location : locations) {
+        byte[] key = location.key.getBytes(UTF_8);
+        output.writeInt(key.length);
+        output.write(key);
+        output.writeLong(location.segment.id);
+        output.writeLong(location.offset);
+        output.writeInt(location.length);
+        output.writeLong(location.timestamp);
+      }
+      output.flush();
+      output.writeLong(crc.getValue());
+      output.flush();
+      fileOutputStream.getFD().sync();
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not write the index snapshot of object store partition "
+          + getPartitionName()), e);
+    }
+
+    try {
+      move(tempFile.toPath(), snapshotFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not write the index snapshot of object store partition "
+          + getPartitionName()), e);
+    }
+  }
+
+  private void addLocation(Location location) {
+    index.put(location.key, location);
+    expiryOrder.add(location);
+    location.segment.liveBytes.addAndGet(location.length);
+  }
+
+  private void removeLocation(Location location) throws ObjectStoreException {
+    append(DELETE, location.key, currentTimeMillis(), new byte[0]);
+    index.remove(location.key);
+    expiryOrder.remove(location);
+    location.segment.liveBytes.addAndGet(-location.length);
+  }
+
+  /**
+   * Appends a record to the active segment. Must be called holding the {@link #appendLock}.
+   */
+  private Location append(byte type, String key, long timestamp, byte[] value) throws ObjectStoreException {
+    byte[] keyBytes = key.getBytes(UTF_8);
+    int payloadLength = 1 + 8 + 4 + keyBytes.length + value.length;
+
+    ByteBuffer record = ByteBuffer.allocate(payloadLength + 8);
+    record.putInt(payloadLength);
+    record.put(type);
+    record.putLong(timestamp);
+    record.putInt(keyBytes.length);
+    record.put(keyBytes);
+    record.put(value);
+    record.putInt(crc(record.array(), 4, payloadLength));
+    record.flip();
+
+    return appendRaw(record, key, timestamp, sequenceGenerator.incrementAndGet());
+  }
+
+  private Location appendRaw(ByteBuffer record, String key, long timestamp, long sequence) throws ObjectStoreException {
+    try {
+      Segment segment = activeSegment;
+      if (segment.size > SEGMENT_HEADER_SIZE && segment.size + record.remaining() > MAX_SEGMENT_SIZE) {
+        segment = rollSegment();
+      }
+
+      long offset = segment.size;
+      int length = record.remaining();
+      FileChannel channel = segment.channel();
+      long position = offset;
+      while (record.hasRemaining()) {
+        position += channel.write(record, position);
+      }
+      segment.size = position;
+
+      appendedSequence++;
+      changesSinceSnapshot.incrementAndGet();
+      return new Location(key, segment, offset, length, timestamp, sequence);
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not append to object store partition " + getPartitionName()),
+                                     e);
+    }
+  }
+
+  private Segment rollSegment() throws IOException {
+    Segment sealed = activeSegment;
+    if (SYNC_WRITES) {
+      // the group commit only syncs the active segment, so everything in the sealed one has to be durable before moving on
+      sealed.channel().force(false);
+    }
+    activeSegment = createSegment(nextSegmentId());
+    return activeSegment;
+  }
+
+  private Segment createSegment(long id) throws IOException {
+    File file = new File(getPartitionDirectory(), format("%s%020d%s", SEGMENT_FILE_PREFIX, id, SEGMENT_FILE_EXTENSION));
+    Segment segment = new Segment(id, file);
+    ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+    header.putInt(SEGMENT_MAGIC);
+    header.putInt(FORMAT_VERSION);
+    header.flip();
+    segment.channel().write(header, 0);
+    segment.size = SEGMENT_HEADER_SIZE;
+    segments.put(id, segment);
+    return segment;
+  }
+
+  private long nextSegmentId() {
+    return segments.isEmpty() ? 1 : segments.lastKey() + 1;
+  }
+
+  /**
+   * Waits until the record appended with the given sequence is durable. The first writer to arrive syncs on behalf of every
+   * writer that appended before it started, and the ones arriving while the sync is in progress wait for the next one.
+   */
+  private void awaitDurable(long sequence) throws ObjectStoreException {
+    if (!SYNC_WRITES) {
+      return;
+    }
+
+    syncLock.lock();
+    try {
+      while (syncedSequence < sequence) {
+        if (syncInProgress) {
+          syncDone.await();
+          continue;
+        }
+
+        syncInProgress = true;
+        long target = appendedSequence;
+        Segment segment = activeSegment;
+        IOException failure = null;
+        syncLock.unlock();
+        try {
+          if (segment != null) {
+            segment.channel().force(false);
+          }
+        } catch (ClosedChannelException e) {
+          // the partition was cleared or closed, there is nothing left to sync
+        } catch (IOException e) {
+          failure = e;
+        } finally {
+          syncLock.lock();
+          syncInProgress = false;
+          syncDone.signalAll();
+        }
+
+        if (failure != null) {
+          throw new ObjectStoreException(createStaticMessage("Could not sync object store partition " + getPartitionName()),
+                                         failure);
+        }
+        syncedSequence = max(syncedSequence, target);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ObjectStoreException(e);
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  private T readValue(Location location) throws ObjectStoreException {
+    ByteBuffer record = ByteBuffer.allocate(location.length);
+    try {
+      readFully(location.segment, record, location.offset);
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    }
+
+    int payloadLength = location.length - 8;
+    if (record.getInt(location.length - 4) != crc(record.array(), 4, payloadLength)) {
+      throw new ObjectStoreException(createStaticMessage(format("Corrupted record for key '%s' in %s", location.key,
+                                                                location.segment.file.getAbsolutePath())));
+    }
+
+    int keyLength = record.getInt(4 + 1 + 8);
+    int valueOffset = 4 + 1 + 8 + 4 + keyLength;
+    byte[] value = new byte[location.length - 4 - valueOffset];
+    record.position(valueOffset);
+    record.get(value);
+    return deserializeValue(value);
+  }
+
+  private void readFully(Segment segment, ByteBuffer buffer, long position) throws IOException {
+    FileChannel channel = segment.channel();
+    long readPosition = position;
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, readPosition);
+      if (read < 0) {
+        throw new EOFException("Unexpected end of " + segment.file.getAbsolutePath());
+      }
+      readPosition += read;
+    }
+  }
+
+  private byte[] serializeValue(T value) throws ObjectStoreException {
+    try {
+      return serializer.getInternalProtocol().serialize(value);
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private T deserializeValue(byte[] value) throws ObjectStoreException {
+    try {
+      T deserialized = serializer.getInternalProtocol().deserialize(value);
+      if (deserialized instanceof DeserializationPostInitialisable) {
+        DeserializationPostInitialisable.Implementation.init(deserialized, muleContext);
+      }
+      return deserialized;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private static int crc(byte[] payload) {
+    return crc(payload, 0, payload.length);
+  }
+
+  private static int crc(byte[] bytes, int offset, int length) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes, offset, length);
+    return (int) crc.getValue();
+  }
+
+  private void closeSegments() {
+    for (Segment segment : segments.values()) {
+      segment.close();
+    }
+    segments.clear();
+    activeSegment = null;
+  }
+
+  private void resetIndex() {
+    index.clear();
+    expiryOrder.clear();
+    changesSinceSnapshot.set(0);
+  }
+
+  /**
+   * The location of the live record of a key in the log.
+   */
+  private static final class Location {
+
+    private final String key;
+    private final Segment segment;
+    private final long offset;
+    private final int length;
+    private final long timestamp;
+    private final long sequence;
+
+    private Location(String key, Segment segment, long offset, int length, long timestamp, long sequence) {
+      this.key = key;
+      this.segment = segment;
+      this.offset = offset;
+      this.length = length;
+      this.timestamp = timestamp;
+      this.sequence = sequence;
+    }
+  }
+
+  /**
+   * A file of the log. Only the active segment is appended to, the rest are sealed and only read or compacted.
+   */
+  private static final class Segment {
+
+    private final long id;
+    private final File file;
+    private final AtomicLong liveBytes = new AtomicLong();
+    private volatile FileChannel channel;
+    private volatile long size;
+    private volatile boolean closed = false;
+
+    private Segment(long id, File file) throws IOException {
+      this.id = id;
+      this.file = file;
+      this.channel = FileChannel.open(file.toPath(), CREATE, READ, WRITE);
+      this.size = channel.size();
+    }
+
+    private boolean hasValidHeader() throws IOException {
+      if (size < SEGMENT_HEADER_SIZE) {
+        return false;
+      }
+      ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+      channel.read(header, 0);
+      header.flip();
+      return header.remaining() == SEGMENT_HEADER_SIZE && header.getInt() == SEGMENT_MAGIC && header.getInt() == FORMAT_VERSION;
+    }
+
+    /**
+     * File channels get closed when a thread using them is interrupted, so the channel is reopened in that case unless the
+     * segment was closed on purpose.
+     */
+    private FileChannel channel() throws IOException {
+      FileChannel current = channel;
+      if (!current.isOpen() && !closed) {
+        synchronized (this) {
+          current = channel;
+          if (!current.isOpen() && !closed) {
+            current = FileChannel.open(file.toPath(), READ, WRITE);
+            channel = current;
+          }
+        }
+      }
+      return current;
+    }
+
+    private void close() {
+      closed = true;
+      try {
+        channel.close();
+      } catch (IOException e) {
+        LOGGER.warn("Could not close object store segment " + file.getAbsolutePath(), e);
+      }
+    }
+  }
+}
@@ -7,7 +7,6 @@
 package org.mule.runtime.core.internal.util.store;
 
 import static java.lang.System.currentTimeMillis;
-import static java.util.Comparator.comparing;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toMap;
 import static org.mule.runtime.api.store.ObjectStoreManager.BASE_PERSISTENT_OBJECT_STORE_KEY;
@@ -24,24 +23,36 @@ import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.ObjectStoreSettings;
 import org.mule.runtime.api.store.TemplateObjectStore;
-import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.UUID;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.management.stats.ObjectStoreExpiryStatistics;
 import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The MonitoredObjectStoreWrapper wraps an ObjectStore which does not support direct expiry and adds this behavior
+ * <p>
+ * The timestamp of each entry is kept in a time ordered index, so each expiration run only touches the entries that actually
+ * expire instead of retrieving every entry of the wrapped store. The operations done through this wrapper keep the index up to
+ * date, and each expiration run reconciles it with the keys of the wrapped store, retrieving only the entries written or removed
+ * by others, such as other nodes of a cluster sharing the store. Since others may also replace an entry that is already indexed,
+ * the entries about to expire are retrieved to check their timestamp before removing them.
  */
 public class MonitoredObjectStoreWrapper<T extends Serializable> extends TemplateObjectStore<T>
     implements Runnable, MuleContextAware, Initialisable, Disposable {
@@ -76,6 +87,12 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
    */
   protected String name = null;
 
+  private final ConcurrentSkipListSet<ExpiryEntry> expiryIndex = new ConcurrentSkipListSet<>();
+  private final Map<String, ExpiryEntry> expiryEntriesByKey = new ConcurrentHashMap<>();
+  private final AtomicLong expiryEntrySequence = new AtomicLong();
+
+  private final ObjectStoreExpiryStatistics expiryStatistics = new ObjectStoreExpiryStatistics();
+
   public MonitoredObjectStoreWrapper(ObjectStore<StoredObject<T>> baseStore, ObjectStoreSettings settings) {
     this.baseStore = baseStore;
     maxEntries = settings.getMaxEntries().orElse(null);
@@ -92,6 +109,7 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
   protected void doStore(String key, T value) throws ObjectStoreException {
     Long time = Long.valueOf(System.currentTimeMillis());
     getStore().store(key, new StoredObject<>(value, time, key));
+    indexEntry(key, time);
   }
 
   @Override
@@ -107,11 +125,14 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
   @Override
   public void clear() throws ObjectStoreException {
     this.getStore().clear();
+    expiryIndex.clear();
+    expiryEntriesByKey.clear();
   }
 
   @Override
   protected T doRemove(String key) throws ObjectStoreException {
     StoredObject<T> object = getStore().remove(key);
+    unindexEntry(key);
     if (object == null) {
       return null;
     } else {
@@ -159,46 +180,137 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
     try {
       LOGGER.debug("Starting expiry on {}...", getStore());
 
-      final long now = currentTimeMillis();
-      List<String> keys = allKeys();
-      int excess = maxEntries != null ? (keys.size() - maxEntries) : 0;
+      final long start = currentTimeMillis();
+      final int storeSize = reconcileExpiryIndex();
 
-      PriorityQueue<Pair<String, Long>> sortedMaxEntries = null;
+      List<ExpiryEntry> expired = new ArrayList<>();
+      Iterator<ExpiryEntry> entries = expiryIndex.iterator();
 
+      int excess = maxEntries != null ? (storeSize - maxEntries) : 0;
       if (excess > 0) {
         LOGGER.trace("Will expire {} entries from {}", excess, getStore());
-        sortedMaxEntries = new PriorityQueue<>(excess, comparing(Pair::getSecond));
       }
-
-      for (String key : keys) {
-        StoredObject<T> obj = expiryRetrieve(key);
-        if (obj == null) {
-          excess--;
-          continue;
+      while (excess-- > 0 && entries.hasNext()) {
+        ExpiryEntry entry = entries.next();
+        if (isCurrent(entry)) {
+          LOGGER.trace("Expiring entry '{}' from {} due to size excess...", entry.key, getStore());
+          expired.add(entry);
         }
+      }
 
-        if (entryTtl != null && now - obj.getTimestamp() >= entryTtl) {
-          LOGGER.trace("Expiring entry '{}' from {} due to TTL...", key, getStore());
-          expiryRemove(key);
-        } else if (maxEntries != null && excess > 0) {
-          sortedMaxEntries.offer(new Pair<>(obj.getKey(), obj.getTimestamp()));
+      if (entryTtl != null) {
+        while (entries.hasNext()) {
+          ExpiryEntry entry = entries.next();
+          if (start - entry.timestamp < entryTtl) {
+            break;
+          }
+          if (isCurrent(entry)) {
+            LOGGER.trace("Expiring entry '{}' from {} due to TTL...", entry.key, getStore());
+            expired.add(entry);
+          }
         }
       }
 
-      if (sortedMaxEntries != null) {
-        Pair<String, Long> obj = sortedMaxEntries.poll();
-        while (obj != null && excess > 0) {
-          LOGGER.trace("Expiring entry '{}' from {} due to size excess...", obj.getFirst(), getStore());
-          excess--;
-          expiryRemove(obj.getFirst());
-          obj = sortedMaxEntries.poll();
+      int removed = 0;
+      for (ExpiryEntry entry : expired) {
+        if (expiryRemove(entry.key)) {
+          removed++;
+        } else {
+          unindexEntry(entry.key);
         }
       }
+
+      expiryStatistics.addRun(removed, currentTimeMillis() - start);
     } catch (Exception e) {
       LOGGER.warn("Running expiry on " + getStore() + " threw " + e.getClass().getName() + ":" + e.getMessage(), e);
     }
   }
 
+  /**
+   * Indexes the entries of the wrapped store that are not in the index yet, retrieving them to know their timestamp, and removes
+   * from the index the ones that are not in the wrapped store anymore. The first run indexes every entry.
+   *
+   * @return the number of entries in the wrapped store.
+   */
+  private synchronized int reconcileExpiryIndex() throws ObjectStoreException {
+    List<String> keys = allKeys();
+    int storeSize = keys.size();
+
+    for (String key : keys) {
+      if (expiryEntriesByKey.containsKey(key)) {
+        continue;
+      }
+      StoredObject<T> obj = expiryRetrieve(key);
+      if (obj != null) {
+        indexEntry(key, obj.getTimestamp());
+      } else {
+        storeSize--;
+      }
+    }
+
+    if (expiryEntriesByKey.size() > keys.size()) {
+      Set<String> storedKeys = new HashSet<>(keys);
+      for (Map.Entry<String, ExpiryEntry> indexed : expiryEntriesByKey.entrySet()) {
+        if (!storedKeys.contains(indexed.getKey()) && expiryEntriesByKey.remove(indexed.getKey(), indexed.getValue())) {
+          expiryIndex.remove(indexed.getValue());
+        }
+      }
+    }
+
+    return storeSize;
+  }
+
+  /**
+   * Checks that the timestamp of an entry about to be expired is the one in the wrapped store. The entry may have been removed
+   * and stored again by others since it was indexed, in which case it is indexed again with its new timestamp instead of being
+   * expired.
+   *
+   * @return whether the indexed timestamp is the stored one.
+   */
+  private boolean isCurrent(ExpiryEntry entry) throws ObjectStoreException {
+    StoredObject<T> obj = expiryRetrieve(entry.key);
+    if (obj == null) {
+      if (expiryEntriesByKey.remove(entry.key, entry)) {
+        expiryIndex.remove(entry);
+      }
+      return false;
+    }
+
+    if (obj.getTimestamp() != entry.timestamp) {
+      ExpiryEntry current = new ExpiryEntry(entry.key, obj.getTimestamp(), expiryEntrySequence.incrementAndGet());
+      if (expiryEntriesByKey.replace(entry.key, entry, current)) {
+        expiryIndex.remove(entry);
+        expiryIndex.add(current);
+      }
+      return false;
+    }
+
+    return true;
+  }
+
+  private void indexEntry(String key, long timestamp) {
+    ExpiryEntry entry = new ExpiryEntry(key, timestamp, expiryEntrySequence.incrementAndGet());
+    ExpiryEntry previous = expiryEntriesByKey.put(key, entry);
+    if (previous != null) {
+      expiryIndex.remove(previous);
+    }
+    expiryIndex.add(entry);
+  }
+
+  private void unindexEntry(String key) {
+    ExpiryEntry entry = expiryEntriesByKey.remove(key);
+    if (entry != null) {
+      expiryIndex.remove(entry);
+    }
+  }
+
+  /**
+   * @return the statistics of the expiration runs of this store.
+   */
+  public ObjectStoreExpiryStatistics getExpiryStatistics() {
+    return expiryStatistics;
+  }
+
   private StoredObject<T> expiryRetrieve(String key) throws ObjectStoreException {
     try {
       return getStore().retrieve(key);
@@ -208,11 +320,13 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
     }
   }
 
-  private void expiryRemove(String key) throws ObjectStoreException {
+  private boolean expiryRemove(String key) throws ObjectStoreException {
     try {
       remove(key);
+      return true;
     } catch (ObjectDoesNotExistException e) {
       LOGGER.trace("Entry '{}' from {} already removed", key, getStore());
+      return false;
     }
   }
 
@@ -245,6 +359,32 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
     }
   }
 
+  /**
+   * An entry of the expiry index. Only the key and timestamp are kept so that the index does not hold references to the stored
+   * values.
+   */
+  private static final class ExpiryEntry implements Comparable<ExpiryEntry> {
+
+    private final String key;
+    private final long timestamp;
+    private final long sequence;
+
+    private ExpiryEntry(String key, long timestamp, long sequence) {
+      this.key = key;
+      this.timestamp = timestamp;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public int compareTo(ExpiryEntry other) {
+      int result = Long.compare(timestamp, other.timestamp);
+      if (result == 0) {
+        result = Long.compare(sequence, other.sequence);
+      }
+      return result;
+    }
+  }
+
   public static class StoredObject<T> implements Serializable, DeserializationPostInitialisable {
 
     private static final long serialVersionUID = 8656763235928199259L;
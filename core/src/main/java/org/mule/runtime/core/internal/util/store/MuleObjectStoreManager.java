@@ -8,6 +8,8 @@
 package org.mule.runtime.core.internal.util.store;
 
 import static java.lang.String.format;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
@@ -27,9 +29,11 @@ import org.mule.runtime.api.store.ObjectStoreSettings;
 import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
 import org.mule.runtime.api.store.PartitionableObjectStore;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.management.stats.ObjectStoreExpiryStatistics;
 
 import java.io.Serializable;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -222,6 +226,20 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
     }
   }
 
+  /**
+   * @param name the name of an object store created by this manager
+   * @return the statistics of the expiration runs of the given store, if it exists and its entries are expired by this manager
+   *         instead of by its base store.
+   * @since 4.6
+   */
+  public Optional<ObjectStoreExpiryStatistics> getExpiryStatistics(String name) {
+    ObjectStore<?> store = stores.get(name);
+    if (store instanceof MonitoredObjectStoreWrapper) {
+      return of(((MonitoredObjectStoreWrapper<?>) store).getExpiryStatistics());
+    }
+    return empty();
+  }
+
   public void clearStoreCache() {
     stores.clear();
   }
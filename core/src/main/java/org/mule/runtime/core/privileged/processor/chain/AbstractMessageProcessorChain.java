@@ -90,6 +90,7 @@ import org.mule.runtime.core.internal.processor.chain.InterceptedReactiveProcess
 import org.mule.runtime.core.internal.processor.interceptor.ProcessorInterceptorFactoryAdapter;
 import org.mule.runtime.core.internal.processor.interceptor.ReactiveInterceptorAdapter;
 import org.mule.runtime.core.internal.profiling.InternalProfilingService;
+import org.mule.runtime.core.internal.profiling.NoopCoreEventTracer;
 import org.mule.runtime.core.internal.profiling.context.DefaultComponentThreadingProfilingEventContext;
 import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
 import org.mule.runtime.core.internal.util.MessagingExceptionResolver;
@@ -463,15 +464,18 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     List<ReactiveInterceptor> interceptors = new ArrayList<>();
 
     // Set thread context
-    interceptors.add((processor, next) -> stream -> from(stream)
-        // #2 Wrap execution, after processing strategy, on processor execution thread.
-        .doOnNext(event -> beforeProcessorInSameThread(event, (Processor) processor))
-        // #1 Update TCCL with the one from the Region of the processor to execute once in execution thread.
-        .transform(doOnNextOrErrorWithContext(TCCL_REACTOR_CTX_CONSUMER)
-            .andThen(next)
-            // #1 Set back previous TCCL.
-            .andThen(doOnNextOrErrorWithContext(TCCL_ORIGINAL_REACTOR_CTX_CONSUMER)))
-        .doOnNext(event -> afterProcessorInSameThread(event, (Processor) processor)));
+    interceptors.add((processor, next) -> {
+      final ComponentLocation componentLocation = getLocationIfComponent((Processor) processor);
+
+      return stream -> from(stream)
+          // #2 Wrap execution, after processing strategy, on processor execution thread.
+          // #1 Update TCCL with the one from the Region of the processor to execute once in execution thread.
+          .transform(doOnNextOrErrorWithContext(TCCL_REACTOR_CTX_CONSUMER, this::beforeProcessorInSameThread)
+              .andThen(next)
+              // #1 Set back previous TCCL.
+              .andThen(doOnNextOrErrorWithContext(TCCL_ORIGINAL_REACTOR_CTX_CONSUMER,
+                                                  event -> afterProcessorInSameThread(event, componentLocation))));
+    });
 
     // Apply processing strategy. This is done here to ensure notifications and interceptors do not execute on async processor
     // threads which may be limited to avoid deadlocks.
@@ -485,17 +489,25 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
 
     // #4 Wrap execution, including processing strategy, on flow thread.
     interceptors.add((processor, next) -> {
-      String processorPath = getProcessorPath((Processor) processor);
-
-      Assertion assertion = new SpanNameAssertion(chainInitialSpanInfo.getName());
-
-      final InitialSpanInfo processorInitialSpanInfo = getProcessorInitialSpanInfo(processor);
+      // Everything that does not depend on the event is resolved once per processor, when the chain is assembled
+      final String processorPath = getProcessorPath((Processor) processor);
+      final ComponentLocation componentLocation = getLocationIfComponent((Processor) processor);
+      final Function<CoreEvent, CoreEvent> streamingUpdater = updateEventForStreaming(streamingManager);
+
+      // Notifications are only fired for components with a location, and spans are not started with the no-op tracer, so
+      // those steps are left out for the processors where they would do nothing
+      final boolean notifying = serverNotificationHandler != null && componentLocation != null;
+      final Consumer<CoreEvent> postNotification = notifying ? postNotification((Processor) processor) : null;
+      final boolean tracing = !(muleEventTracer instanceof NoopCoreEventTracer);
+      final Assertion assertion = tracing ? new SpanNameAssertion(chainInitialSpanInfo.getName()) : null;
+      final InitialSpanInfo processorInitialSpanInfo = tracing ? getProcessorInitialSpanInfo(processor) : null;
 
       return stream -> from(stream)
-          .doOnNext(event -> beforeComponentProcessingStrategy((Processor) processor, processorPath, processorInitialSpanInfo,
-                                                               assertion, event))
+          .doOnNext(event -> beforeComponentProcessingStrategy((Processor) processor, processorPath, componentLocation,
+                                                               notifying, processorInitialSpanInfo, assertion, event))
           .transform(next)
-          .map(result -> afterComponentProcessingStrategy((Processor) processor, processorPath, result));
+          .map(result -> afterComponentProcessingStrategy(processorPath, postNotification, tracing, streamingUpdater,
+                                                          result));
     });
 
     return interceptors;
@@ -516,23 +528,29 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     return initialSpanInfo;
   }
 
-  private void beforeProcessorInSameThread(CoreEvent event, Processor processor) {
+  private void beforeProcessorInSameThread(CoreEvent event) {
     currentMuleContext.set(muleContext);
     setCurrentEvent((PrivilegedEvent) event);
   }
 
-  private void afterProcessorInSameThread(CoreEvent event, Processor processor) {
-    triggerOperationExecuted(event, getLocationIfComponent(processor));
+  private void afterProcessorInSameThread(CoreEvent event, ComponentLocation componentLocation) {
+    triggerOperationExecuted(event, componentLocation);
   }
 
-  private CoreEvent afterComponentProcessingStrategy(Processor processor, String processorPath, CoreEvent result) {
+  private CoreEvent afterComponentProcessingStrategy(String processorPath, Consumer<CoreEvent> postNotification,
+                                                     boolean tracing, Function<CoreEvent, CoreEvent> streamingUpdater,
+                                                     CoreEvent result) {
     try {
-      postNotification(processor).accept(result);
+      if (postNotification != null) {
+        postNotification.accept(result);
+      }
       setCurrentEvent((PrivilegedEvent) result);
-      muleEventTracer.endCurrentSpan(result);
+      if (tracing) {
+        muleEventTracer.endCurrentSpan(result);
+      }
 
       // If the processor returns a CursorProvider, then have the StreamingManager manage it
-      return updateEventForStreaming(streamingManager).apply(result);
+      return streamingUpdater.apply(result);
     } finally {
       if (processorPath != null) {
         MDC.remove("processorPath");
@@ -540,14 +558,17 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     }
   }
 
-  private void beforeComponentProcessingStrategy(Processor processor, String processorPath, InitialSpanInfo initialSpanInfo,
-                                                 Assertion assertion, CoreEvent event) {
+  private void beforeComponentProcessingStrategy(Processor processor, String processorPath,
+                                                 ComponentLocation componentLocation, boolean notifying,
+                                                 InitialSpanInfo initialSpanInfo, Assertion assertion, CoreEvent event) {
     // The span corresponding to the processor has to be created here because if the processor
     // cannot process a message (by the canProcessMessage condition below), the exception will be considered
     // part of the execution of the processor.
-    muleEventTracer.startComponentSpan(event,
-                                       initialSpanInfo,
-                                       assertion);
+    if (initialSpanInfo != null) {
+      muleEventTracer.startComponentSpan(event,
+                                         initialSpanInfo,
+                                         assertion);
+    }
 
     if (!canProcessMessage) {
       throw propagate(new MessagingException(event, new LifecycleException(isStopped(name), event.getMessage())));
@@ -555,19 +576,24 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     if (processorPath != null) {
       MDC.put("processorPath", processorPath);
     }
-    ComponentLocation componentLocation = getLocationIfComponent(processor);
 
     triggerStartingOperation(event, componentLocation);
-    preNotification(event, processor);
+    if (notifying) {
+      preNotification(event, processor);
+    }
   }
 
   private void triggerOperationExecuted(CoreEvent event, ComponentLocation componentLocation) {
-    if (startingOperationExecutionDataProducer == null) {
+    if (endOperationExecutionDataProducer == null) {
       return;
     }
+    // The context is only built if the producer is enabled
     endOperationExecutionDataProducer
-        .triggerProfilingEvent(new DefaultComponentThreadingProfilingEventContext(event, componentLocation, currentThread()
-            .getName(), getArtifactId(muleContext), getArtifactType(muleContext), currentTimeMillis()));
+        .triggerProfilingEvent(event, e -> new DefaultComponentThreadingProfilingEventContext(e, componentLocation,
+                                                                                              currentThread().getName(),
+                                                                                              getArtifactId(muleContext),
+                                                                                              getArtifactType(muleContext),
+                                                                                              currentTimeMillis()));
   }
 
   private void triggerStartingOperation(CoreEvent event, ComponentLocation componentLocation) {
@@ -575,8 +601,11 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
       return;
     }
     startingOperationExecutionDataProducer
-        .triggerProfilingEvent(new DefaultComponentThreadingProfilingEventContext(event, componentLocation, currentThread()
-            .getName(), getArtifactId(muleContext), getArtifactType(muleContext), currentTimeMillis()));
+        .triggerProfilingEvent(event, e -> new DefaultComponentThreadingProfilingEventContext(e, componentLocation,
+                                                                                              currentThread().getName(),
+                                                                                              getArtifactId(muleContext),
+                                                                                              getArtifactType(muleContext),
+                                                                                              currentTimeMillis()));
   }
 
   private static ComponentLocation getLocationIfComponent(Processor processor) {
@@ -624,12 +653,20 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     }
   }
 
-  private Function<? super Publisher<CoreEvent>, ? extends Publisher<CoreEvent>> doOnNextOrErrorWithContext(Consumer<Context> contextConsumer) {
+  /**
+   * Fuses the handling of the context and of the event into a single operator, instead of one operator for each.
+   *
+   * @param contextConsumer called with the subscriber context for each event or error.
+   * @param eventConsumer   called with each event, after {@code contextConsumer}.
+   */
+  private Function<? super Publisher<CoreEvent>, ? extends Publisher<CoreEvent>> doOnNextOrErrorWithContext(Consumer<Context> contextConsumer,
+                                                                                                            Consumer<CoreEvent> eventConsumer) {
     return lift((scannable, subscriber) -> new CoreSubscriber<CoreEvent>() {
 
       @Override
       public void onNext(CoreEvent event) {
         contextConsumer.accept(currentContext());
+        eventConsumer.accept(event);
         subscriber.onNext(event);
       }
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.api.classloader;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the classes looked up through a {@link FineGrainedControlClassLoader}.
+ * <p/>
+ * Only lookups that go through the {@link ClassLoaderLookupPolicy} are accounted for, classes already loaded by the class loader
+ * are not. The time of each lookup includes the time spent on the class loaders it was delegated to.
+ *
+ * @since 4.6
+ */
+public class ClassLoadingStatistics implements Statistics {
+
+  private static final long serialVersionUID = -2170353745629584916L;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder negativeCacheHits = new LongAdder();
+  private final LongAdder loadingNanos = new LongAdder();
+  private volatile boolean enabled = true;
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Records a lookup that found the requested class.
+   *
+   * @param nanos the time spent on the lookup.
+   */
+  public void incHits(long nanos) {
+    if (enabled) {
+      hits.increment();
+      loadingNanos.add(nanos);
+    }
+  }
+
+  /**
+   * Records a lookup that did not find the requested class.
+   *
+   * @param nanos the time spent on the lookup.
+   */
+  public void incMisses(long nanos) {
+    if (enabled) {
+      misses.increment();
+      loadingNanos.add(nanos);
+    }
+  }
+
+  /**
+   * Records a lookup that was answered by a previously cached miss.
+   */
+  public void incNegativeCacheHits() {
+    if (enabled) {
+      negativeCacheHits.increment();
+    }
+  }
+
+  /**
+   * @return the number of lookups that found the requested class.
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of lookups that did not find the requested class.
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the number of lookups that were answered by a previously cached miss.
+   */
+  public long getNegativeCacheHits() {
+    return negativeCacheHits.sum();
+  }
+
+  /**
+   * @return the accumulated time, in nanoseconds, spent on lookups.
+   */
+  public long getLoadingNanos() {
+    return loadingNanos.sum();
+  }
+
+  public void clear() {
+    hits.reset();
+    misses.reset();
+    negativeCacheHits.reset();
+    loadingNanos.reset();
+  }
+}
@@ -9,6 +9,7 @@ package org.mule.runtime.module.artifact.api.classloader;
 import static java.lang.Boolean.valueOf;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LOG_VERBOSE_CLASSLOADING;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -51,6 +52,7 @@ public class FineGrainedControlClassLoader extends URLClassLoader
 
   private final ClassLoaderLookupPolicy lookupPolicy;
   private final boolean verboseLogging;
+  private final ClassLoadingStatistics statistics = new ClassLoadingStatistics();
 
   public FineGrainedControlClassLoader(URL[] urls, ClassLoader parent, ClassLoaderLookupPolicy lookupPolicy) {
     super(urls, parent, new NonCachingURLStreamHandlerFactory());
@@ -83,6 +85,7 @@ public class FineGrainedControlClassLoader extends URLClassLoader
     // Gather information about the exceptions in each of the searched class loaders to provide
     // troubleshooting information in case of throwing a ClassNotFoundException.
 
+    final long startNanos = statistics.isEnabled() ? nanoTime() : 0;
     List<ClassNotFoundException> exceptions = new ArrayList<>();
     for (ClassLoader classLoader : lookupStrategy.getClassLoaders(this)) {
       try {
@@ -99,6 +102,9 @@ public class FineGrainedControlClassLoader extends URLClassLoader
     }
 
     if (result == null) {
+      if (statistics.isEnabled()) {
+        statistics.incMisses(nanoTime() - startNanos);
+      }
       final CompositeClassNotFoundException compositeClassNotFoundException =
           new CompositeClassNotFoundException(name, lookupStrategy, exceptions);
       if (isVerboseLogging()) {
@@ -107,6 +113,10 @@ public class FineGrainedControlClassLoader extends URLClassLoader
       throw compositeClassNotFoundException;
     }
 
+    if (statistics.isEnabled()) {
+      statistics.incHits(nanoTime() - startNanos);
+    }
+
     if (isVerboseLogging()) {
       logLoadedClass(name, result);
     }
@@ -184,6 +194,14 @@ public class FineGrainedControlClassLoader extends URLClassLoader
     return lookupPolicy;
   }
 
+  /**
+   * @return the statistics about the classes looked up through this class loader.
+   * @since 4.6
+   */
+  public ClassLoadingStatistics getStatistics() {
+    return statistics;
+  }
+
   /**
    * Disposes the {@link ClassLoader} by closing all the resources opened by this {@link ClassLoader}. See
    * {@link URLClassLoader#close()}.
@@ -7,12 +7,17 @@
 
 package org.mule.runtime.module.artifact.api.classloader;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.module.artifact.api.descriptor.ArtifactConstants.getApiClassifiers;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.Integer.toHexString;
 import static java.lang.String.format;
 import static java.lang.System.identityHashCode;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
 
@@ -39,9 +44,10 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 
 import org.slf4j.Logger;
@@ -61,6 +67,11 @@ import org.slf4j.Logger;
  * <p/>
  * Only a region member can export a given package, but same resources can be exported by many members. The order in which the
  * resources are found will depend on the order in which the class loaders were added to the region.
+ * <p/>
+ * The package and resource mappings of the region are kept in an immutable index that is rebuilt each time a member is added, so
+ * lookups don't need any locking. Classes that could not be found through the region may also be remembered, up to
+ * {@link #NEGATIVE_LOOKUP_CACHE_SIZE_PROPERTY} of them, so probing for the same missing class doesn't go through the whole
+ * delegation chain again. That cache is cleared whenever the members of the region change.
  */
 public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
 
@@ -69,16 +80,22 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
     registerAsParallelCapable();
   }
 
+  /**
+   * Maximum number of missing classes remembered by each region. The cache is disabled when not positive, which is the default.
+   *
+   * @since 4.6
+   */
+  public static final String NEGATIVE_LOOKUP_CACHE_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "classloader.negativeLookupCacheSize";
+
   private static final String CLASS_EXTENSION = ".class";
   private static final Logger LOGGER = getLogger(RegionClassLoader.class);
 
-  private final ReadWriteLock innerStateRWLock = new ReentrantReadWriteLock();
-  private final Lock innerStateReadLock = innerStateRWLock.readLock();
-  private final Lock innerStateWriteLock = innerStateRWLock.writeLock();
+  private final Lock innerStateWriteLock = new ReentrantLock();
 
   private final List<RegionMemberClassLoader> registeredClassLoaders = new ArrayList<>();
-  private final Map<String, ArtifactClassLoader> packageMapping = new HashMap<>();
-  private final Map<String, List<ArtifactClassLoader>> resourceMapping = new HashMap<>();
+  private volatile RegionIndex index = RegionIndex.EMPTY;
+  private final Set<String> negativeLookupCache = ConcurrentHashMap.newKeySet();
+  private final int negativeLookupCacheSize = getInteger(NEGATIVE_LOOKUP_CACHE_SIZE_PROPERTY, 0);
   private final Object descriptorMappingLock = new Object();
   private final Map<BundleDescriptor, URLClassLoader> descriptorMapping = new HashMap<>();
 
@@ -156,6 +173,9 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
         registeredClassLoaders.add(new RegionMemberClassLoader(artifactClassLoader, filter));
       }
 
+      final Map<String, ArtifactClassLoader> packageMapping = new HashMap<>(index.packageMapping);
+      final Map<String, List<ArtifactClassLoader>> resourceMapping = new HashMap<>(index.resourceMapping);
+
       filter.getExportedClassPackages().forEach(p -> {
         LookupStrategy packageLookupStrategy = getClassLoaderLookupPolicy().getPackageLookupStrategy(p);
         if (!(packageLookupStrategy instanceof ChildFirstLookupStrategy)) {
@@ -168,28 +188,33 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
       });
 
       for (String exportedResource : filter.getExportedResources()) {
-        List<ArtifactClassLoader> classLoaders =
-            resourceMapping.computeIfAbsent(normalize(exportedResource, true), k -> new ArrayList<>());
-
-        classLoaders.add(artifactClassLoader);
+        addResourceMapping(resourceMapping, normalize(exportedResource, true), artifactClassLoader);
       }
 
       // *.class files may be requested as resources.
       for (String exportedClassPackage : filter.getExportedClassPackages()) {
         String packageAsDirectory =
             DOT_REPLACEMENT_PATTERN.matcher(exportedClassPackage).replaceAll(PATH_SEPARATOR);
-        List<ArtifactClassLoader> classLoaders =
-            resourceMapping.computeIfAbsent(packageAsDirectory, k -> new ArrayList<>());
-        classLoaders.add(artifactClassLoader);
-        classLoaders =
-            resourceMapping.computeIfAbsent(packageAsDirectory + PATH_SEPARATOR, k -> new ArrayList<>());
-        classLoaders.add(artifactClassLoader);
+        addResourceMapping(resourceMapping, packageAsDirectory, artifactClassLoader);
+        addResourceMapping(resourceMapping, packageAsDirectory + PATH_SEPARATOR, artifactClassLoader);
       }
+
+      index = new RegionIndex(packageMapping, resourceMapping);
+      negativeLookupCache.clear();
     } finally {
       innerStateWriteLock.unlock();
     }
   }
 
+  private static void addResourceMapping(Map<String, List<ArtifactClassLoader>> resourceMapping, String resource,
+                                         ArtifactClassLoader artifactClassLoader) {
+    resourceMapping.compute(resource, (k, classLoaders) -> {
+      List<ArtifactClassLoader> updated = classLoaders == null ? new ArrayList<>(1) : new ArrayList<>(classLoaders);
+      updated.add(artifactClassLoader);
+      return unmodifiableList(updated);
+    });
+  }
+
   /**
    * Retrieves the nearest {@link RegionClassLoader} in the ancestors chain of the given class loader (including itself).
    * 
@@ -265,6 +290,7 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
       }
 
       registeredClassLoaders.remove(index);
+      negativeLookupCache.clear();
 
       return true;
     } finally {
@@ -273,29 +299,48 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
   }
 
   @Override
-  public Class<?> findLocalClass(String name) throws ClassNotFoundException {
-    innerStateReadLock.lock();
+  protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+    if (negativeLookupCacheSize <= 0) {
+      return super.loadClass(name, resolve);
+    }
+
+    if (negativeLookupCache.contains(name)) {
+      getStatistics().incNegativeCacheHits();
+      // A shared instance would carry the stack trace of the first miss, and whatever its callers attach to it
+      throw new ClassNotFoundException(name);
+    }
+
     try {
-      final String packageName = getPackageName(name);
-
-      final ArtifactClassLoader artifactClassLoader = packageMapping.get(packageName);
-      if (artifactClassLoader != null) {
-        try {
-          return artifactClassLoader.findLocalClass(name);
-        } catch (ClassNotFoundException e) {
-          throw new ClassNotFoundInRegionException(name, getArtifactId(), artifactClassLoader.getArtifactId(), e);
-        }
-      } else {
-        throw new ClassNotFoundInRegionException(name, getArtifactId());
+      return super.loadClass(name, resolve);
+    } catch (ClassNotFoundException e) {
+      // The cache is not evicted, once full the new misses are just not remembered
+      if (negativeLookupCache.size() < negativeLookupCacheSize) {
+        negativeLookupCache.add(name);
       }
-    } finally {
-      innerStateReadLock.unlock();
+      throw e;
+    }
+  }
+
+  @Override
+  public Class<?> findLocalClass(String name) throws ClassNotFoundException {
+    final String packageName = getPackageName(name);
+
+    final ArtifactClassLoader artifactClassLoader = index.packageMapping.get(packageName);
+    if (artifactClassLoader != null) {
+      try {
+        return artifactClassLoader.findLocalClass(name);
+      } catch (ClassNotFoundException e) {
+        throw new ClassNotFoundInRegionException(name, getArtifactId(), artifactClassLoader.getArtifactId(), e);
+      }
+    } else {
+      throw new ClassNotFoundInRegionException(name, getArtifactId());
     }
   }
 
   @Override
   public final URL findResource(final String name) {
     String normalizedName = normalize(name, true);
+    final Map<String, List<ArtifactClassLoader>> resourceMapping = index.resourceMapping;
     // Check exported resources and all matching artifacts
     final List<ArtifactClassLoader> artifactClassLoaders = resourceMapping.get(normalizedName);
     if (artifactClassLoaders != null) {
@@ -398,6 +443,7 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
   public final Enumeration<URL> findResources(final String name) throws IOException {
     String normalizedName = normalize(name, true);
     List<Enumeration<URL>> enumerations = new ArrayList<>(registeredClassLoaders.size());
+    final Map<String, List<ArtifactClassLoader>> resourceMapping = index.resourceMapping;
     if (normalizedName.endsWith("/")) {
       List<Map.Entry<String, List<ArtifactClassLoader>>> entries = resourceMapping.entrySet()
           .stream()
@@ -436,8 +482,8 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
       }
     });
     descriptorMapping.clear();
-    packageMapping.clear();
-    resourceMapping.clear();
+    index = RegionIndex.EMPTY;
+    negativeLookupCache.clear();
 
     disposeClassLoader(ownerClassLoader);
     super.dispose();
@@ -481,6 +527,23 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
     return "Region already contains classloader for artifact:" + artifactId;
   }
 
+  /**
+   * Immutable snapshot of the package and resource mappings of the region.
+   */
+  private static final class RegionIndex {
+
+    private static final RegionIndex EMPTY = new RegionIndex(emptyMap(), emptyMap());
+
+    final Map<String, ArtifactClassLoader> packageMapping;
+    final Map<String, List<ArtifactClassLoader>> resourceMapping;
+
+    private RegionIndex(Map<String, ArtifactClassLoader> packageMapping,
+                        Map<String, List<ArtifactClassLoader>> resourceMapping) {
+      this.packageMapping = unmodifiableMap(packageMapping);
+      this.resourceMapping = unmodifiableMap(resourceMapping);
+    }
+  }
+
   private static class RegionMemberClassLoader {
 
     final ArtifactClassLoader unfilteredClassLoader;
@@ -10,6 +10,7 @@ package org.mule.runtime.module.artifact.api.classloader;
 import static org.mule.runtime.module.artifact.api.classloader.ChildFirstLookupStrategy.CHILD_FIRST;
 import static org.mule.runtime.module.artifact.api.classloader.DefaultArtifactClassLoaderFilter.NULL_CLASSLOADER_FILTER;
 import static org.mule.runtime.module.artifact.api.classloader.ParentFirstLookupStrategy.PARENT_FIRST;
+import static org.mule.runtime.module.artifact.api.classloader.RegionClassLoader.NEGATIVE_LOOKUP_CACHE_SIZE_PROPERTY;
 import static org.mule.runtime.module.artifact.api.classloader.RegionClassLoader.REGION_OWNER_CANNOT_BE_REMOVED_ERROR;
 import static org.mule.runtime.module.artifact.api.classloader.RegionClassLoader.createCannotRemoveClassLoaderError;
 import static org.mule.runtime.module.artifact.api.classloader.RegionClassLoader.createClassLoaderAlreadyInRegionError;
@@ -21,6 +22,8 @@ import static org.mule.test.allure.AllureConstants.ClassloadingIsolationFeature.
 import static org.mule.test.allure.AllureConstants.ClassloadingIsolationFeature.ClassloadingIsolationStory.ARTIFACT_CLASSLOADERS;
 
 import static java.lang.String.format;
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.list;
 import static java.util.Collections.singleton;
@@ -156,6 +159,98 @@ public class RegionClassLoaderTestCase extends AbstractMuleTestCase {
   }
 
 
+  @Test
+  public void cachesMissesUntilRegionChanges() throws Exception {
+    final ClassLoader parentClassLoader = mock(ClassLoader.class);
+    when(parentClassLoader.loadClass(CLASS_NAME)).thenThrow(new ClassNotFoundException());
+    when(lookupPolicy.getClassLookupStrategy(CLASS_NAME)).thenReturn(CHILD_FIRST);
+
+    final RegionClassLoader regionClassLoader = createRegionWithNegativeLookupCache(parentClassLoader, 10);
+    createClassLoaders(regionClassLoader).forEach(classLoader -> regionClassLoader.addClassLoader(classLoader,
+                                                                                                  NULL_CLASSLOADER_FILTER));
+
+    assertClassNotFound(regionClassLoader);
+    assertClassNotFound(regionClassLoader);
+    verify(parentClassLoader, times(1)).loadClass(CLASS_NAME);
+    assertThat(regionClassLoader.getStatistics().getMisses(), is(1L));
+    assertThat(regionClassLoader.getStatistics().getNegativeCacheHits(), is(1L));
+
+    regionClassLoader.addClassLoader(new TestArtifactClassLoader(regionClassLoader), NULL_CLASSLOADER_FILTER);
+    assertClassNotFound(regionClassLoader);
+    verify(parentClassLoader, times(2)).loadClass(CLASS_NAME);
+  }
+
+  @Test
+  public void cachedMissesThrowNewExceptions() throws Exception {
+    final ClassLoader parentClassLoader = mock(ClassLoader.class);
+    when(parentClassLoader.loadClass(CLASS_NAME)).thenThrow(new ClassNotFoundException());
+    when(lookupPolicy.getClassLookupStrategy(CLASS_NAME)).thenReturn(CHILD_FIRST);
+
+    final RegionClassLoader regionClassLoader = createRegionWithNegativeLookupCache(parentClassLoader, 10);
+    createClassLoaders(regionClassLoader).forEach(classLoader -> regionClassLoader.addClassLoader(classLoader,
+                                                                                                  NULL_CLASSLOADER_FILTER));
+
+    assertClassNotFound(regionClassLoader);
+    final ClassNotFoundException firstHit = assertClassNotFound(regionClassLoader);
+    final ClassNotFoundException secondHit = assertClassNotFound(regionClassLoader);
+    assertThat(regionClassLoader.getStatistics().getNegativeCacheHits(), is(2L));
+    assertThat(firstHit == secondHit, is(false));
+    assertThat(secondHit.getMessage(), equalTo(CLASS_NAME));
+  }
+
+  @Test
+  public void doesNotCacheMissesByDefault() throws Exception {
+    final ClassLoader parentClassLoader = mock(ClassLoader.class);
+    when(parentClassLoader.loadClass(CLASS_NAME)).thenThrow(new ClassNotFoundException());
+    when(lookupPolicy.getClassLookupStrategy(CLASS_NAME)).thenReturn(CHILD_FIRST);
+
+    RegionClassLoader regionClassLoader = new RegionClassLoader(ARTIFACT_ID, artifactDescriptor, parentClassLoader, lookupPolicy);
+    createClassLoaders(regionClassLoader).forEach(classLoader -> regionClassLoader.addClassLoader(classLoader,
+                                                                                                  NULL_CLASSLOADER_FILTER));
+
+    assertClassNotFound(regionClassLoader);
+    assertClassNotFound(regionClassLoader);
+    verify(parentClassLoader, times(2)).loadClass(CLASS_NAME);
+    assertThat(regionClassLoader.getStatistics().getMisses(), is(2L));
+    assertThat(regionClassLoader.getStatistics().getNegativeCacheHits(), is(0L));
+  }
+
+  @Test
+  public void countsLoadedClasses() throws Exception {
+    final ClassLoader parentClassLoader = mock(ClassLoader.class);
+    when(parentClassLoader.loadClass(CLASS_NAME)).thenReturn(PARENT_LOADED_CLASS);
+    when(lookupPolicy.getClassLookupStrategy(CLASS_NAME)).thenReturn(CHILD_FIRST);
+
+    RegionClassLoader regionClassLoader = new RegionClassLoader(ARTIFACT_ID, artifactDescriptor, parentClassLoader, lookupPolicy);
+    createClassLoaders(regionClassLoader).forEach(classLoader -> regionClassLoader.addClassLoader(classLoader,
+                                                                                                  NULL_CLASSLOADER_FILTER));
+
+    regionClassLoader.loadClass(CLASS_NAME);
+    regionClassLoader.loadClass(CLASS_NAME);
+    assertThat(regionClassLoader.getStatistics().getHits(), is(2L));
+    assertThat(regionClassLoader.getStatistics().getMisses(), is(0L));
+  }
+
+  private RegionClassLoader createRegionWithNegativeLookupCache(ClassLoader parentClassLoader, int size) {
+    setProperty(NEGATIVE_LOOKUP_CACHE_SIZE_PROPERTY, Integer.toString(size));
+    try {
+      return new RegionClassLoader(ARTIFACT_ID, artifactDescriptor, parentClassLoader, lookupPolicy);
+    } finally {
+      clearProperty(NEGATIVE_LOOKUP_CACHE_SIZE_PROPERTY);
+    }
+  }
+
+  private ClassNotFoundException assertClassNotFound(RegionClassLoader regionClassLoader) {
+    try {
+      regionClassLoader.loadClass(CLASS_NAME);
+      Assert.fail("Class should not be found");
+      return null;
+    } catch (ClassNotFoundException e) {
+      // expected
+      return e;
+    }
+  }
+
   @Test
   public void loadsParentClassWhenIsNotDefinedInAnyRegionClassLoader() throws Exception {
     final ClassLoader parentClassLoader = mock(ClassLoader.class);
@@ -6,17 +6,20 @@
  */
 package org.mule.runtime.core.internal.processor;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static java.lang.System.lineSeparator;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.initialisationFailure;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.api.util.StringUtils.toHexString;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.compile;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
@@ -29,6 +32,7 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lock.LockFactory;
 import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.ObjectStoreManager;
@@ -45,6 +49,9 @@ import org.mule.runtime.core.privileged.exception.ErrorTypeLocator;
 import org.mule.runtime.core.privileged.exception.MessageRedeliveredException;
 
 import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
@@ -63,6 +70,10 @@ import reactor.core.publisher.Mono;
 /**
  * Implement a retry policy for Mule. This is similar to JMS retry policies that will redeliver a message a maximum number of
  * times. If this maximum is exceeded, fails with an exception.
+ * <p>
+ * When {@link #LOCAL_REDELIVERY_TRACKING_PROPERTY} is set, the redelivery counters are tracked by a
+ * {@link LocalRedeliveryTracker}, which avoids accessing the object store for messages that don't fail, and the secure hash of
+ * {@link String} and {@code byte[]} payloads is calculated without evaluating an expression.
  */
 @NoExtend
 public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
@@ -82,6 +93,16 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
       "else " +
       "Crypto::hashWith(payload.^raw, '%s')";
 
+  /**
+   * Tracks the redelivery counters of messages in memory, locking them locally. May only be set when each message is always
+   * redelivered to the same node.
+   *
+   * @since 4.6
+   */
+  public static final String LOCAL_REDELIVERY_TRACKING_PROPERTY = SYSTEM_PROPERTY_PREFIX + "redeliveryPolicy.localTracking";
+
+  private static final int MAX_TRACKED_COUNTERS = 10000;
+
   private static final Logger LOGGER = getLogger(IdempotentRedeliveryPolicy.class);
 
   private final MessagingExceptionResolver exceptionResolver = new MessagingExceptionResolver(this);
@@ -105,6 +126,11 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
   private String idrId;
   private boolean isOwnedObjectStore;
 
+  private boolean localTracking = getBoolean(LOCAL_REDELIVERY_TRACKING_PROPERTY);
+  private LocalRedeliveryTracker tracker;
+  private ThreadLocal<MessageDigest> messageDigest;
+  private Charset defaultCharset;
+
 
   /**
    * Holds information about the redelivery failures.
@@ -125,6 +151,38 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
     super.initialise();
     initialiseExpression();
     initialiseStore();
+    if (localTracking) {
+      initialiseLocalTracking();
+    }
+  }
+
+  private void initialiseLocalTracking() throws InitialisationException {
+    try {
+      tracker = new LocalRedeliveryTracker(store, MAX_TRACKED_COUNTERS);
+    } catch (ObjectStoreException e) {
+      throw new InitialisationException(createStaticMessage("Could not read the redelivery counters of the object store"), e,
+                                        this);
+    }
+
+    if (useSecureHash) {
+      try {
+        MessageDigest.getInstance(messageDigestAlgorithm);
+      } catch (NoSuchAlgorithmException e) {
+        throw new InitialisationException(initialisationFailure(format("The message digest algorithm '%s' is not available",
+                                                                       messageDigestAlgorithm)),
+                                          e, this);
+      }
+      String algorithm = messageDigestAlgorithm;
+      messageDigest = ThreadLocal.withInitial(() -> {
+        try {
+          return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+          // already validated
+          throw new IllegalStateException(e);
+        }
+      });
+      defaultCharset = Charset.forName(muleContext.getConfiguration().getDefaultEncoding());
+    }
   }
 
   private void initialiseExpression() throws InitialisationException {
@@ -256,7 +314,7 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
       throw new ExpressionRuntimeException(createStaticMessage(BLANK_MESSAGE_ID_ERROR_MSG));
     }
 
-    Lock lock = lockFactory.createLock(idrId + "-" + messageId);
+    Lock lock = createLock(messageId);
     lock.lock();
     try {
 
@@ -270,9 +328,13 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
       try {
         CoreEvent returnEvent =
             processToApply(event, nestedChain, false, Mono.from(((BaseEventContext) event.getContext()).getResponsePublisher()));
-        counter = findCounter(messageId);
-        if (counter != null) {
-          resetCounter(messageId);
+        if (tracker != null && messageId != null) {
+          tracker.succeeded(messageId);
+        } else {
+          counter = findCounter(messageId);
+          if (counter != null) {
+            resetCounter(messageId);
+          }
         }
         return returnEvent;
       } catch (MessagingException ex) {
@@ -298,12 +360,22 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
     return exceptionResolver.resolve(new MessagingException(event, cause, this), errorTypeLocator, exceptionContextProviders);
   }
 
+  private Lock createLock(String messageId) {
+    if (tracker != null && messageId != null) {
+      return tracker.getLock(messageId);
+    }
+    return lockFactory.createLock(idrId + "-" + messageId);
+  }
+
   private void resetCounter(String messageId) throws ObjectStoreException {
     store.remove(messageId);
     store.store(messageId, new RedeliveryCounter());
   }
 
   public RedeliveryCounter findCounter(String messageId) throws ObjectStoreException {
+    if (tracker != null && messageId != null) {
+      return tracker.find(messageId);
+    }
     boolean counterExists = store.contains(messageId);
     if (counterExists) {
       return store.retrieve(messageId);
@@ -312,6 +384,17 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
   }
 
   private RedeliveryCounter incrementCounter(String messageId, MessagingException ex) throws ObjectStoreException {
+    if (tracker != null && messageId != null) {
+      RedeliveryCounter counter = tracker.find(messageId);
+      if (counter == null) {
+        counter = new RedeliveryCounter();
+      }
+      counter.counter.incrementAndGet();
+      ex.getEvent().getError().ifPresent(counter.errors::add);
+      tracker.failed(messageId, counter);
+      return counter;
+    }
+
     RedeliveryCounter counter = findCounter(messageId);
     if (counter == null) {
       counter = new RedeliveryCounter();
@@ -325,11 +408,37 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
   }
 
   private String getIdForEvent(CoreEvent event) {
+    if (messageDigest != null) {
+      TypedValue<Object> payload = event.getMessage().getPayload();
+      Object value = payload.getValue();
+      if (value instanceof String) {
+        return digest(((String) value).getBytes(payload.getDataType().getMediaType().getCharset().orElse(defaultCharset)));
+      } else if (value instanceof byte[]) {
+        return digest((byte[]) value);
+      }
+    }
+
     try (ExpressionLanguageSession session = expressionManager.openSession(event.asBindingContext())) {
       return (String) session.evaluate(compiledIdExpresion, STRING).getValue();
     }
   }
 
+  private String digest(byte[] bytes) {
+    // digest resets the MessageDigest, so it can be reused by the next event of this thread
+    return toHexString(messageDigest.get().digest(bytes));
+  }
+
+  /**
+   * Sets whether the redelivery counters are tracked in memory instead of only in the object store. Overrides
+   * {@link #LOCAL_REDELIVERY_TRACKING_PROPERTY}.
+   *
+   * @param localTracking whether the redelivery counters are tracked in memory.
+   * @since 4.6
+   */
+  public void setLocalTracking(boolean localTracking) {
+    this.localTracking = localTracking;
+  }
+
   public boolean isUseSecureHash() {
     return useSecureHash;
   }
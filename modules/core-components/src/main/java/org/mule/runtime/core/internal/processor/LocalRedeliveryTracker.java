@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor;
+
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.internal.processor.IdempotentRedeliveryPolicy.RedeliveryCounter;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the redelivery counters of an {@link IdempotentRedeliveryPolicy} in memory, locking each message with a local lock
+ * instead of one from the {@link org.mule.runtime.api.lock.LockFactory}. The local locks only exist while they are held or
+ * waited for, so messages with different ids never block each other.
+ * <p>
+ * Counters are written to the object store only when a message fails, and the object store is only read for counters that this
+ * tracker may not have in memory: the ones evicted because of the size bound, and the ones that were already in the store when
+ * it was created. So, messages that don't fail don't access the object store at all.
+ * <p>
+ * Those counters not in memory may also expire from the store. When a message is not found in the store, the number of counters
+ * that may be in the store but not in memory is recounted from the keys of the store, at most once per reconcile interval, so
+ * that messages stop being looked up in the store once those counters have expired.
+ * <p>
+ * Since neither the locks nor the counters in memory are shared with other nodes, this may only be used when each message is
+ * always redelivered to the same node.
+ *
+ * @since 4.6
+ */
+final class LocalRedeliveryTracker {
+
+  private static final long DEFAULT_RECONCILE_INTERVAL_NANOS = MINUTES.toNanos(1);
+
+  private final ObjectStore<RedeliveryCounter> store;
+  private final Map<String, LockEntry> locks = new ConcurrentHashMap<>();
+  private final int maxCounters;
+
+  private final Map<String, RedeliveryCounter> counters = new ConcurrentHashMap<>();
+  // counters in the order they were added, to evict the oldest ones
+  private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger insertionOrderSize = new AtomicInteger();
+  // upper bound of the counters that may be in the store but not in memory
+  private final AtomicLong untracked;
+  private final long reconcileIntervalNanos;
+  private final AtomicLong lastReconcile = new AtomicLong(nanoTime());
+
+  /**
+   * @param store       the store where counters are persisted
+   * @param maxCounters the maximum number of counters to keep in memory
+   */
+  LocalRedeliveryTracker(ObjectStore<RedeliveryCounter> store, int maxCounters) throws ObjectStoreException {
+    this(store, maxCounters, DEFAULT_RECONCILE_INTERVAL_NANOS);
+  }
+
+  /**
+   * @param store                  the store where counters are persisted
+   * @param maxCounters            the maximum number of counters to keep in memory
+   * @param reconcileIntervalNanos the minimum time between recounts of the counters that may be in the store but not in memory
+   */
+  LocalRedeliveryTracker(ObjectStore<RedeliveryCounter> store, int maxCounters, long reconcileIntervalNanos)
+      throws ObjectStoreException {
+    this.store = store;
+    this.maxCounters = maxCounters;
+    this.untracked = new AtomicLong(store.allKeys().size());
+    this.reconcileIntervalNanos = reconcileIntervalNanos;
+  }
+
+  /**
+   * @param messageId the id of a message
+   * @return the lock to hold while the message with the given id is processed. Each returned lock may only be used by one
+   *         thread.
+   */
+  Lock getLock(String messageId) {
+    return new MessageLock(messageId);
+  }
+
+  /**
+   * Must be called while holding the {@link #getLock(String) lock} for {@code messageId}.
+   *
+   * @param messageId the id of a message
+   * @return the counter of the message, or {@code null} if it has not failed.
+   */
+  RedeliveryCounter find(String messageId) throws ObjectStoreException {
+    RedeliveryCounter counter = counters.get(messageId);
+    if (counter != null || untracked.get() == 0) {
+      return counter;
+    }
+    if (!store.contains(messageId)) {
+      reconcileIfDue();
+      return null;
+    }
+
+    counter = store.retrieve(messageId);
+    untracked.updateAndGet(current -> max(0, current - 1));
+    track(messageId, counter);
+    return counter;
+  }
+
+  /**
+   * Persists the given counter of a message that failed. Must be called while holding the {@link #getLock(String) lock} for
+   * {@code messageId}.
+   *
+   * @param messageId the id of a message
+   * @param counter   the updated counter of the message
+   */
+  void failed(String messageId, RedeliveryCounter counter) throws ObjectStoreException {
+    if (store.contains(messageId)) {
+      store.remove(messageId);
+    }
+    store.store(messageId, counter);
+    if (counters.containsKey(messageId)) {
+      counters.put(messageId, counter);
+    } else {
+      track(messageId, counter);
+    }
+  }
+
+  /**
+   * Discards the counter of a message that succeeded. Must be called while holding the {@link #getLock(String) lock} for
+   * {@code messageId}.
+   *
+   * @param messageId the id of a message
+   */
+  void succeeded(String messageId) throws ObjectStoreException {
+    boolean tracked = counters.remove(messageId) != null;
+    // the counter may have been evicted from memory while the message was processed
+    if (!tracked && untracked.get() == 0) {
+      return;
+    }
+    if (store.contains(messageId)) {
+      store.remove(messageId);
+      if (!tracked) {
+        untracked.updateAndGet(current -> max(0, current - 1));
+      }
+    } else if (!tracked) {
+      reconcileIfDue();
+    }
+  }
+
+  private void reconcileIfDue() throws ObjectStoreException {
+    long last = lastReconcile.get();
+    long now = nanoTime();
+    if (now - last >= reconcileIntervalNanos && lastReconcile.compareAndSet(last, now)) {
+      reconcile();
+    }
+  }
+
+  /**
+   * Recounts the counters that are in the store but not in memory, since the ones that expired from the store are not removed
+   * from {@link #untracked}. If it changes while counting, the count is discarded, so it never goes below the actual number.
+   */
+  private void reconcile() throws ObjectStoreException {
+    long before = untracked.get();
+    long count = store.allKeys().stream().filter(id -> !counters.containsKey(id)).count();
+    untracked.compareAndSet(before, count);
+  }
+
+  private void track(String messageId, RedeliveryCounter counter) {
+    counters.put(messageId, counter);
+    insertionOrder.add(messageId);
+
+    int size = insertionOrderSize.incrementAndGet();
+    while (size > maxCounters) {
+      String oldest = insertionOrder.poll();
+      if (oldest == null) {
+        break;
+      }
+      size = insertionOrderSize.decrementAndGet();
+      if (counters.remove(oldest) != null) {
+        // still in the store
+        untracked.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * @return the number of counters kept in memory.
+   */
+  int getTrackedCount() {
+    return counters.size();
+  }
+
+  /**
+   * @return the number of messages whose lock is held or waited for.
+   */
+  int getLockedCount() {
+    return locks.size();
+  }
+
+  private static final class LockEntry {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // only accessed while computing the entry in the map
+    private int users;
+  }
+
+  /**
+   * Gets the lock of its message from {@link #locks} when locking it, and removes it from there when it is unlocked by its last
+   * user. Since the underlying lock only exists while it is held or waited for, conditions may only be created while holding it.
+   */
+  private final class MessageLock implements Lock {
+
+    private final String messageId;
+    private LockEntry entry;
+
+    private MessageLock(String messageId) {
+      this.messageId = messageId;
+    }
+
+    private LockEntry retain() {
+      return locks.compute(messageId, (id, current) -> {
+        LockEntry retained = current != null ? current : new LockEntry();
+        retained.users++;
+        return retained;
+      });
+    }
+
+    private void release() {
+      locks.computeIfPresent(messageId, (id, current) -> --current.users == 0 ? null : current);
+    }
+
+    @Override
+    public void lock() {
+      LockEntry retained = retain();
+      retained.lock.lock();
+      entry = retained;
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+      LockEntry retained = retain();
+      try {
+        retained.lock.lockInterruptibly();
+      } catch (InterruptedException e) {
+        release();
+        throw e;
+      }
+      entry = retained;
+    }
+
+    @Override
+    public boolean tryLock() {
+      LockEntry retained = retain();
+      if (!retained.lock.tryLock()) {
+        release();
+        return false;
+      }
+      entry = retained;
+      return true;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+      LockEntry retained = retain();
+      boolean locked = false;
+      try {
+        locked = retained.lock.tryLock(time, unit);
+      } finally {
+        if (!locked) {
+          release();
+        }
+      }
+      if (locked) {
+        entry = retained;
+      }
+      return locked;
+    }
+
+    @Override
+    public void unlock() {
+      LockEntry held = entry;
+      if (held == null) {
+        throw new IllegalMonitorStateException("Lock for message '" + messageId + "' is not held");
+      }
+      if (held.lock.getHoldCount() == 1) {
+        entry = null;
+      }
+      held.lock.unlock();
+      release();
+    }
+
+    @Override
+    public Condition newCondition() {
+      LockEntry held = entry;
+      if (held == null) {
+        throw new IllegalMonitorStateException("Lock for message '" + messageId + "' must be held to create a condition");
+      }
+      return held.lock.newCondition();
+    }
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Arrays.asList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.api.metadata.TypedValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Allows a {@link ChoiceRouter} to select a route by evaluating a single expression and looking up its value, instead of
+ * evaluating the expression of each route in order.
+ * <p>
+ * An index can only be created when the expressions of all the routes compare the same selector to string literals, in one of
+ * these forms:
+ * <ul>
+ * <li>{@code selector == 'a'}, or {@code 'a' == selector}</li>
+ * <li>{@code selector == 'a' or selector == 'b'}</li>
+ * <li>{@code ['a', 'b'] contains selector}</li>
+ * </ul>
+ * where the selector is a path like {@code attributes.headers.type}. Those expressions are {@code true} for a string value of the
+ * selector only if it is one of the literals, so the index gives the same route for such values as evaluating the expressions.
+ * For any other value the expressions have to be evaluated.
+ *
+ * @since 4.6
+ */
+final class ChoiceRouteIndex {
+
+  private static final int MIN_ROUTES = 2;
+
+  private static final Set<String> RESERVED_WORDS =
+      new HashSet<>(asList("and", "as", "case", "default", "do", "else", "false", "fun", "if", "import", "is", "match", "not",
+                           "null", "otherwise", "true", "type", "unless", "using", "var"));
+
+  private final String selectorExpression;
+  private final Map<String, Integer> routePositions;
+  private final int noMatchPosition;
+
+  private ChoiceRouteIndex(String selector, Map<String, Integer> routePositions, int noMatchPosition) {
+    this.selectorExpression = "#[" + selector + "]";
+    this.routePositions = routePositions;
+    this.noMatchPosition = noMatchPosition;
+  }
+
+  /**
+   * @param routes the routes of a router, in order, without its default route
+   * @return an index for the given routes, or {@link Optional#empty()} if their expressions don't allow it.
+   */
+  static Optional<ChoiceRouteIndex> create(List<ProcessorRoute> routes) {
+    if (routes.size() < MIN_ROUTES) {
+      return empty();
+    }
+
+    String selector = null;
+    Map<String, Integer> routePositions = new HashMap<>();
+    for (int i = 0; i < routes.size(); ++i) {
+      ProcessorRoute route = routes.get(i);
+      if (!(route instanceof ProcessorExpressionRoute)) {
+        return empty();
+      }
+
+      Condition condition = parse(((ProcessorExpressionRoute) route).getExpression());
+      if (condition == null || (selector != null && !selector.equals(condition.selector))) {
+        return empty();
+      }
+      selector = condition.selector;
+      for (String value : condition.values) {
+        // the first route that accepts a value is the one taken
+        routePositions.putIfAbsent(value, i);
+      }
+    }
+
+    return of(new ChoiceRouteIndex(selector, routePositions, routes.size()));
+  }
+
+  /**
+   * @return the expression to evaluate to get the value to look up.
+   */
+  String getSelectorExpression() {
+    return selectorExpression;
+  }
+
+  /**
+   * @param selectorValue the value of the selector
+   * @return the position of the route to take for the given value, which is the one after the indexed routes if none of them
+   *         accepts it, or {@code -1} if the expressions of the routes have to be evaluated for the given value.
+   */
+  int getRoutePosition(TypedValue<?> selectorValue) {
+    if (!(selectorValue.getValue() instanceof String) || !isReadAsIs(selectorValue.getDataType().getMediaType())) {
+      return -1;
+    }
+    return routePositions.getOrDefault(selectorValue.getValue(), noMatchPosition);
+  }
+
+  // the expressions would parse strings of other media types, so they would not compare the string itself
+  private static boolean isReadAsIs(MediaType mediaType) {
+    String primaryType = mediaType.getPrimaryType();
+    String subType = mediaType.getSubType();
+    return (primaryType.equals("*") && subType.equals("*"))
+        || (primaryType.equals("text") && subType.equals("plain"))
+        || (primaryType.equals("application") && subType.equals("java"));
+  }
+
+  private static Condition parse(String expression) {
+    String body = expression.trim();
+    if (body.startsWith("#[") && body.endsWith("]")) {
+      body = body.substring(2, body.length() - 1);
+    }
+
+    List<Token> tokens = tokenize(body);
+    if (tokens == null || tokens.isEmpty()) {
+      return null;
+    }
+
+    return tokens.get(0).kind == Kind.OPEN ? parseContains(tokens) : parseEqualities(tokens);
+  }
+
+  // ['a', 'b'] contains selector
+  private static Condition parseContains(List<Token> tokens) {
+    List<String> values = new ArrayList<>();
+    int i = 1;
+    while (i < tokens.size() && tokens.get(i).kind == Kind.LITERAL) {
+      values.add(tokens.get(i).text);
+      i++;
+      if (i < tokens.size() && tokens.get(i).kind == Kind.COMMA) {
+        i++;
+        if (i == tokens.size() || tokens.get(i).kind != Kind.LITERAL) {
+          return null;
+        }
+      } else {
+        break;
+      }
+    }
+
+    if (values.isEmpty() || tokens.size() != i + 3
+        || tokens.get(i).kind != Kind.CLOSE
+        || tokens.get(i + 1).kind != Kind.CONTAINS
+        || tokens.get(i + 2).kind != Kind.PATH) {
+      return null;
+    }
+    return new Condition(tokens.get(i + 2).text, values);
+  }
+
+  // selector == 'a' or 'b' == selector ...
+  private static Condition parseEqualities(List<Token> tokens) {
+    String selector = null;
+    List<String> values = new ArrayList<>();
+    for (int i = 0; i < tokens.size(); i += 4) {
+      if (i + 3 > tokens.size() || tokens.get(i + 1).kind != Kind.EQUALS) {
+        return null;
+      }
+
+      Token left = tokens.get(i);
+      Token right = tokens.get(i + 2);
+      Token path;
+      if (left.kind == Kind.PATH && right.kind == Kind.LITERAL) {
+        path = left;
+        values.add(right.text);
+      } else if (left.kind == Kind.LITERAL && right.kind == Kind.PATH) {
+        path = right;
+        values.add(left.text);
+      } else {
+        return null;
+      }
+
+      if (selector != null && !selector.equals(path.text)) {
+        return null;
+      }
+      selector = path.text;
+
+      if (i + 3 < tokens.size() && tokens.get(i + 3).kind != Kind.OR) {
+        return null;
+      }
+    }
+
+    // a trailing 'or' is left without a condition
+    if (tokens.get(tokens.size() - 1).kind == Kind.OR) {
+      return null;
+    }
+    return new Condition(selector, values);
+  }
+
+  private static List<Token> tokenize(String body) {
+    List<Token> tokens = new ArrayList<>();
+    int i = 0;
+    while (i < body.length()) {
+      char c = body.charAt(i);
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (c == '\'' || c == '"') {
+        int end = body.indexOf(c, i + 1);
+        if (end < 0) {
+          return null;
+        }
+        String literal = body.substring(i + 1, end);
+        // escapes and interpolations are not supported
+        if (literal.indexOf('\\') >= 0 || literal.indexOf('$') >= 0) {
+          return null;
+        }
+        tokens.add(new Token(Kind.LITERAL, literal));
+        i = end + 1;
+      } else if (c == '=') {
+        if (!body.startsWith("==", i) || body.startsWith("===", i)) {
+          return null;
+        }
+        tokens.add(new Token(Kind.EQUALS, "=="));
+        i += 2;
+      } else if (c == '[') {
+        tokens.add(new Token(Kind.OPEN, "["));
+        i++;
+      } else if (c == ']') {
+        tokens.add(new Token(Kind.CLOSE, "]"));
+        i++;
+      } else if (c == ',') {
+        tokens.add(new Token(Kind.COMMA, ","));
+        i++;
+      } else if (Character.isLetter(c) || c == '_') {
+        int end = i;
+        while (end < body.length() && (isIdentifierPart(body.charAt(end))
+            || (body.charAt(end) == '.' && end + 1 < body.length() && isIdentifierStart(body.charAt(end + 1))))) {
+          end++;
+        }
+        String word = body.substring(i, end);
+        if (word.equals("or")) {
+          tokens.add(new Token(Kind.OR, word));
+        } else if (word.equals("contains")) {
+          tokens.add(new Token(Kind.CONTAINS, word));
+        } else if (RESERVED_WORDS.contains(word.split("\\.")[0])) {
+          return null;
+        } else {
+          tokens.add(new Token(Kind.PATH, word));
+        }
+        i = end;
+      } else {
+        return null;
+      }
+    }
+    return tokens;
+  }
+
+  private static boolean isIdentifierStart(char c) {
+    return Character.isLetter(c) || c == '_';
+  }
+
+  private static boolean isIdentifierPart(char c) {
+    return Character.isLetterOrDigit(c) || c == '_';
+  }
+
+  private enum Kind {
+    LITERAL, PATH, EQUALS, OPEN, CLOSE, COMMA, OR, CONTAINS
+  }
+
+  private static final class Token {
+
+    private final Kind kind;
+    private final String text;
+
+    private Token(Kind kind, String text) {
+      this.kind = kind;
+      this.text = text;
+    }
+  }
+
+  private static final class Condition {
+
+    private final String selector;
+    private final List<String> values;
+
+    private Condition(String selector, List<String> values) {
+      this.selector = selector;
+      this.values = values;
+    }
+  }
+}
@@ -6,8 +6,10 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.management.stats.RouterStatistics.TYPE_OUTBOUND;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
@@ -16,11 +18,13 @@ import org.mule.runtime.api.component.AbstractComponent;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
+import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.el.ExpressionManager;
 import org.mule.runtime.core.api.el.ExpressionManagerSession;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.api.management.stats.RouterStatistics;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.tracing.customization.ComponentExecutionInitialSpanInfo;
@@ -43,9 +47,19 @@ import reactor.core.publisher.Flux;
  * <p>
  * If a default route has been configured and no match has been found, the default route will be used. Otherwise it continues the
  * execution through the next MP in the chain.
+ * <p>
+ * When the expressions of all the routes compare the same value of the event to string literals, the route is selected by
+ * evaluating that value once and looking it up in a {@link ChoiceRouteIndex}.
  */
 public class ChoiceRouter extends AbstractComponent implements Router, RouterStatisticsRecorder, Lifecycle, MuleContextAware {
 
+  /**
+   * Disables the selection of routes through a {@link ChoiceRouteIndex}, so that the expression of each route is always evaluated.
+   *
+   * @since 4.6
+   */
+  public static final String DISABLE_ROUTE_INDEX_PROPERTY = SYSTEM_PROPERTY_PREFIX + "choice.disableRouteIndex";
+
   private final AtomicBoolean started = new AtomicBoolean(false);
   private final List<ProcessorRoute> routes = new ArrayList<>();
 
@@ -53,6 +67,8 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
   private RouterStatistics routerStatistics;
   private MuleContext muleContext;
   private ExpressionManager expressionManager;
+  private boolean routeIndexEnabled = !getBoolean(DISABLE_ROUTE_INDEX_PROPERTY);
+  private ChoiceRouteIndex routeIndex;
 
   public ChoiceRouter() {
     routerStatistics = new RouterStatistics(TYPE_OUTBOUND);
@@ -73,6 +89,9 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
     if (defaultProcessor == null) {
       defaultProcessor = event -> event;
     }
+    if (routeIndexEnabled) {
+      routeIndex = ChoiceRouteIndex.create(routes).orElse(null);
+    }
     routes.add(new ProcessorRoute(defaultProcessor));
 
     for (ProcessorRoute route : routes) {
@@ -114,6 +133,15 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
     defaultProcessor = processor;
   }
 
+  /**
+   * @param routeIndexEnabled whether routes may be selected through a {@link ChoiceRouteIndex}. Overrides
+   *                          {@link #DISABLE_ROUTE_INDEX_PROPERTY}.
+   * @since 4.6
+   */
+  public void setRouteIndexEnabled(boolean routeIndexEnabled) {
+    this.routeIndexEnabled = routeIndexEnabled;
+  }
+
   @Override
   public CoreEvent process(CoreEvent event) throws MuleException {
     return processToApply(event, this);
@@ -159,11 +187,38 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
     @Override
     protected void route(CoreEvent event) {
       ExecutableRoute selectedRoute;
+      int indexedPosition = -1;
       try (ExpressionManagerSession session = expressionManager.openSession(getLocation(), event, NULL_BINDING_CONTEXT)) {
-        selectedRoute = getRoutes().stream().filter(route -> route.shouldExecute(session)).findFirst().get();
+        if (routeIndex != null) {
+          indexedPosition = lookupRoutePosition(session);
+        }
+        if (indexedPosition >= 0) {
+          selectedRoute = getRoutes().get(indexedPosition);
+        } else {
+          selectedRoute = getRoutes().stream().filter(route -> route.shouldExecute(session)).findFirst().get();
+        }
       }
       selectedRoute.execute(event);
       updateStatistics(selectedRoute.getProcessor());
+      if (indexedPosition >= 0 && getRouterStatistics() != null && getRouterStatistics().isEnabled()) {
+        getRouterStatistics().incrementIndexedRoutedMessage(indexedPosition);
+      }
+    }
+
+    /**
+     * @return the position of the route for the value of the selector of the {@link ChoiceRouteIndex}, or {@code -1} if the
+     *         expression of each route has to be evaluated.
+     */
+    private int lookupRoutePosition(ExpressionManagerSession session) {
+      TypedValue<?> selectorValue;
+      try {
+        selectorValue = session.evaluate(routeIndex.getSelectorExpression());
+      } catch (ExpressionRuntimeException e) {
+        // the expressions of the routes will fail the same way, let them report it
+        return -1;
+      }
+
+      return routeIndex.getRoutePosition(selectorValue);
     }
 
   }
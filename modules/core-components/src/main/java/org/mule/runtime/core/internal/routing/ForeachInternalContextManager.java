@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.util.Collections.emptyMap;
 import static java.util.Optional.ofNullable;
 
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -39,27 +40,50 @@ class ForeachInternalContextManager {
     from(event).map(ctx -> ctx.remove(event));
   }
 
+  /**
+   * Holds the {@link ForeachContext} of each foreach scope the event is in, keyed by the id of the event context.
+   * <p>
+   * A copy of this context is made each time an event is built from another one, which happens several times for each element
+   * being iterated, while contexts are only added or removed when a foreach scope starts or ends. So, the contexts are kept in
+   * a map that is never modified once set, which copies can share.
+   */
   static class ForeachInternalContext implements EventInternalContext<ForeachInternalContext> {
 
-    private Map<String, ForeachContext> contexts = new HashMap<>();
+    private Map<String, ForeachContext> contexts;
+
+    ForeachInternalContext() {
+      this(emptyMap());
+    }
+
+    private ForeachInternalContext(Map<String, ForeachContext> contexts) {
+      this.contexts = contexts;
+    }
 
     public ForeachContext get(CoreEvent event) {
       return contexts.get(event.getContext().getId());
     }
 
     public void put(CoreEvent event, ForeachContext context) {
-      contexts.put(event.getContext().getId(), context);
+      Map<String, ForeachContext> updated = new HashMap<>(contexts);
+      updated.put(event.getContext().getId(), context);
+      contexts = updated;
     }
 
     public ForeachContext remove(CoreEvent event) {
-      return contexts.remove(event.getContext().getId());
+      String id = event.getContext().getId();
+      if (!contexts.containsKey(id)) {
+        return null;
+      }
+
+      Map<String, ForeachContext> updated = new HashMap<>(contexts);
+      ForeachContext removed = updated.remove(id);
+      contexts = updated;
+      return removed;
     }
 
     @Override
     public ForeachInternalContext copy() {
-      ForeachInternalContext other = new ForeachInternalContext();
-      other.contexts.putAll(this.contexts);
-      return other;
+      return new ForeachInternalContext(contexts);
     }
   }
 }
@@ -53,22 +53,43 @@ public interface ForkJoinStrategy {
   final class RoutingPair {
 
     private final MessageProcessorChain route;
+    private final int routeIndex;
     private final CoreEvent event;
 
     public static RoutingPair of(CoreEvent event, MessageProcessorChain route) {
-      return new RoutingPair(event, route);
+      return new RoutingPair(event, route, 0);
     }
 
-    private RoutingPair(CoreEvent event, MessageProcessorChain route) {
+    /**
+     * @param event      the event to process
+     * @param route      the route to process the event with
+     * @param routeIndex the position of the route among the ones of the router
+     * @return a new routing pair
+     * @since 4.6
+     */
+    public static RoutingPair of(CoreEvent event, MessageProcessorChain route, int routeIndex) {
+      return new RoutingPair(event, route, routeIndex);
+    }
+
+    private RoutingPair(CoreEvent event, MessageProcessorChain route, int routeIndex) {
 
       this.event = requireNonNull(event);
       this.route = requireNonNull(route);
+      this.routeIndex = routeIndex;
     }
 
     public MessageProcessorChain getRoute() {
       return route;
     }
 
+    /**
+     * @return the position of the route among the ones of the router.
+     * @since 4.6
+     */
+    public int getRouteIndex() {
+      return routeIndex;
+    }
+
     public CoreEvent getEvent() {
       return event;
     }
@@ -84,7 +105,7 @@ public interface ForkJoinStrategy {
 
       RoutingPair pair = (RoutingPair) o;
 
-      if (!route.equals(pair.route)) {
+      if (routeIndex != pair.routeIndex || !route.equals(pair.route)) {
         return false;
       }
       return event.equals(pair.event);
@@ -93,6 +114,7 @@ public interface ForkJoinStrategy {
     @Override
     public int hashCode() {
       int result = route.hashCode();
+      result = 31 * result + routeIndex;
       result = 31 * result + event.hashCode();
       return result;
     }
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.routing;
 import static org.mule.runtime.api.config.MuleRuntimeFeature.RETHROW_EXCEPTIONS_IN_IDEMPOTENT_MESSAGE_VALIDATOR;
 import static org.mule.runtime.api.el.BindingContextUtils.CORRELATION_ID;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.api.metadata.DataType.STRING;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_POSTFIX;
@@ -20,6 +21,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.compile;
 
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -33,6 +35,7 @@ import org.mule.runtime.api.el.ExpressionLanguageSession;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
@@ -45,8 +48,16 @@ import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.management.stats.IdempotentMessageValidatorStatistics;
+import org.mule.runtime.core.internal.util.ScalableBloomFilter;
 
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 
@@ -58,6 +69,15 @@ import org.slf4j.Logger;
  * of computing hashes(SHA,MD5) from the data. Note that the underlying endpoint must support unique message IDs for this to work,
  * otherwise a <code>UniqueIdNotSupportedException</code> is thrown.<br>
  * <p>
+ * Optionally, a {@link ScalableBloomFilter} of the ids seen by this validator may be kept in front of the object store, so that
+ * ids that were definitely never seen are not looked up in it. Also optionally, ids may be written to the object store in
+ * batches by a background task instead of on each message (write-behind). Until an id is written, it is kept in memory and
+ * duplicates of it are detected there. When both are enabled, an id that the filter determines was never seen is accepted
+ * without accessing the object store at all, so this validator must be the only one writing to it.
+ * <p>
+ * Since the object store expires ids but the filter cannot forget them, the filter is periodically rebuilt from the ids in the
+ * object store.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/IdempotentReceiver.html">
  * http://www.eaipatterns.com/IdempotentReceiver.html</a>
  */
@@ -82,6 +102,21 @@ public class IdempotentMessageValidator extends AbstractComponent
   private CompiledExpression compiledValueExpression;
   private boolean rethrowEnabled;
 
+  private boolean filterEnabled = false;
+  private int expectedIds = 10000;
+  private double falsePositiveRate = 0.01;
+  private int writeBehindBatchSize = 0;
+  private long writeBehindIntervalMillis = 1000;
+  private long filterRebuildIntervalMillis = MINUTES.toMillis(5);
+
+  private final IdempotentMessageValidatorStatistics statistics = new IdempotentMessageValidatorStatistics();
+  private volatile ScalableBloomFilter filter;
+  // the filter being rebuilt, which also gets the ids accepted meanwhile
+  private volatile ScalableBloomFilter rebuiltFilter;
+  private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+  private final AtomicBoolean flushing = new AtomicBoolean(false);
+  private Scheduler maintenanceScheduler;
+
   @Override
   public void setMuleContext(MuleContext context) {
     this.muleContext = context;
@@ -104,6 +139,17 @@ public class IdempotentMessageValidator extends AbstractComponent
     }
     compiledIdExpression = compile(idExpression, muleContext.getExpressionManager());
     compiledValueExpression = compile(valueExpression, muleContext.getExpressionManager());
+
+    try {
+      checkArgument(writeBehindBatchSize >= 0, "writeBehindBatchSize must not be negative");
+      checkArgument(!isWriteBehindEnabled() || writeBehindIntervalMillis > 0, "writeBehindIntervalMillis must be greater than 0");
+      checkArgument(filterRebuildIntervalMillis >= 0, "filterRebuildIntervalMillis must not be negative");
+      if (filterEnabled) {
+        filter = new ScalableBloomFilter(expectedIds, falsePositiveRate);
+      }
+    } catch (IllegalArgumentException e) {
+      throw new InitialisationException(createStaticMessage(e.getMessage()), e, this);
+    }
   }
 
   private void setupObjectStore() throws InitialisationException {
@@ -126,10 +172,41 @@ public class IdempotentMessageValidator extends AbstractComponent
   @Override
   public void start() throws MuleException {
     startIfNeeded(store);
+
+    if (filter != null) {
+      // ids stored before this was started have to be in the filter for it to not let duplicates through
+      for (String id : store.allKeys()) {
+        filter.put(id);
+      }
+    }
+
+    boolean rebuildFilter = filter != null && filterRebuildIntervalMillis > 0;
+    if (isWriteBehindEnabled() || rebuildFilter) {
+      maintenanceScheduler = muleContext.getSchedulerService()
+          .customScheduler(muleContext.getSchedulerBaseConfig().withName(storePrefix + ".maintenance").withMaxConcurrentTasks(1));
+    }
+    if (isWriteBehindEnabled()) {
+      maintenanceScheduler.scheduleWithFixedDelay(this::requestFlush, writeBehindIntervalMillis, writeBehindIntervalMillis,
+                                                  MILLISECONDS);
+    }
+    if (rebuildFilter) {
+      maintenanceScheduler.scheduleWithFixedDelay(this::rebuildFilter, filterRebuildIntervalMillis, filterRebuildIntervalMillis,
+                                                  MILLISECONDS);
+    }
   }
 
   @Override
   public void stop() throws MuleException {
+    if (maintenanceScheduler != null) {
+      maintenanceScheduler.stop();
+      maintenanceScheduler = null;
+    }
+    // write what is left, so it is not lost
+    if (!pendingWrites.isEmpty()) {
+      flushing.set(true);
+      flush();
+    }
+
     stopIfNeeded(store);
   }
 
@@ -181,9 +258,14 @@ public class IdempotentMessageValidator extends AbstractComponent
       String id = getIdForEvent(session);
       String value = getValueForEvent(session);
 
+      if (isWriteBehindEnabled()) {
+        return event != null && acceptWriteBehind(event, id, value);
+      }
+
       if (event != null && isNewMessage(event, id)) {
         try {
           store.store(id, value);
+          putInFilter(id);
           return true;
         } catch (ObjectAlreadyExistsException ex) {
           return false;
@@ -211,8 +293,13 @@ public class IdempotentMessageValidator extends AbstractComponent
       String id = getIdForEvent(session);
       String value = getValueForEvent(session);
 
+      if (isWriteBehindEnabled()) {
+        return event != null && acceptWriteBehind(event, id, value);
+      }
+
       if (event != null && isNewMessage(event, id)) {
         store.store(id, value);
+        putInFilter(id);
         return true;
       } else {
         return false;
@@ -225,6 +312,144 @@ public class IdempotentMessageValidator extends AbstractComponent
     }
   }
 
+  private boolean acceptWriteBehind(CoreEvent event, String id, String value) throws MuleException {
+    PendingWrite pendingWrite = new PendingWrite(value);
+    if (pendingWrites.putIfAbsent(id, pendingWrite) != null) {
+      // not written yet, but already accepted
+      return false;
+    }
+
+    boolean newMessage;
+    try {
+      newMessage = isNewMessage(event, id);
+    } catch (MuleException | RuntimeException e) {
+      if (pendingWrite.cancel()) {
+        pendingWrites.remove(id, pendingWrite);
+      }
+      throw e;
+    }
+    // If the id was found in the store, it may have been written by a flush of this same reservation. In that case the flush
+    // already took it, so it cannot be cancelled and the message is new.
+    if (!newMessage && pendingWrite.cancel()) {
+      pendingWrites.remove(id, pendingWrite);
+      return false;
+    }
+
+    putInFilter(id);
+    if (pendingWrites.size() >= writeBehindBatchSize) {
+      requestFlush();
+    }
+    return true;
+  }
+
+  private void putInFilter(String id) {
+    ScalableBloomFilter currentFilter = filter;
+    while (currentFilter != null) {
+      currentFilter.put(id);
+      ScalableBloomFilter nextFilter = rebuiltFilter;
+      if (nextFilter != null) {
+        nextFilter.put(id);
+      }
+
+      // A rebuild may have swapped the filter and cleared rebuiltFilter after the filter was read, in which case the id would be
+      // missing from the new one.
+      ScalableBloomFilter latestFilter = filter;
+      if (latestFilter == currentFilter) {
+        return;
+      }
+      currentFilter = latestFilter;
+    }
+  }
+
+  /**
+   * Replaces the filter with a new one with just the ids currently in the object store or pending to be written to it, so the
+   * expired ids are dropped from it.
+   */
+  private void rebuildFilter() {
+    ScalableBloomFilter nextFilter = new ScalableBloomFilter(expectedIds, falsePositiveRate);
+    rebuiltFilter = nextFilter;
+    try {
+      // Pending ids are read before the stored ones, so an id flushed in between is read from the store
+      for (String id : pendingWrites.keySet()) {
+        nextFilter.put(id);
+      }
+      for (String id : store.allKeys()) {
+        nextFilter.put(id);
+      }
+      filter = nextFilter;
+      statistics.incFilterRebuilds();
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("Could not rebuild the filter of '{}', the current one is kept: {}", storePrefix, e.getMessage());
+    } finally {
+      rebuiltFilter = null;
+    }
+  }
+
+  private boolean containsId(String id) throws MuleException {
+    if (filter == null) {
+      return store.contains(id);
+    }
+
+    if (!filter.mightContain(id)) {
+      statistics.incFilterNegatives();
+      return false;
+    }
+
+    statistics.incFilterPositives();
+    if (store.contains(id)) {
+      return true;
+    }
+    statistics.incFalsePositives();
+    return false;
+  }
+
+  private boolean isWriteBehindEnabled() {
+    return writeBehindBatchSize > 0;
+  }
+
+  private void requestFlush() {
+    if (!flushing.compareAndSet(false, true)) {
+      return;
+    }
+
+    Scheduler scheduler = maintenanceScheduler;
+    if (scheduler == null) {
+      flushing.set(false);
+      return;
+    }
+    try {
+      scheduler.submit(this::flush);
+    } catch (RejectedExecutionException e) {
+      // stopping, the pending ids are written by stop
+      flushing.set(false);
+    }
+  }
+
+  private void flush() {
+    try {
+      statistics.incFlushes();
+      for (Entry<String, PendingWrite> pending : pendingWrites.entrySet()) {
+        String id = pending.getKey();
+        if (!pending.getValue().take()) {
+          // cancelled, the id was already in the store
+          continue;
+        }
+        try {
+          store.store(id, pending.getValue().value);
+          statistics.incWriteBehindWrites();
+        } catch (ObjectAlreadyExistsException e) {
+          LOGGER.warn("Id '{}' was already stored by another writer after it was accepted by '{}'", id, storePrefix);
+        } catch (ObjectStoreException e) {
+          LOGGER.warn("Could not store id '{}': {}", id, e.getMessage());
+        }
+        // removed only once written, so duplicates of it are detected in the meantime
+        pendingWrites.remove(id, pending.getValue());
+      }
+    } finally {
+      flushing.set(false);
+    }
+  }
+
   private boolean rethrowIfFeatureFlagEnabled(MuleException e) throws MuleException {
     if (rethrowEnabled) {
       throw e;
@@ -248,7 +473,7 @@ public class IdempotentMessageValidator extends AbstractComponent
           initialise();
         }
       }
-      return !store.contains(id);
+      return !containsId(id);
     } catch (MuleException e) {
       LOGGER.error("Exception attempting to determine idempotency of incoming message for " + getLocation().getRootContainerName()
           + " from the connector "
@@ -272,4 +497,82 @@ public class IdempotentMessageValidator extends AbstractComponent
   public void setPrivateObjectStore(ObjectStore<String> privateStore) {
     this.privateStore = privateStore;
   }
+
+  /**
+   * @param filterEnabled whether to keep a filter of the seen ids in front of the object store.
+   */
+  public void setFilterEnabled(boolean filterEnabled) {
+    this.filterEnabled = filterEnabled;
+  }
+
+  /**
+   * @param expectedIds the number of ids the filter is initially sized for. It grows beyond that if needed.
+   */
+  public void setExpectedIds(int expectedIds) {
+    this.expectedIds = expectedIds;
+  }
+
+  /**
+   * @param falsePositiveRate the maximum rate of never seen ids that the filter determines may have been seen.
+   */
+  public void setFalsePositiveRate(double falsePositiveRate) {
+    this.falsePositiveRate = falsePositiveRate;
+  }
+
+  /**
+   * @param writeBehindBatchSize the number of accepted ids that triggers writing them to the object store. {@code 0} writes each
+   *                             id as it is accepted.
+   */
+  public void setWriteBehindBatchSize(int writeBehindBatchSize) {
+    this.writeBehindBatchSize = writeBehindBatchSize;
+  }
+
+  /**
+   * @param writeBehindIntervalMillis the interval between writes of the accepted ids to the object store, regardless of the
+   *                                  batch size.
+   */
+  public void setWriteBehindIntervalMillis(long writeBehindIntervalMillis) {
+    this.writeBehindIntervalMillis = writeBehindIntervalMillis;
+  }
+
+  /**
+   * @param filterRebuildIntervalMillis the interval between rebuilds of the filter from the ids in the object store. {@code 0}
+   *                                    never rebuilds it.
+   */
+  public void setFilterRebuildIntervalMillis(long filterRebuildIntervalMillis) {
+    this.filterRebuildIntervalMillis = filterRebuildIntervalMillis;
+  }
+
+  /**
+   * @return the statistics of the filter and the write-behind of this validator.
+   */
+  public IdempotentMessageValidatorStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * An accepted id waiting to be written to the object store. It is either taken by a flush to be written, or cancelled by the
+   * thread that reserved it when it finds the id already in the object store.
+   */
+  private static final class PendingWrite {
+
+    private static final int PENDING = 0;
+    private static final int TAKEN = 1;
+    private static final int CANCELLED = 2;
+
+    private final String value;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+
+    private PendingWrite(String value) {
+      this.value = value;
+    }
+
+    private boolean take() {
+      return state.compareAndSet(PENDING, TAKEN);
+    }
+
+    private boolean cancel() {
+      return state.compareAndSet(PENDING, CANCELLED);
+    }
+  }
 }
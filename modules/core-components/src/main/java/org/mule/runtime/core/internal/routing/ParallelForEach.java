@@ -8,6 +8,8 @@
 package org.mule.runtime.core.internal.routing;
 
 import static org.mule.runtime.api.config.MuleRuntimeFeature.PARALLEL_FOREACH_FLATTEN_MESSAGE;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.management.stats.RouterStatistics.TYPE_OUTBOUND;
 import static org.mule.runtime.core.api.processor.strategy.AsyncProcessingStrategyFactory.DEFAULT_MAX_CONCURRENCY;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateTypedValueForStreaming;
 import static org.mule.runtime.core.internal.routing.ExpressionSplittingStrategy.DEFAULT_SPLIT_EXPRESSION;
@@ -15,6 +17,7 @@ import static org.mule.runtime.core.internal.routing.ForeachUtils.manageTypedVal
 import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.buildNewChainWithListOfProcessors;
 
+import static java.lang.Boolean.getBoolean;
 import static java.util.Collections.singletonList;
 import static java.util.Optional.of;
 
@@ -26,11 +29,16 @@ import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.el.ExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.RouterStatistics;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.streaming.StreamingManager;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
 import org.mule.runtime.core.api.tracing.customization.ComponentExecutionInitialSpanInfo;
+import org.mule.runtime.core.internal.routing.forkjoin.AbstractForkJoinStrategyFactory;
 import org.mule.runtime.core.internal.routing.forkjoin.CollectListForkJoinStrategyFactory;
+import org.mule.runtime.core.internal.routing.forkjoin.CollectStreamForkJoinStrategyFactory;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+import org.mule.runtime.core.privileged.routing.RouterStatisticsRecorder;
 
 import java.util.Iterator;
 import java.util.List;
@@ -48,12 +56,24 @@ import org.reactivestreams.Publisher;
  * For advanced use cases, a custom {@link ForkJoinStrategyFactory} can be applied to customize the logic used to aggregate the
  * route responses back into one single Event.
  * <p>
+ * Parts are only split from the incoming message as the routes complete, so at most {@code maxConcurrency} of them are being
+ * processed at once, and the results are emitted in the order of the parts. When streaming is enabled (see
+ * {@link #PARALLEL_FOREACH_STREAMING_PROPERTY}), the result messages are written into a repeatable object stream as each route
+ * completes instead of being collected into a list, so the ones that don't fit in memory are buffered on disk.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/BroadcastAggregate.html"<a/>
  * </p>
  *
  * @since 4.2.0
  */
-public class ParallelForEach extends AbstractForkJoinRouter {
+public class ParallelForEach extends AbstractForkJoinRouter implements RouterStatisticsRecorder {
+
+  /**
+   * When set to {@code true}, the result of the scope is a repeatable stream of the result messages, instead of a list.
+   *
+   * @since 4.6
+   */
+  public static final String PARALLEL_FOREACH_STREAMING_PROPERTY = SYSTEM_PROPERTY_PREFIX + "parallelForeach.streaming";
 
   @Inject
   protected ExpressionManager expressionManager;
@@ -70,8 +90,14 @@ public class ParallelForEach extends AbstractForkJoinRouter {
   private List<Processor> messageProcessors;
   private MessageProcessorChain nestedChain;
 
+  private boolean streaming = getBoolean(PARALLEL_FOREACH_STREAMING_PROPERTY);
+  private RouterStatistics routerStatistics = new RouterStatistics(TYPE_OUTBOUND);
+
   @Override
   public void initialise() throws InitialisationException {
+    if (muleContext != null && muleContext.getStatistics() != null) {
+      routerStatistics.setEnabled(muleContext.getStatistics().isEnabled());
+    }
     nestedChain =
         buildNewChainWithListOfProcessors(of(resolveProcessingStrategy()), messageProcessors,
                                           new ComponentExecutionInitialSpanInfo(this, ":iteration"));
@@ -117,7 +143,36 @@ public class ParallelForEach extends AbstractForkJoinRouter {
 
   @Override
   protected ForkJoinStrategyFactory getDefaultForkJoinStrategyFactory() {
-    return new CollectListForkJoinStrategyFactory(false);
+    AbstractForkJoinStrategyFactory factory;
+    if (streaming) {
+      factory = new CollectStreamForkJoinStrategyFactory(streamingManager.forObjects()
+          .getFileStoreCursorIteratorProviderFactory(FileStoreCursorIteratorConfig.getDefault()), getLocation());
+    } else {
+      factory = new CollectListForkJoinStrategyFactory(false);
+    }
+    factory.setRouterStatistics(routerStatistics);
+    return factory;
+  }
+
+  /**
+   * Sets whether the result of the scope is a repeatable stream of the result messages instead of a list. Defaults to the value
+   * of {@link #PARALLEL_FOREACH_STREAMING_PROPERTY}.
+   *
+   * @param streaming whether to stream the results
+   * @since 4.6
+   */
+  public void setStreaming(boolean streaming) {
+    this.streaming = streaming;
+  }
+
+  @Override
+  public RouterStatistics getRouterStatistics() {
+    return routerStatistics;
+  }
+
+  @Override
+  public void setRouterStatistics(RouterStatistics routerStatistics) {
+    this.routerStatistics = routerStatistics;
   }
 
   /**
@@ -10,7 +10,7 @@ package org.mule.runtime.core.internal.routing;
 import static java.util.Collections.emptyList;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotCopyStreamPayload;
 import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
-import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.publisher.Flux.range;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
@@ -51,7 +51,7 @@ public class ScatterGatherRouter extends AbstractForkJoinRouter implements Route
 
   @Override
   protected Publisher<ForkJoinStrategy.RoutingPair> getRoutingPairs(CoreEvent event) {
-    return fromIterable(routes).map(route -> of(event, route));
+    return range(0, routes.size()).map(i -> of(event, routes.get(i), i));
   }
 
   @Override
@@ -14,6 +14,7 @@ import static org.mule.runtime.core.privileged.processor.MessageProcessors.getPr
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
 
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 
 import org.mule.runtime.api.component.location.ConfigurationComponentLocator;
 import org.mule.runtime.api.config.FeatureFlaggingService;
@@ -28,12 +29,17 @@ import org.mule.runtime.core.api.processor.AbstractMuleObjectOwner;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.tracing.customization.ComponentExecutionInitialSpanInfo;
+import org.mule.runtime.core.internal.retry.RetryBackoff;
+import org.mule.runtime.core.internal.retry.RetryTimerWheel;
+import org.mule.runtime.core.internal.retry.RetryTimerWheel.RetryTimeout;
+import org.mule.runtime.core.internal.retry.RetryTimerWheelManager;
 import org.mule.runtime.core.privileged.processor.Scope;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 import org.mule.runtime.core.internal.routing.UntilSuccessfulRouter.RetryContextInitializationException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import javax.inject.Inject;
@@ -43,6 +49,10 @@ import org.reactivestreams.Publisher;
 /**
  * UntilSuccessful attempts to route a message to the message processor it contains. Routing is considered successful if no
  * exception has been raised and, optionally, if the response matches an expression.
+ * <p>
+ * The retries of all the executions of the scope are scheduled on the {@link RetryTimerWheel} shared by the Mule context. By default, the delay between
+ * retries is fixed, but it may grow exponentially and be randomly spread by means of {@link #setBackoffMultiplier(double)},
+ * {@link #setMaxMillisBetweenRetries(long)} and {@link #setJitter(double)}.
  */
 public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
 
@@ -61,12 +71,21 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Inject
   private FeatureFlaggingService featureFlaggingService;
 
+  @Inject
+  private RetryTimerWheelManager retryTimerWheelManager;
+
   private String maxRetries = DEFAULT_RETRIES;
   private String millisBetweenRetries = DEFAULT_MILLIS_BETWEEN_RETRIES;
   private MessageProcessorChain nestedChain;
   private boolean suppressErrors;
   private Predicate<CoreEvent> shouldRetry;
   private Scheduler timer;
+  private RetryTimerWheel retryTimer;
+  private final Set<RetryTimeout> pendingRetries = newKeySet();
+  private double backoffMultiplier = 1;
+  private long maxMillisBetweenRetries = Long.MAX_VALUE;
+  private double jitter = 0;
+  private RetryBackoff backoff;
   private List<Processor> processors;
   private ProcessingStrategy processingStrategy;
 
@@ -83,7 +102,15 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
 
     super.initialise();
 
+    try {
+      backoff = backoffMultiplier == 1 && jitter == 0
+          ? RetryBackoff.FIXED
+          : new RetryBackoff(backoffMultiplier, maxMillisBetweenRetries, jitter);
+    } catch (IllegalArgumentException e) {
+      throw new InitialisationException(createStaticMessage(e.getMessage()), e, this);
+    }
     timer = schedulerService.cpuLightScheduler();
+    retryTimer = retryTimerWheelManager.getRetryTimer();
     suppressErrors = featureFlaggingService.isEnabled(SUPPRESS_ERRORS);
     shouldRetry = event -> event.getError().isPresent();
 
@@ -96,6 +123,9 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Override
   public void dispose() {
     super.dispose();
+    // the wheel is shared, so only the retries of this scope are cancelled
+    pendingRetries.forEach(RetryTimeout::cancel);
+    pendingRetries.clear();
     timer.stop();
   }
 
@@ -119,7 +149,7 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Override
   public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
     return new UntilSuccessfulRouter(this, publisher, nestedChain, processingStrategy, expressionManager, shouldRetry, timer,
-                                     maxRetries, millisBetweenRetries, suppressErrors)
+                                     retryTimer, pendingRetries, backoff, maxRetries, millisBetweenRetries, suppressErrors)
                                          .getDownstreamPublisher();
   }
 
@@ -153,6 +183,41 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
     this.millisBetweenRetries = millisBetweenRetries;
   }
 
+  /**
+   * @param backoffMultiplier the factor the delay between retries is multiplied by on each retry. Default value is 1, which keeps
+   *                          the delay fixed.
+   * @since 4.6
+   */
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  /**
+   * @param maxMillisBetweenRetries the maximum number of milliseconds between retries when using a
+   *                                {@link #setBackoffMultiplier(double) backoff multiplier}. Unbounded by default.
+   * @since 4.6
+   */
+  public void setMaxMillisBetweenRetries(long maxMillisBetweenRetries) {
+    this.maxMillisBetweenRetries = maxMillisBetweenRetries;
+  }
+
+  /**
+   * @param jitter the fraction, between 0 and 1, that the delay between retries may be randomly increased or decreased by. Default
+   *               value is 0.
+   * @since 4.6
+   */
+  public void setJitter(double jitter) {
+    this.jitter = jitter;
+  }
+
+  /**
+   * @return the number of executions of this scope that are waiting to be retried.
+   * @since 4.6
+   */
+  public int getPendingRetries() {
+    return pendingRetries.size();
+  }
+
   /**
    * Configure the nested {@link Processor}'s that error handling and transactional behaviour should be applied to.
    *
@@ -37,6 +37,9 @@ import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyExhaustedException;
 import org.mule.runtime.core.internal.event.EventInternalContextResolver;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.retry.RetryBackoff;
+import org.mule.runtime.core.internal.retry.RetryTimerWheel;
+import org.mule.runtime.core.internal.retry.RetryTimerWheel.RetryTimeout;
 import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
 import org.mule.runtime.core.internal.util.rx.ConditionalExecutorServiceDecorator;
 import org.mule.runtime.internal.exception.SuppressedMuleException;
@@ -44,6 +47,7 @@ import org.mule.runtime.internal.exception.SuppressedMuleException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -62,6 +66,9 @@ import reactor.util.context.ContextView;
  * <p>
  * The retrial chain isolation is implemented using two {@link reactor.core.publisher.FluxSink}s, one for the entry inside the
  * retrial chain, and another for publishing successful events, or exhaustion errors.
+ * <p>
+ * Retries are scheduled on the given {@link RetryTimerWheel}, if any, unless a transaction is active, in which case they are run
+ * synchronously after the delay.
  *
  * @since 4.2.3, 4.3.0
  */
@@ -78,6 +85,9 @@ class UntilSuccessfulRouter {
   private final boolean suppressErrors;
   private final Predicate<CoreEvent> shouldRetry;
   private final ConditionalExecutorServiceDecorator delayScheduler;
+  private final RetryTimerWheel retryTimer;
+  private final Set<RetryTimeout> pendingRetries;
+  private final RetryBackoff backoff;
 
   private final Flux<CoreEvent> upstreamFlux;
   private final Flux<CoreEvent> innerFlux;
@@ -103,10 +113,21 @@ class UntilSuccessfulRouter {
                         ProcessingStrategy processingStrategy, ExtendedExpressionManager expressionManager,
                         Predicate<CoreEvent> shouldRetry, Scheduler delayScheduler,
                         String maxRetries, String millisBetweenRetries, boolean suppressErrors) {
+    this(owner, publisher, nestedChain, processingStrategy, expressionManager, shouldRetry, delayScheduler, null, null,
+         RetryBackoff.FIXED, maxRetries, millisBetweenRetries, suppressErrors);
+  }
+
+  UntilSuccessfulRouter(Component owner, Publisher<CoreEvent> publisher, Processor nestedChain,
+                        ProcessingStrategy processingStrategy, ExtendedExpressionManager expressionManager,
+                        Predicate<CoreEvent> shouldRetry, Scheduler delayScheduler, RetryTimerWheel retryTimer,
+                        Set<RetryTimeout> pendingRetries, RetryBackoff backoff, String maxRetries, String millisBetweenRetries, boolean suppressErrors) {
     this.owner = owner;
     this.suppressErrors = suppressErrors;
     this.shouldRetry = shouldRetry;
     this.delayScheduler = new ConditionalExecutorServiceDecorator(delayScheduler, s -> isTransactionActive());
+    this.retryTimer = retryTimer;
+    this.pendingRetries = pendingRetries;
+    this.backoff = backoff;
     this.retryContextResolver = new EventInternalContextResolver<>(RETRY_CTX_INTERNAL_PARAM_KEY,
                                                                    HashMap::new);
     // Upstream side of until successful chain. Injects events into retrial chain.
@@ -191,8 +212,13 @@ class UntilSuccessfulRouter {
                      ctx.maxRetries != RETRY_COUNT_FOREVER ? ctx.maxRetries : "unlimited");
 
         // Schedule retry with delay
-        UntilSuccessfulRouter.this.delayScheduler.schedule(() -> innerRecorder.next(eventWithCurrentContext(ctx.event, ctx)),
-                                                           ctx.delayInMillis, MILLISECONDS);
+        long delay = backoff.getDelay(ctx.delayInMillis, ctx.getAttemptNumber());
+        Runnable retry = () -> innerRecorder.next(eventWithCurrentContext(ctx.event, ctx));
+        if (retryTimer == null || isTransactionActive()) {
+          UntilSuccessfulRouter.this.delayScheduler.schedule(retry, delay, MILLISECONDS);
+        } else {
+          scheduleOnRetryTimer(retry, delay);
+        }
       } else { // Retries exhausted
         // Current context already pooped. No need to re-insert it
         LOGGER.error("Retry attempts exhausted. Failing...");
@@ -205,6 +231,23 @@ class UntilSuccessfulRouter {
     };
   }
 
+  private void scheduleOnRetryTimer(Runnable retry, long delay) {
+    AtomicReference<RetryTimeout> timeout = new AtomicReference<>();
+    timeout.set(retryTimer.schedule(() -> {
+      RetryTimeout scheduled = timeout.get();
+      if (scheduled != null) {
+        pendingRetries.remove(scheduled);
+      }
+      // the wheel is shared by the whole context, so it is only used for timing and the retry is run on this scope's scheduler
+      delayScheduler.execute(retry);
+    }, delay));
+    pendingRetries.add(timeout.get());
+    // the retry may have run before it was added
+    if (timeout.get().isDone()) {
+      pendingRetries.remove(timeout.get());
+    }
+  }
+
   /**
    * If there are no events in-flight and the upstream publisher has received a completion signal, complete downstream publishers.
    */
@@ -13,6 +13,7 @@ import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPai
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processWithChildContextDontComplete;
 
 import static java.lang.Long.MAX_VALUE;
+import static java.lang.System.currentTimeMillis;
 import static java.util.Optional.empty;
 import static java.util.stream.Collectors.toList;
 
@@ -31,6 +32,7 @@ import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.RouterStatistics;
 import org.mule.runtime.core.api.message.GroupCorrelation;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
@@ -42,6 +44,7 @@ import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategyFactory;
 import org.mule.runtime.core.privileged.exception.EventProcessingException;
 import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RouterStatisticsRecorder;
 import org.mule.runtime.core.privileged.routing.RoutingResult;
 
 import java.time.Duration;
@@ -59,6 +62,7 @@ import java.util.stream.Collectors;
 
 import org.reactivestreams.Publisher;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -71,12 +75,15 @@ import reactor.core.scheduler.Schedulers;
  * <li>Use of an optional timeout.
  * <li>Delay error behavior, where all errors are collated and thrown as a composite exception.
  * </ul>
+ * <p>
+ * If {@link RouterStatistics} are set and enabled, the processing time of each route is recorded in them.
  */
-public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrategyFactory {
+public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrategyFactory, RouterStatisticsRecorder {
 
   public static final String TIMEOUT_EXCEPTION_DESCRIPTION = "Route Timeout";
   public static final String TIMEOUT_EXCEPTION_DETAILED_DESCRIPTION_PREFIX = "Timeout while processing route/part:";
   private final boolean mergeVariables;
+  private RouterStatistics routerStatistics;
 
   public AbstractForkJoinStrategyFactory() {
     this(true);
@@ -90,13 +97,7 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
   public ForkJoinStrategy createForkJoinStrategy(ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors,
                                                  long timeout, Scheduler timeoutScheduler, ErrorType timeoutErrorType,
                                                  boolean isDetailedLogEnabled) {
-    Duration timeoutDuration;
-    if (timeout == Long.MAX_VALUE) {
-      timeoutDuration = Duration.ofNanos(MAX_VALUE);
-    } else {
-      timeoutDuration = Duration.ofMillis(timeout);
-    }
-
+    Duration timeoutDuration = toTimeoutDuration(timeout);
     reactor.core.scheduler.Scheduler reactorTimeoutScheduler = Schedulers.fromExecutorService(timeoutScheduler);
     return (original, routingPairs) -> {
       final AtomicInteger count = new AtomicInteger();
@@ -130,7 +131,24 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
     };
   }
 
-  private boolean isOriginalError(Error newError, Optional<Error> originalError) {
+  @Override
+  public void setRouterStatistics(RouterStatistics routerStatistics) {
+    this.routerStatistics = routerStatistics;
+  }
+
+  /**
+   * @param timeout the timeout of each route, in milliseconds
+   * @return the timeout as a {@link Duration}, where {@link Long#MAX_VALUE} means no timeout.
+   */
+  protected Duration toTimeoutDuration(long timeout) {
+    if (timeout == Long.MAX_VALUE) {
+      return Duration.ofNanos(MAX_VALUE);
+    } else {
+      return Duration.ofMillis(timeout);
+    }
+  }
+
+  protected boolean isOriginalError(Error newError, Optional<Error> originalError) {
     return originalError.map(error -> error.equals(newError)).orElse(false);
   }
 
@@ -156,22 +174,22 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
   protected abstract Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original,
                                                                             CoreEvent.Builder resultBuilder);
 
-  private Function<RoutingPair, RoutingPair> addSequence(AtomicInteger count) {
+  protected Function<RoutingPair, RoutingPair> addSequence(AtomicInteger count) {
     return pair -> of(builder(pair.getEvent()).groupCorrelation(Optional.of(GroupCorrelation.of(count.getAndIncrement())))
         .build(), pair.getRoute());
   }
 
-  private Function<RoutingPair, Publisher<Pair<CoreEvent, EventProcessingException>>> processRoutePair(ProcessingStrategy processingStrategy,
-                                                                                                       int maxConcurrency,
-                                                                                                       boolean delayErrors,
-                                                                                                       Duration timeout,
-                                                                                                       reactor.core.scheduler.Scheduler timeoutScheduler,
-                                                                                                       ErrorType timeoutErrorType) {
+  protected Function<RoutingPair, Publisher<Pair<CoreEvent, EventProcessingException>>> processRoutePair(ProcessingStrategy processingStrategy,
+                                                                                                         int maxConcurrency,
+                                                                                                         boolean delayErrors,
+                                                                                                         Duration timeout,
+                                                                                                         reactor.core.scheduler.Scheduler timeoutScheduler,
+                                                                                                         ErrorType timeoutErrorType) {
 
     return pair -> {
       ReactiveProcessor route = publisher -> from(publisher)
           .transform(pair.getRoute());
-      return from(processWithChildContextDontComplete(pair.getEvent(),
+      return recordProcessingTime(pair, from(processWithChildContextDontComplete(pair.getEvent(),
                                                       applyProcessingStrategy(processingStrategy, route, maxConcurrency),
                                                       empty()))
                                                           .timeout(timeout,
@@ -185,10 +203,23 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
                                                                                                                                   .build(),
                                                                                                                           null))
                                                           .onErrorResume(MessagingException.class,
-                                                                         me -> getPublisher(delayErrors, me));
+                                                                         me -> getPublisher(delayErrors, me)));
     };
   }
 
+  private Flux<Pair<CoreEvent, EventProcessingException>> recordProcessingTime(RoutingPair pair,
+                                                                               Flux<Pair<CoreEvent, EventProcessingException>> result) {
+    if (routerStatistics == null || !routerStatistics.isEnabled()) {
+      return result;
+    }
+
+    return Flux.defer(() -> {
+      final long startTime = currentTimeMillis();
+      return result.doOnNext(r -> routerStatistics.addRouteProcessingTime(pair.getRouteIndex(),
+                                                                          currentTimeMillis() - startTime));
+    });
+  }
+
   private Publisher<Pair<CoreEvent, EventProcessingException>> getPublisher(boolean delayErrors, EventProcessingException me) {
     Pair<CoreEvent, EventProcessingException> pair = new Pair<>(me.getEvent(), me);
     return delayErrors ? just(pair) : error(me);
@@ -242,6 +273,18 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
         successMap.put(key, eventExceptionPair.getFirst().getMessage());
       }
     }
+    return createCompositeRoutingException(successMap, errorMap, isDetailedLogEnabled);
+  }
+
+  /**
+   * @param successMap           the messages of the successful routes, by their sequence
+   * @param errorMap             the errors of the failed routes, by their sequence
+   * @param isDetailedLogEnabled whether the exceptions that caused the errors have to be kept for logging
+   * @return the exception to throw when one or more routes failed
+   */
+  protected CompositeRoutingException createCompositeRoutingException(Map<String, Message> successMap,
+                                                                      Map<String, Pair<Error, EventProcessingException>> errorMap,
+                                                                      boolean isDetailedLogEnabled) {
     if (isDetailedLogEnabled) {
       return new CompositeRoutingException(RoutingResult.routingResultWithException(successMap, errorMap));
     } else {
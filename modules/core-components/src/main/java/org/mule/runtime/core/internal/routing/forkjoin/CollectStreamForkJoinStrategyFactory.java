@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static org.mule.runtime.core.privileged.util.EventUtils.getRoot;
+
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Mono.defer;
+import static reactor.core.publisher.Mono.fromCallable;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.api.util.Pair;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.api.streaming.object.CursorIteratorProviderFactory;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.exception.EventProcessingException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+/**
+ * {@link ForkJoinStrategy} that behaves as {@link CollectListForkJoinStrategyFactory}, but instead of keeping the result of every
+ * route until all of them complete, it writes the message of each one into a repeatable object stream as soon as it is emitted,
+ * in the order of the routes.
+ * <p>
+ * The payload of the result {@link CoreEvent} is the {@link CursorIteratorProvider} of that stream, so the results are buffered
+ * as defined by the given {@link CursorIteratorProviderFactory} instead of being held in a {@link java.util.List}. Only the errors
+ * of the failed routes are kept until all the routes complete. In case there are any, the messages of the successful routes are
+ * read back from the stream in order to build the composite exception.
+ * <p>
+ * Variables set in the routes are not merged into the result event.
+ *
+ * @since 4.6
+ */
+public class CollectStreamForkJoinStrategyFactory extends CollectListForkJoinStrategyFactory {
+
+  private static final DataType RESULT_DATA_TYPE = DataType.builder().streamType(Iterator.class).itemType(Message.class).build();
+
+  private final CursorIteratorProviderFactory cursorProviderFactory;
+  private final ComponentLocation originatingLocation;
+
+  /**
+   * Creates a new instance
+   *
+   * @param cursorProviderFactory the factory of the stream that the results are written to. It has to create a
+   *                              {@link CursorIteratorProvider} for any {@link Iterator}.
+   * @param originatingLocation   the location of the router that creates the stream
+   */
+  public CollectStreamForkJoinStrategyFactory(CursorIteratorProviderFactory cursorProviderFactory,
+                                              ComponentLocation originatingLocation) {
+    super(false);
+    this.cursorProviderFactory = cursorProviderFactory;
+    this.originatingLocation = originatingLocation;
+  }
+
+  @Override
+  public ForkJoinStrategy createForkJoinStrategy(ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors,
+                                                 long timeout, Scheduler timeoutScheduler, ErrorType timeoutErrorType,
+                                                 boolean isDetailedLogEnabled) {
+    Function<RoutingPair, Publisher<Pair<CoreEvent, EventProcessingException>>> processRoutePair =
+        processRoutePair(processingStrategy, maxConcurrency, delayErrors, toTimeoutDuration(timeout),
+                         fromExecutorService(timeoutScheduler), timeoutErrorType);
+
+    return (original, routingPairs) -> defer(() -> {
+      final ResultsCollector collector = new ResultsCollector(original);
+      // routing pairs are requested as the routes complete, so at most maxConcurrency parts are held at once
+      return from(routingPairs)
+          .map(addSequence(new AtomicInteger()))
+          .flatMapSequential(processRoutePair, maxConcurrency)
+          .doOnNext(collector::add)
+          .then(fromCallable(() -> collector.complete(isDetailedLogEnabled)))
+          .doOnError(e -> collector.discard())
+          .doOnCancel(collector::discard);
+    });
+  }
+
+  @Override
+  public DataType getResultDataType() {
+    return RESULT_DATA_TYPE;
+  }
+
+  /**
+   * Writes the results of the routes into the stream as they are emitted. Results are emitted one at a time by
+   * {@code flatMapSequential}, so this doesn't need to be thread-safe.
+   */
+  private final class ResultsCollector {
+
+    private final CoreEvent original;
+    private final ResultsIterator results = new ResultsIterator();
+    private final CursorIteratorProvider provider;
+    private final CursorIterator<Message> drainingCursor;
+    private final Map<String, Pair<Error, EventProcessingException>> errors = new LinkedHashMap<>();
+    private int count = 0;
+
+    private ResultsCollector(CoreEvent original) {
+      this.original = original;
+      provider =
+          (CursorIteratorProvider) cursorProviderFactory.of(getRoot(original.getContext()), results, originatingLocation);
+      drainingCursor = provider.openCursor();
+    }
+
+    private void add(Pair<CoreEvent, EventProcessingException> result) {
+      CoreEvent event = result.getFirst();
+      Optional<Error> error = event.getError().filter(e -> !isOriginalError(e, original.getError()));
+      if (error.isPresent()) {
+        errors.put(Integer.toString(event.getGroupCorrelation().get().getSequence()), new Pair<>(error.get(), result.getSecond()));
+      } else {
+        results.push(event.getMessage());
+        // makes the buffer take the message, so that it is the one deciding whether to keep it in memory or not
+        drainingCursor.next();
+      }
+      count++;
+    }
+
+    private CoreEvent complete(boolean isDetailedLogEnabled) throws Exception {
+      drainingCursor.close();
+
+      if (!errors.isEmpty()) {
+        Map<String, Message> successMap = readSuccessfulResults();
+        discard();
+        throw createCompositeRoutingException(successMap, errors, isDetailedLogEnabled);
+      }
+
+      return builder(original)
+          .message(Message.builder().payload(new TypedValue<>(provider, RESULT_DATA_TYPE)).build())
+          .build();
+    }
+
+    private Map<String, Message> readSuccessfulResults() throws Exception {
+      Map<String, Message> successMap = new LinkedHashMap<>();
+      try (CursorIterator<Message> cursor = provider.openCursor()) {
+        for (int i = 0; i < count; ++i) {
+          String key = Integer.toString(i);
+          if (!errors.containsKey(key)) {
+            successMap.put(key, cursor.next());
+          }
+        }
+      }
+      return successMap;
+    }
+
+    private void discard() {
+      provider.close();
+    }
+  }
+
+  /**
+   * The iterator that the stream buffers its items from. It only holds the last message of a route, until the buffer takes it.
+   */
+  private static final class ResultsIterator implements Iterator<Message> {
+
+    private Message next;
+
+    private void push(Message message) {
+      next = message;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Message next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+
+      Message message = next;
+      next = null;
+      return message;
+    }
+  }
+}
@@ -297,6 +297,28 @@ public class IdempotentRedeliveryPolicyTestCase extends AbstractMuleContextTestC
         .disposeStore(TEST_CONNECTOR_LOCATION.getRootContainerName() + "." + IdempotentRedeliveryPolicy.class.getName());
   }
 
+  @Test
+  public void localTracking() throws Exception {
+    when(message.getPayload()).thenReturn(new TypedValue<>(STRING_MESSAGE, STRING));
+    irp.setLocalTracking(true);
+    irp.initialise();
+    processUntilFailure();
+    assertThat(count.get(), equalTo(MAX_REDELIVERY_COUNT + 1));
+  }
+
+  @Test
+  public void localTrackingDoesNotAccessStoreIfMessageDoesNotFail() throws Exception {
+    when(message.getPayload()).thenReturn(new TypedValue<>(STRING_MESSAGE, STRING));
+    irp.setMessageProcessors(singletonList(event -> event));
+    irp.setLocalTracking(true);
+    irp.initialise();
+    irp.process(event);
+    irp.process(event);
+
+    verify(inMemoryObjectStore, never()).contains(anyString());
+    verify(inMemoryObjectStore, never()).store(anyString(), any());
+  }
+
   private void processUntilFailure() {
     for (int i = 0; i < MAX_REDELIVERY_COUNT + 2; i++) {
       try {
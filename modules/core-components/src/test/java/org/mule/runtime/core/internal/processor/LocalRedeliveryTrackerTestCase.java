@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor;
+
+import static org.mule.test.allure.AllureConstants.SourcesFeature.SOURCES;
+import static org.mule.test.allure.AllureConstants.SourcesFeature.SourcesStories.REDELIVERY;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import org.mule.runtime.core.internal.processor.IdempotentRedeliveryPolicy.RedeliveryCounter;
+import org.mule.runtime.core.internal.processor.IdempotentRedeliveryPolicyTestCase.InMemoryObjectStore;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@SmallTest
+@Feature(SOURCES)
+@Story(REDELIVERY)
+public class LocalRedeliveryTrackerTestCase extends AbstractMuleTestCase {
+
+  private final InMemoryObjectStore store = new InMemoryObjectStore();
+
+  @Test
+  public void messagesWithDifferentIdsDoNotBlockEachOther() throws Exception {
+    LocalRedeliveryTracker tracker = new LocalRedeliveryTracker(store, 10);
+    Lock lock = tracker.getLock("a");
+    lock.lock();
+    try {
+      assertThat(CompletableFuture.supplyAsync(() -> {
+        Lock other = tracker.getLock("b");
+        boolean locked = other.tryLock();
+        if (locked) {
+          other.unlock();
+        }
+        return locked;
+      }).get(5, SECONDS), is(true));
+
+      assertThat(CompletableFuture.supplyAsync(() -> tracker.getLock("a").tryLock()).get(5, SECONDS), is(false));
+    } finally {
+      lock.unlock();
+    }
+    assertThat(tracker.getLockedCount(), is(0));
+  }
+
+  @Test
+  public void succeededRemovesEvictedCounterFromStore() throws Exception {
+    LocalRedeliveryTracker tracker = new LocalRedeliveryTracker(store, 1);
+    tracker.failed("a", new RedeliveryCounter());
+    // evicts the counter of "a" from memory
+    tracker.failed("b", new RedeliveryCounter());
+    assertThat(tracker.getTrackedCount(), is(1));
+
+    tracker.succeeded("a");
+    assertThat(store.contains("a"), is(false));
+    assertThat(store.contains("b"), is(true));
+  }
+
+  @Test
+  public void conditionOfHeldLock() throws Exception {
+    LocalRedeliveryTracker tracker = new LocalRedeliveryTracker(store, 10);
+    Lock lock = tracker.getLock("a");
+    lock.lock();
+    try {
+      Condition condition = lock.newCondition();
+      assertThat(condition.await(10, MILLISECONDS), is(false));
+    } finally {
+      lock.unlock();
+    }
+    assertThat(tracker.getLockedCount(), is(0));
+  }
+
+  @Test(expected = IllegalMonitorStateException.class)
+  public void conditionOfLockNotHeld() throws Exception {
+    new LocalRedeliveryTracker(store, 10).getLock("a").newCondition();
+  }
+
+  @Test
+  public void expiredEvictedCountersAreNoLongerLookedUp() throws Exception {
+    InMemoryObjectStore spiedStore = spy(store);
+    LocalRedeliveryTracker tracker = new LocalRedeliveryTracker(spiedStore, 1, 0);
+    tracker.failed("a", new RedeliveryCounter());
+    // evicts the counter of "a" from memory
+    tracker.failed("b", new RedeliveryCounter());
+    // the counter of "a" expires from the store
+    spiedStore.remove("a");
+
+    assertThat(tracker.find("c"), is(nullValue()));
+    assertThat(tracker.find("d"), is(nullValue()));
+    verify(spiedStore, never()).contains("d");
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.metadata.DataType.JSON_STRING;
+import static org.mule.runtime.api.metadata.DataType.NUMBER;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.SCOPE;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.ChoiceStory.CHOICE;
+
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(SCOPE)
+@Story(CHOICE)
+public class ChoiceRouteIndexTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void indexableExpressions() {
+    ChoiceRouteIndex index = create("#[attributes.headers.type == 'a']",
+                                    "'b' == attributes.headers.type or attributes.headers.type == \"c\"",
+                                    "['d', 'a'] contains attributes.headers.type").get();
+
+    assertThat(index.getSelectorExpression(), is("#[attributes.headers.type]"));
+    assertThat(index.getRoutePosition(new TypedValue<>("a", STRING)), is(0));
+    assertThat(index.getRoutePosition(new TypedValue<>("c", STRING)), is(1));
+    assertThat(index.getRoutePosition(new TypedValue<>("d", STRING)), is(2));
+    assertThat(index.getRoutePosition(new TypedValue<>("z", STRING)), is(3));
+    assertThat(index.getRoutePosition(new TypedValue<>(1, NUMBER)), is(-1));
+    assertThat(index.getRoutePosition(new TypedValue<>("\"a\"", JSON_STRING)), is(-1));
+  }
+
+  @Test
+  public void notIndexableExpressions() {
+    assertThat(create("payload == 'a'").isPresent(), is(false));
+    assertThat(create("payload == 'a'", "vars.type == 'b'").isPresent(), is(false));
+    assertThat(create("payload == 'a'", "payload != 'b'").isPresent(), is(false));
+    assertThat(create("payload == 'a'", "payload == 'b' and payload == 'c'").isPresent(), is(false));
+    assertThat(create("payload == 'a'", "payload == 'b' or").isPresent(), is(false));
+    assertThat(create("payload == 'a'", "payload == 1").isPresent(), is(false));
+    assertThat(create("payload == 'a'", "payload == 'b$(vars.c)'").isPresent(), is(false));
+    assertThat(create("payload == 'a'", "upper(payload) == 'B'").isPresent(), is(false));
+    assertThat(create("payload == 'a'", "['b',] contains payload").isPresent(), is(false));
+    assertThat(create("payload == 'a'", "true == payload").isPresent(), is(false));
+  }
+
+  private Optional<ChoiceRouteIndex> create(String... expressions) {
+    List<ProcessorRoute> routes = new ArrayList<>();
+    for (String expression : expressions) {
+      routes.add(new ProcessorExpressionRoute(expression, event -> event));
+    }
+    return ChoiceRouteIndex.create(routes);
+  }
+}
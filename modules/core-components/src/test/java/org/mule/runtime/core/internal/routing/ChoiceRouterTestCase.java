@@ -133,6 +133,46 @@ public class ChoiceRouterTestCase extends AbstractReactiveProcessorTestCase {
     assertThat((Map<String, Long>) routerStatistics.getRouted(), hasEntry(containsString(processor.toString()), is((long) 2)));
   }
 
+  @Test
+  public void indexedRoutes() throws Exception {
+    TestMessageProcessor a = new TestMessageProcessor("a");
+    TestMessageProcessor bc = new TestMessageProcessor("bc");
+    TestMessageProcessor de = new TestMessageProcessor("de");
+    choiceRouter.addRoute("#[payload == 'a']", a);
+    choiceRouter.addRoute("payload == 'b' or 'c' == payload", bc);
+    choiceRouter.addRoute("['d', 'e', 'a'] contains payload", de);
+    choiceRouter.setDefaultRoute(newChain(empty(), new TestMessageProcessor("default")));
+    RouterStatistics routerStatistics = new RouterStatistics(TYPE_OUTBOUND);
+    routerStatistics.setEnabled(true);
+    choiceRouter.setRouterStatistics(routerStatistics);
+    initialise();
+
+    assertThat(process(choiceRouter, payloadEvent("a")).getMessage().getPayload().getValue(), is("a:a"));
+    assertThat(process(choiceRouter, payloadEvent("c")).getMessage().getPayload().getValue(), is("c:bc"));
+    assertThat(process(choiceRouter, payloadEvent("e")).getMessage().getPayload().getValue(), is("e:de"));
+    assertThat(process(choiceRouter, payloadEvent("x")).getMessage().getPayload().getValue(), is("x:default"));
+    // not a string, so the expressions are evaluated
+    assertThat(process(choiceRouter, payloadEvent(1)).getMessage().getPayload().getValue(), is("1:default"));
+
+    assertThat(routerStatistics.getIndexedRouted(0), is(1L));
+    assertThat(routerStatistics.getIndexedRouted(1), is(1L));
+    assertThat(routerStatistics.getIndexedRouted(2), is(1L));
+  }
+
+  @Test
+  public void notIndexedRoutes() throws Exception {
+    TestMessageProcessor a = new TestMessageProcessor("a");
+    choiceRouter.addRoute("payload == 'a'", a);
+    choiceRouter.addRoute("vars.other == 'b'", newChain(empty(), new TestMessageProcessor("b")));
+    RouterStatistics routerStatistics = new RouterStatistics(TYPE_OUTBOUND);
+    routerStatistics.setEnabled(true);
+    choiceRouter.setRouterStatistics(routerStatistics);
+    initialise();
+
+    assertThat(process(choiceRouter, payloadEvent("a")).getMessage().getPayload().getValue(), is("a:a"));
+    assertThat(routerStatistics.getIndexedRouted(0), is(0L));
+  }
+
   @Test
   @Issue("MULE-19512")
   public void failingExpression() throws Exception {
@@ -211,6 +251,10 @@ public class ChoiceRouterTestCase extends AbstractReactiveProcessorTestCase {
     return eventBuilder(muleContext).message(of("zap")).build();
   }
 
+  private CoreEvent payloadEvent(Object payload) throws MuleException {
+    return eventBuilder(muleContext).message(of(payload)).build();
+  }
+
   private String payloadZapExpression() {
     return "payload == 'zap'";
   }
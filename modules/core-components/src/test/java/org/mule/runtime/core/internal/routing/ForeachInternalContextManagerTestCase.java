@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Collections.emptyIterator;
+import static java.util.Optional.empty;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.internal.routing.ForeachInternalContextManager.addContext;
+import static org.mule.runtime.core.internal.routing.ForeachInternalContextManager.getContext;
+import static org.mule.runtime.core.internal.routing.ForeachInternalContextManager.removeContext;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.ForeachStory.FOR_EACH;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.SCOPE;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(SCOPE)
+@Story(FOR_EACH)
+public class ForeachInternalContextManagerTestCase extends AbstractMuleContextTestCase {
+
+  @Test
+  @Description("Events built from one within a foreach share its context, but adding or removing one doesn't affect the others.")
+  public void copiesAreIsolated() throws Exception {
+    ForeachContext foreachContext = createForeachContext();
+    CoreEvent event = testEvent();
+    addContext(event, foreachContext);
+
+    CoreEvent copy = CoreEvent.builder(event).build();
+    assertThat(getContext(copy), is(sameInstance(foreachContext)));
+
+    removeContext(copy);
+    assertThat(getContext(copy), is(nullValue()));
+    assertThat(getContext(event), is(sameInstance(foreachContext)));
+
+    ForeachContext otherContext = createForeachContext();
+    addContext(copy, otherContext);
+    assertThat(getContext(copy), is(sameInstance(otherContext)));
+    assertThat(getContext(event), is(sameInstance(foreachContext)));
+  }
+
+  private ForeachContext createForeachContext() {
+    return new ForeachContext(null, null, of("root"), empty(), emptyIterator());
+  }
+}
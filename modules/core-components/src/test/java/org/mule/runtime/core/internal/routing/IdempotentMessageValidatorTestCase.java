@@ -6,10 +6,15 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.junit.rules.ExpectedException.none;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -32,13 +37,21 @@ import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.util.IOUtils;
 import org.mule.runtime.core.internal.el.ExpressionLanguageAdaptor;
 import org.mule.runtime.core.internal.el.dataweave.DataWeaveExpressionLanguageAdaptor;
+import org.mule.runtime.core.internal.management.stats.IdempotentMessageValidatorStatistics;
 import org.mule.runtime.core.internal.message.InternalMessage;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.tck.core.util.store.InMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
 import org.mule.weave.v2.el.ByteArrayBasedCursorStreamProvider;
 import org.mule.weave.v2.el.WeaveDefaultExpressionLanguageFactoryService;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 import io.qameta.allure.Issue;
 import org.junit.After;
 import org.junit.Before;
@@ -282,5 +295,127 @@ public class IdempotentMessageValidatorTestCase extends AbstractMuleContextTestC
     assertThat(idempotent.getObjectStore(), is(notNullValue()));
   }
 
+  @Test
+  public void filterSkipsLookupOfNewIds() throws Exception {
+    ObjectStore<String> objectStore = new InMemoryObjectStore<>();
+    objectStore.store("stored", "0");
+    idempotent.setObjectStore(objectStore);
+    idempotent.setFilterEnabled(true);
+
+    initialiseIfNeeded(idempotent, true, muleContext);
+    idempotent.start();
+
+    assertThat(idempotent.process(eventWithCorrelationId("1")), is(notNullValue()));
+    assertThat(idempotent.process(eventWithCorrelationId("2")), is(notNullValue()));
+    assertDuplicate(eventWithCorrelationId("1"));
+    // stored before the validator was started
+    assertDuplicate(eventWithCorrelationId("stored"));
+
+    IdempotentMessageValidatorStatistics statistics = idempotent.getStatistics();
+    assertThat(statistics.getFilterNegatives(), is(2L));
+    assertThat(statistics.getFilterPositives(), is(2L));
+    assertThat(statistics.getFalsePositives(), is(0L));
+    assertThat(statistics.getFalsePositiveRate(), is(0.0));
+  }
+
+  @Test
+  public void writeBehind() throws Exception {
+    idempotent.setFilterEnabled(true);
+    idempotent.setWriteBehindBatchSize(2);
+    idempotent.setWriteBehindIntervalMillis(60000);
+
+    initialiseIfNeeded(idempotent, true, muleContext);
+    idempotent.start();
+
+    assertThat(idempotent.process(eventWithCorrelationId("1")), is(notNullValue()));
+    assertThat(idempotent.getObjectStore().contains("1"), is(false));
+    // detected before it is written
+    assertDuplicate(eventWithCorrelationId("1"));
+
+    // completes the batch
+    assertThat(idempotent.process(eventWithCorrelationId("2")), is(notNullValue()));
+    new PollingProber().check(new JUnitLambdaProbe(() -> idempotent.getObjectStore().contains("1")
+        && idempotent.getObjectStore().contains("2")));
+    assertDuplicate(eventWithCorrelationId("2"));
+
+    assertThat(idempotent.process(eventWithCorrelationId("3")), is(notNullValue()));
+    idempotent.stop();
+    assertThat(idempotent.getObjectStore().contains("3"), is(true));
+    assertThat(idempotent.getStatistics().getWriteBehindWrites(), is(3L));
+  }
+
+  @Test
+  public void filterForgetsExpiredIdsWhenRebuilt() throws Exception {
+    idempotent.setFilterEnabled(true);
+    idempotent.setFilterRebuildIntervalMillis(50);
+
+    initialiseIfNeeded(idempotent, true, muleContext);
+    idempotent.start();
+
+    assertThat(idempotent.process(eventWithCorrelationId("1")), is(notNullValue()));
+    // as if it expired
+    idempotent.getObjectStore().remove("1");
+
+    long rebuilds = idempotent.getStatistics().getFilterRebuilds();
+    new PollingProber().check(new JUnitLambdaProbe(() -> idempotent.getStatistics().getFilterRebuilds() > rebuilds + 1));
+
+    assertThat(idempotent.process(eventWithCorrelationId("1")), is(notNullValue()));
+    assertThat(idempotent.getStatistics().getFilterNegatives(), is(2L));
+    assertThat(idempotent.getStatistics().getFalsePositives(), is(0L));
+  }
+
+  @Test
+  public void idsAcceptedWhileFilterIsRebuiltAreNotLost() throws Exception {
+    idempotent.setFilterEnabled(true);
+    idempotent.setFilterRebuildIntervalMillis(1);
+
+    initialiseIfNeeded(idempotent, true, muleContext);
+    idempotent.start();
+
+    int threads = 4;
+    int idsPerThread = 250;
+    ExecutorService executor = newFixedThreadPool(threads);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int thread = 0; thread < threads; thread++) {
+        String prefix = thread + "-";
+        results.add(executor.submit(() -> {
+          for (int i = 0; i < idsPerThread; i++) {
+            assertThat(idempotent.process(eventWithCorrelationId(prefix + i)), is(notNullValue()));
+          }
+          return null;
+        }));
+      }
+      for (Future<?> result : results) {
+        result.get(RECEIVE_TIMEOUT, MILLISECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(RECEIVE_TIMEOUT, MILLISECONDS);
+    }
+    assertThat(idempotent.getStatistics().getFilterRebuilds(), greaterThan(0L));
+
+    for (int thread = 0; thread < threads; thread++) {
+      for (int i = 0; i < idsPerThread; i++) {
+        assertDuplicate(eventWithCorrelationId(thread + "-" + i));
+      }
+    }
+  }
+
+  private CoreEvent eventWithCorrelationId(String correlationId) {
+    final BaseEventContext context = mock(BaseEventContext.class);
+    when(context.getCorrelationId()).thenReturn(correlationId);
+    return CoreEvent.builder(context).message(of("OK")).build();
+  }
+
+  private void assertDuplicate(CoreEvent event) throws Exception {
+    try {
+      idempotent.process(event);
+      fail("Duplicate message was accepted");
+    } catch (DuplicateMessageException e) {
+      // expected
+    }
+  }
+
 
 }
@@ -17,9 +17,14 @@ import static org.mule.tck.util.MuleContextUtils.eventBuilder;
 import static org.mule.test.allure.AllureConstants.ScopeFeature.SCOPE;
 import static org.mule.test.allure.AllureConstants.ScopeFeature.UntilSuccessfulStory.UNTIL_SUCCESSFUL;
 
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
@@ -27,10 +32,12 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.collection.IsMapContaining.hasKey;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -56,6 +63,9 @@ import org.mule.tck.processor.ContextPropagationChecker;
 import java.io.ByteArrayInputStream;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.After;
@@ -232,6 +242,71 @@ public class UntilSuccessfulTestCase extends AbstractMuleContextTestCase {
     assertEquals(targetMessageProcessor.getEventCount(), Integer.parseInt(untilSuccessful.getMaxRetries()) + 1);
   }
 
+  @Test
+  public void testTemporaryDeliveryFailureWithBackoff() throws Exception {
+    targetMessageProcessor.setNumberOfFailuresToSimulate(Integer.parseInt(untilSuccessful.getMaxRetries()));
+    untilSuccessful.setBackoffMultiplier(2);
+    untilSuccessful.setJitter(0.2);
+    untilSuccessful.initialise();
+    untilSuccessful.start();
+
+    final CoreEvent testEvent = eventBuilder(muleContext).message(of("ERROR")).build();
+    assertSame(testEvent.getMessage(), untilSuccessful.process(testEvent).getMessage());
+    assertEquals(targetMessageProcessor.getEventCount(), Integer.parseInt(untilSuccessful.getMaxRetries()) + 1);
+    assertEquals(0, untilSuccessful.getPendingRetries());
+  }
+
+  @Test
+  public void blockedRetryDoesNotDelayRetriesOfOtherScopes() throws Exception {
+    assumeThat("Retries are only scheduled on the timer wheel without a transaction", tx, is(false));
+
+    final CountDownLatch retryBlocked = new CountDownLatch(1);
+    final CountDownLatch releaseRetry = new CountDownLatch(1);
+    final ConfigurableMessageProcessor blockingProcessor = new ConfigurableMessageProcessor() {
+
+      @Override
+      public CoreEvent process(CoreEvent evt) throws MuleException {
+        if (getEventCount() > 0) {
+          retryBlocked.countDown();
+          try {
+            releaseRetry.await(RECEIVE_TIMEOUT, MILLISECONDS);
+          } catch (InterruptedException e) {
+            currentThread().interrupt();
+          }
+        }
+        return super.process(evt);
+      }
+    };
+    blockingProcessor.setNumberOfFailuresToSimulate(1);
+    final UntilSuccessful blockingUntilSuccessful =
+        buildUntilSuccessfulWithProcessors(MILLIS_BETWEEN_RETRIES, "1", blockingProcessor);
+    blockingUntilSuccessful.initialise();
+    blockingUntilSuccessful.start();
+
+    final ExecutorService executor = newSingleThreadExecutor();
+    try {
+      final CoreEvent blockingEvent = testEvent();
+      final Future<CoreEvent> blockingResult = executor.submit(() -> blockingUntilSuccessful.process(blockingEvent));
+      assertThat(retryBlocked.await(RECEIVE_TIMEOUT, MILLISECONDS), is(true));
+
+      targetMessageProcessor.setNumberOfFailuresToSimulate(1);
+      untilSuccessful.initialise();
+      untilSuccessful.start();
+
+      final long start = nanoTime();
+      assertLogicallyEqualEvents(testEvent(), untilSuccessful.process(testEvent()));
+      assertThat(NANOSECONDS.toMillis(nanoTime() - start), lessThan(RECEIVE_TIMEOUT / 2L));
+
+      releaseRetry.countDown();
+      blockingResult.get(RECEIVE_TIMEOUT, MILLISECONDS);
+    } finally {
+      releaseRetry.countDown();
+      executor.shutdownNow();
+      blockingUntilSuccessful.stop();
+      blockingUntilSuccessful.dispose();
+    }
+  }
+
   @Test
   public void testProcessingStrategyUsage() throws Exception {
     targetMessageProcessor.setNumberOfFailuresToSimulate(Integer.parseInt(untilSuccessful.getMaxRetries()));
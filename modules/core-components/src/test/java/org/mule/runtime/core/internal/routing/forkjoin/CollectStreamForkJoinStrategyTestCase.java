@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static org.mule.runtime.core.api.management.stats.RouterStatistics.TYPE_OUTBOUND;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.COLLECT_LIST;
+
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.RouterStatistics;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.api.streaming.object.CursorIteratorProviderFactory;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.internal.streaming.object.FileStoreCursorIteratorProvider;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+
+@Story(COLLECT_LIST)
+public class CollectStreamForkJoinStrategyTestCase extends AbstractForkJoinStrategyTestCase {
+
+  private CollectStreamForkJoinStrategyFactory factory;
+
+  @Override
+  protected ForkJoinStrategy createStrategy(ProcessingStrategy processingStrategy, int concurrency, boolean delayErrors,
+                                            long timeout) {
+    CursorIteratorProviderFactory cursorProviderFactory = mock(CursorIteratorProviderFactory.class);
+    when(cursorProviderFactory.of(any(EventContext.class), any(Iterator.class), any()))
+        .thenAnswer(invocation -> new FileStoreCursorIteratorProvider(invocation.getArgument(1),
+                                                                      FileStoreCursorIteratorConfig.getDefault(),
+                                                                      null, false));
+    factory = new CollectStreamForkJoinStrategyFactory(cursorProviderFactory, null);
+    return factory.createForkJoinStrategy(processingStrategy, concurrency, delayErrors, timeout, scheduler, timeoutErrorType,
+                                          false);
+  }
+
+  @Test
+  @Description("This strategy waits for all routes to return and then provides their results as a stream, in the order of the routes.")
+  public void collectStream() throws Throwable {
+    Message route1Result = of(1);
+    Message route2Result = of(2);
+    Message route3Result = of(3);
+
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(), asList(createRoutingPair(route1Result),
+                                                                            createRoutingPair(route2Result),
+                                                                            createRoutingPair(route3Result)));
+
+    assertThat(result.getMessage().getPayload().getValue(), instanceOf(CursorIteratorProvider.class));
+    CursorIteratorProvider provider = (CursorIteratorProvider) result.getMessage().getPayload().getValue();
+    try {
+      // the stream is repeatable
+      assertThat(readAll(provider), contains(route1Result, route2Result, route3Result));
+      assertThat(readAll(provider), contains(route1Result, route2Result, route3Result));
+    } finally {
+      provider.close();
+    }
+  }
+
+  @Test
+  @Override
+  @Description("The variables from each route are not merged into the result.")
+  public void flowVarsMerged() throws Throwable {
+    CoreEvent original = builder(this.<CoreEvent>newEvent()).addVariable("before", "beforeValue").build();
+    RoutingPair pair = RoutingPair.of(original, createChain(event -> builder(event).addVariable("foo", "fooValue").build()));
+
+    CoreEvent result = invokeStrategyBlocking(strategy, original, asList(pair));
+
+    assertThat(result.getVariables().keySet(), contains("before"));
+    ((CursorIteratorProvider) result.getMessage().getPayload().getValue()).close();
+  }
+
+  @Test
+  @Description("The processing time of the routes is recorded when router statistics are enabled.")
+  public void routeProcessingTimeRecorded() throws Throwable {
+    RouterStatistics routerStatistics = new RouterStatistics(TYPE_OUTBOUND);
+    routerStatistics.setEnabled(true);
+    factory.setRouterStatistics(routerStatistics);
+    strategy = factory.createForkJoinStrategy(processingStrategy, 1, true, Long.MAX_VALUE, scheduler, timeoutErrorType, false);
+
+    RoutingPair pair1 = createRoutingPair(of(1));
+    RoutingPair pair2 = RoutingPair.of(testEvent(), pair1.getRoute());
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(), asList(pair1, pair2));
+    ((CursorIteratorProvider) result.getMessage().getPayload().getValue()).close();
+
+    assertThat(routerStatistics.getRouteProcessingTimeCount(0), is(2L));
+    assertThat(routerStatistics.getRouteMaxProcessingTime(0),
+               greaterThanOrEqualTo(routerStatistics.getRouteProcessingTimePercentile(0, 50)));
+    assertThat(routerStatistics.getRouteProcessingTimeCount(1), is(0L));
+  }
+
+  private List<Message> readAll(CursorIteratorProvider provider) throws Exception {
+    List<Message> messages = new ArrayList<>();
+    try (CursorIterator<Message> cursor = provider.openCursor()) {
+      cursor.forEachRemaining(messages::add);
+    }
+    return messages;
+  }
+}
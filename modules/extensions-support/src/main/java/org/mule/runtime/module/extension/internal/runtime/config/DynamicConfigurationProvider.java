@@ -6,10 +6,11 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.config;
 
+import static java.util.Collections.unmodifiableList;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
-import static org.mule.runtime.api.util.collection.Collectors.toImmutableList;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.assertNotStopping;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
@@ -50,17 +51,20 @@ import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvin
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 import org.mule.runtime.module.extension.internal.value.ValueProviderMediator;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.slf4j.Logger;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
  * A {@link ConfigurationProvider} which continuously evaluates the same {@link ResolverSet} and then uses the resulting
  * {@link ResolverSetResult} to build an instance of type {@code T}
@@ -69,6 +73,10 @@ import org.slf4j.Logger;
  * {@link #resolverSet#resolve(Object)}, the resulting {@link ResolverSetResult} might not end up generating a new instance. This
  * is so because {@link ResolverSetResult} instances are put in a cache to guarantee that equivalent evaluations of the
  * {@code resolverSet} return the same instance.
+ * <p>
+ * The cache may be bounded by setting the {@link #MAX_INSTANCES_PROPERTY} system property. Instances evicted because of that
+ * bound are not disposed right away, since they may still be in use. They are returned by {@link #getExpired()} once they are no
+ * longer used, so they are disposed along with the expired ones.
  *
  * @since 4.0.0
  */
@@ -77,15 +85,21 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   private static final Logger LOGGER = getLogger(DynamicConfigurationProvider.class);
 
+  /**
+   * The maximum number of instances to keep for each dynamic configuration. Unbounded if not set.
+   *
+   * @since 4.6
+   */
+  public static final String MAX_INSTANCES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "dynamicConfig.maxInstances";
+
   private final ConfigurationInstanceFactory configurationInstanceFactory;
   private final ResolverSet resolverSet;
   private final ConnectionProviderValueResolver connectionProviderResolver;
   private final ExpirationPolicy expirationPolicy;
 
-  private final Map<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache = new ConcurrentHashMap<>();
-  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-  private final Lock cacheReadLock = cacheLock.readLock();
-  private final Lock cacheWriteLock = cacheLock.writeLock();
+  private final Queue<EvictedInstance> evicted = new ConcurrentLinkedQueue<>();
+  private final DynamicConfigurationStatistics statistics = new DynamicConfigurationStatistics();
+  private Cache<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache;
   private final ReflectionCache reflectionCache;
   private final ExpressionManager expressionManager;
 
@@ -119,6 +133,40 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     this.resolverSet = resolverSet;
     this.connectionProviderResolver = connectionProviderResolver;
     this.expirationPolicy = expirationPolicy;
+    this.cache = createCache(Long.getLong(MAX_INSTANCES_PROPERTY, -1));
+  }
+
+  private Cache<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> createCache(long maxInstances) {
+    Caffeine<Object, Object> builder = Caffeine.newBuilder()
+        // the listener only queues the evicted instances, they are disposed by the expiration monitor
+        .executor(Runnable::run)
+        .removalListener((key, configuration, cause) -> {
+          if (cause.wasEvicted()) {
+            statistics.incEvictions();
+            evicted.add(new EvictedInstance((ConfigurationInstance) configuration));
+          }
+        });
+    if (maxInstances >= 0) {
+      builder.maximumSize(maxInstances);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Bounds the number of instances kept by this provider, overriding the {@link #MAX_INSTANCES_PROPERTY} system property. Must be
+   * called before any instance is created.
+   *
+   * @param maxInstances the maximum number of instances, or a negative value for no limit.
+   */
+  public void setMaxInstances(long maxInstances) {
+    this.cache = createCache(maxInstances);
+  }
+
+  /**
+   * @return the statistics of the instances cached by this provider.
+   */
+  public DynamicConfigurationStatistics getStatistics() {
+    return statistics;
   }
 
   /**
@@ -146,16 +194,29 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   private ConfigurationInstance getConfiguration(Pair<ResolverSetResult, ResolverSetResult> resolverSetResult, CoreEvent event)
       throws Exception {
 
-    ConfigurationInstance configuration;
-    cacheReadLock.lock();
-    try {
-      configuration = cache.computeIfAbsent(resolverSetResult, (r) -> createConfiguration(r, event));
+    ConfigurationInstance configuration = cache.getIfPresent(resolverSetResult);
+    if (configuration != null) {
       updateUsageStatistic(configuration);
-      return configuration;
+      // if it was not expired before its usage was updated, it is still cached
+      if (cache.getIfPresent(resolverSetResult) == configuration) {
+        statistics.incHits();
+        return configuration;
+      }
+    }
+
+    try {
+      return cache.asMap().compute(resolverSetResult, (key, current) -> {
+        if (current == null) {
+          statistics.incMisses();
+          current = createConfiguration(key, event);
+        } else {
+          statistics.incHits();
+        }
+        updateUsageStatistic(current);
+        return current;
+      });
     } catch (WrappingRuntimeException e) {
       throw e.getWrappedException();
-    } finally {
-      cacheReadLock.unlock();
     }
   }
 
@@ -226,18 +287,43 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     super.registerConfiguration(configuration);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Also returns the instances evicted because of the size bound that are no longer used. Must not be called concurrently.
+   */
   @Override
   public List<ConfigurationInstance> getExpired() {
-    cacheWriteLock.lock();
-    try {
-      return cache.entrySet().stream().filter(entry -> isExpired(entry.getValue())).map(entry -> {
-        cache.remove(entry.getKey());
-        unRegisterConfiguration(entry.getValue());
-        return entry.getValue();
-      }).collect(toImmutableList());
-    } finally {
-      cacheWriteLock.unlock();
+    List<ConfigurationInstance> expired = new ArrayList<>();
+    cache.asMap().forEach((key, configuration) -> {
+      if (!isExpired(configuration)) {
+        return;
+      }
+      // checks again atomically, since it may have been used after the previous check
+      cache.asMap().computeIfPresent(key, (k, current) -> {
+        if (current == configuration && isExpired(current)) {
+          expired.add(current);
+          return null;
+        }
+        return current;
+      });
+    });
+    expired.forEach(configuration -> {
+      statistics.incExpirations();
+      unRegisterConfiguration(configuration);
+    });
+
+    cache.cleanUp();
+    for (Iterator<EvictedInstance> iterator = evicted.iterator(); iterator.hasNext();) {
+      EvictedInstance evictedInstance = iterator.next();
+      if (evictedInstance.isReleased()) {
+        iterator.remove();
+        unRegisterConfiguration(evictedInstance.configuration);
+        expired.add(evictedInstance.configuration);
+      }
     }
+
+    return unmodifiableList(expired);
   }
 
   private boolean isExpired(ConfigurationInstance configuration) {
@@ -354,9 +440,41 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
         .map(ob -> ((ConnectionProviderObjectBuilder) ob).providerModel);
   }
 
+  /**
+   * An instance evicted from the cache, which is released once it has not been used since the previous time it was checked. That
+   * way, the ones that were obtained right before being evicted are not disposed while their components are starting to use them.
+   */
+  private static class EvictedInstance {
+
+    private final ConfigurationInstance configuration;
+    private long lastUsedMillis;
+    private boolean checked;
+
+    private EvictedInstance(ConfigurationInstance configuration) {
+      this.configuration = configuration;
+      this.lastUsedMillis = configuration.getStatistics().getLastUsedMillis();
+    }
+
+    private boolean isReleased() {
+      ConfigurationStats stats = configuration.getStatistics();
+      long currentLastUsedMillis = stats.getLastUsedMillis();
+      if (stats.getActiveComponents() > 0 || currentLastUsedMillis != lastUsedMillis) {
+        lastUsedMillis = currentLastUsedMillis;
+        checked = false;
+        return false;
+      }
+
+      if (!checked) {
+        checked = true;
+        return false;
+      }
+      return true;
+    }
+  }
+
   /**
    * Used to preserve exception throwing behaviour in {@link #getConfiguration} as the method {@link #createConfiguration} can no
-   * longer throw checked exception as it is used inside {@link Map#computeIfAbsent}.
+   * longer throw checked exception as it is used inside {@link Map#compute}.
    */
   private static class WrappingRuntimeException extends RuntimeException {
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.config;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the instances cached by a {@link DynamicConfigurationProvider}.
+ *
+ * @since 4.6
+ */
+public class DynamicConfigurationStatistics implements Statistics {
+
+  private static final long serialVersionUID = 4811537916404126823L;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder expirations = new LongAdder();
+  private boolean enabled = true;
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Records a resolution that returned an already existing instance.
+   */
+  public void incHits() {
+    if (enabled) {
+      hits.increment();
+    }
+  }
+
+  /**
+   * Records a resolution that had to create a new instance.
+   */
+  public void incMisses() {
+    if (enabled) {
+      misses.increment();
+    }
+  }
+
+  /**
+   * Records an instance removed from the cache because it exceeded its maximum size.
+   */
+  public void incEvictions() {
+    if (enabled) {
+      evictions.increment();
+    }
+  }
+
+  /**
+   * Records an instance removed from the cache because it expired.
+   */
+  public void incExpirations() {
+    if (enabled) {
+      expirations.increment();
+    }
+  }
+
+  /**
+   * @return the number of resolutions that returned an already existing instance.
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of resolutions that had to create a new instance.
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the number of instances removed from the cache because it exceeded its maximum size.
+   */
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return the number of instances removed from the cache because they expired.
+   */
+  public long getExpirations() {
+    return expirations.sum();
+  }
+
+  public void clear() {
+    hits.reset();
+    misses.reset();
+    evictions.reset();
+    expirations.reset();
+  }
+}
@@ -10,14 +10,21 @@ import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.util.StringUtils.isBlank;
 import static org.mule.runtime.module.extension.internal.runtime.resolver.ResolverUtils.resolveRecursively;
+
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.module.extension.internal.runtime.objectbuilder.ObjectBuilder;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableMap;
 
@@ -30,6 +37,9 @@ import com.google.common.collect.ImmutableMap;
  * {@link ValueResolver}s but evaluated many times. With this goal in mind is that the return value of this resolver will always
  * be a {@link ResolverSetResult} which then can be used by a {@link ObjectBuilder} to generate an actual object.
  * <p>
+ * The values of the resolvers that always return the same value are kept after the first evaluation, so only the other ones are
+ * evaluated each time.
+ * <p>
  * Instances of this class are to be considered thread safe and reusable
  *
  * @since 3.7.0
@@ -39,6 +49,7 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
   private final Map<String, ValueResolver<?>> resolvers = new LinkedHashMap<>();
   private boolean dynamic = false;
   private final MuleContext muleContext;
+  private volatile Layout layout;
 
   public ResolverSet(MuleContext muleContext) {
     this.muleContext = muleContext;
@@ -60,6 +71,7 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
     if (resolvers.put(key, resolver) != null) {
       throw new IllegalStateException("A value was already given for key " + key);
     }
+    layout = null;
 
     if (!dynamic && resolver.isDynamic()) {
       dynamic = true;
@@ -101,13 +113,56 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
    */
   @Override
   public ResolverSetResult resolve(ValueResolvingContext context) throws MuleException {
-    ResolverSetResult.Builder builder = getResolverSetBuilder();
+    Layout layout = this.layout;
+    if (layout == null) {
+      layout = createLayout(context);
+      this.layout = layout;
+    }
+
+    Object[] values = layout.constantValues.clone();
+    for (int i = 0; i < layout.resolvers.length; ++i) {
+      values[layout.resolverPositions[i]] = resolveRecursively(layout.resolvers[i], context);
+    }
 
+    return new ResolverSetResult(new ResolvedValues(layout, values));
+  }
+
+  private Layout createLayout(ValueResolvingContext context) throws MuleException {
+    String[] keys = new String[resolvers.size()];
+    Map<String, Integer> positions = new HashMap<>();
+    Object[] constantValues = new Object[keys.length];
+    int[] resolverPositions = new int[keys.length];
+    ValueResolver<?>[] nonConstantResolvers = new ValueResolver<?>[keys.length];
+    int nonConstantCount = 0;
+
+    int position = 0;
     for (Map.Entry<String, ValueResolver<?>> entry : resolvers.entrySet()) {
-      builder.add(entry.getKey(), resolveRecursively(entry.getValue(), context));
+      keys[position] = entry.getKey();
+      positions.put(entry.getKey(), position);
+
+      ValueResolver<?> resolver = entry.getValue();
+      boolean constant = isConstant(resolver);
+      Object value = constant ? resolver.resolve(context) : null;
+      if (constant && !(value instanceof ValueResolver)) {
+        constantValues[position] = value;
+      } else {
+        resolverPositions[nonConstantCount] = position;
+        nonConstantResolvers[nonConstantCount++] = resolver;
+      }
+      position++;
     }
 
-    return builder.build();
+    int[] usedResolverPositions = new int[nonConstantCount];
+    System.arraycopy(resolverPositions, 0, usedResolverPositions, 0, nonConstantCount);
+    ValueResolver<?>[] usedResolvers = new ValueResolver<?>[nonConstantCount];
+    System.arraycopy(nonConstantResolvers, 0, usedResolvers, 0, nonConstantCount);
+    return new Layout(keys, positions, constantValues, usedResolverPositions, usedResolvers);
+  }
+
+  private static boolean isConstant(ValueResolver<?> resolver) {
+    return resolver instanceof StaticValueResolver
+        || resolver instanceof StaticLiteralValueResolver
+        || (resolver instanceof TypeSafeValueResolverWrapper && ((TypeSafeValueResolverWrapper<?>) resolver).isConstant());
   }
 
   /**
@@ -135,8 +190,90 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
     initialiseIfNeeded(resolvers.values(), muleContext);
   }
 
-  ResolverSetResult.Builder getResolverSetBuilder() {
-    return ResolverSetResult.newBuilder();
+  /**
+   * The keys of a {@link ResolverSet} in order, along with the values of the ones that are constant and the resolvers of the
+   * others.
+   */
+  private static final class Layout {
+
+    private final String[] keys;
+    private final Map<String, Integer> positions;
+    private final Object[] constantValues;
+    private final int[] resolverPositions;
+    private final ValueResolver<?>[] resolvers;
+
+    private Layout(String[] keys, Map<String, Integer> positions, Object[] constantValues, int[] resolverPositions,
+                   ValueResolver<?>[] resolvers) {
+      this.keys = keys;
+      this.positions = positions;
+      this.constantValues = constantValues;
+      this.resolverPositions = resolverPositions;
+      this.resolvers = resolvers;
+    }
   }
 
+  /**
+   * An unmodifiable view of the values resolved by a {@link ResolverSet}, indexed by the position of their keys, which iterates
+   * them in the order the resolvers were added.
+   */
+  private static final class ResolvedValues extends AbstractMap<String, Object> {
+
+    private final Layout layout;
+    private final Object[] values;
+
+    private ResolvedValues(Layout layout, Object[] values) {
+      this.layout = layout;
+      this.values = values;
+    }
+
+    @Override
+    public Object get(Object key) {
+      Integer position = layout.positions.get(key);
+      return position == null ? null : values[position];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return layout.positions.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return new AbstractSet<Entry<String, Object>>() {
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+          return new Iterator<Entry<String, Object>>() {
+
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+              return position < values.length;
+            }
+
+            @Override
+            public Entry<String, Object> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              Entry<String, Object> entry = new SimpleImmutableEntry<>(layout.keys[position], values[position]);
+              position++;
+              return entry;
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return values.length;
+        }
+      };
+    }
+  }
 }
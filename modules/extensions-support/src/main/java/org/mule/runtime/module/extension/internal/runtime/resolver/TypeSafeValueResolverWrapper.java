@@ -72,6 +72,13 @@ public class TypeSafeValueResolverWrapper<T> implements ValueResolver<T>, Initia
     }
   }
 
+  /**
+   * @return whether this resolver was initialised to always return the value it resolved the first time.
+   */
+  boolean isConstant() {
+    return resolver instanceof TypeSafeValueResolverWrapper.CachedResolver;
+  }
+
   public void setTransformationService(TransformationService transformationService) {
     this.transformationService = transformationService;
   }
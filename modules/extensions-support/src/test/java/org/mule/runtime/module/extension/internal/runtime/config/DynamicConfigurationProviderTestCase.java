@@ -10,10 +10,12 @@ import static java.util.Arrays.asList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertThat;
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
@@ -278,6 +280,61 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     assertThat(instance.getDispose(), is(1));
   }
 
+  @Test
+  public void statistics() throws Exception {
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    provider.get(event);
+    provider.get(event);
+    makeAlternateInstance();
+
+    timeSupplier.move(10, MINUTES);
+    assertThat(provider.getExpired().size(), is(2));
+
+    DynamicConfigurationStatistics statistics = provider.getStatistics();
+    assertThat(statistics.getHits(), is(1L));
+    assertThat(statistics.getMisses(), is(2L));
+    assertThat(statistics.getExpirations(), is(2L));
+    assertThat(statistics.getEvictions(), is(0L));
+  }
+
+  @Test
+  public void evictedInstanceIsExpiredOnceNotUsed() throws Exception {
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    provider.setMaxInstances(1);
+
+    HeisenbergExtension instance1 = (HeisenbergExtension) provider.get(event).getValue();
+    HeisenbergExtension instance2 = makeAlternateInstance();
+
+    // it may still be used when first checked
+    assertThat(provider.getExpired().isEmpty(), is(true));
+
+    List<ConfigurationInstance> expired = provider.getExpired();
+    assertThat(expired.size(), is(1));
+    assertThat(expired.get(0).getValue(), is(anyOf(sameInstance(instance1), sameInstance(instance2))));
+    assertThat(provider.getExpired().isEmpty(), is(true));
+
+    DynamicConfigurationStatistics statistics = provider.getStatistics();
+    assertThat(statistics.getEvictions(), is(1L));
+    assertThat(statistics.getExpirations(), is(0L));
+  }
+
+  @Test
+  public void evictedInstanceIsNotExpiredWhileUsed() throws Exception {
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    provider.setMaxInstances(0);
+
+    ConfigurationInstance instance = provider.get(event);
+    MutableConfigurationStats stats = (MutableConfigurationStats) instance.getStatistics();
+    stats.addActiveComponent();
+
+    provider.getExpired();
+    assertThat(provider.getExpired().isEmpty(), is(true));
+
+    stats.discountActiveComponent();
+    provider.getExpired();
+    assertThat(provider.getExpired(), contains(sameInstance(instance)));
+  }
+
   private HeisenbergExtension makeAlternateInstance() throws Exception {
     ResolverSetResult alternateResult = mock(ResolverSetResult.class, Mockito.RETURNS_DEEP_STUBS);
     when(alternateResult.asMap()).thenReturn(new HashMap<>());
@@ -8,7 +8,12 @@ package org.mule.runtime.module.extension.internal.runtime.resolver;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.test.module.extension.internal.util.ExtensionsTestUtils.getParameter;
 import org.mule.runtime.api.lifecycle.Lifecycle;
@@ -100,6 +105,43 @@ public class ResolverSetTestCase extends AbstractMuleTestCase {
     assertThat(set.isDynamic(), is(true));
   }
 
+  @Test
+  public void constantResolversAreResolvedOnce() throws Exception {
+    ValueResolver<String> constant = spy(new StaticValueResolver<>("constant"));
+    set.add("constant", constant);
+
+    for (int i = 0; i < 3; ++i) {
+      ResolverSetResult result = set.resolve(resolvingContext);
+      assertThat(result.get("myName"), is(NAME));
+      assertThat(result.get("age"), is(AGE));
+      assertThat(result.get("constant"), is("constant"));
+    }
+
+    verify(constant, times(1)).resolve(resolvingContext);
+    for (ValueResolver resolver : mapping.values()) {
+      verify(resolver, times(3)).resolve(resolvingContext);
+    }
+  }
+
+  @Test
+  public void resultKeepsOrder() throws Exception {
+    set.add("constant", new StaticValueResolver<>(null));
+    ResolverSetResult result = set.resolve(resolvingContext);
+
+    assertThat(result.asMap().keySet(), contains("myName", "age", "constant"));
+    assertThat(result.asMap().values(), contains(NAME, AGE, null));
+    assertThat(result.asMap().containsKey("constant"), is(true));
+    assertThat(result.get("unknown"), is(nullValue()));
+  }
+
+  @Test
+  public void addAfterResolve() throws Exception {
+    set.resolve(resolvingContext);
+    set.add("constant", new StaticValueResolver<>("constant"));
+
+    assertThat(set.resolve(resolvingContext).get("constant"), is("constant"));
+  }
+
   private void assertResult(ResolverSetResult result, Map<ParameterModel, ValueResolver> mapping) throws Exception {
     assertThat(result, is(notNullValue()));
     for (Map.Entry<ParameterModel, ValueResolver> entry : mapping.entrySet()) {
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.config.internal;
 
+import static java.lang.Math.max;
 import static java.util.Arrays.stream;
 import static java.util.Collections.reverse;
 import static java.util.Objects.requireNonNull;
@@ -22,8 +23,10 @@ import org.mule.runtime.core.internal.lifecycle.phases.LifecycleObjectSorter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
 
 import org.jgrapht.alg.connectivity.ConnectivityInspector;
@@ -162,23 +165,7 @@ public class DependencyGraphLifecycleObjectSorter implements LifecycleObjectSort
    */
   @Override
   public List<Object> getSortedObjects() {
-    List<BeanWrapper> res = dependencyGraphs.stream().map(graph -> {
-
-      List<BeanWrapper> sortedObjects = newArrayList(new TopologicalOrderIterator<>(graph, new Comparator<BeanWrapper>() {
-
-        @Override
-        public int compare(BeanWrapper o1, BeanWrapper o2) {
-          if (getLifeCycleObjectNameOrder().getOrDefault(o1.getName(), -1) > getLifeCycleObjectNameOrder()
-              .getOrDefault(o2.getName(), -1)) {
-            return -1;
-          } else {
-            return 1;
-          }
-        }
-      }));
-      reverse(sortedObjects);
-      return sortedObjects;
-    }).reduce(new ArrayList<>(), (sortedObjectList, b) -> {
+    List<BeanWrapper> res = dependencyGraphs.stream().map(this::sort).reduce(new ArrayList<>(), (sortedObjectList, b) -> {
       for (BeanWrapper v : b) {
         if (!sortedObjectList.contains(v)) {
           sortedObjectList.add(v);
@@ -192,6 +179,64 @@ public class DependencyGraphLifecycleObjectSorter implements LifecycleObjectSort
 
   }
 
+  /**
+   * Groups the objects of each graph(bucket) by their depth in it, which is one more than the depth of their deepest
+   * prerequisite. That way, the objects of a group don't depend on each other and the prerequisites of each object are in a
+   * previous group.
+   *
+   * @return the groups of objects, in the order the lifecycle has to be applied to them
+   */
+  @Override
+  public List<List<Object>> getSortedObjectGroups() {
+    List<List<Object>> groups = new ArrayList<>();
+    Set<BeanWrapper> grouped = new HashSet<>();
+    for (DefaultDirectedGraph<BeanWrapper, DefaultEdge> graph : dependencyGraphs) {
+      List<List<Object>> graphGroups = new ArrayList<>();
+      Map<BeanWrapper, Integer> depths = new HashMap<>();
+      for (BeanWrapper bean : sort(graph)) {
+        if (!grouped.add(bean)) {
+          // in a group of a previous graph, so it doesn't constrain the objects of this one
+          depths.put(bean, -1);
+          continue;
+        }
+
+        int depth = 0;
+        for (DefaultEdge edge : graph.outgoingEdgesOf(bean)) {
+          depth = max(depth, depths.getOrDefault(graph.getEdgeTarget(edge), -1) + 1);
+        }
+        depths.put(bean, depth);
+
+        while (graphGroups.size() <= depth) {
+          graphGroups.add(new ArrayList<>());
+        }
+        graphGroups.get(depth).add(bean.getWrappedObject());
+      }
+      graphGroups.stream().filter(group -> !group.isEmpty()).forEach(groups::add);
+    }
+    return groups;
+  }
+
+  /**
+   * The objects in the graph(bucket) will be sorted based on the topological order. By reversing the order, The object that
+   * should be initialised/disposed first will come first.
+   */
+  private List<BeanWrapper> sort(DefaultDirectedGraph<BeanWrapper, DefaultEdge> graph) {
+    List<BeanWrapper> sortedObjects = newArrayList(new TopologicalOrderIterator<>(graph, new Comparator<BeanWrapper>() {
+
+      @Override
+      public int compare(BeanWrapper o1, BeanWrapper o2) {
+        if (getLifeCycleObjectNameOrder().getOrDefault(o1.getName(), -1) > getLifeCycleObjectNameOrder()
+            .getOrDefault(o2.getName(), -1)) {
+          return -1;
+        } else {
+          return 1;
+        }
+      }
+    }));
+    reverse(sortedObjects);
+    return sortedObjects;
+  }
+
   /**
    * Provides the information that will be needed for the comparison during the top sort
    *
@@ -41,6 +41,7 @@ public class EventBenchmark extends AbstractBenchmark {
   private CoreEvent eventWith10VariablesProperties;
   private CoreEvent eventWith50VariablesProperties;
   private CoreEvent eventWith100VariablesProperties;
+  private CoreEvent eventWith500Variables;
 
   @Setup
   public void setup() throws Exception {
@@ -55,6 +56,7 @@ public class EventBenchmark extends AbstractBenchmark {
     eventWith10VariablesProperties = createMuleEventWithFlowVarsAndProperties(10);
     eventWith50VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
     eventWith100VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
+    eventWith500Variables = createMuleEvent(of(PAYLOAD), 500);
   }
 
   @TearDown
@@ -127,6 +129,20 @@ public class EventBenchmark extends AbstractBenchmark {
     return CoreEvent.builder(eventWith100VariablesProperties).addVariable(KEY, VALUE).build();
   }
 
+  @Benchmark
+  public CoreEvent addEventVariableEventWith500Variables() {
+    return CoreEvent.builder(eventWith500Variables).addVariable(KEY, VALUE).build();
+  }
+
+  @Benchmark
+  public CoreEvent removeEventVariableEventWith50VariablesProperties() {
+    return CoreEvent.builder(eventWith50VariablesProperties).removeVariable("flowVariableKey1").build();
+  }
+
+  @Benchmark
+  public CoreEvent removeEventVariableEventWith500Variables() {
+    return CoreEvent.builder(eventWith500Variables).removeVariable("flowVariableKey1").build();
+  }
 
   @Benchmark
   public CoreEvent copyWith10FlowVarsAnd10PropertiesWrite1OfEach() throws Exception {
@@ -37,6 +37,7 @@ public class ProcessorChainBenchmark extends AbstractBenchmark {
   private static final int NUM_PROCESSORS = 20;
   private static final int STREAM_SIZE = 1000;
   private MessageProcessorChain chain;
+  private MessageProcessorChain singleProcessorChain;
 
   private CoreEvent event;
 
@@ -48,6 +49,8 @@ public class ProcessorChainBenchmark extends AbstractBenchmark {
     }
     chain = builder.build();
     chain.setMuleContext(createMuleContextWithServices());
+    singleProcessorChain = new DefaultMessageProcessorChainBuilder().chain(event -> event).build();
+    singleProcessorChain.setMuleContext(createMuleContextWithServices());
     event = builder(create("", "", CONNECTOR_LOCATION, null, empty()))
         .message(of(PAYLOAD)).build();
   }
@@ -57,6 +60,14 @@ public class ProcessorChainBenchmark extends AbstractBenchmark {
     return chain.process(event);
   }
 
+  /**
+   * Compared with {@link #blocking()}, gives the overhead the chain adds for each processor.
+   */
+  @Benchmark
+  public CoreEvent blockingSingleProcessor() throws MuleException {
+    return singleProcessorChain.process(event);
+  }
+
   @Benchmark
   public CountDownLatch stream() throws MuleException, InterruptedException {
     CountDownLatch latch = new CountDownLatch(STREAM_SIZE);
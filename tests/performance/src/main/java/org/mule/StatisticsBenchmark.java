@@ -16,10 +16,12 @@ import org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStati
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
 
 public class StatisticsBenchmark extends AbstractBenchmark {
 
@@ -29,6 +31,8 @@ public class StatisticsBenchmark extends AbstractBenchmark {
     public DefaultFlowConstructStatistics noCounters = new DefaultFlowConstructStatistics(FLOW_FLOW_CONSTRUCT_TYPE, "flow0");
     public DefaultFlowConstructStatistics oneCounter = new DefaultFlowConstructStatistics(FLOW_FLOW_CONSTRUCT_TYPE, "flow1");
     public DefaultFlowConstructStatistics fiveCounters = new DefaultFlowConstructStatistics(FLOW_FLOW_CONSTRUCT_TYPE, "flow5");
+    public DefaultFlowConstructStatistics processingTimes =
+        new DefaultFlowConstructStatistics(FLOW_FLOW_CONSTRUCT_TYPE, "processingTimes");
 
     private ResetOnQueryCounter oneEventsReceivedCounters;
     private Collection<ResetOnQueryCounter> fiveEventsReceivedCounters;
@@ -41,6 +45,10 @@ public class StatisticsBenchmark extends AbstractBenchmark {
       for (int i = 0; i < 5; ++i) {
         fiveEventsReceivedCounters.add(fiveCounters.getEventsReceivedCounter());
       }
+
+      for (int i = 0; i < 10000; ++i) {
+        addProcessingTime(processingTimes);
+      }
     }
   }
 
@@ -62,4 +70,27 @@ public class StatisticsBenchmark extends AbstractBenchmark {
     return state.fiveCounters.getTotalEventsReceived();
   }
 
+  @Benchmark
+  public Object recordProcessingTime(MyState state) {
+    addProcessingTime(state.processingTimes);
+    return state.processingTimes.getProcessedEvents();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void recordProcessingTimeContended(MyState state) {
+    addProcessingTime(state.processingTimes);
+  }
+
+  @Benchmark
+  public Object processingTimePercentile(MyState state) {
+    return state.processingTimes.getProcessingTimePercentile(99);
+  }
+
+  private static void addProcessingTime(DefaultFlowConstructStatistics statistics) {
+    long time = ThreadLocalRandom.current().nextLong(1, 500);
+    statistics.addFlowExecutionBranchTime(time, time);
+    statistics.addCompleteFlowExecutionTime(time);
+  }
+
 }
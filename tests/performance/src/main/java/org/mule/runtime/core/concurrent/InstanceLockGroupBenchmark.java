@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.concurrent;
+
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.internal.lock.InstanceLockGroup;
+import org.mule.runtime.core.internal.lock.SingleServerLockProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class InstanceLockGroupBenchmark extends AbstractBenchmark {
+
+  private static final int LOCK_IDS = 1024;
+
+  @Param({"false", "true"})
+  public boolean statistics;
+
+  private final String[] lockIds = new String[LOCK_IDS];
+  private InstanceLockGroup lockGroup;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    lockGroup = new InstanceLockGroup(new SingleServerLockProvider());
+    lockGroup.getStatistics().setEnabled(statistics);
+    for (int i = 0; i < LOCK_IDS; ++i) {
+      lockIds[i] = "idempotentRedeliveryPolicy-" + i;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    lockGroup.dispose();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public boolean lockUnlockDistinctIds() {
+    String lockId = lockIds[current().nextInt(LOCK_IDS)];
+    lockGroup.lock(lockId);
+    lockGroup.unlock(lockId);
+    return true;
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public boolean tryLockDistinctIds() {
+    String lockId = lockIds[current().nextInt(LOCK_IDS)];
+    boolean acquired = lockGroup.tryLock(lockId);
+    if (acquired) {
+      lockGroup.unlock(lockId);
+    }
+    return acquired;
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public boolean lockUnlockSameId() {
+    lockGroup.lock(lockIds[0]);
+    lockGroup.unlock(lockIds[0]);
+    return true;
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.component.location.ConfigurationComponentLocator.REGISTRY_KEY;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.tck.junit4.AbstractMuleContextTestCase.getAppleFlowComponentLocationAnnotations;
+import static org.mule.tck.util.MuleContextUtils.eventBuilder;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.component.ComponentIdentifier;
+import org.mule.runtime.api.component.location.ConfigurationComponentLocator;
+import org.mule.runtime.api.component.location.Location;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the overhead of an {@link IdempotentRedeliveryPolicy} on events that don't fail, with the counters tracked only in
+ * the object store and in memory.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class IdempotentRedeliveryPolicyBenchmark extends AbstractBenchmark {
+
+  private ConfigurationComponentLocator configurationComponentLocator;
+
+  private MuleContext muleContext;
+  private IdempotentRedeliveryPolicy storeTrackingPolicy;
+  private IdempotentRedeliveryPolicy localTrackingPolicy;
+  private CoreEvent event;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    configurationComponentLocator = mock(ConfigurationComponentLocator.class, RETURNS_DEEP_STUBS.get());
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+
+    storeTrackingPolicy = createPolicy(false);
+    localTrackingPolicy = createPolicy(true);
+    event = eventBuilder(muleContext).message(of(PAYLOAD)).build();
+  }
+
+  private IdempotentRedeliveryPolicy createPolicy(boolean localTracking) throws MuleException {
+    IdempotentRedeliveryPolicy policy = new IdempotentRedeliveryPolicy();
+    policy.setAnnotations(getAppleFlowComponentLocationAnnotations());
+    policy.setUseSecureHash(true);
+    policy.setMaxRedeliveryCount(5);
+    policy.setLocalTracking(localTracking);
+    policy.setMessageProcessors(singletonList(e -> e));
+    initialiseIfNeeded(policy, muleContext);
+    startIfNeeded(policy);
+    return policy;
+  }
+
+  @TearDown
+  public void tearDown() {
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  @BenchmarkMode(AverageTime)
+  public CoreEvent storeTracking() throws MuleException {
+    return storeTrackingPolicy.process(event);
+  }
+
+  @Benchmark
+  @BenchmarkMode(AverageTime)
+  public CoreEvent localTracking() throws MuleException {
+    return localTrackingPolicy.process(event);
+  }
+
+  @Override
+  protected Map<String, Object> getStartUpRegistryObjects() {
+    when(configurationComponentLocator.find(any(Location.class))).thenReturn(empty());
+    when(configurationComponentLocator.find(any(ComponentIdentifier.class))).thenReturn(emptyList());
+
+    return singletonMap(REGISTRY_KEY, configurationComponentLocator);
+  }
+}
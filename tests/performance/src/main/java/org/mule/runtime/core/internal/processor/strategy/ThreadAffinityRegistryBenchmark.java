@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+
+import org.mule.AbstractBenchmark;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares getting the sink of the current thread to emit an event to from a cache keyed by thread, as the sink providers did,
+ * and from a {@link ThreadAffinityRegistry}.
+ */
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Threads(4)
+public class ThreadAffinityRegistryBenchmark extends AbstractBenchmark {
+
+  private Cache<Thread, CountingSink> cache;
+  private ThreadAffinityRegistry<CountingSink> registry;
+
+  @Setup
+  public void setup() {
+    cache = Caffeine.newBuilder().weakKeys()
+        .removalListener((thread, sink, cause) -> {})
+        .expireAfterAccess(60, MINUTES).build();
+    registry = new ThreadAffinityRegistry<>(CountingSink::new, sink -> {});
+  }
+
+  @Benchmark
+  public long cachedSinkEmit() {
+    return cache.get(currentThread(), t -> new CountingSink()).emit();
+  }
+
+  @Benchmark
+  public long registrySinkEmit() {
+    return registry.get().emit();
+  }
+
+  private static final class CountingSink {
+
+    private long emitted;
+
+    private long emit() {
+      return ++emitted;
+    }
+  }
+}
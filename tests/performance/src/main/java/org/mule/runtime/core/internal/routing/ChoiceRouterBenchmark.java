@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonMap;
+import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.component.location.ConfigurationComponentLocator.REGISTRY_KEY;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.tck.junit4.AbstractMuleContextTestCase.getAppleFlowComponentLocationAnnotations;
+import static org.mule.tck.util.MuleContextUtils.eventBuilder;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.component.ComponentIdentifier;
+import org.mule.runtime.api.component.location.ConfigurationComponentLocator;
+import org.mule.runtime.api.component.location.Location;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the selection of the last of many routes of a {@link ChoiceRouter} that compare the same value, evaluating the
+ * expression of each route and looking the route up in a {@link ChoiceRouteIndex}.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class ChoiceRouterBenchmark extends AbstractBenchmark {
+
+  private static final int ROUTES = 20;
+
+  private ConfigurationComponentLocator configurationComponentLocator;
+
+  private MuleContext muleContext;
+  private ChoiceRouter sequentialRouter;
+  private ChoiceRouter indexedRouter;
+  private CoreEvent event;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    configurationComponentLocator = mock(ConfigurationComponentLocator.class, RETURNS_DEEP_STUBS.get());
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+
+    sequentialRouter = createRouter(false);
+    indexedRouter = createRouter(true);
+    event = eventBuilder(muleContext).message(of(PAYLOAD)).addVariable("type", "type" + (ROUTES - 1)).build();
+  }
+
+  private ChoiceRouter createRouter(boolean routeIndexEnabled) throws MuleException {
+    ChoiceRouter router = new ChoiceRouter();
+    router.setAnnotations(getAppleFlowComponentLocationAnnotations());
+    router.setExpressionManager(muleContext.getExpressionManager());
+    router.setRouteIndexEnabled(routeIndexEnabled);
+    for (int i = 0; i < ROUTES; ++i) {
+      router.addRoute("#[vars.type == 'type" + i + "']", e -> e);
+    }
+    initialiseIfNeeded(router, muleContext);
+    startIfNeeded(router);
+    return router;
+  }
+
+  @TearDown
+  public void tearDown() {
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  @BenchmarkMode(AverageTime)
+  public CoreEvent sequentialRoutes() throws MuleException {
+    return sequentialRouter.process(event);
+  }
+
+  @Benchmark
+  @BenchmarkMode(AverageTime)
+  public CoreEvent indexedRoutes() throws MuleException {
+    return indexedRouter.process(event);
+  }
+
+  @Override
+  protected Map<String, Object> getStartUpRegistryObjects() {
+    when(configurationComponentLocator.find(any(Location.class))).thenReturn(empty());
+    when(configurationComponentLocator.find(any(ComponentIdentifier.class))).thenReturn(emptyList());
+
+    return singletonMap(REGISTRY_KEY, configurationComponentLocator);
+  }
+}
@@ -20,6 +20,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.component.location.ConfigurationComponentLocator.REGISTRY_KEY;
 import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChildContext;
 import static org.mule.tck.junit4.AbstractMuleContextTestCase.getAppleFlowComponentLocationAnnotations;
@@ -31,6 +32,7 @@ import org.mule.AbstractBenchmark;
 import org.mule.runtime.api.component.ComponentIdentifier;
 import org.mule.runtime.api.component.location.ConfigurationComponentLocator;
 import org.mule.runtime.api.component.location.Location;
+import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.util.concurrent.Latch;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -63,6 +65,9 @@ public class ForeachBenchmark extends AbstractBenchmark {
   private static final int PAYLOADS = 50000;
   private static final int NESTED_PAYLOADS = 5000;
   private static final int INNER_PAYLOADS = 100;
+  private static final int SMALL_PAYLOADS = 1000;
+  private static final int LARGE_PAYLOADS = 100000;
+  private static final int BATCH_SIZE = 10;
 
   private static final int CONCURRENCY = 10;
   private static final int PAYLOADS_CONCURRENT = 50000;
@@ -72,11 +77,17 @@ public class ForeachBenchmark extends AbstractBenchmark {
 
   private MuleContext muleContext;
   private CoreEvent singleForeachEvent;
+  private CoreEvent smallForeachEvent;
+  private CoreEvent largeForeachEvent;
   private CoreEvent nestedForeachEvent;
 
   private CoreEvent foreachEvent;
   private List<String> chainedPayloads;
 
+  private final AtomicInteger iterations = new AtomicInteger();
+  private Foreach foreach;
+  private Foreach batchedForeach;
+
   @Setup(Level.Trial)
   public void setup() throws Exception {
     configurationComponentLocator = mock(ConfigurationComponentLocator.class, RETURNS_DEEP_STUBS.get());
@@ -90,6 +101,8 @@ public class ForeachBenchmark extends AbstractBenchmark {
     }
 
     singleForeachEvent = eventBuilder(muleContext).message(of(payload)).build();
+    smallForeachEvent = createListEvent(SMALL_PAYLOADS);
+    largeForeachEvent = createListEvent(LARGE_PAYLOADS);
 
     // Create nested foreach event
     List<List<String>> nestedForeachPayload = new ArrayList<>();
@@ -109,6 +122,31 @@ public class ForeachBenchmark extends AbstractBenchmark {
     for (int i = 0; i < PAYLOADS_CONCURRENT; i++) {
       chainedPayloads.add("" + i);
     }
+
+    foreach = createIteratingForeach(1);
+    batchedForeach = createIteratingForeach(BATCH_SIZE);
+  }
+
+  private Foreach createIteratingForeach(int batchSize) throws InitialisationException {
+    Foreach iteratingForeach = createForeach();
+    iteratingForeach.setBatchSize(batchSize);
+    // builds a new event on each iteration, as most processors do
+    Processor processor = e -> {
+      iterations.incrementAndGet();
+      return CoreEvent.builder(e).addVariable("iterated", true).build();
+    };
+
+    iteratingForeach.setMessageProcessors(singletonList(processor));
+    initialiseIfNeeded(iteratingForeach, muleContext);
+    return iteratingForeach;
+  }
+
+  private CoreEvent createListEvent(int size) {
+    List<String> payload = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      payload.add("" + i);
+    }
+    return eventBuilder(muleContext).message(of(payload)).addVariable("var", "value").build();
   }
 
   private Foreach createForeach() {
@@ -119,6 +157,8 @@ public class ForeachBenchmark extends AbstractBenchmark {
 
   @TearDown
   public void tearDown() {
+    disposeIfNeeded(foreach, LOGGER);
+    disposeIfNeeded(batchedForeach, LOGGER);
     muleContext.dispose();
   }
 
@@ -143,6 +183,34 @@ public class ForeachBenchmark extends AbstractBenchmark {
     return counter.get();
   }
 
+  @Benchmark
+  @BenchmarkMode(SingleShotTime)
+  public int foreach1kElements() {
+    return countIterations(foreach, smallForeachEvent);
+  }
+
+  @Benchmark
+  @BenchmarkMode(SingleShotTime)
+  public int foreach100kElements() {
+    return countIterations(foreach, largeForeachEvent);
+  }
+
+  @Benchmark
+  @BenchmarkMode(SingleShotTime)
+  public int batchedForeach100kElements() {
+    return countIterations(batchedForeach, largeForeachEvent);
+  }
+
+  private int countIterations(Foreach iteratingForeach, CoreEvent event) {
+    iterations.set(0);
+    try {
+      iteratingForeach.process(event);
+    } catch (Throwable t) {
+      LOGGER.error("Unexpected error on foreach", t);
+    }
+    return iterations.get();
+  }
+
   @Benchmark
   @BenchmarkMode(SingleShotTime)
   public int nestedForeach() {
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.api.util.DataUnit.KB;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Compares reading a payload with several cursors when it is buffered in memory and when it is buffered in a memory mapped file.
+ */
+@OutputTimeUnit(MILLISECONDS)
+public class CursorStreamProviderBenchmark extends AbstractBenchmark {
+
+  private static final int READ_BUFFER_SIZE = KB.toBytes(8);
+
+  @Param({"1048576", "67108864"})
+  public int payloadSize;
+
+  @Param({"1", "4"})
+  public int cursors;
+
+  private byte[] payload;
+  private SimpleByteBufferManager bufferManager;
+  private InMemoryCursorStreamConfig inMemoryConfig;
+  private FileStoreCursorStreamConfig fileStoreConfig;
+
+  @Setup
+  public void setup() {
+    payload = new byte[payloadSize];
+    new Random().nextBytes(payload);
+
+    bufferManager = new SimpleByteBufferManager();
+    inMemoryConfig = new InMemoryCursorStreamConfig(new DataSize(KB.toBytes(512), BYTE),
+                                                    new DataSize(KB.toBytes(512), BYTE),
+                                                    new DataSize(payloadSize * 2, BYTE));
+    fileStoreConfig = FileStoreCursorStreamConfig.getDefault();
+  }
+
+  @Benchmark
+  public long inMemory() throws IOException {
+    return readWithCursors(new InMemoryCursorStreamProvider(new ByteArrayInputStream(payload), inMemoryConfig, bufferManager,
+                                                            from("inMemory"), false));
+  }
+
+  @Benchmark
+  public long fileStore() throws IOException {
+    return readWithCursors(new FileStoreCursorStreamProvider(new ByteArrayInputStream(payload), fileStoreConfig,
+                                                             bufferManager, from("fileStore"), false));
+  }
+
+  private long readWithCursors(CursorStreamProvider provider) throws IOException {
+    byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+    long read = 0;
+    try {
+      for (int i = 0; i < cursors; i++) {
+        try (CursorStream cursor = provider.openCursor()) {
+          int count;
+          while ((count = cursor.read(readBuffer)) != -1) {
+            read += count;
+          }
+        }
+      }
+    } finally {
+      provider.close();
+      provider.releaseResources();
+    }
+    return read;
+  }
+}
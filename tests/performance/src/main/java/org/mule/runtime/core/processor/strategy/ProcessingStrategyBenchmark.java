@@ -7,6 +7,11 @@
 package org.mule.runtime.core.processor.strategy;
 
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
 import static reactor.core.publisher.FluxSink.OverflowStrategy.ERROR;
 
 import org.mule.AbstractBenchmark;
@@ -18,7 +23,9 @@ import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.processor.Sink;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory;
+import org.mule.runtime.core.internal.processor.strategy.ProactorStreamEmitterProcessingStrategyFactory;
 import org.mule.runtime.core.internal.processor.strategy.TransactionAwareStreamEmitterProcessingStrategyFactory;
+import org.mule.runtime.core.internal.processor.strategy.VirtualThreadProcessingStrategyFactory;
 
 import java.util.function.Function;
 
@@ -45,6 +52,8 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
 
   private ProcessingStrategy directPs;
   private ProcessingStrategy emitterPs;
+  private ProcessingStrategy proactorPs;
+  private ProcessingStrategy virtualThreadPs;
   private Flow flow;
 
   private Sink directSink;
@@ -59,6 +68,9 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
   private Sink directAllSink;
   private Sink emitterAllSink;
 
+  private Sink proactorBlockingSink;
+  private Sink virtualThreadBlockingSink;
+
   @Setup(Level.Trial)
   public void setUp() throws MuleException {
     muleContext = createMuleContextWithServices();
@@ -67,6 +79,10 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
     startIfNeeded(directPs);
     emitterPs = new TransactionAwareStreamEmitterProcessingStrategyFactory().create(muleContext, "emitter_mb");
     startIfNeeded(emitterPs);
+    proactorPs = new ProactorStreamEmitterProcessingStrategyFactory().create(muleContext, "proactor_mb");
+    startIfNeeded(proactorPs);
+    virtualThreadPs = new VirtualThreadProcessingStrategyFactory().create(muleContext, "virtualThread_mb");
+    startIfNeeded(virtualThreadPs);
 
     flow = createFlow(muleContext);
 
@@ -94,6 +110,26 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
         directPs.createSink(flow, publisher -> baseFlux(publisher, directPs.onPipeline(directPs.onProcessor(processor))));
     emitterAllSink =
         emitterPs.createSink(flow, publisher -> baseFlux(publisher, emitterPs.onPipeline(emitterPs.onProcessor(processor))));
+
+    // Simulates an operation waiting for IO
+    final ReactiveProcessor blockingProcessor = new ReactiveProcessor() {
+
+      @Override
+      public Publisher<CoreEvent> apply(Publisher<CoreEvent> p) {
+        return Flux.from(p).doOnNext(e -> parkNanos(MICROSECONDS.toNanos(100)));
+      }
+
+      @Override
+      public ProcessingType getProcessingType() {
+        return BLOCKING;
+      }
+    };
+
+    proactorBlockingSink = proactorPs
+        .createSink(flow, publisher -> baseFlux(publisher, proactorPs.onPipeline(proactorPs.onProcessor(blockingProcessor))));
+    virtualThreadBlockingSink = virtualThreadPs
+        .createSink(flow, publisher -> baseFlux(publisher,
+                                                virtualThreadPs.onPipeline(virtualThreadPs.onProcessor(blockingProcessor))));
   }
 
   private Flux<CoreEvent> baseFlux(Publisher<CoreEvent> publisher,
@@ -153,4 +189,16 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
   public CoreEvent emitterAllSink() {
     return Mono.<CoreEvent>create(resultSink -> emitterAllSink.accept(createEvent(flow, resultSink))).block();
   }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public CoreEvent proactorBlockingSink() {
+    return Mono.<CoreEvent>create(resultSink -> proactorBlockingSink.accept(createEvent(flow, resultSink))).block();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public CoreEvent virtualThreadBlockingSink() {
+    return Mono.<CoreEvent>create(resultSink -> virtualThreadBlockingSink.accept(createEvent(flow, resultSink))).block();
+  }
 }
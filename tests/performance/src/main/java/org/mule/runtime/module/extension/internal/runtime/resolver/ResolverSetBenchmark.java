@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.resolver;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Threads;
+
+@Threads(3)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(AverageTime)
+public class ResolverSetBenchmark extends AbstractBenchmark {
+
+  private static final int PARAMETERS = 20;
+
+  private ResolverSet oneDynamic;
+  private ResolverSet allStatic;
+  private Map<String, ValueResolver<?>> oneDynamicResolvers;
+
+  @Setup
+  public void setUp() throws MuleException {
+    oneDynamic = new ResolverSet(null);
+    allStatic = new ResolverSet(null);
+    for (int i = 0; i < PARAMETERS; ++i) {
+      allStatic.add("param" + i, new StaticValueResolver<>("value" + i));
+      oneDynamic.add("param" + i, i == 0 ? new CountingResolver() : new StaticValueResolver<>("value" + i));
+    }
+
+    oneDynamicResolvers = oneDynamic.getResolvers();
+
+    // the values of the constant resolvers are kept from the first resolution
+    oneDynamic.resolve(null);
+    allStatic.resolve(null);
+  }
+
+  @Benchmark
+  public ResolverSetResult resolveOneDynamic() throws MuleException {
+    return oneDynamic.resolve(null);
+  }
+
+  @Benchmark
+  public ResolverSetResult resolveAllStatic() throws MuleException {
+    return allStatic.resolve(null);
+  }
+
+  @Benchmark
+  public ResolverSetResult resolveEachResolver() throws MuleException {
+    // how the set used to be resolved, evaluating every resolver into a new map
+    ResolverSetResult.Builder builder = ResolverSetResult.newBuilder();
+    for (Map.Entry<String, ValueResolver<?>> entry : oneDynamicResolvers.entrySet()) {
+      builder.add(entry.getKey(), ResolverUtils.resolveRecursively(entry.getValue(), null));
+    }
+    return builder.build();
+  }
+
+  private static class CountingResolver implements ValueResolver<Integer> {
+
+    private int count;
+
+    @Override
+    public Integer resolve(ValueResolvingContext context) {
+      return count++;
+    }
+
+    @Override
+    public boolean isDynamic() {
+      return true;
+    }
+  }
+}